@@ -23,23 +23,42 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.aaswrapper.job;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
+import org.eclipse.tractusx.irs.connector.job.JobStore;
 import org.eclipse.tractusx.irs.connector.job.MultiTransferJob;
 import org.eclipse.tractusx.irs.connector.job.RecursiveJobHandler;
 
 /**
- * Recursive job handler for AAS data
+ * Recursive job handler for AAS data.
+ * Each item is requested only once per job, even if it is part of several subtrees. The requested items are
+ * recorded with the job in the {@link JobStore}, so all IRS instances sharing the store see them. The
+ * relationships pointing to an item are kept in the item containers of its parents, so no edges get lost.
  */
 @Slf4j
 public class AASRecursiveJobHandler implements RecursiveJobHandler<ItemDataRequest, AASTransferProcess> {
 
     private final TreeRecursiveLogic logic;
+    private final JobStore jobStore;
 
-    public AASRecursiveJobHandler(final TreeRecursiveLogic logic) {
+    public AASRecursiveJobHandler(final TreeRecursiveLogic logic, final JobStore jobStore) {
         this.logic = logic;
+        this.jobStore = jobStore;
+    }
+
+    /**
+     * @param itemId the item
+     * @return the key under which the request of the item is recorded with the job
+     */
+    /* package */ static String itemKey(final PartChainIdentificationKey itemId) {
+        return itemId.getGlobalAssetId() + "@" + itemId.getBpn();
     }
 
     @Override
@@ -49,16 +68,18 @@ public class AASRecursiveJobHandler implements RecursiveJobHandler<ItemDataReque
         final var bpn = job.getJobParameter().getBpn();
         final var dataRequest = ItemDataRequest.rootNode(
                 PartChainIdentificationKey.builder().globalAssetId(partId).bpn(bpn).build());
-        return Stream.of(dataRequest);
+        return requestItems(job, List.of(dataRequest));
     }
 
     @Override
     public Stream<ItemDataRequest> recurse(final MultiTransferJob job, final AASTransferProcess transferProcess) {
         log.info("Starting recursive request for job {}", job.getJobIdString());
 
-        return transferProcess.getIdsToProcess()
-                              .stream()
-                              .map(itemId -> ItemDataRequest.nextDepthNode(itemId, transferProcess.getDepth()));
+        return requestItems(job, transferProcess.getIdsToProcess()
+                                                .stream()
+                                                .map(itemId -> ItemDataRequest.nextDepthNode(itemId,
+                                                        transferProcess.getDepth()))
+                                                .toList());
     }
 
     @Override
@@ -69,4 +90,26 @@ public class AASRecursiveJobHandler implements RecursiveJobHandler<ItemDataReque
         logic.assemblePartialItemGraphBlobs(completedTransfers, targetBlobName.toString());
     }
 
+    /**
+     * Records the requests with the job and keeps only the ones for items which have not been requested yet
+     * at the same or a lower depth.
+     */
+    private Stream<ItemDataRequest> requestItems(final MultiTransferJob job, final List<ItemDataRequest> requests) {
+        final Map<String, Integer> requestedDepths = requests.stream()
+                                                             .collect(Collectors.toMap(
+                                                                     request -> itemKey(request.getItemId()),
+                                                                     ItemDataRequest::getDepth, Math::min));
+        final Set<String> itemsToRequest = new HashSet<>(
+                jobStore.requestItems(job.getJobIdString(), requestedDepths));
+        if (itemsToRequest.size() < requests.size()) {
+            log.debug("Skipping {} item(s) which have already been requested for job {}",
+                    requests.size() - itemsToRequest.size(), job.getJobIdString());
+        }
+        // each item is requested once, even if it is contained more than once
+        return requests.stream()
+                       .filter(request -> itemsToRequest.remove(itemKey(request.getItemId())))
+                       .toList()
+                       .stream();
+    }
+
 }
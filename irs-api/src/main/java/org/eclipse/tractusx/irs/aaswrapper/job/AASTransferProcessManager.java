@@ -26,8 +26,17 @@ package org.eclipse.tractusx.irs.aaswrapper.job;
 import static org.eclipse.tractusx.irs.configuration.JobConfiguration.JOB_BLOB_PERSISTENCE;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
@@ -36,61 +45,277 @@ import org.eclipse.tractusx.irs.common.persistence.BlobPersistence;
 import org.eclipse.tractusx.irs.common.persistence.BlobPersistenceException;
 import org.eclipse.tractusx.irs.component.JobParameter;
 import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
+import org.eclipse.tractusx.irs.component.Tombstone;
+import org.eclipse.tractusx.irs.component.enums.ProcessStep;
+import org.eclipse.tractusx.irs.connector.job.InMemoryJobStore;
+import org.eclipse.tractusx.irs.connector.job.InMemoryTransferQueue;
+import org.eclipse.tractusx.irs.connector.job.JobException;
+import org.eclipse.tractusx.irs.connector.job.JobStore;
+import org.eclipse.tractusx.irs.connector.job.MultiTransferJob;
+import org.eclipse.tractusx.irs.connector.job.QueuedTransfer;
 import org.eclipse.tractusx.irs.connector.job.ResponseStatus;
 import org.eclipse.tractusx.irs.connector.job.TransferInitiateResponse;
 import org.eclipse.tractusx.irs.connector.job.TransferProcessManager;
+import org.eclipse.tractusx.irs.connector.job.TransferQueue;
 import org.eclipse.tractusx.irs.util.JsonUtil;
 import org.springframework.beans.factory.annotation.Qualifier;
 
 /**
  * Process manager for AAS Object transfers.
+ * Requests are put into a {@link TransferQueue}. If the queue is shared, transfers are claimed by
+ * any IRS instance polling it via {@link #processPendingTransfers(int)}. The leases of the transfers
+ * being processed have to be renewed via {@link #renewLeases()} until they are completed.
  */
 @Slf4j
-@SuppressWarnings("PMD.DoNotUseThreads") // We want to use threads at the moment ;-)
+@SuppressWarnings({ "PMD.DoNotUseThreads", // We want to use threads at the moment ;-)
+                    "PMD.AvoidCatchingGenericException"
+})
 public class AASTransferProcessManager implements TransferProcessManager<ItemDataRequest, AASTransferProcess> {
 
     private final ExecutorService executor;
 
+    /**
+     * Continues transfers once their remote requests are completed. Unlike {@link #executor}, it does not run
+     * tasks on the submitting thread, which is usually a thread of a remote client.
+     */
+    private final Executor continuationExecutor;
+
     private final BlobPersistence blobStore;
 
     private final AbstractDelegate abstractDelegate;
 
+    private final TransferQueue<ItemDataRequest> transferQueue;
+
+    private final ItemContainerCache itemContainerCache;
+
+    /**
+     * Holds the items already requested by the jobs, whose shells are not prefetched again.
+     */
+    private final JobStore jobStore;
+
+    /**
+     * Callbacks of the transfers requested by this instance.
+     */
+    private final Map<String, Consumer<AASTransferProcess>> completionCallbacks = new ConcurrentHashMap<>();
+
+    /**
+     * Transfers claimed by this instance which have not been completed yet, by process ID.
+     */
+    private final Map<String, QueuedTransfer<ItemDataRequest>> transfersInProgress = new ConcurrentHashMap<>();
+
+    private volatile BiConsumer<String, AASTransferProcess> remoteCompletionCallback = (jobId, process) -> log.warn(
+            "No callback registered to complete transfer {} of job {}", process.getId(), jobId);
+
     public AASTransferProcessManager(final AbstractDelegate abstractDelegate, final ExecutorService executor,
             @Qualifier(JOB_BLOB_PERSISTENCE) final BlobPersistence blobStore) {
+        this(abstractDelegate, executor, blobStore, new InMemoryTransferQueue<>());
+    }
+
+    public AASTransferProcessManager(final AbstractDelegate abstractDelegate, final ExecutorService executor,
+            @Qualifier(JOB_BLOB_PERSISTENCE) final BlobPersistence blobStore,
+            final TransferQueue<ItemDataRequest> transferQueue) {
+        this(abstractDelegate, executor, blobStore, transferQueue, ItemContainerCache.disabled());
+    }
+
+    public AASTransferProcessManager(final AbstractDelegate abstractDelegate, final ExecutorService executor,
+            @Qualifier(JOB_BLOB_PERSISTENCE) final BlobPersistence blobStore,
+            final TransferQueue<ItemDataRequest> transferQueue, final ItemContainerCache itemContainerCache) {
+        this(abstractDelegate, executor, executor, blobStore, transferQueue, itemContainerCache);
+    }
+
+    public AASTransferProcessManager(final AbstractDelegate abstractDelegate, final ExecutorService executor,
+            final Executor continuationExecutor, @Qualifier(JOB_BLOB_PERSISTENCE) final BlobPersistence blobStore,
+            final TransferQueue<ItemDataRequest> transferQueue, final ItemContainerCache itemContainerCache) {
+        this(abstractDelegate, executor, continuationExecutor, blobStore, transferQueue, itemContainerCache,
+                new InMemoryJobStore());
+    }
+
+    public AASTransferProcessManager(final AbstractDelegate abstractDelegate, final ExecutorService executor,
+            final Executor continuationExecutor, @Qualifier(JOB_BLOB_PERSISTENCE) final BlobPersistence blobStore,
+            final TransferQueue<ItemDataRequest> transferQueue, final ItemContainerCache itemContainerCache,
+            final JobStore jobStore) {
         this.abstractDelegate = abstractDelegate;
         this.executor = executor;
+        this.continuationExecutor = continuationExecutor;
         this.blobStore = blobStore;
+        this.transferQueue = transferQueue;
+        this.itemContainerCache = itemContainerCache;
+        this.jobStore = jobStore;
     }
 
     @Override
-    public TransferInitiateResponse initiateRequest(final ItemDataRequest dataRequest,
+    public TransferInitiateResponse initiateRequest(final String jobId, final ItemDataRequest dataRequest,
             final Consumer<String> preExecutionHandler, final Consumer<AASTransferProcess> completionCallback,
             final JobParameter jobData) {
 
         final String processId = UUID.randomUUID().toString();
         preExecutionHandler.accept(processId);
 
-        executor.execute(getRunnable(dataRequest, completionCallback, processId, jobData));
+        final boolean shared = transferQueue.isShared();
+        if (!shared) {
+            // transfers of a shared queue may be completed by any instance, using its registered callback
+            completionCallbacks.put(processId, completionCallback);
+        }
+        try {
+            transferQueue.offer(QueuedTransfer.<ItemDataRequest>builder()
+                                              .processId(processId)
+                                              .jobId(jobId)
+                                              .dataRequest(dataRequest)
+                                              .jobData(jobData)
+                                              .build());
+        } catch (JobException e) {
+            log.error("Unable to queue transfer {}", processId, e);
+            completionCallbacks.remove(processId);
+            return new TransferInitiateResponse(processId, ResponseStatus.ERROR_RETRY);
+        }
+
+        if (!shared) {
+            executor.execute(this::processNextTransfer);
+        }
 
         return new TransferInitiateResponse(processId, ResponseStatus.OK);
     }
 
-    private Runnable getRunnable(final ItemDataRequest dataRequest,
-            final Consumer<AASTransferProcess> transferProcessCompleted, final String processId,
-            final JobParameter jobData) {
+    @Override
+    public void registerCompletionCallback(final BiConsumer<String, AASTransferProcess> transferProcessCompleted) {
+        this.remoteCompletionCallback = transferProcessCompleted;
+    }
+
+    /**
+     * Claims pending transfers from the queue, including the ones requested by other IRS instances,
+     * and processes them asynchronously.
+     *
+     * @param maxTransfers the maximum number of transfers to claim
+     */
+    public void processPendingTransfers(final int maxTransfers) {
+        try {
+            // the queue is listed once per poll, the transfers are leased from that listing
+            transferQueue.claim(maxTransfers).forEach(transfer -> executor.execute(() -> process(transfer)));
+        } catch (RuntimeException e) {
+            log.error("Unable to claim pending transfers", e);
+        }
+    }
+
+    /**
+     * Renews the leases of the transfers processed by this instance, so that they are not delivered to another
+     * instance while their remote requests are still running. Transfers whose lease has been lost are still
+     * completed, but may be processed by another instance as well.
+     */
+    public void renewLeases() {
+        transfersInProgress.forEach((processId, transfer) -> {
+            try {
+                transferQueue.renew(transfer).ifPresentOrElse(
+                        renewed -> transfersInProgress.replace(processId, transfer, renewed), () -> {
+                            log.warn("Lease of transfer {} has been lost", processId);
+                            transfersInProgress.remove(processId, transfer);
+                        });
+            } catch (RuntimeException e) {
+                log.error("Unable to renew lease of transfer {}", processId, e);
+            }
+        });
+    }
+
+    private void processNextTransfer() {
+        transferQueue.claim().ifPresent(this::process);
+    }
+
+    private void process(final QueuedTransfer<ItemDataRequest> transfer) {
+        final String processId = transfer.getProcessId();
+        transfersInProgress.put(processId, transfer);
+        final ItemDataRequest dataRequest = transfer.getDataRequest();
+        final AASTransferProcess aasTransferProcess = new AASTransferProcess(processId, dataRequest.getDepth());
+
+        final PartChainIdentificationKey itemId = dataRequest.getItemId();
 
-        return () -> {
-            final AASTransferProcess aasTransferProcess = new AASTransferProcess(processId, dataRequest.getDepth());
+        final JobParameter jobData = transfer.getJobData();
+        final ItemContainerCache.Key cacheKey = ItemContainerCache.Key.of(itemId, jobData, dataRequest.getDepth());
+        final Optional<ItemContainerCache.Entry> cached = itemContainerCache.get(cacheKey,
+                Optional.ofNullable(jobData.getCacheMaxAge()).map(Duration::ofSeconds).orElse(null));
 
-            final PartChainIdentificationKey itemId = dataRequest.getItemId();
+        if (cached.isPresent()) {
+            aasTransferProcess.addIdsToProcess(cached.get().idsToProcess());
+            prefetchChildrenAndComplete(transfer, aasTransferProcess, cached.get().itemContainer());
+            return;
+        }
+
+        log.info("Starting processing Digital Twin Registry with itemId {}", itemId);
+        // the delegates do not block while waiting for remote requests and continue on the continuation executor
+        final CompletableFuture<ItemContainer> processing = abstractDelegate.processAsync(ItemContainer.builder(),
+                jobData, aasTransferProcess, itemId, continuationExecutor);
+        processing.whenComplete((itemContainer, thrown) -> {
+            if (thrown != null) {
+                log.error("Processing of transfer {} failed", processId, thrown);
+                completeFailed(transfer, dataRequest, thrown);
+                return;
+            }
+            itemContainerCache.put(cacheKey, itemContainer, aasTransferProcess.getIdsToProcess());
+            prefetchChildrenAndComplete(transfer, aasTransferProcess, itemContainer);
+        });
+    }
+
+    /**
+     * Lets the delegates prepare all children of the item together, e.g. fetch their shells in one registry request
+     * per BPN, before the transfers of the children are started by the completion callback. Children which the job
+     * has already requested at the same or a lower depth are not requested again, so they are not prefetched.
+     */
+    private void prefetchChildrenAndComplete(final QueuedTransfer<ItemDataRequest> transfer,
+            final AASTransferProcess aasTransferProcess, final ItemContainer itemContainer) {
+        final List<PartChainIdentificationKey> childIds = notYetRequested(transfer.getJobId(),
+                aasTransferProcess.getIdsToProcess(), aasTransferProcess.getDepth() + 1);
+        if (childIds.isEmpty()) {
+            complete(transfer, aasTransferProcess, itemContainer);
+            return;
+        }
+        abstractDelegate.prefetch(childIds, continuationExecutor)
+                        .whenComplete((result, thrown) -> complete(transfer, aasTransferProcess, itemContainer));
+    }
 
-            log.info("Starting processing Digital Twin Registry with itemId {}", itemId);
-            final ItemContainer itemContainer = abstractDelegate.process(ItemContainer.builder(), jobData,
-                    aasTransferProcess, itemId);
-            storeItemContainer(processId, itemContainer);
+    private List<PartChainIdentificationKey> notYetRequested(final String jobId,
+            final List<PartChainIdentificationKey> itemIds, final int depth) {
+        if (itemIds.isEmpty()) {
+            return itemIds;
+        }
+        final Map<String, Integer> requestedItems = Optional.ofNullable(jobId)
+                                                            .flatMap(jobStore::find)
+                                                            .map(MultiTransferJob::getRequestedItems)
+                                                            .orElse(Map.of());
+        return itemIds.stream().filter(itemId -> {
+            final Integer requestedDepth = requestedItems.get(AASRecursiveJobHandler.itemKey(itemId));
+            return requestedDepth == null || depth < requestedDepth;
+        }).toList();
+    }
+
+    /**
+     * Completes a transfer whose processing failed with a tombstone for its item, so that the job does not wait
+     * for it. The children found before the failure are not processed, as their relationships are not stored.
+     */
+    private void completeFailed(final QueuedTransfer<ItemDataRequest> transfer, final ItemDataRequest dataRequest,
+            final Throwable thrown) {
+        final Throwable cause = thrown instanceof CompletionException && thrown.getCause() != null
+                ? thrown.getCause()
+                : thrown;
+        final String itemId = dataRequest.getItemId().getGlobalAssetId();
+        final ItemContainer itemContainer = ItemContainer.builder()
+                                                         .tombstone(Tombstone.from(itemId, null,
+                                                                 cause.getMessage(), 0,
+                                                                 ProcessStep.DIGITAL_TWIN_REQUEST))
+                                                         .build();
+        complete(transfer, new AASTransferProcess(transfer.getProcessId(), dataRequest.getDepth()), itemContainer);
+    }
+
+    private void complete(final QueuedTransfer<ItemDataRequest> transfer,
+            final AASTransferProcess aasTransferProcess, final ItemContainer itemContainer) {
+        final String processId = transfer.getProcessId();
+        storeItemContainer(processId, itemContainer);
 
-            transferProcessCompleted.accept(aasTransferProcess);
-        };
+        final Consumer<AASTransferProcess> completionCallback = completionCallbacks.remove(processId);
+        if (completionCallback == null) {
+            remoteCompletionCallback.accept(transfer.getJobId(), aasTransferProcess);
+        } else {
+            completionCallback.accept(aasTransferProcess);
+        }
+        transfersInProgress.remove(processId);
+        transferQueue.acknowledge(transfer);
     }
 
     private void storeItemContainer(final String processId, final ItemContainer itemContainer) {
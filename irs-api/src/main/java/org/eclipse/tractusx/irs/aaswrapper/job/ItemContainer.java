@@ -41,7 +41,7 @@ import org.eclipse.tractusx.irs.component.assetadministrationshell.AssetAdminist
  * Container class to store item data
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @Jacksonized
 public class ItemContainer {
 
@@ -0,0 +1,144 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.aaswrapper.job;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.irs.component.JobParameter;
+import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
+import org.eclipse.tractusx.irs.component.enums.BomLifecycle;
+import org.eclipse.tractusx.irs.component.enums.Direction;
+
+/**
+ * Cache of the results of processing single items, shared between jobs.
+ * Jobs whose item graphs overlap can reuse the results instead of requesting the items again.
+ * Only results without tombstones are cached, so failed requests are always repeated.
+ */
+@Slf4j
+public class ItemContainerCache {
+
+    private final Map<Key, Entry> entries;
+
+    private final int maxSize;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    public ItemContainerCache(final int maxSize, final Duration timeToLive, final Clock clock) {
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(Math.max(maxSize, 1), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @return a cache which does not store any results
+     */
+    public static ItemContainerCache disabled() {
+        return new ItemContainerCache(0, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * @param key    the item and the job parameters which determine its result
+     * @param maxAge the maximum age of the result accepted by the job, null if the job does not use the cache
+     * @return the cached result, if it is younger than the max age and the time to live
+     */
+    public Optional<Entry> get(final Key key, final Duration maxAge) {
+        if (maxAge == null) {
+            return Optional.empty();
+        }
+        final Instant now = clock.instant();
+        final Instant oldestAccepted = now.minus(maxAge.compareTo(timeToLive) < 0 ? maxAge : timeToLive);
+        final Entry entry = entries.get(key);
+        if (entry == null || entry.createdOn().isBefore(oldestAccepted)) {
+            return Optional.empty();
+        }
+        log.debug("Using cached result of item {}", key.itemId());
+        return Optional.of(entry);
+    }
+
+    /**
+     * Stores the result of an item, unless processing it failed.
+     *
+     * @param key           the item and the job parameters which determine its result
+     * @param itemContainer the result
+     * @param idsToProcess  the related items found while processing the item
+     */
+    public void put(final Key key, final ItemContainer itemContainer,
+            final List<PartChainIdentificationKey> idsToProcess) {
+        if (maxSize > 0 && itemContainer.getTombstones().isEmpty()) {
+            // request metrics belong to the job which made the requests
+            entries.put(key, new Entry(itemContainer.toBuilder().clearMetrics().build(), List.copyOf(idsToProcess),
+                    clock.instant()));
+        }
+    }
+
+    /**
+     * Identifies the result of an item.
+     *
+     * @param itemId         the item
+     * @param bomLifecycle   the lifecycle of the requested relationships
+     * @param direction      the direction of the requested relationships
+     * @param aspects        the requested aspects
+     * @param collectAspects whether the aspects are collected
+     * @param lookupBPNs     whether the BPNs are looked up
+     * @param depthReached   whether the item is a leaf of the job, so its relationships are not requested
+     */
+    public record Key(PartChainIdentificationKey itemId, BomLifecycle bomLifecycle, Direction direction,
+                      Set<String> aspects, boolean collectAspects, boolean lookupBPNs, boolean depthReached) {
+
+        public static Key of(final PartChainIdentificationKey itemId, final JobParameter jobData,
+                final Integer currentDepth) {
+            return new Key(itemId, jobData.getBomLifecycle(), jobData.getDirection(),
+                    Set.copyOf(jobData.getAspects()), jobData.isCollectAspects(), jobData.isLookupBPNs(),
+                    currentDepth != null && jobData.getDepth() != null && currentDepth >= jobData.getDepth());
+        }
+    }
+
+    /**
+     * Cached result of an item.
+     *
+     * @param itemContainer the data of the item
+     * @param idsToProcess  the related items to process next
+     * @param createdOn     the time the item has been processed
+     */
+    public record Entry(ItemContainer itemContainer, List<PartChainIdentificationKey> idsToProcess,
+                        Instant createdOn) {
+    }
+}
@@ -23,7 +23,9 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.aaswrapper.job;
 
+import lombok.Builder;
 import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
 import org.eclipse.tractusx.irs.connector.job.DataRequest;
 
@@ -31,6 +33,8 @@ import org.eclipse.tractusx.irs.connector.job.DataRequest;
  * Data Request for CatenaX IDs
  */
 @Value
+@Builder
+@Jacksonized
 public class ItemDataRequest implements DataRequest {
 
     private final PartChainIdentificationKey itemId;
@@ -0,0 +1,147 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.aaswrapper.job;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Bounded thread pool which processes the transfers of the {@link AASTransferProcessManager}.
+ * Uses either a fixed number of platform threads with a queue, or one virtual thread per transfer.
+ * If all threads are busy and the queue is full, the submitting thread processes the transfer itself.
+ * This slows down the orchestrator starting new transfers until the pool catches up.
+ * <p>
+ * Transfers which wait for remote requests continue on a separate pool with the same number of threads and an
+ * unbounded queue. Continuations are submitted by the threads completing the remote requests, e.g. the EDC
+ * polling threads, which must not run them themselves.
+ * <p>
+ * Active threads, queue depth and the time transfers wait in the queue are published as
+ * {@code jobs.executor.*} metrics.
+ */
+@Slf4j
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class TransferExecutor {
+
+    public static final String THREAD_NAME_PREFIX = "irs-transfer-";
+    private static final String EXECUTOR_NAME = "transfers";
+    private static final String CONTINUATION_EXECUTOR_NAME = "transfer-continuations";
+    private static final String METRIC_PREFIX = "jobs";
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadPoolExecutor threadPool;
+
+    /**
+     * The instrumented executor to submit transfers to.
+     */
+    @Getter
+    private final ExecutorService executorService;
+
+    private final ThreadPoolExecutor continuationPool;
+
+    /**
+     * The instrumented executor to continue transfers on, once their remote requests are completed.
+     */
+    @Getter
+    private final ExecutorService continuationExecutorService;
+
+    private TransferExecutor(final int corePoolSize, final int maxThreads, final BlockingQueue<Runnable> queue,
+            final ThreadFactory threadFactory, final MeterRegistry meterRegistry) {
+        final Counter rejections = Counter.builder(METRIC_PREFIX + ".executor.rejected")
+                                          .description("Number of transfers processed by the submitting thread "
+                                                  + "because the executor was saturated")
+                                          .tags("name", EXECUTOR_NAME)
+                                          .register(meterRegistry);
+        final RejectedExecutionHandler callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+
+        this.threadPool = new ThreadPoolExecutor(corePoolSize, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                queue, threadFactory, (runnable, executor) -> {
+                    rejections.increment();
+                    callerRuns.rejectedExecution(runnable, executor);
+                });
+        this.threadPool.allowCoreThreadTimeOut(corePoolSize > 0);
+        this.executorService = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, EXECUTOR_NAME,
+                METRIC_PREFIX, Tags.empty());
+
+        this.continuationPool = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        this.continuationPool.allowCoreThreadTimeOut(true);
+        this.continuationExecutorService = ExecutorServiceMetrics.monitor(meterRegistry, continuationPool,
+                CONTINUATION_EXECUTOR_NAME, METRIC_PREFIX, Tags.empty());
+    }
+
+    /**
+     * @param maxThreads    the number of transfers processed in parallel
+     * @param queueCapacity the number of transfers waiting for a thread
+     * @param meterRegistry the registry to publish the executor metrics to
+     * @return an executor using platform threads
+     */
+    public static TransferExecutor withPlatformThreads(final int maxThreads, final int queueCapacity,
+            final MeterRegistry meterRegistry) {
+        return new TransferExecutor(maxThreads, maxThreads, new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory(THREAD_NAME_PREFIX), meterRegistry);
+    }
+
+    /**
+     * @param virtualThreadFactory factory for virtual threads
+     * @param maxThreads           the number of transfers processed in parallel
+     * @param meterRegistry        the registry to publish the executor metrics to
+     * @return an executor starting a virtual thread for each transfer
+     */
+    public static TransferExecutor withVirtualThreads(final ThreadFactory virtualThreadFactory, final int maxThreads,
+            final MeterRegistry meterRegistry) {
+        // virtual threads are cheap, so transfers are handed over directly instead of being queued
+        return new TransferExecutor(0, maxThreads, new SynchronousQueue<>(), virtualThreadFactory, meterRegistry);
+    }
+
+    /**
+     * @return the number of transfers which can be started immediately
+     */
+    public int getIdleThreads() {
+        return Math.max(0, threadPool.getMaximumPoolSize() - threadPool.getActiveCount());
+    }
+
+    /**
+     * Stops accepting transfers. Transfers already submitted are still processed.
+     */
+    public void shutdown() {
+        log.info("Shutting down transfer executor with {} queued transfers", threadPool.getQueue().size());
+        threadPool.shutdown();
+        continuationPool.shutdown();
+    }
+}
@@ -27,8 +27,12 @@ import static org.eclipse.tractusx.irs.aaswrapper.job.ExtractDataFromProtocolInf
 import static org.eclipse.tractusx.irs.aaswrapper.job.ExtractDataFromProtocolInformation.extractAssetId;
 import static org.eclipse.tractusx.irs.aaswrapper.job.ExtractDataFromProtocolInformation.extractDspEndpoint;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import io.github.resilience4j.retry.RetryRegistry;
 import lombok.RequiredArgsConstructor;
@@ -54,6 +58,8 @@ public abstract class AbstractDelegate {
     protected final int retryCount = RetryRegistry.ofDefaults().getDefaultConfig().getMaxAttempts();
 
     /**
+     * Processes the item and waits for the result. Remote requests are completed on the threads of the clients.
+     *
      * @param itemContainerBuilder Collecting data from delegates
      * @param jobData              The job parameters used for filtering
      * @param aasTransferProcess   The transfer process which will be filled with childIds
@@ -62,8 +68,43 @@ public abstract class AbstractDelegate {
      * @return The ItemContainer filled with Relationships, Shells, Submodels (if requested in jobData)
      * and Tombstones (if requests fail).
      */
-    public abstract ItemContainer process(ItemContainer.ItemContainerBuilder itemContainerBuilder, JobParameter jobData,
-            AASTransferProcess aasTransferProcess, PartChainIdentificationKey itemId);
+    public ItemContainer process(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+            final JobParameter jobData, final AASTransferProcess aasTransferProcess,
+            final PartChainIdentificationKey itemId) {
+        return processAsync(itemContainerBuilder, jobData, aasTransferProcess, itemId, Runnable::run).join();
+    }
+
+    /**
+     * Processes the item without blocking the calling thread while remote requests are in flight.
+     *
+     * @param itemContainerBuilder Collecting data from delegates
+     * @param jobData              The job parameters used for filtering
+     * @param aasTransferProcess   The transfer process which will be filled with childIds
+     *                             for further processing
+     * @param itemId               The id of the current item
+     * @param executor             The executor to continue processing on, once remote requests are completed
+     * @return a future of the ItemContainer filled with Relationships, Shells, Submodels (if requested in jobData)
+     * and Tombstones (if requests fail).
+     */
+    public abstract CompletableFuture<ItemContainer> processAsync(
+            ItemContainer.ItemContainerBuilder itemContainerBuilder, JobParameter jobData,
+            AASTransferProcess aasTransferProcess, PartChainIdentificationKey itemId, Executor executor);
+
+    /**
+     * Prepares the processing of the given items, e.g. by requesting data for all of them at once. Called with all
+     * children of an item before they are processed. By default, the next step is asked to prepare them.
+     *
+     * @param itemIds  the items which are processed next
+     * @param executor the executor to run remote requests on
+     * @return a future completed when the items are prepared, successfully or not
+     */
+    public CompletableFuture<Void> prefetch(final Collection<PartChainIdentificationKey> itemIds,
+            final Executor executor) {
+        if (this.nextStep != null) {
+            return this.nextStep.prefetch(itemIds, executor);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
 
     /**
      * Delegates processing to next step if exists or returns filled {@link ItemContainer}
@@ -73,48 +114,88 @@ public abstract class AbstractDelegate {
      * @param aasTransferProcess   The transfer process which will be filled with childIds
      *                             for further processing
      * @param itemId               The id of the current item
-     * @return item container with filled data
+     * @param executor             The executor to continue processing on, once remote requests are completed
+     * @return future of the item container with filled data
      */
-    protected ItemContainer next(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+    protected CompletableFuture<ItemContainer> nextAsync(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
             final JobParameter jobData, final AASTransferProcess aasTransferProcess,
-            final PartChainIdentificationKey itemId) {
+            final PartChainIdentificationKey itemId, final Executor executor) {
         if (this.nextStep != null) {
-            return this.nextStep.process(itemContainerBuilder, jobData, aasTransferProcess, itemId);
+            return this.nextStep.processAsync(itemContainerBuilder, jobData, aasTransferProcess, itemId, executor);
         }
 
-        return itemContainerBuilder.build();
+        return CompletableFuture.completedFuture(itemContainerBuilder.build());
+    }
+
+    /**
+     * @param requests the requests to wait for
+     * @return a future completed when all requests are completed, successfully or not
+     */
+    protected static CompletableFuture<Void> allCompleted(final Collection<? extends CompletableFuture<?>> requests) {
+        return CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).handle((result, thrown) -> null);
+    }
+
+    /**
+     * @param request a completed submodel request
+     * @return the submodel payload
+     * @throws EdcClientException if the request failed
+     */
+    protected static String getPayload(final CompletableFuture<String> request) throws EdcClientException {
+        try {
+            return request.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof EdcClientException edcClientException) {
+                throw edcClientException;
+            }
+            throw e;
+        }
     }
 
-    protected String requestSubmodelAsString(final EdcSubmodelFacade submodelFacade,
-            final ConnectorEndpointsService connectorEndpointsService, final Endpoint endpoint, final String bpn)
-            throws EdcClientException {
+    /**
+     * Requests the submodel of the endpoint, trying the connectors of the BPN one after the other if the endpoint
+     * does not name a connector. Does not block while the EDC negotiates the contract and transfers the submodel.
+     */
+    protected CompletableFuture<String> requestSubmodelAsStringAsync(final EdcSubmodelFacade submodelFacade,
+            final ConnectorEndpointsService connectorEndpointsService, final Endpoint endpoint, final String bpn) {
         final String subprotocolBody = endpoint.getProtocolInformation().getSubprotocolBody();
         final Optional<String> dspEndpoint = extractDspEndpoint(subprotocolBody);
         if (dspEndpoint.isPresent()) {
             log.debug("Using dspEndpoint of subprotocolBody '{}' to get submodel payload", subprotocolBody);
-            return submodelFacade.getSubmodelRawPayload(dspEndpoint.get(), endpoint.getProtocolInformation().getHref(),
-                    extractAssetId(subprotocolBody));
+            return submodelFacade.getSubmodelRawPayloadAsync(dspEndpoint.get(),
+                    endpoint.getProtocolInformation().getHref(), extractAssetId(subprotocolBody));
         } else {
             log.info("SubprotocolBody does not contain '{}'. Using Discovery Service as fallback.", DSP_ENDPOINT);
             final List<String> connectorEndpoints = connectorEndpointsService.fetchConnectorEndpoints(bpn);
-            return getSubmodel(submodelFacade, endpoint, connectorEndpoints);
+            return getSubmodelAsync(submodelFacade, endpoint, connectorEndpoints, 0);
         }
     }
 
-    private String getSubmodel(final EdcSubmodelFacade submodelFacade, final Endpoint endpoint,
-            final List<String> connectorEndpoints) throws EdcClientException {
-        for (final String connectorEndpoint : connectorEndpoints) {
-            try {
-                return submodelFacade.getSubmodelRawPayload(connectorEndpoint,
-                        endpoint.getProtocolInformation().getHref(),
-                        extractAssetId(endpoint.getProtocolInformation().getSubprotocolBody()));
-            } catch (EdcClientException e) {
-                log.info("EdcClientException while accessing endpoint '{}'", connectorEndpoint, e);
-            }
+    private CompletableFuture<String> getSubmodelAsync(final EdcSubmodelFacade submodelFacade,
+            final Endpoint endpoint, final List<String> connectorEndpoints, final int index) {
+        if (index >= connectorEndpoints.size()) {
+            return CompletableFuture.failedFuture(noSubmodelsReceived(connectorEndpoints));
         }
-        throw new EdcClientException(
+        final String connectorEndpoint = connectorEndpoints.get(index);
+        return submodelFacade.getSubmodelRawPayloadAsync(connectorEndpoint, endpoint.getProtocolInformation().getHref(),
+                                     extractAssetId(endpoint.getProtocolInformation().getSubprotocolBody()))
+                             .exceptionallyCompose(e -> {
+                                 log.info("EdcClientException while accessing endpoint '{}'", connectorEndpoint, e);
+                                 return getSubmodelAsync(submodelFacade, endpoint, connectorEndpoints, index + 1);
+                             });
+    }
+
+    private static EdcClientException noSubmodelsReceived(final List<String> connectorEndpoints) {
+        return new EdcClientException(
                 String.format("Called %s connectorEndpoints but did not get any submodels. Connectors: '%s'",
                         connectorEndpoints.size(), String.join(", ", connectorEndpoints)));
     }
 
+    /**
+     * Supplies the payload of a submodel request.
+     */
+    @FunctionalInterface
+    protected interface SubmodelPayload {
+        String get() throws EdcClientException;
+    }
+
 }
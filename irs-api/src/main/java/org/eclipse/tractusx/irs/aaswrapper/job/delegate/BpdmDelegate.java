@@ -23,6 +23,8 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.aaswrapper.job.delegate;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 
 import lombok.extern.slf4j.Slf4j;
@@ -39,7 +41,8 @@ import org.springframework.web.client.RestClientException;
 
 /**
  * Builds bpns array for AAShell from previous steps.
- * To build bpns Business Partner service is called.
+ * To build bpns Business Partner service is called. The calls are synchronous and block the thread
+ * processing the item.
  */
 @Slf4j
 public class BpdmDelegate extends AbstractDelegate {
@@ -54,9 +57,16 @@ public class BpdmDelegate extends AbstractDelegate {
     }
 
     @Override
-    public ItemContainer process(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
-            final JobParameter jobData, final AASTransferProcess aasTransferProcess, final PartChainIdentificationKey itemId) {
+    public CompletableFuture<ItemContainer> processAsync(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+            final JobParameter jobData, final AASTransferProcess aasTransferProcess,
+            final PartChainIdentificationKey itemId, final Executor executor) {
 
+        lookupBPNs(itemContainerBuilder, jobData, itemId);
+        return nextAsync(itemContainerBuilder, jobData, aasTransferProcess, itemId, executor);
+    }
+
+    private void lookupBPNs(final ItemContainer.ItemContainerBuilder itemContainerBuilder, final JobParameter jobData,
+            final PartChainIdentificationKey itemId) {
         if (jobData.isLookupBPNs()) {
             log.debug("BPN Lookup enabled, collecting BPN information");
 
@@ -77,8 +87,6 @@ public class BpdmDelegate extends AbstractDelegate {
         } else {
             log.debug("BPN lookup disabled, no BPN information will be collected.");
         }
-
-        return next(itemContainerBuilder, jobData, aasTransferProcess, itemId);
     }
 
     private void lookupBPN(final ItemContainer.ItemContainerBuilder itemContainerBuilder, final String itemId,
@@ -23,7 +23,18 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.aaswrapper.job.delegate;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -32,6 +43,7 @@ import org.eclipse.tractusx.irs.aaswrapper.job.ItemContainer;
 import org.eclipse.tractusx.irs.component.JobParameter;
 import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
 import org.eclipse.tractusx.irs.component.Tombstone;
+import org.eclipse.tractusx.irs.component.assetadministrationshell.AssetAdministrationShellDescriptor;
 import org.eclipse.tractusx.irs.component.enums.ProcessStep;
 import org.eclipse.tractusx.irs.registryclient.DigitalTwinRegistryKey;
 import org.eclipse.tractusx.irs.registryclient.DigitalTwinRegistryService;
@@ -41,44 +53,151 @@ import org.springframework.web.client.RestClientException;
 /**
  * Retrieves AAShell from Digital Twin Registry service and storing it inside {@link ItemContainer}.
  * This shell is later used in further processing by other delegates.
+ * If prefetching is enabled, the shells of all children of an item are fetched together by {@link #prefetch}
+ * and kept until the children are processed. At most {@code maxPrefetchedShells} shells are kept, further shells
+ * replace the oldest ones.
+ * The registry client is synchronous, so a shell which has not been prefetched is requested on the thread
+ * processing the item, which is blocked until the registry answers.
  */
 @Slf4j
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
 public class DigitalTwinDelegate extends AbstractDelegate {
 
     private final DigitalTwinRegistryService digitalTwinRegistryService;
 
+    private final boolean prefetchEnabled;
+
+    private final Duration prefetchTimeToLive;
+
+    private final Clock clock;
+
+    private final Map<DigitalTwinRegistryKey, PrefetchedShell> prefetchedShells;
+
     public DigitalTwinDelegate(final AbstractDelegate nextStep,
             final DigitalTwinRegistryService digitalTwinRegistryService) {
+        this(nextStep, digitalTwinRegistryService, false, Duration.ZERO, 0, Clock.systemUTC());
+    }
+
+    public DigitalTwinDelegate(final AbstractDelegate nextStep,
+            final DigitalTwinRegistryService digitalTwinRegistryService, final boolean prefetchEnabled,
+            final Duration prefetchTimeToLive, final int maxPrefetchedShells, final Clock clock) {
         super(nextStep);
         this.digitalTwinRegistryService = digitalTwinRegistryService;
+        this.prefetchEnabled = prefetchEnabled && maxPrefetchedShells > 0;
+        this.prefetchTimeToLive = prefetchTimeToLive;
+        this.clock = clock;
+        this.prefetchedShells = Collections.synchronizedMap(new LinkedHashMap<>(Math.max(maxPrefetchedShells, 1)) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<DigitalTwinRegistryKey, PrefetchedShell> eldest) {
+                return size() > maxPrefetchedShells;
+            }
+        });
     }
 
     @Override
-    public ItemContainer process(final ItemContainer.ItemContainerBuilder itemContainerBuilder, final JobParameter jobData,
-            final AASTransferProcess aasTransferProcess, final PartChainIdentificationKey itemId) {
+    public CompletableFuture<ItemContainer> processAsync(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+            final JobParameter jobData, final AASTransferProcess aasTransferProcess,
+            final PartChainIdentificationKey itemId, final Executor executor) {
+
+        if (fetchShell(itemContainerBuilder, jobData, aasTransferProcess, itemId)) {
+            return nextAsync(itemContainerBuilder, jobData, aasTransferProcess, itemId, executor);
+        }
+        return CompletableFuture.completedFuture(itemContainerBuilder.build());
+    }
+
+    /**
+     * @return whether the item has to be processed by the next steps
+     */
+    private boolean fetchShell(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+            final JobParameter jobData, final AASTransferProcess aasTransferProcess,
+            final PartChainIdentificationKey itemId) {
 
         if (StringUtils.isBlank(itemId.getBpn())) {
             log.warn("Could not process item with id {} because no BPN was provided. Creating Tombstone.",
                     itemId.getGlobalAssetId());
-            return itemContainerBuilder.tombstone(
+            itemContainerBuilder.tombstone(
                     Tombstone.from(itemId.getGlobalAssetId(), null, "Can't get relationship without a BPN", 0,
-                            ProcessStep.DIGITAL_TWIN_REQUEST)).build();
+                            ProcessStep.DIGITAL_TWIN_REQUEST));
+            return false;
         }
+        final DigitalTwinRegistryKey key = new DigitalTwinRegistryKey(itemId.getGlobalAssetId(), itemId.getBpn());
         try {
-            itemContainerBuilder.shell(digitalTwinRegistryService.fetchShells(
-                    List.of(new DigitalTwinRegistryKey(itemId.getGlobalAssetId(), itemId.getBpn()))
-            ).stream().findFirst().orElseThrow());
+            final Optional<AssetAdministrationShellDescriptor> prefetched = takePrefetchedShell(key);
+            if (prefetched.isPresent()) {
+                itemContainerBuilder.shell(prefetched.get());
+            } else {
+                itemContainerBuilder.shell(
+                        digitalTwinRegistryService.fetchShells(List.of(key)).stream().findFirst().orElseThrow());
+            }
         } catch (final RestClientException | RegistryServiceException e) {
             log.info("Shell Endpoint could not be retrieved for Item: {}. Creating Tombstone.", itemId);
             itemContainerBuilder.tombstone(Tombstone.from(itemId.getGlobalAssetId(), null, e, retryCount, ProcessStep.DIGITAL_TWIN_REQUEST));
         }
 
-        if (expectedDepthOfTreeIsNotReached(jobData.getDepth(), aasTransferProcess.getDepth())) {
-            return next(itemContainerBuilder, jobData, aasTransferProcess, itemId);
+        // processing stops once the depth is reached
+        return expectedDepthOfTreeIsNotReached(jobData.getDepth(), aasTransferProcess.getDepth());
+    }
+
+    /**
+     * Fetches the shells of the given items with one registry request per BPN, running the requests for different
+     * BPNs in parallel. The shells are used once the items are processed. Items whose shells could not be
+     * prefetched are requested on their own while being processed, as without prefetching.
+     *
+     * @param itemIds  the items which are processed next, usually the children of an item which its job has not
+     *                 requested yet
+     * @param executor the executor to run the registry requests on
+     * @return a future completed when all shells are prefetched, successfully or not
+     */
+    @Override
+    public CompletableFuture<Void> prefetch(final Collection<PartChainIdentificationKey> itemIds,
+            final Executor executor) {
+        if (!prefetchEnabled || itemIds.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        removeExpiredShells();
+
+        final Map<String, List<DigitalTwinRegistryKey>> keysByBpn = itemIds.stream()
+                .filter(itemId -> StringUtils.isNotBlank(itemId.getBpn()))
+                .map(itemId -> new DigitalTwinRegistryKey(itemId.getGlobalAssetId(), itemId.getBpn()))
+                .distinct()
+                .collect(Collectors.groupingBy(DigitalTwinRegistryKey::bpn));
+
+        return allCompleted(keysByBpn.values()
+                                     .stream()
+                                     .map(keys -> CompletableFuture.runAsync(() -> prefetchShells(keys), executor))
+                                     .toList());
+    }
+
+    private void prefetchShells(final List<DigitalTwinRegistryKey> keys) {
+        try {
+            final Collection<AssetAdministrationShellDescriptor> shells = digitalTwinRegistryService.fetchShells(keys);
+            final Instant expiresAt = clock.instant().plus(prefetchTimeToLive);
+            for (final DigitalTwinRegistryKey key : keys) {
+                // the registry is asked by shellId or globalAssetId, the shells are returned in arbitrary order
+                shells.stream()
+                      .filter(shell -> key.shellId().equals(shell.getGlobalAssetId())
+                              || key.shellId().equals(shell.getId()))
+                      .findFirst()
+                      .ifPresent(shell -> prefetchedShells.put(key, new PrefetchedShell(shell, expiresAt)));
+            }
+            log.info("Prefetched {} shell(s) for {} key(s)", shells.size(), keys.size());
+        } catch (final RuntimeException | RegistryServiceException e) {
+            log.info("Shells could not be prefetched for {} key(s), requesting them one by one. Reason: {}",
+                    keys.size(), e.getMessage());
         }
+    }
+
+    private Optional<AssetAdministrationShellDescriptor> takePrefetchedShell(final DigitalTwinRegistryKey key) {
+        return Optional.ofNullable(prefetchedShells.remove(key))
+                       .filter(prefetched -> clock.instant().isBefore(prefetched.expiresAt()))
+                       .map(PrefetchedShell::shell);
+    }
 
-        // depth reached - stop processing
-        return itemContainerBuilder.build();
+    private void removeExpiredShells() {
+        final Instant now = clock.instant();
+        synchronized (prefetchedShells) {
+            prefetchedShells.values().removeIf(prefetched -> !now.isBefore(prefetched.expiresAt()));
+        }
     }
 
     private boolean expectedDepthOfTreeIsNotReached(final int expectedDepth, final int currentDepth) {
@@ -86,4 +205,10 @@ public class DigitalTwinDelegate extends AbstractDelegate {
         return currentDepth < expectedDepth;
     }
 
+    /**
+     * A shell fetched ahead of processing its item.
+     */
+    private record PrefetchedShell(AssetAdministrationShellDescriptor shell, Instant expiresAt) {
+    }
+
 }
@@ -23,7 +23,10 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.aaswrapper.job.delegate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -66,40 +69,59 @@ public class RelationshipDelegate extends AbstractDelegate {
     }
 
     @Override
-    public ItemContainer process(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+    public CompletableFuture<ItemContainer> processAsync(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
             final JobParameter jobData, final AASTransferProcess aasTransferProcess,
-            final PartChainIdentificationKey itemId) {
+            final PartChainIdentificationKey itemId, final Executor executor) {
 
         final RelationshipAspect relationshipAspect = RelationshipAspect.from(jobData.getBomLifecycle(),
                 jobData.getDirection());
-        itemContainerBuilder.build()
-                            .getShells()
-                            .stream()
-                            .findFirst()
-                            .ifPresent(shell -> shell.findRelationshipEndpointAddresses(
-                                                             AspectType.fromValue(relationshipAspect.getName()))
-                                                     .forEach(endpoint -> processEndpoint(endpoint, relationshipAspect,
-                                                             aasTransferProcess, itemContainerBuilder, itemId)));
-
-        return next(itemContainerBuilder, jobData, aasTransferProcess, itemId);
+        final List<EndpointRequest> requests = new ArrayList<>();
+        for (final Endpoint endpoint : getRelationshipEndpoints(itemContainerBuilder, relationshipAspect)) {
+            if (hasBpn(endpoint, itemContainerBuilder, itemId)) {
+                requests.add(new EndpointRequest(endpoint,
+                        requestSubmodelAsStringAsync(submodelFacade, connectorEndpointsService, endpoint,
+                                itemId.getBpn())));
+            }
+        }
+
+        // the results are added one after the other, as the ItemContainerBuilder is not thread-safe
+        return allCompleted(requests.stream().map(EndpointRequest::payload).toList()).thenComposeAsync(ignored -> {
+            requests.forEach(request -> processPayload(request.endpoint(), relationshipAspect, aasTransferProcess,
+                    itemContainerBuilder, itemId, () -> getPayload(request.payload())));
+            return nextAsync(itemContainerBuilder, jobData, aasTransferProcess, itemId, executor);
+        }, executor);
     }
 
-    private void processEndpoint(final Endpoint endpoint, final RelationshipAspect relationshipAspect,
-            final AASTransferProcess aasTransferProcess, final ItemContainer.ItemContainerBuilder itemContainerBuilder,
-            final PartChainIdentificationKey itemId) {
+    private static List<Endpoint> getRelationshipEndpoints(
+            final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+            final RelationshipAspect relationshipAspect) {
+        return itemContainerBuilder.build()
+                                   .getShells()
+                                   .stream()
+                                   .findFirst()
+                                   .map(shell -> shell.findRelationshipEndpointAddresses(
+                                           AspectType.fromValue(relationshipAspect.getName())))
+                                   .orElseGet(List::of);
+    }
 
+    private boolean hasBpn(final Endpoint endpoint, final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+            final PartChainIdentificationKey itemId) {
         if (StringUtils.isBlank(itemId.getBpn())) {
             log.warn("Could not process item with id {} because no BPN was provided. Creating Tombstone.",
                     itemId.getGlobalAssetId());
             itemContainerBuilder.tombstone(
                     Tombstone.from(itemId.getGlobalAssetId(), endpoint.getProtocolInformation().getHref(),
                             "Can't get relationship without a BPN", retryCount, ProcessStep.SUBMODEL_REQUEST));
-            return;
+            return false;
         }
+        return true;
+    }
 
+    private void processPayload(final Endpoint endpoint, final RelationshipAspect relationshipAspect,
+            final AASTransferProcess aasTransferProcess, final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+            final PartChainIdentificationKey itemId, final SubmodelPayload payload) {
         try {
-            final String submodelRawPayload = requestSubmodelAsString(submodelFacade, connectorEndpointsService,
-                    endpoint, itemId.getBpn());
+            final String submodelRawPayload = payload.get();
 
             final var relationships = jsonUtil.fromString(submodelRawPayload, relationshipAspect.getSubmodelClazz())
                                               .asRelationships();
@@ -158,4 +180,13 @@ public class RelationshipDelegate extends AbstractDelegate {
                                                                            .build())
                             .toList();
     }
+
+    /**
+     * A pending submodel request for a relationship endpoint.
+     *
+     * @param endpoint the requested endpoint
+     * @param payload  the future submodel payload
+     */
+    private record EndpointRequest(Endpoint endpoint, CompletableFuture<String> payload) {
+    }
 }
@@ -26,6 +26,9 @@ package org.eclipse.tractusx.irs.aaswrapper.job.delegate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import io.github.resilience4j.retry.RetryRegistry;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +39,8 @@ import org.eclipse.tractusx.irs.component.JobParameter;
 import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
 import org.eclipse.tractusx.irs.component.Submodel;
 import org.eclipse.tractusx.irs.component.Tombstone;
+import org.eclipse.tractusx.irs.component.assetadministrationshell.AssetAdministrationShellDescriptor;
+import org.eclipse.tractusx.irs.component.assetadministrationshell.Endpoint;
 import org.eclipse.tractusx.irs.component.assetadministrationshell.SubmodelDescriptor;
 import org.eclipse.tractusx.irs.component.enums.ProcessStep;
 import org.eclipse.tractusx.irs.data.JsonParseException;
@@ -77,81 +82,125 @@ public class SubmodelDelegate extends AbstractDelegate {
     }
 
     @Override
-    public ItemContainer process(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+    public CompletableFuture<ItemContainer> processAsync(final ItemContainer.ItemContainerBuilder itemContainerBuilder,
             final JobParameter jobData, final AASTransferProcess aasTransferProcess,
-            final PartChainIdentificationKey itemId) {
-
-        itemContainerBuilder.build().getShells().stream().findFirst().ifPresent(shell -> {
-            final List<SubmodelDescriptor> aasSubmodelDescriptors = shell.getSubmodelDescriptors();
-            log.info("Retrieved {} SubmodelDescriptor for itemId {}", aasSubmodelDescriptors.size(), itemId);
+            final PartChainIdentificationKey itemId, final Executor executor) {
 
-            final List<SubmodelDescriptor> filteredSubmodelDescriptorsByAspectType = shell.filterDescriptorsByAspectTypes(
-                    jobData.getAspects());
+        final List<SubmodelRequest> requests = new ArrayList<>();
+        filterShell(itemContainerBuilder, jobData, itemId).ifPresent(shell -> {
+            final List<SubmodelDescriptor> filteredSubmodelDescriptorsByAspectType = shell.getSubmodelDescriptors();
 
             if (jobData.isCollectAspects()) {
                 log.info("Collecting Submodels.");
-                filteredSubmodelDescriptorsByAspectType.forEach(submodelDescriptor -> itemContainerBuilder.submodels(
-                        getSubmodels(submodelDescriptor, itemContainerBuilder, itemId.getGlobalAssetId(),
-                                itemId.getBpn())));
+                filteredSubmodelDescriptorsByAspectType.forEach(
+                        submodelDescriptor -> submodelDescriptor.getEndpoints().forEach(endpoint -> {
+                            if (hasBpn(endpoint, itemContainerBuilder, itemId.getGlobalAssetId(), itemId.getBpn())) {
+                                requests.add(new SubmodelRequest(submodelDescriptor, endpoint,
+                                        requestSubmodelAsStringAsync(submodelFacade, connectorEndpointsService,
+                                                endpoint, itemId.getBpn())));
+                            }
+                        }));
             }
-            log.debug("Unfiltered SubmodelDescriptor: {}", aasSubmodelDescriptors);
-            log.debug("Filtered SubmodelDescriptor: {}", filteredSubmodelDescriptorsByAspectType);
+        });
 
-            shell.setSubmodelDescriptors(filteredSubmodelDescriptorsByAspectType);
+        // the results are added one after the other, as the ItemContainerBuilder is not thread-safe
+        return allCompleted(requests.stream().map(SubmodelRequest::payload).toList()).thenComposeAsync(ignored -> {
+            requests.forEach(request -> processEndpoint(request.submodelDescriptor(), request.endpoint(),
+                    itemContainerBuilder, itemId.getGlobalAssetId(), () -> getPayload(request.payload())).ifPresent(
+                    itemContainerBuilder::submodel));
+            return nextAsync(itemContainerBuilder, jobData, aasTransferProcess, itemId, executor);
+        }, executor);
+    }
 
-        });
+    /**
+     * Replaces the shell of the item with a copy containing only the submodel descriptors of the requested aspect
+     * types. The shell itself is not modified, as it may be shared with other jobs, e.g. by the shell cache.
+     *
+     * @return the filtered shell, empty if the item has no shell
+     */
+    private static Optional<AssetAdministrationShellDescriptor> filterShell(
+            final ItemContainer.ItemContainerBuilder itemContainerBuilder, final JobParameter jobData,
+            final PartChainIdentificationKey itemId) {
+        final List<AssetAdministrationShellDescriptor> shells = itemContainerBuilder.build().getShells();
+        if (shells.isEmpty()) {
+            return Optional.empty();
+        }
+        final AssetAdministrationShellDescriptor shell = shells.get(0);
+        final List<SubmodelDescriptor> aasSubmodelDescriptors = shell.getSubmodelDescriptors();
+        log.info("Retrieved {} SubmodelDescriptor for itemId {}", aasSubmodelDescriptors.size(), itemId);
+
+        final List<SubmodelDescriptor> filteredSubmodelDescriptorsByAspectType = shell.filterDescriptorsByAspectTypes(
+                jobData.getAspects());
+
+        log.debug("Unfiltered SubmodelDescriptor: {}", aasSubmodelDescriptors);
+        log.debug("Filtered SubmodelDescriptor: {}", filteredSubmodelDescriptorsByAspectType);
+
+        final AssetAdministrationShellDescriptor filteredShell = shell.toBuilder()
+                                                                      .submodelDescriptors(
+                                                                              filteredSubmodelDescriptorsByAspectType)
+                                                                      .build();
+        itemContainerBuilder.clearShells().shell(filteredShell).shells(shells.subList(1, shells.size()));
+        return Optional.of(filteredShell);
+    }
 
-        return next(itemContainerBuilder, jobData, aasTransferProcess, itemId);
+    private boolean hasBpn(final Endpoint endpoint, final ItemContainer.ItemContainerBuilder itemContainerBuilder,
+            final String itemId, final String bpn) {
+        if (StringUtils.isBlank(bpn)) {
+            log.warn("Could not process item with id {} because no BPN was provided. Creating Tombstone.", itemId);
+            itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(),
+                    "Can't get submodel without a BPN", retryCount, ProcessStep.SUBMODEL_REQUEST));
+            return false;
+        }
+        return true;
     }
 
-    private List<Submodel> getSubmodels(final SubmodelDescriptor submodelDescriptor,
-            final ItemContainer.ItemContainerBuilder itemContainerBuilder, final String itemId, final String bpn) {
-        final List<Submodel> submodels = new ArrayList<>();
-        submodelDescriptor.getEndpoints().forEach(endpoint -> {
+    private Optional<Submodel> processEndpoint(final SubmodelDescriptor submodelDescriptor, final Endpoint endpoint,
+            final ItemContainer.ItemContainerBuilder itemContainerBuilder, final String itemId,
+            final SubmodelPayload payload) {
+        try {
+            final String jsonSchema = semanticsHubFacade.getModelJsonSchema(submodelDescriptor.getAspectType());
+            final String submodelRawPayload = payload.get();
+
+            final ValidationResult validationResult = jsonValidatorService.validate(jsonSchema, submodelRawPayload);
 
-            if (StringUtils.isBlank(bpn)) {
-                log.warn("Could not process item with id {} because no BPN was provided. Creating Tombstone.", itemId);
+            if (validationResult.isValid()) {
+                return Optional.of(Submodel.from(submodelDescriptor.getId(), submodelDescriptor.getAspectType(),
+                        jsonUtil.fromString(submodelRawPayload, Map.class)));
+            } else {
+                final String errors = String.join(", ", validationResult.getValidationErrors());
                 itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(),
-                        "Can't get submodel without a BPN", retryCount, ProcessStep.SUBMODEL_REQUEST));
-                return;
+                        new IllegalArgumentException("Submodel payload validation failed. " + errors), 0,
+                        ProcessStep.SCHEMA_VALIDATION));
             }
+        } catch (final JsonParseException e) {
+            itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(), e,
+                    RetryRegistry.ofDefaults().getDefaultConfig().getMaxAttempts(), ProcessStep.SCHEMA_VALIDATION));
+            log.info("Submodel payload did not match the expected AspectType. Creating Tombstone.");
+        } catch (final SchemaNotFoundException | InvalidSchemaException | RestClientException e) {
+            itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(), e, 0,
+                    ProcessStep.SCHEMA_REQUEST));
+            log.info("Cannot load JSON schema for validation. Creating Tombstone.");
+        } catch (final UsagePolicyException e) {
+            log.info("Encountered usage policy exception: {}. Creating Tombstone.", e.getMessage());
+            itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(), e, 0,
+                    ProcessStep.USAGE_POLICY_VALIDATION));
+        } catch (final EdcClientException e) {
+            log.info("Submodel Endpoint could not be retrieved for Item: {}. Creating Tombstone.", itemId);
+            itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(), e, 0,
+                    ProcessStep.SUBMODEL_REQUEST));
+        }
+        return Optional.empty();
+    }
 
-            try {
-                final String jsonSchema = semanticsHubFacade.getModelJsonSchema(submodelDescriptor.getAspectType());
-                final String submodelRawPayload = requestSubmodelAsString(submodelFacade, connectorEndpointsService,
-                        endpoint, bpn);
-
-                final ValidationResult validationResult = jsonValidatorService.validate(jsonSchema, submodelRawPayload);
-
-                if (validationResult.isValid()) {
-                    final Submodel submodel = Submodel.from(submodelDescriptor.getId(),
-                            submodelDescriptor.getAspectType(), jsonUtil.fromString(submodelRawPayload, Map.class));
-                    submodels.add(submodel);
-                } else {
-                    final String errors = String.join(", ", validationResult.getValidationErrors());
-                    itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(),
-                            new IllegalArgumentException("Submodel payload validation failed. " + errors), 0,
-                            ProcessStep.SCHEMA_VALIDATION));
-                }
-            } catch (final JsonParseException e) {
-                itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(), e,
-                        RetryRegistry.ofDefaults().getDefaultConfig().getMaxAttempts(), ProcessStep.SCHEMA_VALIDATION));
-                log.info("Submodel payload did not match the expected AspectType. Creating Tombstone.");
-            } catch (final SchemaNotFoundException | InvalidSchemaException | RestClientException e) {
-                itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(), e, 0,
-                        ProcessStep.SCHEMA_REQUEST));
-                log.info("Cannot load JSON schema for validation. Creating Tombstone.");
-            } catch (final UsagePolicyException e) {
-                log.info("Encountered usage policy exception: {}. Creating Tombstone.", e.getMessage());
-                itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(), e, 0,
-                        ProcessStep.USAGE_POLICY_VALIDATION));
-            } catch (final EdcClientException e) {
-                log.info("Submodel Endpoint could not be retrieved for Item: {}. Creating Tombstone.", itemId);
-                itemContainerBuilder.tombstone(Tombstone.from(itemId, endpoint.getProtocolInformation().getHref(), e, 0,
-                        ProcessStep.SUBMODEL_REQUEST));
-            }
-        });
-        return submodels;
+    /**
+     * A pending request for a submodel.
+     *
+     * @param submodelDescriptor the descriptor of the requested submodel
+     * @param endpoint           the requested endpoint
+     * @param payload            the future submodel payload
+     */
+    private record SubmodelRequest(SubmodelDescriptor submodelDescriptor, Endpoint endpoint,
+                                   CompletableFuture<String> payload) {
     }
 
 }
@@ -0,0 +1,79 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connection pool settings of the HTTP clients behind the RestTemplates. Automatically populated by Spring from
+ * application.yml and other configuration sources.
+ */
+@Component
+@ConfigurationProperties(prefix = "irs.http-client")
+@Data
+public class HttpClientConfiguration {
+
+    /**
+     * The pool settings used by all RestTemplates without own settings.
+     */
+    private PoolConfig pool = new PoolConfig();
+
+    /**
+     * Pool settings per RestTemplate, keyed by the name of the RestTemplate bean.
+     */
+    private Map<String, PoolConfig> clients = new HashMap<>();
+
+    /**
+     * @param restTemplateName the name of the RestTemplate bean
+     * @return the pool settings of the RestTemplate
+     */
+    public PoolConfig getPool(final String restTemplateName) {
+        return clients.getOrDefault(restTemplateName, pool);
+    }
+
+    /**
+     * Container for connection pool config
+     */
+    @Data
+    public static class PoolConfig {
+        /**
+         * Maximum number of connections open at the same time.
+         */
+        private int maxTotal = 50;
+        /**
+         * Maximum number of connections open to the same host.
+         */
+        private int maxPerRoute = 20;
+        /**
+         * Time after which idle connections are closed.
+         */
+        private Duration idleTimeout = Duration.ofMinutes(5);
+    }
+}
@@ -25,17 +25,25 @@ package org.eclipse.tractusx.irs.configuration;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import io.github.resilience4j.retry.RetryRegistry;
 import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.eclipse.tractusx.irs.aaswrapper.job.AASRecursiveJobHandler;
 import org.eclipse.tractusx.irs.aaswrapper.job.AASTransferProcess;
 import org.eclipse.tractusx.irs.aaswrapper.job.AASTransferProcessManager;
+import org.eclipse.tractusx.irs.aaswrapper.job.ItemContainerCache;
 import org.eclipse.tractusx.irs.aaswrapper.job.ItemDataRequest;
 import org.eclipse.tractusx.irs.aaswrapper.job.ItemTreesAssembler;
+import org.eclipse.tractusx.irs.aaswrapper.job.TransferExecutor;
 import org.eclipse.tractusx.irs.aaswrapper.job.TreeRecursiveLogic;
 import org.eclipse.tractusx.irs.aaswrapper.job.delegate.BpdmDelegate;
 import org.eclipse.tractusx.irs.aaswrapper.job.delegate.DigitalTwinDelegate;
@@ -46,22 +54,34 @@ import org.eclipse.tractusx.irs.common.OutboundMeterRegistryService;
 import org.eclipse.tractusx.irs.common.persistence.BlobPersistence;
 import org.eclipse.tractusx.irs.common.persistence.BlobPersistenceException;
 import org.eclipse.tractusx.irs.common.persistence.MinioBlobPersistence;
+import org.eclipse.tractusx.irs.connector.job.BlobTransferQueue;
+import org.eclipse.tractusx.irs.connector.job.InMemoryTransferQueue;
 import org.eclipse.tractusx.irs.connector.job.JobOrchestrator;
 import org.eclipse.tractusx.irs.connector.job.JobStore;
 import org.eclipse.tractusx.irs.connector.job.JobTTL;
+import org.eclipse.tractusx.irs.connector.job.TransferQueue;
+import org.eclipse.tractusx.irs.edc.client.CatalogCache;
+import org.eclipse.tractusx.irs.edc.client.EdcControlPlaneClient;
 import org.eclipse.tractusx.irs.edc.client.EdcSubmodelFacade;
+import org.eclipse.tractusx.irs.edc.client.EndpointDataReferenceStorage;
+import org.eclipse.tractusx.irs.edc.client.WaitStatistics;
 import org.eclipse.tractusx.irs.registryclient.DigitalTwinRegistryService;
 import org.eclipse.tractusx.irs.registryclient.discovery.ConnectorEndpointsService;
 import org.eclipse.tractusx.irs.semanticshub.SemanticsHubFacade;
 import org.eclipse.tractusx.irs.services.MeterRegistryService;
 import org.eclipse.tractusx.irs.services.validation.JsonValidatorService;
 import org.eclipse.tractusx.irs.util.JsonUtil;
+import org.eclipse.tractusx.irs.util.VirtualThreads;
+import org.springframework.aop.interceptor.AsyncExecutionAspectSupport;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 
 /**
  * Spring configuration for job-related beans.
@@ -73,7 +93,9 @@ import org.springframework.context.annotation.Profile;
 public class JobConfiguration {
     public static final String JOB_BLOB_PERSISTENCE = "JobPersistence";
     public static final int EXECUTOR_CORE_POOL_SIZE = 5;
+    private static final int VIRTUAL_SCHEDULER_POOL_SIZE = 500;
     private static final Integer EXPIRE_AFTER_DAYS = 7;
+    private static final int LEASE_RENEWALS_PER_DURATION = 3;
 
     @Bean
     public OutboundMeterRegistryService outboundMeterRegistryService(final MeterRegistry meterRegistry,
@@ -81,28 +103,136 @@ public class JobConfiguration {
         return new OutboundMeterRegistryService(meterRegistry, retryRegistry);
     }
 
+    @Bean
+    public MeterBinder catalogCacheMetrics(final CatalogCache catalogCache) {
+        return registry -> {
+            FunctionCounter.builder("edc.catalog.cache.requests", catalogCache, CatalogCache::getHits)
+                           .description("The number of catalog requests served from the cache.")
+                           .tag("result", "hit")
+                           .register(registry);
+            FunctionCounter.builder("edc.catalog.cache.requests", catalogCache, CatalogCache::getMisses)
+                           .description("The number of catalog requests sent to the EDC provider.")
+                           .tag("result", "miss")
+                           .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder edcWaitMetrics(final EndpointDataReferenceStorage endpointDataReferenceStorage,
+            final EdcControlPlaneClient edcControlPlaneClient) {
+        return registry -> {
+            registerWaitTimer(registry, "endpoint-data-reference", endpointDataReferenceStorage.getReferenceWaits());
+            registerWaitTimer(registry, "negotiation", edcControlPlaneClient.getNegotiationWaits());
+            registerWaitTimer(registry, "transfer-process", edcControlPlaneClient.getTransferProcessWaits());
+        };
+    }
+
+    private static void registerWaitTimer(final MeterRegistry registry, final String phase,
+            final WaitStatistics waits) {
+        FunctionTimer.builder("edc.wait", waits, WaitStatistics::getCount, WaitStatistics::getTotalTimeMillis,
+                             TimeUnit.MILLISECONDS)
+                     .description("The time requests waited for the EDC, by phase.")
+                     .tag("phase", phase)
+                     .register(registry);
+    }
+
     @Bean
     public JobOrchestrator<ItemDataRequest, AASTransferProcess> jobOrchestrator(
             final DigitalTwinDelegate digitalTwinDelegate,
             @Qualifier(JOB_BLOB_PERSISTENCE) final BlobPersistence blobStore, final JobStore jobStore,
             final MeterRegistryService meterService, final ApplicationEventPublisher applicationEventPublisher,
             @Value("${irs.job.jobstore.ttl.failed:}") final Duration ttlFailedJobs,
-            @Value("${irs.job.jobstore.ttl.completed:}") final Duration ttlCompletedJobs) {
+            @Value("${irs.job.jobstore.ttl.completed:}") final Duration ttlCompletedJobs,
+            final TransferQueue<ItemDataRequest> transferQueue, final TransferExecutor transferExecutor,
+            final ItemContainerCache itemContainerCache,
+            final ScheduledExecutorService scheduledExecutorService,
+            @Value("${irs.job.transfer-queue.poll-interval:PT1S}") final Duration pollInterval,
+            @Value("${irs.job.transfer-queue.poll-batch-size:10}") final int pollBatchSize,
+            @Value("${irs.job.transfer-queue.lease-duration:PT10M}") final Duration leaseDuration) {
 
-        final var manager = new AASTransferProcessManager(digitalTwinDelegate, Executors.newCachedThreadPool(),
-                blobStore);
+        final var manager = new AASTransferProcessManager(digitalTwinDelegate, transferExecutor.getExecutorService(),
+                transferExecutor.getContinuationExecutorService(), blobStore, transferQueue, itemContainerCache,
+                jobStore);
+        if (transferQueue.isShared()) {
+            // only lease transfers which can be started right away, so that leases do not expire in the queue
+            scheduledExecutorService.scheduleWithFixedDelay(() -> manager.processPendingTransfers(
+                            Math.min(pollBatchSize, transferExecutor.getIdleThreads())), pollInterval.toMillis(),
+                    pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+            // renewing several times per lease duration keeps the lease if a single renewal fails
+            final long renewalInterval = leaseDuration.dividedBy(LEASE_RENEWALS_PER_DURATION).toMillis();
+            scheduledExecutorService.scheduleWithFixedDelay(manager::renewLeases, renewalInterval, renewalInterval,
+                    TimeUnit.MILLISECONDS);
+        }
         final var logic = new TreeRecursiveLogic(blobStore, new JsonUtil(), new ItemTreesAssembler());
-        final var handler = new AASRecursiveJobHandler(logic);
+        final var handler = new AASRecursiveJobHandler(logic, jobStore);
         final JobTTL jobTTL = new JobTTL(ttlCompletedJobs, ttlFailedJobs);
 
         return new JobOrchestrator<>(manager, jobStore, handler, meterService, applicationEventPublisher, jobTTL);
     }
 
     @Bean
-    public ScheduledExecutorService scheduledExecutorService() {
+    public ThreadMode threadMode(@Value("${irs.job.thread-mode:PLATFORM}") final ThreadMode threadMode) {
+        return threadMode.resolve();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public TransferExecutor transferExecutor(final ThreadMode threadMode,
+            @Value("${irs.job.transfer-executor.max-threads:50}") final int maxThreads,
+            @Value("${irs.job.transfer-executor.queue-capacity:1000}") final int queueCapacity,
+            @Value("${irs.job.transfer-executor.max-virtual-threads:10000}") final int maxVirtualThreads,
+            final MeterRegistry meterRegistry) {
+        final Optional<ThreadFactory> virtualThreads = virtualThreadFactory(threadMode,
+                TransferExecutor.THREAD_NAME_PREFIX);
+        if (virtualThreads.isPresent()) {
+            return TransferExecutor.withVirtualThreads(virtualThreads.get(), maxVirtualThreads, meterRegistry);
+        }
+        return TransferExecutor.withPlatformThreads(maxThreads, queueCapacity, meterRegistry);
+    }
+
+    /**
+     * Runs the methods annotated with {@link org.springframework.scheduling.annotation.Async} on virtual threads.
+     * Otherwise, Spring falls back to a new platform thread for each invocation.
+     */
+    @Bean(AsyncExecutionAspectSupport.DEFAULT_TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnProperty(name = "irs.job.thread-mode", havingValue = "VIRTUAL")
+    public TaskExecutor taskExecutor(final ThreadMode threadMode) {
+        final SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("irs-async-");
+        virtualThreadFactory(threadMode, "irs-async-").ifPresent(taskExecutor::setThreadFactory);
+        return taskExecutor;
+    }
+
+    @Bean
+    public TransferQueue<ItemDataRequest> transferQueue(
+            @Qualifier(JOB_BLOB_PERSISTENCE) final BlobPersistence blobStore, final Clock clock,
+            @Value("${irs.job.transfer-queue.shared:false}") final boolean shared,
+            @Value("${irs.job.transfer-queue.lease-duration:PT10M}") final Duration leaseDuration) {
+        return shared
+                ? new BlobTransferQueue<>(blobStore, leaseDuration, clock)
+                : new InMemoryTransferQueue<>();
+    }
+
+    @Bean
+    public ItemContainerCache itemContainerCache(final Clock clock,
+            @Value("${irs.job.item-cache.max-size:10000}") final int maxSize,
+            @Value("${irs.job.item-cache.ttl:PT1H}") final Duration timeToLive) {
+        return new ItemContainerCache(maxSize, timeToLive, clock);
+    }
+
+    @Bean
+    public ScheduledExecutorService scheduledExecutorService(final ThreadMode threadMode) {
+        // polling jobs block on HTTP requests, with virtual threads many of them can run at the same time
+        final Optional<ThreadFactory> virtualThreads = virtualThreadFactory(threadMode, "irs-scheduler-");
+        if (virtualThreads.isPresent()) {
+            return Executors.newScheduledThreadPool(VIRTUAL_SCHEDULER_POOL_SIZE, virtualThreads.get());
+        }
         return Executors.newScheduledThreadPool(EXECUTOR_CORE_POOL_SIZE);
     }
 
+    private static Optional<ThreadFactory> virtualThreadFactory(final ThreadMode threadMode,
+            final String namePrefix) {
+        return threadMode == ThreadMode.VIRTUAL ? VirtualThreads.threadFactory(namePrefix) : Optional.empty();
+    }
+
     @Bean
     public Clock clock() {
         return Clock.systemUTC();
@@ -111,8 +241,10 @@ public class JobConfiguration {
     @Profile("!test")
     @Bean(JOB_BLOB_PERSISTENCE)
     public BlobPersistence blobStore(final BlobstoreConfiguration config) throws BlobPersistenceException {
-        return new MinioBlobPersistence(config.getEndpoint(), config.getAccessKey(), config.getSecretKey(),
+        final MinioBlobPersistence blobPersistence = new MinioBlobPersistence(config.getEndpoint(), config.getAccessKey(), config.getSecretKey(),
                 config.getBucketName(), EXPIRE_AFTER_DAYS);
+        blobPersistence.verifyConditionalWrites();
+        return blobPersistence;
     }
 
     @Bean
@@ -127,8 +259,12 @@ public class JobConfiguration {
 
     @Bean
     public DigitalTwinDelegate digitalTwinDelegate(final RelationshipDelegate relationshipDelegate,
-            final DigitalTwinRegistryService digitalTwinRegistryService) {
-        return new DigitalTwinDelegate(relationshipDelegate, digitalTwinRegistryService);
+            final DigitalTwinRegistryService digitalTwinRegistryService, final Clock clock,
+            @Value("${irs.job.shell-prefetch.enabled:true}") final boolean shellPrefetchEnabled,
+            @Value("${irs.job.shell-prefetch.ttl:PT5M}") final Duration shellPrefetchTtl,
+            @Value("${irs.job.shell-prefetch.max-size:10000}") final int shellPrefetchMaxSize) {
+        return new DigitalTwinDelegate(relationshipDelegate, digitalTwinRegistryService, shellPrefetchEnabled,
+                shellPrefetchTtl, shellPrefetchMaxSize, clock);
     }
 
     @Bean
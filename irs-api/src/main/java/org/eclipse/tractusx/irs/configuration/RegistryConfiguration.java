@@ -23,23 +23,34 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.configuration;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.eclipse.tractusx.irs.edc.client.EdcSubmodelFacade;
-import org.eclipse.tractusx.irs.edc.client.exceptions.EdcClientException;
+import org.eclipse.tractusx.irs.registryclient.ShellCache;
 import org.eclipse.tractusx.irs.registryclient.central.CentralDigitalTwinRegistryService;
 import org.eclipse.tractusx.irs.registryclient.central.DigitalTwinRegistryClient;
 import org.eclipse.tractusx.irs.registryclient.central.DigitalTwinRegistryClientImpl;
 import org.eclipse.tractusx.irs.registryclient.decentral.DecentralDigitalTwinRegistryClient;
 import org.eclipse.tractusx.irs.registryclient.decentral.DecentralDigitalTwinRegistryService;
-import org.eclipse.tractusx.irs.registryclient.decentral.EdcRetrieverException;
+import org.eclipse.tractusx.irs.registryclient.decentral.EdcSubmodelFacadeReferenceRetriever;
 import org.eclipse.tractusx.irs.registryclient.decentral.EndpointDataForConnectorsService;
 import org.eclipse.tractusx.irs.registryclient.discovery.ConnectorEndpointsService;
 import org.eclipse.tractusx.irs.registryclient.discovery.DiscoveryFinderClientImpl;
+import org.eclipse.tractusx.irs.util.VirtualThreads;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -48,10 +59,14 @@ import org.springframework.web.client.RestTemplate;
 @Configuration
 public class RegistryConfiguration {
 
+    public static final String REGISTRY_EXECUTOR = "registryExecutor";
+    private static final String REGISTRY_THREAD_NAME_PREFIX = "irs-registry-";
+
     @Bean
     @ConditionalOnProperty(prefix = "digitalTwinRegistry", name = "type", havingValue = "central")
-    public CentralDigitalTwinRegistryService centralDigitalTwinRegistryService(final DigitalTwinRegistryClient client) {
-        return new CentralDigitalTwinRegistryService(client);
+    public CentralDigitalTwinRegistryService centralDigitalTwinRegistryService(final DigitalTwinRegistryClient client,
+            final ShellCache shellCache) {
+        return new CentralDigitalTwinRegistryService(client, shellCache);
     }
 
     @Bean
@@ -70,23 +85,63 @@ public class RegistryConfiguration {
             @Qualifier(RestTemplateConfig.EDC_REST_TEMPLATE) final RestTemplate edcRestTemplate,
             final ConnectorEndpointsService connectorEndpointsService, final EdcSubmodelFacade facade,
             @Value("${digitalTwinRegistry.shellDescriptorTemplate:}") final String shellDescriptorTemplate,
-            @Value("${digitalTwinRegistry.lookupShellsTemplate:}") final String lookupShellsTemplate) {
+            @Value("${digitalTwinRegistry.lookupShellsTemplate:}") final String lookupShellsTemplate,
+            @Value("${irs-edc-client.controlplane.datareference.storage.expiry-margin:PT30S}")
+            final Duration expiryMargin, final Clock clock,
+            @Qualifier(REGISTRY_EXECUTOR) final ExecutorService registryExecutor,
+            @Value("${digitalTwinRegistry.maxParallelRequestsPerRegistry:10}")
+            final int maxParallelRequestsPerRegistry, final ShellCache shellCache) {
         return new DecentralDigitalTwinRegistryService(connectorEndpointsService,
-                new EndpointDataForConnectorsService((edcConnectorEndpoint, assetType, assetValue) -> {
-                    try {
-                        return facade.getEndpointReferenceForAsset(edcConnectorEndpoint, assetType, assetValue);
-                    } catch (EdcClientException e) {
-                        throw new EdcRetrieverException(e);
-                    }
-                }),
-                new DecentralDigitalTwinRegistryClient(edcRestTemplate, shellDescriptorTemplate, lookupShellsTemplate));
+                new EndpointDataForConnectorsService(new EdcSubmodelFacadeReferenceRetriever(facade), expiryMargin,
+                        clock),
+                new DecentralDigitalTwinRegistryClient(edcRestTemplate, shellDescriptorTemplate, lookupShellsTemplate),
+                registryExecutor, maxParallelRequestsPerRegistry, shellCache);
+    }
+
+    @Bean
+    public ShellCache shellCache(final Clock clock,
+            @Value("${digitalTwinRegistry.shellCache.maxSize:10000}") final int maxSize,
+            @Value("${digitalTwinRegistry.shellCache.ttl:PT10M}") final Duration timeToLive,
+            @Value("${digitalTwinRegistry.shellCache.notFoundTtl:PT1M}") final Duration notFoundTimeToLive) {
+        return new ShellCache(maxSize, timeToLive, notFoundTimeToLive, clock);
+    }
+
+    @Bean
+    public MeterBinder shellCacheMetrics(final ShellCache shellCache) {
+        return registry -> {
+            FunctionCounter.builder("registry.shell.cache.requests", shellCache, ShellCache::getHits)
+                           .description("The number of shell id and descriptor requests served from the cache.")
+                           .tag("result", "hit")
+                           .register(registry);
+            FunctionCounter.builder("registry.shell.cache.requests", shellCache, ShellCache::getMisses)
+                           .description("The number of shell id and descriptor requests sent to the registry.")
+                           .tag("result", "miss")
+                           .register(registry);
+        };
+    }
+
+    @Bean(name = REGISTRY_EXECUTOR, destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "digitalTwinRegistry", name = "type", havingValue = "decentral")
+    public ExecutorService registryExecutor(final ThreadMode threadMode,
+            @Value("${digitalTwinRegistry.requestThreads:50}") final int requestThreads) {
+        final ThreadFactory threadFactory = VirtualThreads.threadFactory(REGISTRY_THREAD_NAME_PREFIX)
+                                                          .filter(factory -> threadMode == ThreadMode.VIRTUAL)
+                                                          .orElseGet(() -> new CustomizableThreadFactory(
+                                                                  REGISTRY_THREAD_NAME_PREFIX));
+        return Executors.newFixedThreadPool(requestThreads, threadFactory);
     }
 
     @Bean
     public ConnectorEndpointsService connectorEndpointsService(
             @Qualifier(RestTemplateConfig.DTR_REST_TEMPLATE) final RestTemplate dtrRestTemplate,
-            @Value("${digitalTwinRegistry.discoveryFinderUrl:}") final String finderUrl) {
-        return new ConnectorEndpointsService(new DiscoveryFinderClientImpl(finderUrl, dtrRestTemplate));
+            @Value("${digitalTwinRegistry.discoveryFinderUrl:}") final String finderUrl,
+            @Value("${irs-edc-client.connectorEndpointService.cacheTTL:PT24H}") final Duration timeToLive,
+            @Value("${irs-edc-client.connectorEndpointService.emptyResultCacheTTL:PT5M}")
+            final Duration emptyResultTimeToLive,
+            @Value("${irs-edc-client.connectorEndpointService.refreshAhead:PT1H}") final Duration refreshAhead,
+            final ScheduledExecutorService scheduledExecutorService, final Clock clock) {
+        return new ConnectorEndpointsService(new DiscoveryFinderClientImpl(finderUrl, dtrRestTemplate), timeToLive,
+                emptyResultTimeToLive, refreshAhead, scheduledExecutorService, clock);
     }
 
 }
@@ -31,8 +31,16 @@ import java.time.Duration;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.eclipse.edc.policy.model.PolicyRegistrationTypes;
 import org.eclipse.tractusx.irs.common.OutboundMeterRegistryService;
 import org.jetbrains.annotations.NotNull;
@@ -44,8 +52,10 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
@@ -77,15 +87,45 @@ public class RestTemplateConfig {
 
     private final OAuth2AuthorizedClientService oAuth2AuthorizedClientService;
     private final ClientRegistrationRepository clientRegistrationRepository;
+    private final HttpClientConfiguration httpClientConfiguration;
+    private final MeterRegistry meterRegistry;
 
     private RestTemplateBuilder oAuthRestTemplate(final RestTemplateBuilder restTemplateBuilder,
-            final Duration readTimeout, final Duration connectTimeout, final String clientRegistrationId) {
+            final String restTemplateName, final Duration readTimeout, final Duration connectTimeout,
+            final String clientRegistrationId) {
         final var clientRegistration = clientRegistrationRepository.findByRegistrationId(clientRegistrationId);
 
-        return restTemplateBuilder.additionalInterceptors(
-                                          new OAuthClientCredentialsRestTemplateInterceptor(authorizedClientManager(), clientRegistration))
-                                  .setReadTimeout(readTimeout)
-                                  .setConnectTimeout(connectTimeout);
+        return pooledRestTemplate(restTemplateBuilder, restTemplateName, readTimeout,
+                connectTimeout).additionalInterceptors(
+                new OAuthClientCredentialsRestTemplateInterceptor(authorizedClientManager(), clientRegistration));
+    }
+
+    /**
+     * Keeps the connections of the RestTemplate open for reuse, so that not every request has to establish a new
+     * TCP and TLS connection. Requests exceeding the connection limits wait for a free connection. The pool is
+     * monitored with the httpcomponents.httpclient.pool.* metrics.
+     */
+    private RestTemplateBuilder pooledRestTemplate(final RestTemplateBuilder restTemplateBuilder,
+            final String restTemplateName, final Duration readTimeout, final Duration connectTimeout) {
+        final HttpClientConfiguration.PoolConfig poolConfig = httpClientConfiguration.getPool(restTemplateName);
+        final ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                                                                  .setConnectTimeout(Timeout.of(connectTimeout))
+                                                                  .setSocketTimeout(Timeout.of(readTimeout))
+                                                                  .build();
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(poolConfig.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(poolConfig.getMaxPerRoute());
+        connectionManager.setDefaultConnectionConfig(connectionConfig);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, restTemplateName).bindTo(meterRegistry);
+
+        final CloseableHttpClient httpClient = HttpClients.custom()
+                                                          .setConnectionManager(connectionManager)
+                                                          .evictIdleConnections(
+                                                                  TimeValue.of(poolConfig.getIdleTimeout()))
+                                                          .evictExpiredConnections()
+                                                          .build();
+        final ClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        return restTemplateBuilder.requestFactory(() -> requestFactory);
     }
 
     @Bean(DTR_REST_TEMPLATE)
@@ -95,7 +135,7 @@ public class RestTemplateConfig {
             @Value("${digitalTwinRegistry.oAuthClientId}") final String clientRegistrationId,
             final OutboundMeterRegistryService meterRegistryService) {
 
-        return oAuthRestTemplate(restTemplateBuilder, readTimeout, connectTimeout,
+        return oAuthRestTemplate(restTemplateBuilder, DTR_REST_TEMPLATE, readTimeout, connectTimeout,
                 clientRegistrationId).additionalInterceptors(getRegistryInterceptor(meterRegistryService)).build();
     }
 
@@ -117,7 +157,8 @@ public class RestTemplateConfig {
             @Value("${semanticshub.timeout.read}") final Duration readTimeout,
             @Value("${semanticshub.timeout.connect}") final Duration connectTimeout,
             @Value("${semanticshub.oAuthClientId}") final String clientRegistrationId) {
-        return oAuthRestTemplate(restTemplateBuilder, readTimeout, connectTimeout, clientRegistrationId).build();
+        return oAuthRestTemplate(restTemplateBuilder, SEMHUB_REST_TEMPLATE, readTimeout, connectTimeout,
+                clientRegistrationId).build();
     }
 
     @Bean(BPDM_REST_TEMPLATE)
@@ -125,7 +166,8 @@ public class RestTemplateConfig {
             @Value("${bpdm.timeout.read}") final Duration readTimeout,
             @Value("${bpdm.timeout.connect}") final Duration connectTimeout,
             @Value("${bpdm.oAuthClientId}") final String clientRegistrationId) {
-        return oAuthRestTemplate(restTemplateBuilder, readTimeout, connectTimeout, clientRegistrationId).build();
+        return oAuthRestTemplate(restTemplateBuilder, BPDM_REST_TEMPLATE, readTimeout, connectTimeout,
+                clientRegistrationId).build();
     }
 
     @Bean(DISCOVERY_REST_TEMPLATE)
@@ -133,16 +175,16 @@ public class RestTemplateConfig {
             @Value("${ess.discovery.timeout.read}") final Duration readTimeout,
             @Value("${ess.discovery.timeout.connect}") final Duration connectTimeout,
             @Value("${ess.discovery.oAuthClientId}") final String clientRegistrationId) {
-        return oAuthRestTemplate(restTemplateBuilder, readTimeout, connectTimeout, clientRegistrationId).build();
+        return oAuthRestTemplate(restTemplateBuilder, DISCOVERY_REST_TEMPLATE, readTimeout, connectTimeout,
+                clientRegistrationId).build();
     }
 
     @Bean(NO_ERROR_REST_TEMPLATE)
         /* package */ RestTemplate noErrorRestTemplate(final RestTemplateBuilder restTemplateBuilder,
             @Value("${irs.job.callback.timeout.read}") final Duration readTimeout,
             @Value("${irs.job.callback.timeout.connect}") final Duration connectTimeout) {
-        final RestTemplate restTemplate = restTemplateBuilder.setReadTimeout(readTimeout)
-                                                             .setConnectTimeout(connectTimeout)
-                                                             .build();
+        final RestTemplate restTemplate = pooledRestTemplate(restTemplateBuilder, NO_ERROR_REST_TEMPLATE, readTimeout,
+                connectTimeout).build();
 
         restTemplate.setErrorHandler(new DefaultResponseErrorHandler() {
             /**
@@ -178,11 +220,8 @@ public class RestTemplateConfig {
             @Value("${irs-edc-client.submodel.timeout.read}") final Duration readTimeout,
             @Value("${irs-edc-client.submodel.timeout.connect}") final Duration connectTimeout,
             final OutboundMeterRegistryService meterRegistryService) {
-        final RestTemplate restTemplate = restTemplateBuilder.setReadTimeout(readTimeout)
-                                                             .setConnectTimeout(connectTimeout)
-                                                             .additionalInterceptors(
-                                                                     getEdcInterceptor(meterRegistryService))
-                                                             .build();
+        final RestTemplate restTemplate = pooledRestTemplate(restTemplateBuilder, EDC_REST_TEMPLATE, readTimeout,
+                connectTimeout).additionalInterceptors(getEdcInterceptor(meterRegistryService)).build();
         final List<HttpMessageConverter<?>> messageConverters = restTemplate.getMessageConverters();
         for (final HttpMessageConverter<?> converter : messageConverters) {
             if (converter instanceof final MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter) {
@@ -0,0 +1,54 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.irs.util.VirtualThreads;
+
+/**
+ * Kind of threads used to process transfers, asynchronous events and scheduled polling.
+ */
+@Slf4j
+public enum ThreadMode {
+    /**
+     * Bounded pools of platform threads.
+     */
+    PLATFORM,
+    /**
+     * Virtual threads, which are cheap to block on I/O. Requires a Java 21 runtime.
+     */
+    VIRTUAL;
+
+    /**
+     * @return this mode if it is supported by the Java runtime, {@link #PLATFORM} otherwise
+     */
+    public ThreadMode resolve() {
+        if (this == VIRTUAL && !VirtualThreads.isSupported()) {
+            log.warn("Virtual threads are not supported by Java {}, falling back to platform threads",
+                    Runtime.version());
+            return PLATFORM;
+        }
+        return this;
+    }
+}
@@ -25,10 +25,16 @@ package org.eclipse.tractusx.irs.connector.job;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -41,6 +47,8 @@ import org.jetbrains.annotations.Nullable;
 
 /**
  * Base class for all JobStores, implementing the Job transition logic and handling locking.
+ * Modifications are synchronized per job, implementations must therefore allow concurrent
+ * access to different jobs.
  */
 @Slf4j
 @SuppressWarnings("PMD.TooManyMethods")
@@ -52,9 +60,34 @@ public abstract class BaseJobStore implements JobStore {
     private static final int TIMEOUT = 30_000;
 
     /**
-     * A lock to synchronize access to the collection of stored jobs.
+     * The default number of lock stripes. Jobs are mapped to a stripe by the hash of their ID.
      */
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /* package */ static final int DEFAULT_LOCK_STRIPES = 64;
+
+    /**
+     * Striped locks to synchronize access to single jobs. Operations on jobs
+     * which map to different stripes can run in parallel.
+     */
+    private final ReentrantReadWriteLock[] locks;
+
+    /**
+     * Reverse index from transfer process ID to the ID of the job it belongs to.
+     * Only contains transfers which have not been completed yet.
+     */
+    private final Map<String, String> jobIdsByProcessId = new ConcurrentHashMap<>();
+
+    /**
+     * Whether {@link #jobIdsByProcessId} has been built from the stored jobs.
+     */
+    private volatile boolean processIndexInitialized;
+
+    protected BaseJobStore() {
+        this(DEFAULT_LOCK_STRIPES);
+    }
+
+    protected BaseJobStore(final int lockStripes) {
+        this.locks = createLocks(lockStripes);
+    }
 
     protected abstract Optional<MultiTransferJob> get(String jobId);
 
@@ -66,16 +99,13 @@ public abstract class BaseJobStore implements JobStore {
 
     @Override
     public Optional<MultiTransferJob> find(final String jobId) {
-        return readLock(() -> get(jobId));
+        return readLock(jobId, () -> get(jobId));
     }
 
     @Override
     public List<MultiTransferJob> findByStateAndCompletionDateOlderThan(final JobState jobState,
             final ZonedDateTime dateTime) {
-        return readLock(() -> getAll().stream()
-                                      .filter(hasState(jobState))
-                                      .filter(isCompletionDateBefore(dateTime))
-                                      .toList());
+        return getAll().stream().filter(hasState(jobState)).filter(isCompletionDateBefore(dateTime)).toList();
     }
 
     private Predicate<MultiTransferJob> hasState(final JobState jobState) {
@@ -91,12 +121,17 @@ public abstract class BaseJobStore implements JobStore {
 
     @Override
     public Optional<MultiTransferJob> findByProcessId(final String processId) {
-        return getAll().stream().filter(j -> j.getTransferProcessIds().contains(processId)).findFirst();
+        initializeProcessIndex();
+        final String jobId = jobIdsByProcessId.get(processId);
+        if (jobId == null) {
+            return Optional.empty();
+        }
+        return readLock(jobId, () -> get(jobId)).filter(j -> j.getTransferProcessIds().contains(processId));
     }
 
     @Override
     public void create(final MultiTransferJob job) {
-        writeLock(() -> {
+        writeLock(job.getJobIdString(), () -> {
             final var newJob = job.toBuilder().transitionInitial().build();
             log.info("Adding new job into jobstore: {}", newJob);
             put(job.getJobIdString(), newJob);
@@ -107,12 +142,37 @@ public abstract class BaseJobStore implements JobStore {
     @Override
     public void addTransferProcess(final String jobId, final String processId) {
         log.info("Adding transfer process {} to job {}", processId, jobId);
-        modifyJob(jobId, job -> job.toBuilder().transferProcessId(processId).transitionInProgress().build());
+        initializeProcessIndex();
+        modifyJob(jobId, job -> {
+            final var newJob = job.toBuilder().transferProcessId(processId).transitionInProgress().build();
+            jobIdsByProcessId.put(processId, jobId);
+            return newJob;
+        });
+    }
+
+    @Override
+    public Set<String> requestItems(final String jobId, final Map<String, Integer> requestedItems) {
+        return writeLock(jobId, () -> {
+            // the modification may be applied more than once, only the one which has been stored counts
+            final AtomicReference<Set<String>> itemsToRequest = new AtomicReference<>(Set.of());
+            update(jobId, job -> {
+                final Map<String, Integer> newlyRequested = new HashMap<>();
+                requestedItems.forEach((item, depth) -> {
+                    final Integer requestedDepth = job.getRequestedItems().get(item);
+                    if (requestedDepth == null || depth < requestedDepth) {
+                        newlyRequested.put(item, depth);
+                    }
+                });
+                itemsToRequest.set(newlyRequested.keySet());
+                return newlyRequested.isEmpty() ? job : job.toBuilder().requestedItems(newlyRequested).build();
+            });
+            return itemsToRequest.get();
+        });
     }
 
     @Override
     public List<MultiTransferJob> findAll() {
-        return readLock(() -> new ArrayList<>(getAll()));
+        return new ArrayList<>(getAll());
     }
 
     @Override
@@ -136,20 +196,29 @@ public abstract class BaseJobStore implements JobStore {
             }
             return newJob.build();
         });
+        jobIdsByProcessId.remove(process.getId());
     }
 
     @Override
     public void completeJob(final String jobId, final Consumer<MultiTransferJob> completionAction) {
         log.info("Completing job {}", jobId);
-        modifyJob(jobId, job -> {
-            final JobState jobState = job.getJob().getState();
-            if (jobState == JobState.TRANSFERS_FINISHED || jobState == JobState.INITIAL) {
-                completionAction.accept(job);
-                return job.toBuilder().transitionComplete().build();
-            } else {
-                log.info("Job is in state {}, cannot complete it.", jobState);
-                return job;
-            }
+        writeLock(jobId, () -> {
+            // the modification may be applied more than once, only the one which has been stored counts
+            final AtomicReference<MultiTransferJob> completedJob = new AtomicReference<>();
+            update(jobId, job -> {
+                final JobState jobState = job.getJob().getState();
+                if (jobState == JobState.TRANSFERS_FINISHED || jobState == JobState.INITIAL) {
+                    completedJob.set(job);
+                    return job.toBuilder().transitionComplete().build();
+                } else {
+                    log.info("Job is in state {}, cannot complete it.", jobState);
+                    completedJob.set(null);
+                    return job;
+                }
+            });
+            // still holding the lock, so the job is not read before the completion action has finished
+            Optional.ofNullable(completedJob.get()).ifPresent(completionAction);
+            return null;
         });
     }
 
@@ -161,7 +230,7 @@ public abstract class BaseJobStore implements JobStore {
 
     @Override
     public List<MultiTransferJob> findByStates(final List<JobState> jobStates) {
-        return readLock(() -> getAll().stream().filter(hasState(jobStates)).toList());
+        return getAll().stream().filter(hasState(jobStates)).toList();
     }
 
     private Predicate<MultiTransferJob> hasState(final List<JobState> jobStates) {
@@ -170,30 +239,82 @@ public abstract class BaseJobStore implements JobStore {
 
     @Override
     public Optional<MultiTransferJob> deleteJob(final String jobId) {
-        return writeLock(() -> remove(jobId));
+        final Optional<MultiTransferJob> deletedJob = writeLock(jobId, () -> remove(jobId));
+        jobIdsByProcessId.values().removeIf(jobId::equals);
+        return deletedJob;
     }
 
     @Override
     public Optional<MultiTransferJob> cancelJob(final String jobId) {
         modifyJob(jobId, job -> job.toBuilder().transitionCancel().build());
 
-        return this.get(jobId);
+        return readLock(jobId, () -> get(jobId));
     }
 
     private void modifyJob(final String jobId, final UnaryOperator<MultiTransferJob> action) {
-        writeLock(() -> {
-            final var job = get(jobId);
-            if (job.isEmpty()) {
-                log.warn("Job not found: {}", jobId);
-            } else {
-                final MultiTransferJob multiTransferJob = job.get();
-                put(multiTransferJob.getJobIdString(), action.apply(multiTransferJob));
-            }
+        writeLock(jobId, () -> {
+            update(jobId, action);
             return null;
         });
     }
 
-    private <T> T readLock(final Supplier<T> work) {
+    /**
+     * Reads the job, applies the modification and stores the result. Called while holding the lock of the job.
+     * Implementations may override this to apply the modification again if it conflicts with
+     * concurrent modifications outside of this JVM, so the action may be applied more than once
+     * and must therefore not have side effects.
+     *
+     * @param jobId  the job identifier
+     * @param action the modification to apply
+     */
+    protected void update(final String jobId, final UnaryOperator<MultiTransferJob> action) {
+        final var job = get(jobId);
+        if (job.isEmpty()) {
+            log.warn("Job not found: {}", jobId);
+        } else {
+            final MultiTransferJob multiTransferJob = job.get();
+            put(multiTransferJob.getJobIdString(), action.apply(multiTransferJob));
+        }
+    }
+
+    /**
+     * Builds the process index from the stored jobs once, so that transfers of jobs
+     * persisted before a restart can still be resolved.
+     */
+    private void initializeProcessIndex() {
+        if (!processIndexInitialized) {
+            synchronized (jobIdsByProcessId) {
+                if (!processIndexInitialized) {
+                    indexTransferProcesses();
+                    log.info("Initialized transfer process index with {} entries", jobIdsByProcessId.size());
+                    processIndexInitialized = true;
+                }
+            }
+        }
+    }
+
+    private void indexTransferProcesses() {
+        getAll().forEach(job -> job.getTransferProcessIds()
+                                   .forEach(processId -> jobIdsByProcessId.putIfAbsent(processId,
+                                           job.getJobIdString())));
+    }
+
+    private static ReentrantReadWriteLock[] createLocks(final int lockStripes) {
+        final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[lockStripes];
+        Arrays.setAll(stripes, i -> new ReentrantReadWriteLock());
+        return stripes;
+    }
+
+    /* package */ int lockStripe(final String jobId) {
+        return Math.floorMod(jobId.hashCode(), locks.length);
+    }
+
+    private ReentrantReadWriteLock lockFor(final String jobId) {
+        return locks[lockStripe(jobId)];
+    }
+
+    private <T> T readLock(final String jobId, final Supplier<T> work) {
+        final ReentrantReadWriteLock lock = lockFor(jobId);
         try {
             if (!lock.readLock().tryLock(TIMEOUT, TimeUnit.MILLISECONDS)) {
                 throw new JobException("Timeout acquiring read lock");
@@ -209,7 +330,8 @@ public abstract class BaseJobStore implements JobStore {
         }
     }
 
-    private <T> T writeLock(final Supplier<T> work) {
+    private <T> T writeLock(final String jobId, final Supplier<T> work) {
+        final ReentrantReadWriteLock lock = lockFor(jobId);
         try {
             if (!lock.writeLock().tryLock(TIMEOUT, TimeUnit.MILLISECONDS)) {
                 throw new JobException("Timeout acquiring write lock");
@@ -0,0 +1,183 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.connector.job;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.irs.common.persistence.BlobPersistence;
+import org.eclipse.tractusx.irs.common.persistence.BlobPersistenceException;
+import org.eclipse.tractusx.irs.common.persistence.VersionedBlob;
+import org.eclipse.tractusx.irs.data.JsonParseException;
+import org.eclipse.tractusx.irs.util.JsonUtil;
+
+/**
+ * Transfer queue stored in the blobstore, shared by all IRS instances using the same blobstore.
+ * Transfers are leased with a conditional write, so each lease is granted to exactly one instance.
+ *
+ * @param <T> type of the DataRequest
+ */
+@Slf4j
+public class BlobTransferQueue<T extends DataRequest> implements TransferQueue<T> {
+
+    /**
+     * The prefix for queued transfers used as key in the blobstore
+     */
+    private static final String QUEUE_PREFIX = "transferqueue:";
+
+    private final BlobPersistence blobStore;
+
+    private final JsonUtil json = new JsonUtil();
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Duration leaseDuration;
+
+    private final Clock clock;
+
+    public BlobTransferQueue(final BlobPersistence blobStore, final Duration leaseDuration, final Clock clock) {
+        this.blobStore = blobStore;
+        this.leaseDuration = leaseDuration;
+        this.clock = clock;
+    }
+
+    @Override
+    public void offer(final QueuedTransfer<T> transfer) {
+        try {
+            blobStore.putBlob(toBlobId(transfer.getProcessId()), toBlob(transfer));
+        } catch (BlobPersistenceException e) {
+            throw new JobException("Cannot queue transfer " + transfer.getProcessId(), e);
+        }
+    }
+
+    /**
+     * Lists the queue once and leases transfers from that listing until enough transfers are leased.
+     */
+    @Override
+    public List<QueuedTransfer<T>> claim(final int maxTransfers) {
+        final Instant now = clock.instant();
+        final List<QueuedTransfer<T>> leased = new ArrayList<>();
+        if (maxTransfers <= 0) {
+            return leased;
+        }
+        try {
+            final List<QueuedTransfer<T>> claimable = new ArrayList<>(
+                    blobStore.findBlobByPrefix(QUEUE_PREFIX)
+                             .stream()
+                             .map(this::toTransfer)
+                             .flatMap(Optional::stream)
+                             .filter(transfer -> transfer.isClaimableAt(now))
+                             .toList());
+            // instances polling at the same time should not all compete for the same transfer
+            Collections.shuffle(claimable);
+            for (final QueuedTransfer<T> candidate : claimable) {
+                if (leased.size() >= maxTransfers) {
+                    break;
+                }
+                lease(candidate.getProcessId(), now).ifPresent(leased::add);
+            }
+        } catch (BlobPersistenceException e) {
+            // transfers leased so far are returned, they would otherwise wait until their lease expires
+            log.error("Cannot claim transfer from blobstore", e);
+        }
+        return leased;
+    }
+
+    @Override
+    public Optional<QueuedTransfer<T>> renew(final QueuedTransfer<T> transfer) {
+        final String processId = transfer.getProcessId();
+        try {
+            final Optional<VersionedBlob> stored = blobStore.getVersionedBlob(toBlobId(processId));
+            final Optional<QueuedTransfer<T>> owned = stored.flatMap(blob -> toTransfer(blob.getBlob()))
+                                                            .filter(t -> instanceId.equals(t.getLeaseOwner()));
+            if (owned.isEmpty()) {
+                return Optional.empty();
+            }
+            final QueuedTransfer<T> renewed = owned.get().leasedTo(instanceId, clock.instant().plus(leaseDuration));
+            return blobStore.putBlobIfMatches(toBlobId(processId), toBlob(renewed), stored.get().getVersion())
+                            .map(version -> renewed);
+        } catch (BlobPersistenceException e) {
+            // the lease is still valid until it expires, renewing it is tried again with the next renewal
+            log.warn("Cannot renew lease of transfer {}", processId, e);
+            return Optional.of(transfer);
+        }
+    }
+
+    @Override
+    public void acknowledge(final QueuedTransfer<T> transfer) {
+        try {
+            blobStore.delete(toBlobId(transfer.getProcessId()), List.of());
+        } catch (BlobPersistenceException e) {
+            log.warn("Cannot remove processed transfer {} from blobstore, it will be delivered again",
+                    transfer.getProcessId(), e);
+        }
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    private Optional<QueuedTransfer<T>> lease(final String processId, final Instant now)
+            throws BlobPersistenceException {
+        final Optional<VersionedBlob> stored = blobStore.getVersionedBlob(toBlobId(processId));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        final Optional<QueuedTransfer<T>> transfer = toTransfer(stored.get().getBlob()).filter(
+                t -> t.isClaimableAt(now));
+        if (transfer.isEmpty()) {
+            return Optional.empty();
+        }
+        final QueuedTransfer<T> leased = transfer.get().leasedTo(instanceId, now.plus(leaseDuration));
+        return blobStore.putBlobIfMatches(toBlobId(processId), toBlob(leased), stored.get().getVersion())
+                        .map(version -> leased);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<QueuedTransfer<T>> toTransfer(final byte[] blob) {
+        try {
+            return Optional.of(json.fromString(new String(blob, StandardCharsets.UTF_8), QueuedTransfer.class));
+        } catch (JsonParseException exception) {
+            log.warn("Queued transfer could not be parsed.");
+            return Optional.empty();
+        }
+    }
+
+    private byte[] toBlob(final QueuedTransfer<T> transfer) {
+        return json.asString(transfer).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String toBlobId(final String processId) {
+        return QUEUE_PREFIX + processId;
+    }
+}
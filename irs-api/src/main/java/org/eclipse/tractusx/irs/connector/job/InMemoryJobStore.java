@@ -24,18 +24,16 @@
 package org.eclipse.tractusx.irs.connector.job;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Manages storage of {@link MultiTransferJob} state in memory with no persistence.
  */
 @Slf4j
-@RequiredArgsConstructor
 @SuppressWarnings({ "PMD.TooManyMethods",
                     "PMD.PreserveStackTrace"
 })
@@ -45,8 +43,18 @@ public class InMemoryJobStore extends BaseJobStore {
     /**
      * The collection of stored jobs.
      */
-    @SuppressWarnings("PMD.UseConcurrentHashMap") // externally synchronized
-    private final Map<String, MultiTransferJob> jobsById = new HashMap<>();
+    private final Map<String, MultiTransferJob> jobsById = new ConcurrentHashMap<>();
+
+    public InMemoryJobStore() {
+        super();
+    }
+
+    /**
+     * @param lockStripes the number of locks the jobs are distributed on, 1 locks the whole store
+     */
+    /* package */ InMemoryJobStore(final int lockStripes) {
+        super(lockStripes);
+    }
 
     @Override
     protected Optional<MultiTransferJob> get(final String jobId) {
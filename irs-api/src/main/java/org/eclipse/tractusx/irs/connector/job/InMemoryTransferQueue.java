@@ -0,0 +1,68 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.connector.job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Transfer queue which is local to this IRS instance.
+ * Claimed transfers are not delivered again, as they are processed by this instance until they are completed and
+ * would be lost together with the queue if the instance stopped.
+ *
+ * @param <T> type of the DataRequest
+ */
+public class InMemoryTransferQueue<T extends DataRequest> implements TransferQueue<T> {
+
+    private static final String LOCAL_OWNER = "local";
+
+    private final Queue<QueuedTransfer<T>> pending = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void offer(final QueuedTransfer<T> transfer) {
+        pending.add(transfer);
+    }
+
+    @Override
+    public List<QueuedTransfer<T>> claim(final int maxTransfers) {
+        final List<QueuedTransfer<T>> claimed = new ArrayList<>();
+        QueuedTransfer<T> transfer;
+        while (claimed.size() < maxTransfers && (transfer = pending.poll()) != null) {
+            claimed.add(transfer.leasedTo(LOCAL_OWNER, null));
+        }
+        return claimed;
+    }
+
+    @Override
+    public void acknowledge(final QueuedTransfer<T> transfer) {
+        // claimed transfers are removed from the queue already
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+}
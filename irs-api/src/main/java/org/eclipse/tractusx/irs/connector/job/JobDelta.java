@@ -0,0 +1,211 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.connector.job;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import org.eclipse.tractusx.irs.component.Job;
+
+/**
+ * An entry of the append-only change log of a {@link MultiTransferJob}.
+ * Instead of persisting the whole job on each modification, only the events
+ * which happened since the last modification are stored.
+ */
+@Value
+@Builder
+@Jacksonized
+public class JobDelta {
+
+    /**
+     * The ID of the job this delta belongs to.
+     */
+    private String jobId;
+
+    /**
+     * The position of this delta in the change log of the job.
+     */
+    private long sequence;
+
+    /**
+     * The events in the order they have to be applied.
+     */
+    @Singular
+    private List<Event> events;
+
+    /**
+     * Creates the delta which transforms the previous into the next version of a job.
+     *
+     * @param sequence the position of the delta in the change log
+     * @param previous the job as it is currently persisted
+     * @param next     the modified job
+     * @return the delta, which contains no events if the jobs are equal
+     */
+    public static JobDelta between(final long sequence, final MultiTransferJob previous,
+            final MultiTransferJob next) {
+        final var delta = JobDelta.builder().jobId(next.getJobIdString()).sequence(sequence);
+
+        final Set<String> previouslyCompleted = completedIds(previous);
+        next.getCompletedTransfers()
+            .stream()
+            .filter(transfer -> !previouslyCompleted.contains(transfer.getId()))
+            .forEach(transfer -> delta.event(Event.transferCompleted(transfer)));
+
+        next.getTransferProcessIds()
+            .stream()
+            .filter(processId -> !previous.getTransferProcessIds().contains(processId))
+            .forEach(processId -> delta.event(Event.transferAdded(processId)));
+
+        final Map<String, Integer> newlyRequested = new HashMap<>();
+        next.getRequestedItems().forEach((item, depth) -> {
+            if (!depth.equals(previous.getRequestedItems().get(item))) {
+                newlyRequested.put(item, depth);
+            }
+        });
+        if (!newlyRequested.isEmpty()) {
+            delta.event(Event.itemsRequested(newlyRequested));
+        }
+
+        if (!previous.getJob().equals(next.getJob())) {
+            delta.event(Event.stateTransitioned(next.getJob()));
+        }
+        return delta.build();
+    }
+
+    /**
+     * Applies the events of this delta to the job.
+     *
+     * @param job the job to start from
+     * @return the job with all events applied
+     */
+    public MultiTransferJob applyTo(final MultiTransferJob job) {
+        MultiTransferJob result = job;
+        for (final Event event : events) {
+            result = event.applyTo(result);
+        }
+        return result;
+    }
+
+    private static Set<String> completedIds(final MultiTransferJob job) {
+        return job.getCompletedTransfers().stream().map(TransferProcess::getId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Type of change to a job.
+     */
+    public enum EventType {
+        TRANSFER_ADDED,
+        TRANSFER_COMPLETED,
+        STATE_TRANSITIONED,
+        ITEMS_REQUESTED
+    }
+
+    /**
+     * A single change to a job. Applying events is idempotent, so replaying
+     * a delta which is already contained in a snapshot does not change the job.
+     */
+    @Value
+    @Builder
+    @Jacksonized
+    public static class Event {
+        private EventType type;
+        private String processId;
+        private TransferProcess transfer;
+        private Job job;
+        private Map<String, Integer> requestedItems;
+
+        public static Event transferAdded(final String processId) {
+            return Event.builder().type(EventType.TRANSFER_ADDED).processId(processId).build();
+        }
+
+        public static Event transferCompleted(final TransferProcess transfer) {
+            return Event.builder()
+                        .type(EventType.TRANSFER_COMPLETED)
+                        .processId(transfer.getId())
+                        .transfer(transfer)
+                        .build();
+        }
+
+        public static Event stateTransitioned(final Job job) {
+            return Event.builder().type(EventType.STATE_TRANSITIONED).job(job).build();
+        }
+
+        public static Event itemsRequested(final Map<String, Integer> requestedItems) {
+            return Event.builder().type(EventType.ITEMS_REQUESTED).requestedItems(requestedItems).build();
+        }
+
+        /* package */ MultiTransferJob applyTo(final MultiTransferJob multiTransferJob) {
+            return switch (type) {
+                case TRANSFER_ADDED -> addTransfer(multiTransferJob);
+                case TRANSFER_COMPLETED -> completeTransfer(multiTransferJob);
+                case STATE_TRANSITIONED -> transitionState(multiTransferJob);
+                case ITEMS_REQUESTED -> requestItems(multiTransferJob);
+            };
+        }
+
+        private MultiTransferJob addTransfer(final MultiTransferJob multiTransferJob) {
+            if (completedIds(multiTransferJob).contains(processId)) {
+                return multiTransferJob;
+            }
+            return multiTransferJob.toBuilder().transferProcessId(processId).build();
+        }
+
+        private MultiTransferJob completeTransfer(final MultiTransferJob multiTransferJob) {
+            final List<String> remainingTransfers = new ArrayList<>(multiTransferJob.getTransferProcessIds());
+            remainingTransfers.remove(processId);
+            final var builder = multiTransferJob.toBuilder()
+                                                .clearTransferProcessIds()
+                                                .transferProcessIds(remainingTransfers);
+            if (!completedIds(multiTransferJob).contains(processId)) {
+                builder.completedTransfer(transfer);
+            }
+            return builder.build();
+        }
+
+        private MultiTransferJob transitionState(final MultiTransferJob multiTransferJob) {
+            final ZonedDateTime currentModification = multiTransferJob.getJob().getLastModifiedOn();
+            final ZonedDateTime eventModification = job.getLastModifiedOn();
+            if (currentModification != null && eventModification != null && eventModification.isBefore(
+                    currentModification)) {
+                return multiTransferJob;
+            }
+            return multiTransferJob.toBuilder().job(job).build();
+        }
+
+        private MultiTransferJob requestItems(final MultiTransferJob multiTransferJob) {
+            final Map<String, Integer> merged = new HashMap<>(multiTransferJob.getRequestedItems());
+            requestedItems.forEach((item, depth) -> merged.merge(item, depth, Math::min));
+            return multiTransferJob.toBuilder().clearRequestedItems().requestedItems(merged).build();
+        }
+    }
+}
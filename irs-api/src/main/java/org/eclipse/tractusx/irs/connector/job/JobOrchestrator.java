@@ -33,6 +33,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.tractusx.irs.common.JobProcessingFinishedEvent;
@@ -104,6 +105,14 @@ public class JobOrchestrator<T extends DataRequest, P extends TransferProcess> {
         this.jobTTL = jobTTL;
     }
 
+    /**
+     * Allows the process manager to complete transfers which have been requested by another IRS instance.
+     */
+    @PostConstruct
+    public void registerCompletionCallback() {
+        processManager.registerCompletionCallback(this::transferProcessCompleted);
+    }
+
     /**
      * Start a job with Batch
      *
@@ -154,13 +163,26 @@ public class JobOrchestrator<T extends DataRequest, P extends TransferProcess> {
      * @param process the process that has completed
      */
     /* package */ void transferProcessCompleted(final P process) {
-        final var jobEntry = jobStore.findByProcessId(process.getId());
-        if (jobEntry.isEmpty()) {
-            log.error("Job not found for transfer {}", process.getId());
-            return;
-        }
-        final var job = jobEntry.get();
+        jobStore.findByProcessId(process.getId())
+                .ifPresentOrElse(job -> transferProcessCompleted(job, process),
+                        () -> log.error("Job not found for transfer {}", process.getId()));
+    }
+
+    /**
+     * Callback invoked when a transfer has completed whose job is known, e.g. because it has been
+     * requested by another IRS instance and therefore is not contained in the index of this instance.
+     *
+     * @param jobId   the job the transfer belongs to
+     * @param process the process that has completed
+     */
+    /* package */ void transferProcessCompleted(final String jobId, final P process) {
+        jobStore.find(jobId)
+                .filter(job -> job.getTransferProcessIds().contains(process.getId()))
+                .ifPresentOrElse(job -> transferProcessCompleted(job, process),
+                        () -> log.error("Job {} not found for transfer {}", jobId, process.getId()));
+    }
 
+    private void transferProcessCompleted(final MultiTransferJob job, final P process) {
         if (job.getJob().getState() != JobState.RUNNING) {
             log.info("Ignoring transfer complete event for job {} in state {} ", job.getJob().getId(),
                     job.getJob().getState());
@@ -270,7 +292,7 @@ public class JobOrchestrator<T extends DataRequest, P extends TransferProcess> {
             final T dataRequest)  /* throws JobErrorDetails */ {
         final JobParameter jobData = job.getJobParameter();
 
-        final var response = processManager.initiateRequest(dataRequest,
+        final var response = processManager.initiateRequest(job.getJobIdString(), dataRequest,
                 transferId -> jobStore.addTransferProcess(job.getJobIdString(), transferId),
                 this::transferProcessCompleted, jobData);
 
@@ -25,7 +25,9 @@ package org.eclipse.tractusx.irs.connector.job;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.eclipse.tractusx.irs.component.enums.JobState;
@@ -87,6 +89,16 @@ public interface JobStore {
      */
     void addTransferProcess(String jobId, String processId);
 
+    /**
+     * Record the request of items of a job. An item which has already been requested is only requested
+     * again at a lower depth, because its subtree may then reach further within the depth limit of the job.
+     *
+     * @param jobId          the job identifier.
+     * @param requestedItems the depth at which each item is about to be requested, by the key of the item.
+     * @return the keys of the items which need to be requested.
+     */
+    Set<String> requestItems(String jobId, Map<String, Integer> requestedItems);
+
     /**
      * Mark transfer process completed for the job.
      *
@@ -99,7 +111,8 @@ public interface JobStore {
      * Mark job as completed.
      *
      * @param jobId            the job identifier.
-     * @param completionAction the action to perform before marking the job as complete
+     * @param completionAction the action to perform once the job has been marked as complete,
+     *                         receives the job as it was before
      * @see JobState#COMPLETED
      */
     void completeJob(String jobId, Consumer<MultiTransferJob> completionAction);
@@ -31,6 +31,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -82,6 +83,14 @@ public class MultiTransferJob {
     @Singular
     private List<TransferProcess> completedTransfers;
 
+    /**
+     * The lowest depth at which each item has been requested, by the key of the item.
+     */
+    @Getter
+    @Singular
+    @ToString.Exclude
+    private Map<String, Integer> requestedItems;
+
     public Collection<String> getTransferProcessIds() {
         return Collections.unmodifiableSet(this.transferProcessIds);
     }
@@ -26,28 +26,63 @@ package org.eclipse.tractusx.irs.connector.job;
 import static org.eclipse.tractusx.irs.configuration.JobConfiguration.JOB_BLOB_PERSISTENCE;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.tractusx.irs.component.enums.JobState;
-import org.eclipse.tractusx.irs.data.JsonParseException;
 import org.eclipse.tractusx.irs.common.persistence.BlobPersistence;
 import org.eclipse.tractusx.irs.common.persistence.BlobPersistenceException;
+import org.eclipse.tractusx.irs.common.persistence.VersionedBlob;
+import org.eclipse.tractusx.irs.component.enums.JobState;
+import org.eclipse.tractusx.irs.data.JsonParseException;
 import org.eclipse.tractusx.irs.services.MeterRegistryService;
 import org.eclipse.tractusx.irs.util.JsonUtil;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
  * Stores Job data using persistent blob storage.
+ * Jobs are additionally kept in a bounded write-through cache, so reads on the job lifecycle path
+ * are served from memory. After the revalidation interval, a cached job is only served again if neither its snapshot
+ * has been replaced nor a delta has been appended by another IRS instance, otherwise it is loaded again.
+ * Writes to the blob storage are done synchronously or asynchronously, depending on the configured
+ * {@link WriteMode}.
+ * <p>
+ * A job is stored as a snapshot plus an append-only log of {@link JobDelta}s. Modifications only append
+ * a delta, the snapshot is rewritten once the log grows as large as the job itself or the job is finished.
+ * <p>
+ * Appending a delta only succeeds if no other IRS instance has appended a delta with the same sequence
+ * number. On conflict, the job is reloaded and the modification is applied again, which allows multiple
+ * IRS replicas to share one blobstore in {@link WriteMode#SYNCHRONOUS} mode.
+ * <p>
+ * A compaction frees the sequence numbers of the deleted deltas. It therefore first raises a compaction marker
+ * to the highest deleted sequence number. Deltas at or below the marker are ignored when loading the job,
+ * and an instance which appended such a delta from a stale log position treats the append as a conflict.
  */
 @Service
 @Slf4j
+@SuppressWarnings({ "PMD.TooManyMethods",
+                    "PMD.ExcessiveImports"
+})
 public class PersistentJobStore extends BaseJobStore {
 
     /**
@@ -55,23 +90,106 @@ public class PersistentJobStore extends BaseJobStore {
      */
     private static final String JOB_PREFIX = "job:";
 
+    /**
+     * The prefix for job deltas used as key in the blobstore
+     */
+    private static final String DELTA_PREFIX = "jobdelta:";
+
+    /**
+     * The prefix for compaction markers used as key in the blobstore.
+     * A marker is an empty {@link JobDelta} holding the highest sequence number deleted by a compaction.
+     */
+    private static final String COMPACTION_PREFIX = "jobcompaction:";
+
+    private static final List<JobState> FINAL_STATES = List.of(JobState.COMPLETED, JobState.ERROR,
+            JobState.CANCELED);
+
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
     private final BlobPersistence blobStore;
 
     private final JsonUtil json = new JsonUtil();
 
     private final MeterRegistryService meterService;
 
+    /**
+     * Least recently used cache of jobs by their ID.
+     */
+    private final Map<String, MultiTransferJob> cache;
+
+    /**
+     * Jobs which are not yet written to the blobstore in {@link WriteMode#ASYNCHRONOUS} mode.
+     * These must not get lost when they are evicted from the cache.
+     */
+    private final Map<String, MultiTransferJob> pendingWrites = new ConcurrentHashMap<>();
+
+    /**
+     * The position of the stored log of each job which has been read or written by this instance.
+     */
+    private final Map<String, LogPosition> logPositions = new ConcurrentHashMap<>();
+
+    /**
+     * When each cached job has last been read from or written to the blobstore.
+     */
+    private final Map<String, Instant> validationTimes = new ConcurrentHashMap<>();
+
+    private final WriteMode writeMode;
+
+    private final int compactionThreshold;
+
+    private final int maxModificationAttempts;
+
+    private final Duration revalidationInterval;
+
+    private final Clock clock;
+
+    /**
+     * Single threaded to keep the order of writes.
+     */
+    private final ExecutorService writeExecutor;
+
     public PersistentJobStore(@Qualifier(JOB_BLOB_PERSISTENCE) final BlobPersistence blobStore,
-            final MeterRegistryService meterService) {
+            final MeterRegistryService meterService,
+            @Value("${irs.job.jobstore.cache.max-size:1000}") final int cacheMaxSize,
+            @Value("${irs.job.jobstore.cache.write-mode:SYNCHRONOUS}") final WriteMode writeMode,
+            @Value("${irs.job.jobstore.compaction-threshold:50}") final int compactionThreshold,
+            @Value("${irs.job.jobstore.max-modification-attempts:5}") final int maxModificationAttempts,
+            @Value("${irs.job.jobstore.cache.revalidation-interval:PT1S}") final Duration revalidationInterval,
+            final Clock clock) {
         super();
         this.blobStore = blobStore;
         this.meterService = meterService;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(cacheMaxSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, MultiTransferJob> eldest) {
+                return size() > cacheMaxSize;
+            }
+        });
+        this.writeMode = writeMode;
+        this.compactionThreshold = compactionThreshold;
+        this.maxModificationAttempts = maxModificationAttempts;
+        this.revalidationInterval = revalidationInterval;
+        this.clock = clock;
+        this.writeExecutor = isAsynchronous() ? Executors.newSingleThreadExecutor() : null;
     }
 
     @Override
     protected Optional<MultiTransferJob> get(final String jobId) {
+        final MultiTransferJob pendingJob = pendingWrites.get(jobId);
+        final MultiTransferJob cachedJob = cachedOrPending(cache.get(jobId), pendingJob);
+        if (cachedJob != null && (pendingJob != null || isUpToDate(jobId))) {
+            meterService.incrementJobStoreCacheHit();
+            return Optional.of(cachedJob);
+        }
+        meterService.incrementJobStoreCacheMiss();
         try {
-            return blobStore.getBlob(toBlobId(jobId)).flatMap(this::toJob);
+            final Instant loadedAt = clock.instant();
+            final Optional<MultiTransferJob> job = load(jobId);
+            job.ifPresent(j -> {
+                cache.put(jobId, j);
+                validationTimes.put(jobId, loadedAt);
+            });
+            return job;
         } catch (BlobPersistenceException e) {
             log.error("Error while trying to get job from blobstore", e);
             return Optional.empty();
@@ -82,7 +200,28 @@ public class PersistentJobStore extends BaseJobStore {
     protected Collection<MultiTransferJob> getAll() {
         try {
             final Collection<byte[]> allBlobs = blobStore.findBlobByPrefix(JOB_PREFIX);
-            return allBlobs.stream().map(this::toJob).flatMap(Optional::stream).toList();
+            final Map<String, MultiTransferJob> jobs = allBlobs.stream()
+                                                               .map(this::toJob)
+                                                               .flatMap(Optional::stream)
+                                                               .collect(Collectors.toMap(
+                                                                       MultiTransferJob::getJobIdString,
+                                                                       Function.identity(), (a, b) -> b));
+            final Map<String, Long> compactedSequences = blobStore.findBlobByPrefix(COMPACTION_PREFIX)
+                                                                  .stream()
+                                                                  .map(this::toDelta)
+                                                                  .flatMap(Optional::stream)
+                                                                  .collect(Collectors.toMap(JobDelta::getJobId,
+                                                                          JobDelta::getSequence, Math::max));
+            blobStore.findBlobByPrefix(DELTA_PREFIX)
+                     .stream()
+                     .map(this::toDelta)
+                     .flatMap(Optional::stream)
+                     .filter(delta -> delta.getSequence() > compactedSequences.getOrDefault(delta.getJobId(), -1L))
+                     .sorted(Comparator.comparingLong(JobDelta::getSequence))
+                     .forEach(delta -> jobs.computeIfPresent(delta.getJobId(), (id, job) -> delta.applyTo(job)));
+            // jobs waiting to be written are more recent than the stored ones
+            jobs.putAll(pendingWrites);
+            return jobs.values();
         } catch (BlobPersistenceException e) {
             log.error("Cannot search for jobs in blobstore", e);
             return Collections.emptyList();
@@ -90,30 +229,68 @@ public class PersistentJobStore extends BaseJobStore {
     }
 
     @Override
-    protected void put(final String jobId, final MultiTransferJob job) {
-        final byte[] blob = toBlob(job);
-        try {
-            if (!isLastStateSameAsCurrentState(jobId, job.getJob().getState())) {
-                meterService.recordJobStateMetric(job.getJob().getState());
+    protected void update(final String jobId, final UnaryOperator<MultiTransferJob> action) {
+        for (int attempt = 1; attempt <= maxModificationAttempts; attempt++) {
+            try {
+                super.update(jobId, action);
+                return;
+            } catch (ConcurrentJobModificationException e) {
+                log.info("Job {} has been modified concurrently, reloading it (attempt {} of {})", jobId, attempt,
+                        maxModificationAttempts);
+                invalidate(jobId);
             }
-            blobStore.putBlob(toBlobId(jobId), blob);
-        } catch (BlobPersistenceException e) {
-            log.error("Cannot create job in BlobStore", e);
+        }
+        throw new JobException("Could not modify job " + jobId + " due to concurrent modifications");
+    }
+
+    @Override
+    protected void put(final String jobId, final MultiTransferJob job) {
+        if (!isLastStateSameAsCurrentState(jobId, job.getJob().getState())) {
+            meterService.recordJobStateMetric(job.getJob().getState());
+        }
+        final MultiTransferJob previous = cachedOrPending(cache.get(jobId), pendingWrites.get(jobId));
+
+        if (isAsynchronous()) {
+            pendingWrites.put(jobId, job);
+            cache.put(jobId, job);
+            writeExecutor.execute(() -> {
+                try {
+                    persist(jobId, previous, job);
+                } catch (ConcurrentJobModificationException e) {
+                    log.error("Job {} has been modified concurrently, changes are lost. "
+                            + "Asynchronous writes are only supported for a single IRS instance.", jobId, e);
+                } finally {
+                    pendingWrites.remove(jobId, job);
+                }
+            });
+        } else if (persist(jobId, previous, job)) {
+            cache.put(jobId, job);
+            validationTimes.put(jobId, clock.instant());
         }
     }
 
     @Override
     protected Optional<MultiTransferJob> remove(final String jobId) {
         try {
-            final Optional<MultiTransferJob> job = blobStore.getBlob(toBlobId(jobId)).flatMap(this::toJob);
+            final MultiTransferJob cachedJob = cachedOrPending(cache.remove(jobId), pendingWrites.remove(jobId));
+            final Optional<MultiTransferJob> job = cachedJob == null ? load(jobId) : Optional.of(cachedJob);
 
             if (job.isPresent()) {
                 final List<String> ids = Stream.concat(job.get().getTransferProcessIds().stream(),
                                                        job.get().getCompletedTransfers().stream().map(TransferProcess::getId))
                                                .collect(Collectors.toList());
                 ids.add(jobId);
+                ids.add(toCompactionBlobId(jobId));
+                validationTimes.remove(jobId);
+                Optional.ofNullable(logPositions.remove(jobId))
+                        .ifPresent(position -> ids.addAll(
+                                toDeltaBlobIds(jobId, position.firstSequence(), position.nextSequence())));
 
-                blobStore.delete(toBlobId(jobId), ids);
+                if (isAsynchronous()) {
+                    writeExecutor.execute(() -> deleteBlob(jobId, ids));
+                } else {
+                    blobStore.delete(toBlobId(jobId), ids);
+                }
             }
             return job;
         } catch (BlobPersistenceException e) {
@@ -121,6 +298,250 @@ public class PersistentJobStore extends BaseJobStore {
         }
     }
 
+    /**
+     * Waits for pending asynchronous writes to be persisted.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (writeExecutor != null) {
+            writeExecutor.shutdown();
+            try {
+                if (!writeExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("Not all pending jobs could be written to the blobstore");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean isAsynchronous() {
+        return writeMode == WriteMode.ASYNCHRONOUS;
+    }
+
+    /**
+     * Writes the modification of the job to the blobstore.
+     *
+     * @param jobId    the job identifier
+     * @param previous the job as it was before the modification, null if the job is new
+     * @param job      the modified job
+     * @return whether the job has been written
+     * @throws ConcurrentJobModificationException if the stored job has been modified by another IRS instance
+     */
+    private boolean persist(final String jobId, final MultiTransferJob previous, final MultiTransferJob job) {
+        final LogPosition position = logPositions.get(jobId);
+        if (previous == null) {
+            return createSnapshot(jobId, job);
+        }
+        if (position == null) {
+            // the stored log has to be read again before it can be appended to
+            throw new ConcurrentJobModificationException(jobId);
+        }
+
+        final JobDelta delta = JobDelta.between(position.nextSequence(), previous, job);
+        if (delta.getEvents().isEmpty()) {
+            return true;
+        }
+        if (!appendDelta(delta)) {
+            return false;
+        }
+        final LogPosition appended = position.append();
+        logPositions.put(jobId, appended);
+        if (needsCompaction(job, appended)) {
+            compact(jobId, job, appended);
+        }
+        return true;
+    }
+
+    private boolean needsCompaction(final MultiTransferJob job, final LogPosition position) {
+        // compacting only when the log is as large as the job keeps the amortized cost per modification constant
+        return FINAL_STATES.contains(job.getJob().getState()) || position.deltaCount() >= Math.max(
+                compactionThreshold, job.getCompletedTransfers().size());
+    }
+
+    private boolean createSnapshot(final String jobId, final MultiTransferJob job) {
+        try {
+            final String version = blobStore.putBlobIfMatches(toBlobId(jobId), toBlob(job), null)
+                                            .orElseThrow(() -> new ConcurrentJobModificationException(jobId));
+            logPositions.put(jobId, LogPosition.initial(version));
+            return true;
+        } catch (BlobPersistenceException e) {
+            log.error("Cannot create job in BlobStore", e);
+            return false;
+        }
+    }
+
+    private boolean appendDelta(final JobDelta delta) {
+        try {
+            final String deltaBlobId = toDeltaBlobId(delta.getJobId(), delta.getSequence());
+            blobStore.putBlobIfMatches(deltaBlobId, toBlob(delta), null)
+                     .orElseThrow(() -> new ConcurrentJobModificationException(delta.getJobId()));
+            if (delta.getSequence() <= compactedSequence(delta.getJobId())) {
+                // the sequence number has been freed by a compaction which did not contain this delta
+                blobStore.delete(deltaBlobId, Collections.emptyList());
+                throw new ConcurrentJobModificationException(delta.getJobId());
+            }
+            return true;
+        } catch (BlobPersistenceException e) {
+            log.error("Cannot store job delta in BlobStore", e);
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the snapshot by the given job and deletes the deltas contained in it.
+     * The last delta is kept to preserve the sequence number for the next modification.
+     * The compaction marker is raised before deleting, so the freed sequence numbers cannot be appended to.
+     */
+    private void compact(final String jobId, final MultiTransferJob job, final LogPosition position) {
+        try {
+            final Optional<String> version = blobStore.putBlobIfMatches(toBlobId(jobId), toBlob(job),
+                    position.snapshotVersion());
+            if (version.isEmpty()) {
+                log.info("Snapshot of job {} has been replaced concurrently, skipping compaction", jobId);
+                logPositions.remove(jobId);
+                return;
+            }
+            final long lastSequence = position.nextSequence() - 1;
+            final List<String> deltaBlobIds = toDeltaBlobIds(jobId, position.firstSequence(), lastSequence);
+            logPositions.put(jobId, position.compact(version.get()));
+            if (!deltaBlobIds.isEmpty()) {
+                raiseCompactionMarker(jobId, lastSequence - 1);
+                blobStore.delete(deltaBlobIds.get(0), deltaBlobIds.subList(1, deltaBlobIds.size()));
+            }
+        } catch (BlobPersistenceException e) {
+            // replaying deltas which are already part of the snapshot does not change the job
+            log.warn("Cannot compact deltas of job {}", jobId, e);
+        }
+    }
+
+    private void raiseCompactionMarker(final String jobId, final long sequence) throws BlobPersistenceException {
+        final String markerBlobId = toCompactionBlobId(jobId);
+        final byte[] blob = toBlob(JobDelta.builder().jobId(jobId).sequence(sequence).build());
+        for (int attempt = 1; attempt <= maxModificationAttempts; attempt++) {
+            final Optional<VersionedBlob> marker = blobStore.getVersionedBlob(markerBlobId);
+            final boolean alreadyRaised = marker.flatMap(stored -> toDelta(stored.getBlob()))
+                                                .filter(stored -> stored.getSequence() >= sequence)
+                                                .isPresent();
+            final String markerVersion = marker.map(VersionedBlob::getVersion).orElse(null);
+            if (alreadyRaised || blobStore.putBlobIfMatches(markerBlobId, blob, markerVersion).isPresent()) {
+                return;
+            }
+        }
+        throw new BlobPersistenceException("Could not raise compaction marker of job " + jobId,
+                new ConcurrentJobModificationException(jobId));
+    }
+
+    /**
+     * @return the highest sequence number deleted by a compaction, or -1 if the log has not been compacted yet
+     */
+    private long compactedSequence(final String jobId) throws BlobPersistenceException {
+        return blobStore.getBlob(toCompactionBlobId(jobId))
+                        .flatMap(this::toDelta)
+                        .map(JobDelta::getSequence)
+                        .orElse(-1L);
+    }
+
+    private void deleteBlob(final String jobId, final List<String> processIds) {
+        try {
+            blobStore.delete(toBlobId(jobId), processIds);
+        } catch (BlobPersistenceException e) {
+            log.error("Cannot delete job from BlobStore", e);
+        }
+    }
+
+    private void invalidate(final String jobId) {
+        cache.remove(jobId);
+        logPositions.remove(jobId);
+        validationTimes.remove(jobId);
+    }
+
+    /**
+     * Checks whether the cached job still matches the stored log. As deltas are appended without gaps, the log has
+     * not been modified if the snapshot has the same version and no delta is stored at the next sequence number.
+     */
+    private boolean isUpToDate(final String jobId) {
+        final Instant now = clock.instant();
+        final Instant validatedAt = validationTimes.get(jobId);
+        if (validatedAt != null && validatedAt.plus(revalidationInterval).isAfter(now)) {
+            return true;
+        }
+        final LogPosition position = logPositions.get(jobId);
+        if (position == null) {
+            return false;
+        }
+        try {
+            final boolean upToDate = blobStore.getBlobVersion(toBlobId(jobId))
+                                              .filter(position.snapshotVersion()::equals)
+                                              .isPresent() && blobStore.getBlobVersion(
+                    toDeltaBlobId(jobId, position.nextSequence())).isEmpty();
+            if (upToDate) {
+                validationTimes.put(jobId, now);
+            } else {
+                log.debug("Job {} has been modified by another IRS instance, reloading it", jobId);
+            }
+            return upToDate;
+        } catch (BlobPersistenceException e) {
+            log.warn("Cannot revalidate cached job {}, using it anyway", jobId, e);
+            return true;
+        }
+    }
+
+    private static MultiTransferJob cachedOrPending(final MultiTransferJob cachedJob,
+            final MultiTransferJob pendingJob) {
+        return cachedJob == null ? pendingJob : cachedJob;
+    }
+
+    /**
+     * Loads the snapshot of the job and replays its deltas. Another instance may compact the log between reading
+     * the snapshot and listing the deltas, deleting deltas the read snapshot does not contain. The job is therefore
+     * only used if the snapshot has not been replaced meanwhile, otherwise it is loaded again.
+     */
+    private Optional<MultiTransferJob> load(final String jobId) throws BlobPersistenceException {
+        for (int attempt = 1; attempt <= maxModificationAttempts; attempt++) {
+            final Optional<VersionedBlob> snapshot = blobStore.getVersionedBlob(toBlobId(jobId));
+            if (snapshot.isEmpty()) {
+                return Optional.empty();
+            }
+            final Optional<MultiTransferJob> snapshotJob = toJob(snapshot.get().getBlob());
+            if (snapshotJob.isEmpty()) {
+                return snapshotJob;
+            }
+            final List<JobDelta> storedDeltas = blobStore.findBlobByPrefix(toDeltaBlobPrefix(jobId))
+                                                         .stream()
+                                                         .map(this::toDelta)
+                                                         .flatMap(Optional::stream)
+                                                         .toList();
+            // deltas appended from a stale position are only visible until their appender has deleted them
+            final long compactedSequence = compactedSequence(jobId);
+            final List<JobDelta> deltas = storedDeltas.stream()
+                                                      .filter(delta -> delta.getSequence() > compactedSequence)
+                                                      .sorted(Comparator.comparingLong(JobDelta::getSequence))
+                                                      .toList();
+            final String snapshotVersion = snapshot.get().getVersion();
+            if (blobStore.getBlobVersion(toBlobId(jobId)).filter(snapshotVersion::equals).isPresent()) {
+                final long nextSequence = deltas.isEmpty()
+                        ? compactedSequence + 1
+                        : deltas.get(deltas.size() - 1).getSequence() + 1;
+                final long firstSequence = deltas.isEmpty() ? nextSequence : deltas.get(0).getSequence();
+                logPositions.put(jobId, new LogPosition(snapshotVersion, firstSequence, nextSequence));
+                return Optional.of(replay(snapshotJob.get(), deltas));
+            }
+            log.info("Snapshot of job {} has been replaced while loading it, reloading it (attempt {} of {})", jobId,
+                    attempt, maxModificationAttempts);
+        }
+        throw new BlobPersistenceException("Could not load job " + jobId + " due to concurrent modifications",
+                new ConcurrentJobModificationException(jobId));
+    }
+
+    private static MultiTransferJob replay(final MultiTransferJob snapshotJob, final List<JobDelta> deltas) {
+        MultiTransferJob job = snapshotJob;
+        for (final JobDelta delta : deltas) {
+            job = delta.applyTo(job);
+        }
+        return job;
+    }
+
     private Optional<MultiTransferJob> toJob(final byte[] blob) {
         try {
             return Optional.of(json.fromString(new String(blob, StandardCharsets.UTF_8), MultiTransferJob.class));
@@ -130,18 +551,99 @@ public class PersistentJobStore extends BaseJobStore {
         }
     }
 
+    private Optional<JobDelta> toDelta(final byte[] blob) {
+        try {
+            return Optional.of(json.fromString(new String(blob, StandardCharsets.UTF_8), JobDelta.class));
+        } catch (JsonParseException exception) {
+            log.warn("Stored job delta could not be parsed.");
+            return Optional.empty();
+        }
+    }
+
     private byte[] toBlob(final MultiTransferJob job) {
         final String jobString = this.json.asString(job);
         return jobString.getBytes(StandardCharsets.UTF_8);
     }
 
+    private byte[] toBlob(final JobDelta delta) {
+        return json.asString(delta).getBytes(StandardCharsets.UTF_8);
+    }
+
     private String toBlobId(final String jobId) {
         return JOB_PREFIX + jobId;
     }
 
+    private String toDeltaBlobPrefix(final String jobId) {
+        return DELTA_PREFIX + jobId + ":";
+    }
+
+    private String toCompactionBlobId(final String jobId) {
+        return COMPACTION_PREFIX + jobId;
+    }
+
+    private String toDeltaBlobId(final String jobId, final long sequence) {
+        return toDeltaBlobPrefix(jobId) + String.format("%010d", sequence);
+    }
+
+    private List<String> toDeltaBlobIds(final String jobId, final long fromSequence, final long toSequence) {
+        return LongStream.range(fromSequence, toSequence).mapToObj(sequence -> toDeltaBlobId(jobId, sequence)).toList();
+    }
+
+    /**
+     * Compares against the cached job only. Jobs which have been evicted from the cache will be counted again.
+     */
     private boolean isLastStateSameAsCurrentState(final String jobId, final JobState state) {
-        final Optional<MultiTransferJob> optJob = get(jobId);
-        return optJob.isPresent() && optJob.get().getJob().getState().equals(state);
+        final MultiTransferJob lastJob = cachedOrPending(cache.get(jobId), pendingWrites.get(jobId));
+        return lastJob != null && lastJob.getJob().getState().equals(state);
+    }
+
+    /**
+     * Determines how jobs are written to the blobstore.
+     */
+    public enum WriteMode {
+        /**
+         * Jobs are written before the store operation returns.
+         */
+        SYNCHRONOUS,
+        /**
+         * Jobs are written in the order of modification by a background thread.
+         */
+        ASYNCHRONOUS
+    }
+
+    /**
+     * The position of a job's log in the blobstore.
+     *
+     * @param snapshotVersion version of the stored snapshot
+     * @param firstSequence   sequence number of the oldest stored delta
+     * @param nextSequence    sequence number of the next delta to append
+     */
+    private record LogPosition(String snapshotVersion, long firstSequence, long nextSequence) {
+
+        /* package */ static LogPosition initial(final String snapshotVersion) {
+            return new LogPosition(snapshotVersion, 0, 0);
+        }
+
+        /* package */ long deltaCount() {
+            return nextSequence - firstSequence;
+        }
+
+        /* package */ LogPosition append() {
+            return new LogPosition(snapshotVersion, firstSequence, nextSequence + 1);
+        }
+
+        /* package */ LogPosition compact(final String newSnapshotVersion) {
+            return new LogPosition(newSnapshotVersion, nextSequence - 1, nextSequence);
+        }
+    }
+
+    /**
+     * Thrown if the stored job has been modified by another IRS instance.
+     */
+    private static class ConcurrentJobModificationException extends JobException {
+        /* package */ ConcurrentJobModificationException(final String jobId) {
+            super("Job " + jobId + " has been modified concurrently");
+        }
     }
 
 }
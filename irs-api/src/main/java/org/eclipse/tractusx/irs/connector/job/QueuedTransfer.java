@@ -0,0 +1,74 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.connector.job;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import org.eclipse.tractusx.irs.component.JobParameter;
+
+/**
+ * Transfer stored in a {@link TransferQueue}.
+ *
+ * @param <T> type of the DataRequest
+ */
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
+public class QueuedTransfer<T extends DataRequest> {
+
+    private String processId;
+
+    /**
+     * The job the transfer belongs to, so that any IRS instance can complete it without searching the job.
+     */
+    private String jobId;
+    private T dataRequest;
+    private JobParameter jobData;
+
+    /**
+     * The IRS instance processing the transfer, null while the transfer is pending.
+     */
+    private String leaseOwner;
+    private Instant leaseExpiresAt;
+
+    /**
+     * @param now the current time
+     * @return whether the transfer is pending or its lease has expired
+     */
+    public boolean isClaimableAt(final Instant now) {
+        return leaseExpiresAt == null || leaseExpiresAt.isBefore(now);
+    }
+
+    /**
+     * @param owner     the IRS instance claiming the transfer
+     * @param expiresAt the time until which the transfer is reserved for the owner
+     * @return the transfer leased to the owner
+     */
+    public QueuedTransfer<T> leasedTo(final String owner, final Instant expiresAt) {
+        return toBuilder().leaseOwner(owner).leaseExpiresAt(expiresAt).build();
+    }
+}
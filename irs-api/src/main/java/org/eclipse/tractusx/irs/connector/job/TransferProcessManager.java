@@ -23,6 +23,7 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.connector.job;
 
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import org.eclipse.tractusx.irs.component.JobParameter;
@@ -38,12 +39,23 @@ public interface TransferProcessManager<T extends DataRequest, P extends Transfe
     /**
      * Starts a data request asynchronously.
      *
+     * @param jobId                    the job the request belongs to
      * @param dataRequest              the data request instruction
      * @param transferProcessStarted   callback which is executed as soon as a request is being started
      * @param transferProcessCompleted callback which is executed after the request is finished
      * @param jobData                  of the BomLifecycle from the RegisterJob request
      * @return the initialization response, indicating the acceptance status of the transfer
      */
-    TransferInitiateResponse initiateRequest(T dataRequest, Consumer<String> transferProcessStarted,
+    TransferInitiateResponse initiateRequest(String jobId, T dataRequest, Consumer<String> transferProcessStarted,
             Consumer<P> transferProcessCompleted, JobParameter jobData);
+
+    /**
+     * Registers the callback for transfers which have been requested by another IRS instance.
+     *
+     * @param transferProcessCompleted callback which is executed with the job ID and the transfer
+     *                                 after the request is finished
+     */
+    default void registerCompletionCallback(final BiConsumer<String, P> transferProcessCompleted) {
+        // transfers are processed by the instance which requested them by default
+    }
 }
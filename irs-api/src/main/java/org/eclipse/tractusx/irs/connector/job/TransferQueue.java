@@ -0,0 +1,84 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.connector.job;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Queue of transfers waiting to be processed.
+ * A claimed transfer is leased to the claiming IRS instance. If the queue is shared and the transfer is not
+ * acknowledged before the lease expires, it is delivered again.
+ *
+ * @param <T> type of the DataRequest
+ */
+public interface TransferQueue<T extends DataRequest> {
+
+    /**
+     * Adds a transfer to the queue.
+     *
+     * @param transfer the transfer to process
+     * @throws JobException if the transfer cannot be queued
+     */
+    void offer(QueuedTransfer<T> transfer);
+
+    /**
+     * Claims a pending transfer or, if the queue is shared, a transfer whose lease has expired.
+     *
+     * @return the leased transfer, or empty if no transfer is available
+     */
+    default Optional<QueuedTransfer<T>> claim() {
+        return claim(1).stream().findFirst();
+    }
+
+    /**
+     * Claims up to the given number of transfers, like {@link #claim()}.
+     *
+     * @param maxTransfers the maximum number of transfers to claim
+     * @return the leased transfers, empty if no transfer is available
+     */
+    List<QueuedTransfer<T>> claim(int maxTransfers);
+
+    /**
+     * Extends the lease of a claimed transfer which is still being processed, so that it is not delivered again.
+     *
+     * @param transfer the claimed transfer
+     * @return the transfer with the extended lease, or empty if the transfer is no longer leased to this instance
+     */
+    default Optional<QueuedTransfer<T>> renew(final QueuedTransfer<T> transfer) {
+        return Optional.of(transfer);
+    }
+
+    /**
+     * Removes a claimed transfer from the queue after it has been processed.
+     *
+     * @param transfer the processed transfer
+     */
+    void acknowledge(QueuedTransfer<T> transfer);
+
+    /**
+     * @return whether the queued transfers can be claimed by other IRS instances
+     */
+    boolean isShared();
+}
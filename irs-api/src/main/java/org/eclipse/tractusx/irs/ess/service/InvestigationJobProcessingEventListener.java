@@ -24,7 +24,6 @@
 package org.eclipse.tractusx.irs.ess.service;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -159,8 +158,8 @@ class InvestigationJobProcessingEventListener {
         final Map<String, List<String>> bpns = getBPNsFromRelationships(completedJob.getRelationships());
         log.debug("Extracted BPNs '{}'", bpns);
 
-        final HashMap<String, List<String>> resolvedBPNs = new HashMap<>();
-        bpns.keySet().forEach(bpn -> resolvedBPNs.put(bpn, connectorEndpointsService.fetchConnectorEndpoints(bpn)));
+        final Map<String, List<String>> resolvedBPNs = connectorEndpointsService.fetchConnectorEndpointsByBpn(
+                bpns.keySet());
         log.debug("Found Endpoints to BPNs '{}'", resolvedBPNs);
 
         if (thereIsUnresolvableEdcAddress(resolvedBPNs)) {
@@ -180,14 +179,14 @@ class InvestigationJobProcessingEventListener {
                     SupplyChainImpacted.UNKNOWN);
         } else {
             log.debug("Sending notification for BPNs '{}'", bpns);
-            sendNotifications(completedJob, investigationJobUpdate, bpns);
+            sendNotifications(completedJob, investigationJobUpdate, bpns, resolvedBPNs);
         }
     }
 
     private void sendNotifications(final Jobs completedJob, final BpnInvestigationJob investigationJobUpdate,
-            final Map<String, List<String>> bpns) {
+            final Map<String, List<String>> bpns, final Map<String, List<String>> resolvedBPNs) {
         bpns.forEach((bpn, globalAssetIds) -> {
-            final List<String> edcBaseUrl = connectorEndpointsService.fetchConnectorEndpoints(bpn);
+            final List<String> edcBaseUrl = resolvedBPNs.getOrDefault(bpn, List.of());
             if (edcBaseUrl.isEmpty()) {
                 log.warn("No EDC URL found for BPN '{}'. Setting investigation result to '{}'", bpn,
                         SupplyChainImpacted.UNKNOWN);
@@ -46,6 +46,8 @@ public class MeterRegistryService {
     private static final String JOB_STATE_TAG = "jobstate";
     private static final String JOB_TIMER_TAG = "jobtimer";
     private static final String JOB_SNAPSHOT_TAG = "jobsnapshot";
+    private static final String JOB_STORE_CACHE_METRIC = "jobs.jobstore.cache";
+    private static final String CACHE_RESULT_TAG = "result";
 
     private final AtomicLong numbersOfJobsInJobStore = new AtomicLong();
     private final AtomicLong jobExecutionDuration = new AtomicLong();
@@ -57,6 +59,8 @@ public class MeterRegistryService {
 
     private JobMetrics jobMetrics;
     private final MeterRegistry meterRegistry;
+    private final Counter jobStoreCacheHits;
+    private final Counter jobStoreCacheMisses;
 
     public MeterRegistryService(final MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
@@ -115,6 +119,14 @@ public class MeterRegistryService {
                                                  .tags(JOB_SNAPSHOT_TAG, "job_cancelled_snapshot")
                                                  .register(meterRegistry))
                                     .build();
+        this.jobStoreCacheHits = Counter.builder(JOB_STORE_CACHE_METRIC)
+                                        .description("Number of jobs read from the jobstore cache")
+                                        .tags(CACHE_RESULT_TAG, "hit")
+                                        .register(meterRegistry);
+        this.jobStoreCacheMisses = Counter.builder(JOB_STORE_CACHE_METRIC)
+                                          .description("Number of jobs read from the blobstore on cache miss")
+                                          .tags(CACHE_RESULT_TAG, "miss")
+                                          .register(meterRegistry);
     }
 
     public void incrementNumberOfCreatedJobs() {
@@ -145,6 +157,14 @@ public class MeterRegistryService {
         jobMetrics.getException().increment();
     }
 
+    public void incrementJobStoreCacheHit() {
+        jobStoreCacheHits.increment();
+    }
+
+    public void incrementJobStoreCacheMiss() {
+        jobStoreCacheMisses.increment();
+    }
+
     public void recordJobStateMetric(final JobState state) {
         switch (state) {
             case COMPLETED:
@@ -33,6 +33,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.irs.aaswrapper.job.AASTransferProcess;
+import org.eclipse.tractusx.irs.aaswrapper.job.ItemDataRequest;
+import org.eclipse.tractusx.irs.connector.job.DataRequest;
 import org.eclipse.tractusx.irs.connector.job.TransferProcess;
 import org.eclipse.tractusx.irs.data.JsonParseException;
 
@@ -50,7 +52,7 @@ public class JsonUtil {
 
     static {
         final SimpleModule simpleModule = new SimpleModule().addAbstractTypeMapping(TransferProcess.class,
-                AASTransferProcess.class);
+                AASTransferProcess.class).addAbstractTypeMapping(DataRequest.class, ItemDataRequest.class);
 
         MAPPER.registerModule(simpleModule);
         MAPPER.registerModule(new Jdk8Module());
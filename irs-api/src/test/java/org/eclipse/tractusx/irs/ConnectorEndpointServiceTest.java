@@ -30,8 +30,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -48,19 +46,15 @@ class ConnectorEndpointServiceTest {
     @Autowired
     ConnectorEndpointsService connectorEndpointsService;
 
-    @Autowired
-    CacheManager cacheManager;
-
     @Test
-    void shouldGenerateCacheRecordWhenFetchConnectorEndpointsCalled() {
+    void shouldReturnNoConnectorEndpointsForBlankBpn() {
         // given
         final String bpnRecord = "";
 
         // when
-        connectorEndpointsService.fetchConnectorEndpoints(bpnRecord);
+        final var connectorEndpoints = connectorEndpointsService.fetchConnectorEndpoints(bpnRecord);
 
         // then
-        final Cache connectorEndpointServiceCache = cacheManager.getCache("connector_endpoint_service_cache");
-        Assertions.assertThat(connectorEndpointServiceCache.get(bpnRecord)).isNotNull();
+        Assertions.assertThat(connectorEndpoints).isEmpty();
     }
 }
@@ -26,21 +26,45 @@ package org.eclipse.tractusx.irs;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import lombok.Value;
 import org.eclipse.tractusx.irs.common.persistence.BlobPersistence;
+import org.eclipse.tractusx.irs.common.persistence.VersionedBlob;
 
 @Value
 public class InMemoryBlobStore implements BlobPersistence {
 
     Map<String, byte[]> store = new ConcurrentHashMap<>();
+    Map<String, String> versions = new ConcurrentHashMap<>();
 
     @Override
     public void putBlob(final String targetBlobName, final byte[] blob) {
         store.put(targetBlobName, blob);
+        versions.put(targetBlobName, UUID.randomUUID().toString());
+    }
+
+    @Override
+    public Optional<VersionedBlob> getVersionedBlob(final String sourceBlobName) {
+        synchronized (store) {
+            return getBlob(sourceBlobName).map(blob -> new VersionedBlob(blob, versions.get(sourceBlobName)));
+        }
+    }
+
+    @Override
+    public Optional<String> putBlobIfMatches(final String targetBlobName, final byte[] blob,
+            final String expectedVersion) {
+        synchronized (store) {
+            if (!Objects.equals(versions.get(targetBlobName), expectedVersion)) {
+                return Optional.empty();
+            }
+            putBlob(targetBlobName, blob);
+            return Optional.of(versions.get(targetBlobName));
+        }
     }
 
     @Override
@@ -60,6 +84,8 @@ public class InMemoryBlobStore implements BlobPersistence {
     @Override
     public boolean delete(final String jobId, final List<String> processIds) {
         processIds.forEach(store::remove);
+        processIds.forEach(versions::remove);
+        versions.remove(jobId);
         return store.remove(jobId) != null;
     }
 }
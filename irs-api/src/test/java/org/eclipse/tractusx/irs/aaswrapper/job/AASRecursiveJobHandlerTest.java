@@ -0,0 +1,145 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.aaswrapper.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
+import org.eclipse.tractusx.irs.component.enums.JobState;
+import org.eclipse.tractusx.irs.connector.job.InMemoryJobStore;
+import org.eclipse.tractusx.irs.connector.job.JobStore;
+import org.eclipse.tractusx.irs.connector.job.MultiTransferJob;
+import org.eclipse.tractusx.irs.util.TestMother;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AASRecursiveJobHandlerTest {
+
+    private final TestMother generate = new TestMother();
+    private final JobStore jobStore = new InMemoryJobStore();
+    private final AASRecursiveJobHandler sut = new AASRecursiveJobHandler(mock(TreeRecursiveLogic.class), jobStore);
+    private final MultiTransferJob job = generate.job(JobState.UNSAVED);
+
+    @BeforeEach
+    void setUp() {
+        jobStore.create(job);
+    }
+
+    @Test
+    void shouldRequestSharedChildOnlyOnce() {
+        // Arrange
+        final PartChainIdentificationKey sharedChild = item();
+        sut.initiate(job);
+
+        // Act
+        final List<ItemDataRequest> firstParent = sut.recurse(job, transfer(1, sharedChild, item())).toList();
+        final List<ItemDataRequest> secondParent = sut.recurse(job, transfer(1, sharedChild)).toList();
+
+        // Assert
+        assertThat(firstParent).hasSize(2);
+        assertThat(secondParent).isEmpty();
+    }
+
+    @Test
+    void shouldNotRequestRootAgainWhenCycleLeadsBackToIt() {
+        // Arrange
+        final ItemDataRequest root = sut.initiate(job).findFirst().orElseThrow();
+
+        // Act
+        final List<ItemDataRequest> requests = sut.recurse(job, transfer(2, root.getItemId())).toList();
+
+        // Assert
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    void shouldRequestItemAgainWhenReachedAtLowerDepth() {
+        // Arrange
+        final PartChainIdentificationKey child = item();
+        sut.initiate(job);
+        sut.recurse(job, transfer(3, child)).toList();
+
+        // Act
+        final List<ItemDataRequest> requests = sut.recurse(job, transfer(1, child)).toList();
+
+        // Assert
+        assertThat(requests).extracting(ItemDataRequest::getDepth).containsExactly(2);
+    }
+
+    @Test
+    void shouldRequestSameItemInDifferentJobs() {
+        // Arrange
+        final PartChainIdentificationKey child = item();
+        final MultiTransferJob otherJob = generate.job(JobState.UNSAVED);
+        jobStore.create(otherJob);
+        sut.recurse(job, transfer(1, child)).toList();
+
+        // Act
+        final List<ItemDataRequest> requests = sut.recurse(otherJob, transfer(1, child)).toList();
+
+        // Assert
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void shouldNotRequestItemAgainWhichAnotherInstanceRequested() {
+        // Arrange
+        final PartChainIdentificationKey sharedChild = item();
+        final AASRecursiveJobHandler otherInstance = new AASRecursiveJobHandler(mock(TreeRecursiveLogic.class),
+                jobStore);
+        sut.recurse(job, transfer(1, sharedChild)).toList();
+
+        // Act
+        final List<ItemDataRequest> requests = otherInstance.recurse(job, transfer(1, sharedChild)).toList();
+
+        // Assert
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    void shouldRequestItemContainedTwiceInTransferOnlyOnce() {
+        // Arrange
+        final PartChainIdentificationKey child = item();
+
+        // Act
+        final List<ItemDataRequest> requests = sut.recurse(job, transfer(1, child, child)).toList();
+
+        // Assert
+        assertThat(requests).hasSize(1);
+    }
+
+    private static PartChainIdentificationKey item() {
+        return PartChainIdentificationKey.builder().globalAssetId(UUID.randomUUID().toString()).bpn("bpn123").build();
+    }
+
+    private static AASTransferProcess transfer(final int depth, final PartChainIdentificationKey... childIds) {
+        final AASTransferProcess transferProcess = new AASTransferProcess(UUID.randomUUID().toString(), depth);
+        transferProcess.addIdsToProcess(List.of(childIds));
+        return transferProcess;
+    }
+}
@@ -26,16 +26,35 @@ package org.eclipse.tractusx.irs.aaswrapper.job;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.tractusx.irs.util.TestMother.jobParameter;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.tractusx.irs.InMemoryBlobStore;
 import org.eclipse.tractusx.irs.aaswrapper.job.delegate.DigitalTwinDelegate;
+import org.eclipse.tractusx.irs.component.JobParameter;
 import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
+import org.eclipse.tractusx.irs.component.enums.JobState;
+import org.eclipse.tractusx.irs.connector.job.BlobTransferQueue;
+import org.eclipse.tractusx.irs.connector.job.InMemoryJobStore;
+import org.eclipse.tractusx.irs.connector.job.InMemoryTransferQueue;
+import org.eclipse.tractusx.irs.connector.job.JobStore;
+import org.eclipse.tractusx.irs.connector.job.MultiTransferJob;
+import org.eclipse.tractusx.irs.connector.job.QueuedTransfer;
 import org.eclipse.tractusx.irs.connector.job.ResponseStatus;
 import org.eclipse.tractusx.irs.connector.job.TransferInitiateResponse;
 import org.eclipse.tractusx.irs.util.TestMother;
@@ -48,6 +67,8 @@ class AASTransferProcessManagerTest {
 
     private final TestMother generate = new TestMother();
 
+    private final String jobId = UUID.randomUUID().toString();
+
     DigitalTwinDelegate digitalTwinProcessor = mock(DigitalTwinDelegate.class);
     ExecutorService pool = mock(ExecutorService.class);
 
@@ -61,7 +82,7 @@ class AASTransferProcessManagerTest {
                 PartChainIdentificationKey.builder().globalAssetId(UUID.randomUUID().toString()).bpn("bpn123").build());
 
         // when
-        manager.initiateRequest(itemDataRequest, s -> {
+        manager.initiateRequest(jobId, itemDataRequest, s -> {
         }, aasTransferProcess -> {
         }, jobParameter());
 
@@ -76,7 +97,7 @@ class AASTransferProcessManagerTest {
                 PartChainIdentificationKey.builder().globalAssetId(UUID.randomUUID().toString()).bpn("bpn123").build());
 
         // when
-        final TransferInitiateResponse initiateResponse = manager.initiateRequest(itemDataRequest, s -> {
+        final TransferInitiateResponse initiateResponse = manager.initiateRequest(jobId, itemDataRequest, s -> {
         }, aasTransferProcess -> {
         }, jobParameter());
 
@@ -85,4 +106,266 @@ class AASTransferProcessManagerTest {
         assertThat(initiateResponse.getStatus()).isEqualTo(ResponseStatus.OK);
     }
 
+    @Test
+    void shouldProcessTransferRequestedByOtherInstance() {
+        // given
+        final InMemoryBlobStore sharedBlobStore = new InMemoryBlobStore();
+        final ExecutorService directPool = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(directPool).execute(any(Runnable.class));
+        when(digitalTwinProcessor.processAsync(any(), any(), any(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture(ItemContainer.builder().build()));
+
+        final AASTransferProcessManager requestingManager = new AASTransferProcessManager(digitalTwinProcessor,
+                directPool, sharedBlobStore,
+                new BlobTransferQueue<>(sharedBlobStore, Duration.ofMinutes(10), Clock.systemUTC()));
+        final AASTransferProcessManager processingManager = new AASTransferProcessManager(digitalTwinProcessor,
+                directPool, sharedBlobStore,
+                new BlobTransferQueue<>(sharedBlobStore, Duration.ofMinutes(10), Clock.systemUTC()));
+        final List<AASTransferProcess> completedTransfers = new ArrayList<>();
+        final List<String> completedJobIds = new ArrayList<>();
+        processingManager.registerCompletionCallback((transferJobId, process) -> {
+            completedJobIds.add(transferJobId);
+            completedTransfers.add(process);
+        });
+
+        final ItemDataRequest itemDataRequest = ItemDataRequest.rootNode(
+                PartChainIdentificationKey.builder().globalAssetId(UUID.randomUUID().toString()).bpn("bpn123").build());
+
+        // when
+        final TransferInitiateResponse initiateResponse = requestingManager.initiateRequest(jobId, itemDataRequest,
+                s -> {
+                }, aasTransferProcess -> {
+                }, jobParameter());
+        processingManager.processPendingTransfers(10);
+
+        // then
+        verify(directPool, times(1)).execute(any(Runnable.class));
+        assertThat(completedTransfers).extracting(AASTransferProcess::getId)
+                                      .containsExactly(initiateResponse.getTransferId());
+        assertThat(completedJobIds).containsExactly(jobId);
+        assertThat(sharedBlobStore.getBlob(initiateResponse.getTransferId())).isPresent();
+    }
+
+    @Test
+    void shouldRenewLeaseOfTransferWhileItIsProcessed() {
+        // given
+        final InMemoryBlobStore sharedBlobStore = new InMemoryBlobStore();
+        final Duration leaseDuration = Duration.ofMinutes(10);
+        final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2023-11-20T10:00:00Z"));
+        final Clock clock = mock(Clock.class);
+        when(clock.instant()).thenAnswer(invocation -> now.get());
+        final ExecutorService directPool = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(directPool).execute(any(Runnable.class));
+        final CompletableFuture<ItemContainer> processing = new CompletableFuture<>();
+        when(digitalTwinProcessor.processAsync(any(), any(), any(), any(), any())).thenReturn(processing);
+
+        final BlobTransferQueue<ItemDataRequest> otherQueue = new BlobTransferQueue<>(sharedBlobStore, leaseDuration,
+                clock);
+        final AASTransferProcessManager processingManager = new AASTransferProcessManager(digitalTwinProcessor,
+                directPool, sharedBlobStore, new BlobTransferQueue<>(sharedBlobStore, leaseDuration, clock));
+        final List<AASTransferProcess> completedTransfers = new ArrayList<>();
+        processingManager.registerCompletionCallback((transferJobId, process) -> completedTransfers.add(process));
+        final ItemDataRequest itemDataRequest = ItemDataRequest.rootNode(
+                PartChainIdentificationKey.builder().globalAssetId(UUID.randomUUID().toString()).bpn("bpn123").build());
+        otherQueue.offer(QueuedTransfer.<ItemDataRequest>builder()
+                                       .processId("process1")
+                                       .dataRequest(itemDataRequest)
+                                       .jobData(jobParameter())
+                                       .build());
+        processingManager.processPendingTransfers(10);
+
+        // when
+        now.set(now.get().plus(leaseDuration.dividedBy(2)));
+        processingManager.renewLeases();
+        now.set(now.get().plus(leaseDuration.dividedBy(2)).plusSeconds(1));
+
+        // then
+        assertThat(otherQueue.claim()).isEmpty();
+        processing.complete(ItemContainer.builder().build());
+        assertThat(completedTransfers).extracting(AASTransferProcess::getId).containsExactly("process1");
+        assertThat(sharedBlobStore.findBlobByPrefix("transferqueue:")).isEmpty();
+    }
+
+    @Test
+    void shouldCompleteTransferOfSharedQueueWithRegisteredCallback() {
+        // given
+        final InMemoryBlobStore sharedBlobStore = new InMemoryBlobStore();
+        final ExecutorService directPool = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(directPool).execute(any(Runnable.class));
+        when(digitalTwinProcessor.processAsync(any(), any(), any(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture(ItemContainer.builder().build()));
+
+        final AASTransferProcessManager manager = new AASTransferProcessManager(digitalTwinProcessor, directPool,
+                sharedBlobStore, new BlobTransferQueue<>(sharedBlobStore, Duration.ofMinutes(10), Clock.systemUTC()));
+        final List<AASTransferProcess> registeredCallback = new ArrayList<>();
+        final List<AASTransferProcess> requestCallback = new ArrayList<>();
+        manager.registerCompletionCallback((transferJobId, process) -> registeredCallback.add(process));
+
+        final ItemDataRequest itemDataRequest = ItemDataRequest.rootNode(
+                PartChainIdentificationKey.builder().globalAssetId(UUID.randomUUID().toString()).bpn("bpn123").build());
+
+        // when
+        final TransferInitiateResponse initiateResponse = manager.initiateRequest(jobId, itemDataRequest, s -> {
+        }, requestCallback::add, jobParameter());
+        manager.processPendingTransfers(10);
+
+        // then
+        assertThat(registeredCallback).extracting(AASTransferProcess::getId)
+                                      .containsExactly(initiateResponse.getTransferId());
+        assertThat(requestCallback).isEmpty();
+    }
+
+    @Test
+    void shouldReuseItemProcessedByOtherJobWhenJobAcceptsCachedItems() {
+        // given
+        final InMemoryBlobStore blobStore = new InMemoryBlobStore();
+        final ExecutorService directPool = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(directPool).execute(any(Runnable.class));
+        final PartChainIdentificationKey child = PartChainIdentificationKey.builder().globalAssetId("child").build();
+        when(digitalTwinProcessor.processAsync(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, AASTransferProcess.class).addIdsToProcess(List.of(child));
+            return CompletableFuture.completedFuture(ItemContainer.builder().build());
+        });
+        when(digitalTwinProcessor.prefetch(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        final AASTransferProcessManager cachingManager = new AASTransferProcessManager(digitalTwinProcessor,
+                directPool, blobStore, new InMemoryTransferQueue<>(),
+                new ItemContainerCache(10, Duration.ofHours(1), Clock.systemUTC()));
+        final JobParameter jobParameter = jobParameter().toBuilder().cacheMaxAge(3600).build();
+        final ItemDataRequest itemDataRequest = ItemDataRequest.rootNode(
+                PartChainIdentificationKey.builder().globalAssetId(UUID.randomUUID().toString()).bpn("bpn123").build());
+        final List<AASTransferProcess> completedTransfers = new ArrayList<>();
+
+        // when
+        cachingManager.initiateRequest(jobId, itemDataRequest, s -> {
+        }, completedTransfers::add, jobParameter);
+        cachingManager.initiateRequest(jobId, itemDataRequest, s -> {
+        }, completedTransfers::add, jobParameter);
+
+        // then
+        verify(digitalTwinProcessor, times(1)).processAsync(any(), any(), any(), any(), any());
+        assertThat(completedTransfers).hasSize(2)
+                                      .allSatisfy(process -> assertThat(process.getIdsToProcess()).containsExactly(
+                                              child));
+        assertThat(blobStore.getBlob(completedTransfers.get(1).getId())).isPresent();
+    }
+
+    @Test
+    void shouldPrefetchChildrenBeforeCompletingTransfer() {
+        // given
+        final ExecutorService directPool = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(directPool).execute(any(Runnable.class));
+        final List<PartChainIdentificationKey> children = List.of(
+                PartChainIdentificationKey.builder().globalAssetId("child1").bpn("bpn123").build(),
+                PartChainIdentificationKey.builder().globalAssetId("child2").bpn("bpn123").build());
+        when(digitalTwinProcessor.processAsync(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, AASTransferProcess.class).addIdsToProcess(children);
+            return CompletableFuture.completedFuture(ItemContainer.builder().build());
+        });
+        final CompletableFuture<Void> prefetch = new CompletableFuture<>();
+        when(digitalTwinProcessor.prefetch(children, directPool)).thenReturn(prefetch);
+        final AASTransferProcessManager directManager = new AASTransferProcessManager(digitalTwinProcessor,
+                directPool, new InMemoryBlobStore());
+        final ItemDataRequest itemDataRequest = ItemDataRequest.rootNode(
+                PartChainIdentificationKey.builder().globalAssetId(UUID.randomUUID().toString()).bpn("bpn123").build());
+        final List<AASTransferProcess> completedTransfers = new ArrayList<>();
+
+        // when
+        directManager.initiateRequest(jobId, itemDataRequest, s -> {
+        }, completedTransfers::add, jobParameter());
+        final List<AASTransferProcess> completedBeforePrefetch = List.copyOf(completedTransfers);
+        prefetch.complete(null);
+
+        // then
+        assertThat(completedBeforePrefetch).isEmpty();
+        assertThat(completedTransfers).hasSize(1);
+    }
+
+    @Test
+    void shouldNotPrefetchChildrenWhichTheJobAlreadyRequested() {
+        // given
+        final ExecutorService directPool = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(directPool).execute(any(Runnable.class));
+        final PartChainIdentificationKey requestedChild = PartChainIdentificationKey.builder()
+                                                                                    .globalAssetId("child1")
+                                                                                    .bpn("bpn123")
+                                                                                    .build();
+        final PartChainIdentificationKey newChild = PartChainIdentificationKey.builder()
+                                                                              .globalAssetId("child2")
+                                                                              .bpn("bpn123")
+                                                                              .build();
+        when(digitalTwinProcessor.processAsync(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, AASTransferProcess.class).addIdsToProcess(List.of(requestedChild, newChild));
+            return CompletableFuture.completedFuture(ItemContainer.builder().build());
+        });
+        when(digitalTwinProcessor.prefetch(List.of(newChild), directPool)).thenReturn(
+                CompletableFuture.completedFuture(null));
+        final JobStore jobStore = new InMemoryJobStore();
+        final MultiTransferJob job = generate.job(JobState.UNSAVED);
+        jobStore.create(job);
+        jobStore.requestItems(job.getJobIdString(), Map.of(AASRecursiveJobHandler.itemKey(requestedChild), 1));
+        final AASTransferProcessManager directManager = new AASTransferProcessManager(digitalTwinProcessor,
+                directPool, directPool, new InMemoryBlobStore(), new InMemoryTransferQueue<>(),
+                ItemContainerCache.disabled(), jobStore);
+        final ItemDataRequest itemDataRequest = ItemDataRequest.rootNode(
+                PartChainIdentificationKey.builder().globalAssetId(UUID.randomUUID().toString()).bpn("bpn123").build());
+        final List<AASTransferProcess> completedTransfers = new ArrayList<>();
+
+        // when
+        directManager.initiateRequest(job.getJobIdString(), itemDataRequest, s -> {
+        }, completedTransfers::add, jobParameter());
+
+        // then
+        verify(digitalTwinProcessor).prefetch(List.of(newChild), directPool);
+        assertThat(completedTransfers).hasSize(1);
+        assertThat(completedTransfers.get(0).getIdsToProcess()).containsExactly(requestedChild, newChild);
+    }
+
+    @Test
+    void shouldCompleteTransferWithTombstoneWhenProcessingFailed() {
+        // given
+        final InMemoryBlobStore blobStore = new InMemoryBlobStore();
+        final ExecutorService directPool = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(directPool).execute(any(Runnable.class));
+        when(digitalTwinProcessor.processAsync(any(), any(), any(), any(), any())).thenReturn(
+                CompletableFuture.failedFuture(new IllegalStateException("Registry unavailable")));
+        final AASTransferProcessManager directManager = new AASTransferProcessManager(digitalTwinProcessor,
+                directPool, blobStore);
+        final ItemDataRequest itemDataRequest = ItemDataRequest.rootNode(
+                PartChainIdentificationKey.builder().globalAssetId("itemId").bpn("bpn123").build());
+        final List<AASTransferProcess> completedTransfers = new ArrayList<>();
+
+        // when
+        final TransferInitiateResponse initiateResponse = directManager.initiateRequest(jobId, itemDataRequest,
+                s -> {
+                }, completedTransfers::add, jobParameter());
+
+        // then
+        assertThat(completedTransfers).hasSize(1);
+        assertThat(completedTransfers.get(0).getIdsToProcess()).isEmpty();
+        final String storedItem = new String(blobStore.getBlob(initiateResponse.getTransferId()).orElseThrow(),
+                StandardCharsets.UTF_8);
+        assertThat(storedItem).contains("itemId", "Registry unavailable");
+    }
+
 }
@@ -0,0 +1,165 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.aaswrapper.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.tractusx.irs.util.TestMother.jobParameter;
+import static org.eclipse.tractusx.irs.util.TestMother.jobParameterUpward;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
+import org.eclipse.tractusx.irs.component.Tombstone;
+import org.junit.jupiter.api.Test;
+
+class ItemContainerCacheTest {
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(10);
+
+    private static final Instant NOW = Instant.parse("2023-11-20T10:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+
+    private final ItemContainerCache sut = new ItemContainerCache(2, Duration.ofHours(1), clock);
+
+    @Test
+    void shouldReturnCachedItemWithRelatedItems() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW);
+        final PartChainIdentificationKey child = item();
+        final ItemContainerCache.Key key = ItemContainerCache.Key.of(item(), jobParameter(), 0);
+        sut.put(key, ItemContainer.builder().metric(new RequestMetric()).build(), List.of(child));
+
+        // Act
+        final var entry = sut.get(key, MAX_AGE);
+
+        // Assert
+        assertThat(entry).isPresent();
+        assertThat(entry.get().idsToProcess()).containsExactly(child);
+        assertThat(entry.get().itemContainer().getMetrics()).isEmpty();
+    }
+
+    @Test
+    void shouldNotReturnCachedItemWhenJobDoesNotUseCache() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW);
+        final ItemContainerCache.Key key = ItemContainerCache.Key.of(item(), jobParameter(), 0);
+        sut.put(key, ItemContainer.builder().build(), List.of());
+
+        // Act
+        final var entry = sut.get(key, null);
+
+        // Assert
+        assertThat(entry).isEmpty();
+    }
+
+    @Test
+    void shouldNotReturnCachedItemOlderThanMaxAge() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW);
+        final ItemContainerCache.Key key = ItemContainerCache.Key.of(item(), jobParameter(), 0);
+        sut.put(key, ItemContainer.builder().build(), List.of());
+        when(clock.instant()).thenReturn(NOW.plus(MAX_AGE).plusSeconds(1));
+
+        // Act
+        final var entry = sut.get(key, MAX_AGE);
+
+        // Assert
+        assertThat(entry).isEmpty();
+    }
+
+    @Test
+    void shouldNotReturnCachedItemOlderThanTimeToLive() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW);
+        final ItemContainerCache.Key key = ItemContainerCache.Key.of(item(), jobParameter(), 0);
+        sut.put(key, ItemContainer.builder().build(), List.of());
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofHours(2)));
+
+        // Act
+        final var entry = sut.get(key, Duration.ofDays(1));
+
+        // Assert
+        assertThat(entry).isEmpty();
+    }
+
+    @Test
+    void shouldNotShareItemsBetweenDifferentJobParameters() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW);
+        final PartChainIdentificationKey itemId = item();
+        sut.put(ItemContainerCache.Key.of(itemId, jobParameter(), 0), ItemContainer.builder().build(), List.of());
+
+        // Act
+        final var entry = sut.get(ItemContainerCache.Key.of(itemId, jobParameterUpward(), 0), MAX_AGE);
+
+        // Assert
+        assertThat(entry).isEmpty();
+    }
+
+    @Test
+    void shouldNotCacheItemsWithTombstones() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW);
+        final ItemContainerCache.Key key = ItemContainerCache.Key.of(item(), jobParameter(), 0);
+        sut.put(key, ItemContainer.builder().tombstone(Tombstone.builder().catenaXId("test").build()).build(),
+                List.of());
+
+        // Act
+        final var entry = sut.get(key, MAX_AGE);
+
+        // Assert
+        assertThat(entry).isEmpty();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedItemWhenFull() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW);
+        final ItemContainerCache.Key first = ItemContainerCache.Key.of(item(), jobParameter(), 0);
+        final ItemContainerCache.Key second = ItemContainerCache.Key.of(item(), jobParameter(), 0);
+        final ItemContainerCache.Key third = ItemContainerCache.Key.of(item(), jobParameter(), 0);
+        sut.put(first, ItemContainer.builder().build(), List.of());
+        sut.put(second, ItemContainer.builder().build(), List.of());
+        sut.get(first, MAX_AGE);
+
+        // Act
+        sut.put(third, ItemContainer.builder().build(), List.of());
+
+        // Assert
+        assertThat(sut.get(first, MAX_AGE)).isPresent();
+        assertThat(sut.get(second, MAX_AGE)).isEmpty();
+        assertThat(sut.get(third, MAX_AGE)).isPresent();
+    }
+
+    private static PartChainIdentificationKey item() {
+        return PartChainIdentificationKey.builder().globalAssetId(UUID.randomUUID().toString()).bpn("bpn123").build();
+    }
+}
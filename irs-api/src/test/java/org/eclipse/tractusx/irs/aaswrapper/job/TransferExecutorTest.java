@@ -0,0 +1,129 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.aaswrapper.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TransferExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransferExecutor sut = TransferExecutor.withPlatformThreads(1, 1, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
+    }
+
+    @Test
+    void shouldRunTransferOnSubmittingThreadWhenSaturated() {
+        // Arrange
+        final CountDownLatch release = new CountDownLatch(1);
+        sut.getExecutorService().execute(() -> awaitQuietly(release));
+        sut.getExecutorService().execute(() -> awaitQuietly(release));
+        final AtomicReference<Thread> executingThread = new AtomicReference<>();
+
+        // Act
+        sut.getExecutorService().execute(() -> executingThread.set(Thread.currentThread()));
+        release.countDown();
+
+        // Assert
+        assertThat(executingThread.get()).isEqualTo(Thread.currentThread());
+        assertThat(meterRegistry.get("jobs.executor.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRunContinuationOnSubmittingThreadWhenSaturated() throws InterruptedException {
+        // Arrange
+        final CountDownLatch release = new CountDownLatch(1);
+        sut.getContinuationExecutorService().execute(() -> awaitQuietly(release));
+        sut.getContinuationExecutorService().execute(() -> awaitQuietly(release));
+        final CountDownLatch executed = new CountDownLatch(1);
+        final AtomicReference<Thread> executingThread = new AtomicReference<>();
+
+        // Act
+        sut.getContinuationExecutorService().execute(() -> {
+            executingThread.set(Thread.currentThread());
+            executed.countDown();
+        });
+        release.countDown();
+
+        // Assert
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executingThread.get()).isNotEqualTo(Thread.currentThread());
+    }
+
+    @Test
+    void shouldPublishExecutorMetrics() throws InterruptedException {
+        // Arrange
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        sut.getExecutorService().execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(meterRegistry.get("jobs.executor.active").tag("name", "transfers").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("jobs.executor.queued").tag("name", "transfers").gauge().value()).isZero();
+        assertThat(sut.getIdleThreads()).isZero();
+        release.countDown();
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void shouldHandTransfersDirectlyToNewThreadsInVirtualThreadMode() {
+        // Arrange
+        final TransferExecutor virtualExecutor = TransferExecutor.withVirtualThreads(Thread::new, 2, meterRegistry);
+        final CountDownLatch release = new CountDownLatch(1);
+        virtualExecutor.getExecutorService().execute(() -> awaitQuietly(release));
+        virtualExecutor.getExecutorService().execute(() -> awaitQuietly(release));
+        final AtomicReference<Thread> executingThread = new AtomicReference<>();
+
+        // Act
+        virtualExecutor.getExecutorService().execute(() -> executingThread.set(Thread.currentThread()));
+        release.countDown();
+        virtualExecutor.shutdown();
+
+        // Assert
+        assertThat(executingThread.get()).isEqualTo(Thread.currentThread());
+    }
+}
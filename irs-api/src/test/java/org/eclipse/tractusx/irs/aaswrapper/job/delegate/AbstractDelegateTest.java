@@ -32,6 +32,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.eclipse.tractusx.irs.component.assetadministrationshell.Endpoint;
 import org.eclipse.tractusx.irs.component.assetadministrationshell.ProtocolInformation;
@@ -59,9 +61,10 @@ class AbstractDelegateTest {
     }
 
     @Test
-    void shouldUseDspEndpointIfPresent() throws EdcClientException {
+    void shouldUseDspEndpointIfPresent() throws Exception {
         // Arrange
-        when(submodelFacade.getSubmodelRawPayload(any(), any(), any())).thenReturn("test");
+        when(submodelFacade.getSubmodelRawPayloadAsync(any(), any(), any())).thenReturn(
+                CompletableFuture.completedFuture("test"));
         final Endpoint endpoint = Endpoint.builder()
                                           .protocolInformation(ProtocolInformation.builder()
                                                                                   .href("http://dataplane.test/123")
@@ -72,21 +75,24 @@ class AbstractDelegateTest {
         final String bpn = "BPN123";
 
         // Act
-        final String submodel = submodelDelegate.requestSubmodelAsString(submodelFacade, null, endpoint, bpn);
+        final String submodel = submodelDelegate.requestSubmodelAsStringAsync(submodelFacade, null, endpoint, bpn)
+                                                .get();
 
         // Assert
         assertThat(submodel).isEqualTo("test");
-        verify(submodelFacade, times(1)).getSubmodelRawPayload("http://edc.test", "http://dataplane.test/123", "123");
+        verify(submodelFacade, times(1)).getSubmodelRawPayloadAsync("http://edc.test", "http://dataplane.test/123",
+                "123");
     }
 
     @Test
-    void shouldUseDiscoveryFinderIfDspEndpointNotPresent() throws EdcClientException {
+    void shouldUseDiscoveryFinderIfDspEndpointNotPresent() throws Exception {
         // Arrange
         final String connector1 = "http://edc.test1";
         final String connector2 = "http://edc.test2";
-        when(submodelFacade.getSubmodelRawPayload(eq(connector1), any(), any())).thenThrow(
-                new EdcClientException("test"));
-        when(submodelFacade.getSubmodelRawPayload(eq(connector2), any(), any())).thenReturn("test");
+        when(submodelFacade.getSubmodelRawPayloadAsync(eq(connector1), any(), any())).thenReturn(
+                CompletableFuture.failedFuture(new EdcClientException("test")));
+        when(submodelFacade.getSubmodelRawPayloadAsync(eq(connector2), any(), any())).thenReturn(
+                CompletableFuture.completedFuture("test"));
         when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of(connector1, connector2));
         final String dataplaneUrl = "http://dataplane.test/123";
         final Endpoint endpoint = Endpoint.builder()
@@ -98,22 +104,23 @@ class AbstractDelegateTest {
         final String bpn = "BPN123";
 
         // Act
-        final String submodel = submodelDelegate.requestSubmodelAsString(submodelFacade, connectorEndpointsService,
-                endpoint, bpn);
+        final String submodel = submodelDelegate.requestSubmodelAsStringAsync(submodelFacade,
+                connectorEndpointsService, endpoint, bpn).get();
 
         // Assert
         assertThat(submodel).isEqualTo("test");
-        verify(submodelFacade, times(1)).getSubmodelRawPayload(connector1, dataplaneUrl, "123");
-        verify(submodelFacade, times(1)).getSubmodelRawPayload(connector2, dataplaneUrl, "123");
+        verify(submodelFacade, times(1)).getSubmodelRawPayloadAsync(connector1, dataplaneUrl, "123");
+        verify(submodelFacade, times(1)).getSubmodelRawPayloadAsync(connector2, dataplaneUrl, "123");
         verify(connectorEndpointsService, times(1)).fetchConnectorEndpoints(bpn);
     }
 
     @Test
-    void shouldThrowGenericEdcClientExceptionIfAllEndpointsThrowExceptions() throws EdcClientException {
+    void shouldThrowGenericEdcClientExceptionIfAllEndpointsThrowExceptions() {
         // Arrange
         final String connector1 = "http://edc.test1";
         final String connector2 = "http://edc.test2";
-        when(submodelFacade.getSubmodelRawPayload(any(), any(), any())).thenThrow(new EdcClientException("test"));
+        when(submodelFacade.getSubmodelRawPayloadAsync(any(), any(), any())).thenReturn(
+                CompletableFuture.failedFuture(new EdcClientException("test")));
         when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of(connector1, connector2));
         final String dataplaneUrl = "http://dataplane.test/123";
         final Endpoint endpoint = Endpoint.builder()
@@ -125,13 +132,13 @@ class AbstractDelegateTest {
         final String bpn = "BPN123";
 
         // Act
-        assertThatExceptionOfType(EdcClientException.class).isThrownBy(
-                () -> submodelDelegate.requestSubmodelAsString(submodelFacade, connectorEndpointsService, endpoint,
-                        bpn));
+        assertThatExceptionOfType(ExecutionException.class).isThrownBy(
+                () -> submodelDelegate.requestSubmodelAsStringAsync(submodelFacade, connectorEndpointsService,
+                        endpoint, bpn).get()).withCauseInstanceOf(EdcClientException.class);
 
         // Assert
-        verify(submodelFacade, times(1)).getSubmodelRawPayload(connector1, dataplaneUrl, "123");
-        verify(submodelFacade, times(1)).getSubmodelRawPayload(connector2, dataplaneUrl, "123");
+        verify(submodelFacade, times(1)).getSubmodelRawPayloadAsync(connector1, dataplaneUrl, "123");
+        verify(submodelFacade, times(1)).getSubmodelRawPayloadAsync(connector2, dataplaneUrl, "123");
         verify(connectorEndpointsService, times(1)).fetchConnectorEndpoints(bpn);
     }
 }
\ No newline at end of file
@@ -29,15 +29,21 @@ import static org.eclipse.tractusx.irs.util.TestMother.shellDescriptor;
 import static org.eclipse.tractusx.irs.util.TestMother.submodelDescriptorWithoutHref;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 
 import io.github.resilience4j.retry.RetryRegistry;
 import org.eclipse.tractusx.irs.aaswrapper.job.AASTransferProcess;
 import org.eclipse.tractusx.irs.aaswrapper.job.ItemContainer;
 import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
+import org.eclipse.tractusx.irs.component.assetadministrationshell.AssetAdministrationShellDescriptor;
 import org.eclipse.tractusx.irs.component.enums.ProcessStep;
+import org.eclipse.tractusx.irs.registryclient.DigitalTwinRegistryKey;
 import org.eclipse.tractusx.irs.registryclient.DigitalTwinRegistryService;
 import org.eclipse.tractusx.irs.registryclient.exceptions.RegistryServiceException;
 import org.junit.jupiter.api.Test;
@@ -63,6 +69,25 @@ class DigitalTwinDelegateTest {
         assertThat(result.getShells()).isNotEmpty();
     }
 
+    @Test
+    void shouldKeepAtMostMaxPrefetchedShells() throws RegistryServiceException {
+        // given
+        final DigitalTwinDelegate prefetchingDelegate = new DigitalTwinDelegate(null, digitalTwinRegistryService, true,
+                Duration.ofMinutes(5), 1, Clock.systemUTC());
+        final PartChainIdentificationKey child1 = createKey("child1");
+        final PartChainIdentificationKey child2 = createKey("child2");
+        when(digitalTwinRegistryService.fetchShells(any()))
+                .thenReturn(List.of(shellWithGlobalAssetId("child1"), shellWithGlobalAssetId("child2")));
+
+        // when
+        prefetchingDelegate.prefetch(List.of(child1, child2), Runnable::run).join();
+        prefetchingDelegate.process(ItemContainer.builder(), jobParameter(), new AASTransferProcess("id", 0), child1);
+
+        // then
+        verify(digitalTwinRegistryService, times(2)).fetchShells(any());
+        verify(digitalTwinRegistryService).fetchShells(List.of(new DigitalTwinRegistryKey("child1", "bpn123")));
+    }
+
     private static PartChainIdentificationKey createKey() {
         return PartChainIdentificationKey.builder().globalAssetId("itemId").bpn("bpn123").build();
     }
@@ -105,4 +130,65 @@ class DigitalTwinDelegateTest {
                 ProcessStep.DIGITAL_TWIN_REQUEST);
     }
 
+    @Test
+    void shouldUseShellsPrefetchedWithOneRequestPerBpn() throws RegistryServiceException {
+        // given
+        final DigitalTwinDelegate prefetchingDelegate = new DigitalTwinDelegate(null, digitalTwinRegistryService, true,
+                Duration.ofMinutes(5), 100, Clock.systemUTC());
+        final PartChainIdentificationKey child1 = createKey("child1");
+        final PartChainIdentificationKey child2 = createKey("child2");
+        final List<DigitalTwinRegistryKey> keys = List.of(new DigitalTwinRegistryKey("child1", "bpn123"),
+                new DigitalTwinRegistryKey("child2", "bpn123"));
+        when(digitalTwinRegistryService.fetchShells(keys))
+                .thenReturn(List.of(shellWithGlobalAssetId("child2"), shellWithGlobalAssetId("child1")));
+
+        // when
+        prefetchingDelegate.prefetch(List.of(child1, child2), Runnable::run).join();
+        final ItemContainer result1 = prefetchingDelegate.process(ItemContainer.builder(), jobParameter(),
+                new AASTransferProcess("id", 0), child1);
+        final ItemContainer result2 = prefetchingDelegate.process(ItemContainer.builder(), jobParameter(),
+                new AASTransferProcess("id", 0), child2);
+
+        // then
+        verify(digitalTwinRegistryService, times(1)).fetchShells(any());
+        assertThat(result1.getShells()).singleElement()
+                                       .extracting(AssetAdministrationShellDescriptor::getGlobalAssetId)
+                                       .isEqualTo("child1");
+        assertThat(result2.getShells()).singleElement()
+                                       .extracting(AssetAdministrationShellDescriptor::getGlobalAssetId)
+                                       .isEqualTo("child2");
+    }
+
+    @Test
+    void shouldFetchShellOfItemWhenPrefetchFailed() throws RegistryServiceException {
+        // given
+        final DigitalTwinDelegate prefetchingDelegate = new DigitalTwinDelegate(null, digitalTwinRegistryService, true,
+                Duration.ofMinutes(5), 100, Clock.systemUTC());
+        final PartChainIdentificationKey child1 = createKey("child1");
+        final PartChainIdentificationKey child2 = createKey("child2");
+        final List<DigitalTwinRegistryKey> keys = List.of(new DigitalTwinRegistryKey("child1", "bpn123"),
+                new DigitalTwinRegistryKey("child2", "bpn123"));
+        when(digitalTwinRegistryService.fetchShells(keys))
+                .thenThrow(new RestClientException("Unable to call endpoint"));
+        when(digitalTwinRegistryService.fetchShells(List.of(new DigitalTwinRegistryKey("child1", "bpn123"))))
+                .thenReturn(List.of(shellWithGlobalAssetId("child1")));
+
+        // when
+        prefetchingDelegate.prefetch(List.of(child1, child2), Runnable::run).join();
+        final ItemContainer result = prefetchingDelegate.process(ItemContainer.builder(), jobParameter(),
+                new AASTransferProcess("id", 0), child1);
+
+        // then
+        assertThat(result.getShells()).hasSize(1);
+        assertThat(result.getTombstones()).isEmpty();
+    }
+
+    private static PartChainIdentificationKey createKey(final String globalAssetId) {
+        return PartChainIdentificationKey.builder().globalAssetId(globalAssetId).bpn("bpn123").build();
+    }
+
+    private static AssetAdministrationShellDescriptor shellWithGlobalAssetId(final String globalAssetId) {
+        return shellDescriptor(List.of()).toBuilder().globalAssetId(globalAssetId).build();
+    }
+
 }
@@ -39,6 +39,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.tractusx.irs.aaswrapper.job.AASTransferProcess;
 import org.eclipse.tractusx.irs.aaswrapper.job.ItemContainer;
@@ -67,10 +68,11 @@ class RelationshipDelegateTest {
 
     @Test
     void shouldFillItemContainerWithRelationshipAndAddChildIdsToProcess()
-            throws EdcClientException, URISyntaxException, IOException {
+            throws URISyntaxException, IOException {
         // given
-        when(submodelFacade.getSubmodelRawPayload(anyString(), anyString(), anyString())).thenReturn(Files.readString(
-                Paths.get(Objects.requireNonNull(getClass().getResource("/singleLevelBomAsBuilt.json")).toURI())));
+        when(submodelFacade.getSubmodelRawPayloadAsync(anyString(), anyString(), anyString())).thenReturn(
+                CompletableFuture.completedFuture(Files.readString(Paths.get(
+                        Objects.requireNonNull(getClass().getResource("/singleLevelBomAsBuilt.json")).toURI()))));
         when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of("http://localhost"));
 
         final ItemContainer.ItemContainerBuilder itemContainerWithShell = ItemContainer.builder()
@@ -93,10 +95,11 @@ class RelationshipDelegateTest {
 
     @Test
     void shouldFillItemContainerWithUpwardRelationshipAndAddChildIdsToProcess()
-            throws EdcClientException, URISyntaxException, IOException {
+            throws URISyntaxException, IOException {
         // given
-        when(submodelFacade.getSubmodelRawPayload(anyString(), anyString(), anyString())).thenReturn(Files.readString(
-                Paths.get(Objects.requireNonNull(getClass().getResource("/singleLevelUsageAsBuilt.json")).toURI())));
+        when(submodelFacade.getSubmodelRawPayloadAsync(anyString(), anyString(), anyString())).thenReturn(
+                CompletableFuture.completedFuture(Files.readString(Paths.get(
+                        Objects.requireNonNull(getClass().getResource("/singleLevelUsageAsBuilt.json")).toURI()))));
         when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of("http://localhost"));
 
         final ItemContainer.ItemContainerBuilder itemContainerWithShell = ItemContainer.builder()
@@ -118,6 +121,33 @@ class RelationshipDelegateTest {
         assertThat(aasTransferProcess.getIdsToProcess().get(0).getBpn()).isNotEmpty();
     }
 
+    @Test
+    void shouldFillItemContainerWithRelationshipWhenProcessedAsync() throws Exception {
+        // given
+        final CompletableFuture<String> submodelRequest = new CompletableFuture<>();
+        when(submodelFacade.getSubmodelRawPayloadAsync(anyString(), anyString(), anyString())).thenReturn(
+                submodelRequest);
+
+        final ItemContainer.ItemContainerBuilder itemContainerWithShell = ItemContainer.builder()
+                                                                                       .shell(shellDescriptor(
+                                                                                               List.of(submodelDescriptorWithDspEndpoint(
+                                                                                                       singleLevelBomAsBuiltAspectName,
+                                                                                                       "address"))));
+        final AASTransferProcess aasTransferProcess = new AASTransferProcess();
+
+        // when
+        final CompletableFuture<ItemContainer> result = relationshipDelegate.processAsync(itemContainerWithShell,
+                jobParameter(), aasTransferProcess, createKey(), Runnable::run);
+        final boolean completedBeforeSubmodelArrived = result.isDone();
+        submodelRequest.complete(Files.readString(
+                Paths.get(Objects.requireNonNull(getClass().getResource("/singleLevelBomAsBuilt.json")).toURI())));
+
+        // then
+        assertThat(completedBeforeSubmodelArrived).isFalse();
+        assertThat(result.get().getRelationships()).isNotEmpty();
+        assertThat(aasTransferProcess.getIdsToProcess()).isNotEmpty();
+    }
+
     @Test
     void shouldPutTombstoneForMissingBpn() {
         final ItemContainer.ItemContainerBuilder itemContainerWithShell = ItemContainer.builder()
@@ -138,10 +168,10 @@ class RelationshipDelegateTest {
     }
 
     @Test
-    void shouldCatchRestClientExceptionAndPutTombstone() throws EdcClientException {
+    void shouldCatchRestClientExceptionAndPutTombstone() {
         // given
-        when(submodelFacade.getSubmodelRawPayload(anyString(), anyString(), anyString())).thenThrow(
-                new EdcClientException("Unable to call endpoint"));
+        when(submodelFacade.getSubmodelRawPayloadAsync(anyString(), anyString(), anyString())).thenReturn(
+                CompletableFuture.failedFuture(new EdcClientException("Unable to call endpoint")));
         when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of("http://localhost"));
 
         final ItemContainer.ItemContainerBuilder itemContainerWithShell = ItemContainer.builder()
@@ -163,10 +193,11 @@ class RelationshipDelegateTest {
     }
 
     @Test
-    void shouldCatchJsonParseExceptionAndPutTombstone() throws EdcClientException {
+    void shouldCatchJsonParseExceptionAndPutTombstone() {
         // given
-        when(submodelFacade.getSubmodelRawPayload(anyString(), anyString(), anyString())).thenThrow(
-                new EdcClientException(new Exception("Payload did not match expected submodel")));
+        when(submodelFacade.getSubmodelRawPayloadAsync(anyString(), anyString(), anyString())).thenReturn(
+                CompletableFuture.failedFuture(
+                        new EdcClientException(new Exception("Payload did not match expected submodel"))));
         when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of("http://localhost"));
         final ItemContainer.ItemContainerBuilder itemContainerWithShell = ItemContainer.builder()
                                                                                        .shell(shellDescriptor(
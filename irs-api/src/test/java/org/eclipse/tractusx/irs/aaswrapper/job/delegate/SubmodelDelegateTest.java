@@ -34,15 +34,19 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.tractusx.irs.aaswrapper.job.AASTransferProcess;
 import org.eclipse.tractusx.irs.aaswrapper.job.ItemContainer;
+import org.eclipse.tractusx.irs.component.JobParameter;
 import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
+import org.eclipse.tractusx.irs.component.assetadministrationshell.AssetAdministrationShellDescriptor;
+import org.eclipse.tractusx.irs.component.assetadministrationshell.SubmodelDescriptor;
+import org.eclipse.tractusx.irs.component.enums.AspectType;
 import org.eclipse.tractusx.irs.component.enums.ProcessStep;
 import org.eclipse.tractusx.irs.data.JsonParseException;
 import org.eclipse.tractusx.irs.edc.client.EdcSubmodelFacade;
 import org.eclipse.tractusx.irs.edc.client.ItemNotFoundInCatalogException;
-import org.eclipse.tractusx.irs.edc.client.exceptions.EdcClientException;
 import org.eclipse.tractusx.irs.edc.client.exceptions.UsagePolicyException;
 import org.eclipse.tractusx.irs.registryclient.discovery.ConnectorEndpointsService;
 import org.eclipse.tractusx.irs.semanticshub.SemanticsHubFacade;
@@ -88,6 +92,38 @@ class SubmodelDelegateTest {
         assertThat(result.getShells().get(0).getSubmodelDescriptors()).isEmpty();
     }
 
+    @Test
+    void shouldNotModifyShellSharedWithOtherJobs() {
+        // given
+        final AssetAdministrationShellDescriptor sharedShell = shellDescriptor(List.of(
+                submodelDescriptorWithDspEndpoint("urn:bamm:com.catenax.serial_part:1.0.0#SerialPart",
+                        "testSerialPartEndpoint"),
+                submodelDescriptorWithDspEndpoint(
+                        "urn:bamm:com.catenax.single_level_bom_as_built:1.0.0#SingleLevelBomAsBuilt",
+                        "testSingleLevelBomAsBuiltEndpoint")));
+        final JobParameter serialPartJob = JobParameter.builder()
+                                                       .aspects(List.of(AspectType.SERIAL_PART.toString()))
+                                                       .build();
+        final JobParameter bomJob = JobParameter.builder()
+                                                .aspects(List.of(AspectType.SINGLE_LEVEL_BOM_AS_BUILT.toString()))
+                                                .build();
+
+        // when
+        final ItemContainer serialPartResult = submodelDelegate.process(ItemContainer.builder().shell(sharedShell),
+                serialPartJob, new AASTransferProcess(), createKey());
+        final ItemContainer bomResult = submodelDelegate.process(ItemContainer.builder().shell(sharedShell), bomJob,
+                new AASTransferProcess(), createKey());
+
+        // then
+        assertThat(serialPartResult.getShells().get(0).getSubmodelDescriptors()).extracting(
+                SubmodelDescriptor::getAspectType).containsExactly(
+                "urn:bamm:com.catenax.serial_part:1.0.0#SerialPart");
+        assertThat(bomResult.getShells().get(0).getSubmodelDescriptors()).extracting(
+                SubmodelDescriptor::getAspectType).containsExactly(
+                "urn:bamm:com.catenax.single_level_bom_as_built:1.0.0#SingleLevelBomAsBuilt");
+        assertThat(sharedShell.getSubmodelDescriptors()).hasSize(2);
+    }
+
     @Test
     void shouldCatchJsonParseExceptionAndPutTombstone() throws SchemaNotFoundException {
         // given
@@ -139,7 +175,7 @@ class SubmodelDelegateTest {
     }
 
     @Test
-    void shouldCatchUsagePolicyExceptionAndPutTombstone() throws EdcClientException {
+    void shouldCatchUsagePolicyExceptionAndPutTombstone() {
         // given
         final ItemContainer.ItemContainerBuilder itemContainerShellWithTwoSubmodels = ItemContainer.builder()
                                                                                                    .shell(shellDescriptor(
@@ -151,7 +187,8 @@ class SubmodelDelegateTest {
                                                                                                                            "testSingleLevelBomAsBuiltEndpoint"))));
 
         // when
-        when(submodelFacade.getSubmodelRawPayload(any(), any(), any())).thenThrow(new UsagePolicyException("itemId"));
+        when(submodelFacade.getSubmodelRawPayloadAsync(any(), any(), any())).thenReturn(
+                CompletableFuture.failedFuture(new UsagePolicyException("itemId")));
         when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of("connector.endpoint.nl"));
         final ItemContainer result = submodelDelegate.process(itemContainerShellWithTwoSubmodels,
                 jobParameterCollectAspects(), new AASTransferProcess(), createKey());
@@ -165,7 +202,7 @@ class SubmodelDelegateTest {
     }
 
     @Test
-    void shouldRequestForAllEndpoints() throws EdcClientException, InvalidSchemaException {
+    void shouldRequestForAllEndpoints() throws InvalidSchemaException {
         // given
         final ItemContainer.ItemContainerBuilder itemContainerShellWithOneSubmodel = ItemContainer.builder()
                                                                                                   .shell(shellDescriptor(
@@ -175,10 +212,11 @@ class SubmodelDelegateTest {
                                                                                                                   ""))));
 
         // when
-        when(submodelFacade.getSubmodelRawPayload(any(), any(), any())).thenThrow(
-                new ItemNotFoundInCatalogException("test", "itemId")).thenReturn("""
-                {"test": "test"}
-                """);
+        when(submodelFacade.getSubmodelRawPayloadAsync(any(), any(), any())).thenReturn(
+                CompletableFuture.failedFuture(new ItemNotFoundInCatalogException("test", "itemId")),
+                CompletableFuture.completedFuture("""
+                        {"test": "test"}
+                        """));
         when(jsonValidatorService.validate(any(), any())).thenReturn(ValidationResult.builder().valid(true).build());
         when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(
                 List.of("connector.endpoint.n1", "connector.endpoint.n2"));
@@ -193,6 +231,57 @@ class SubmodelDelegateTest {
         assertThat(result.getTombstones()).isEmpty();
     }
 
+    @Test
+    void shouldRequestForAllEndpointsWhenProcessedAsync() throws Exception {
+        // given
+        final ItemContainer.ItemContainerBuilder itemContainerShellWithOneSubmodel = ItemContainer.builder()
+                                                                                                  .shell(shellDescriptor(
+                                                                                                          List.of(submodelDescriptor(
+                                                                                                                  "urn:bamm:com.catenax.serial_part:1.0.0#SerialPart",
+                                                                                                                  "testSerialPartEndpoint",
+                                                                                                                  ""))));
+
+        // when
+        when(submodelFacade.getSubmodelRawPayloadAsync(any(), any(), any())).thenReturn(
+                CompletableFuture.failedFuture(new ItemNotFoundInCatalogException("test", "itemId")),
+                CompletableFuture.completedFuture("""
+                        {"test": "test"}
+                        """));
+        when(jsonValidatorService.validate(any(), any())).thenReturn(ValidationResult.builder().valid(true).build());
+        when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(
+                List.of("connector.endpoint.n1", "connector.endpoint.n2"));
+        final ItemContainer result = submodelDelegate.processAsync(itemContainerShellWithOneSubmodel,
+                jobParameterCollectAspects(), new AASTransferProcess(), createKey(), Runnable::run).get();
+
+        // then
+        assertThat(result.getSubmodels()).hasSize(1);
+        assertThat(result.getSubmodels().get(0).getAspectType()).isEqualTo(
+                "urn:bamm:com.catenax.serial_part:1.0.0#SerialPart");
+        assertThat(result.getTombstones()).isEmpty();
+    }
+
+    @Test
+    void shouldPutTombstoneWhenAsyncRequestFails() throws Exception {
+        // given
+        final ItemContainer.ItemContainerBuilder itemContainerShellWithOneSubmodel = ItemContainer.builder()
+                                                                                                  .shell(shellDescriptor(
+                                                                                                          List.of(submodelDescriptorWithDspEndpoint(
+                                                                                                                  "urn:bamm:com.catenax.serial_part:1.0.0#SerialPart",
+                                                                                                                  "testSerialPartEndpoint"))));
+
+        // when
+        when(submodelFacade.getSubmodelRawPayloadAsync(any(), any(), any())).thenReturn(
+                CompletableFuture.failedFuture(new UsagePolicyException("itemId")));
+        when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of("connector.endpoint.nl"));
+        final ItemContainer result = submodelDelegate.processAsync(itemContainerShellWithOneSubmodel,
+                jobParameterCollectAspects(), new AASTransferProcess(), createKey(), Runnable::run).get();
+
+        // then
+        assertThat(result.getTombstones()).hasSize(1);
+        assertThat(result.getTombstones().get(0).getProcessingError().getProcessStep()).isEqualTo(
+                ProcessStep.USAGE_POLICY_VALIDATION);
+    }
+
     @Test
     void shouldCatchRestClientExceptionAndPutTombstone() throws SchemaNotFoundException {
         // given
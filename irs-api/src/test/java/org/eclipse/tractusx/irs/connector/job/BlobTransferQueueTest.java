@@ -0,0 +1,164 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.connector.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.tractusx.irs.connector.job.InMemoryTransferQueueTest.transfer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.eclipse.tractusx.irs.InMemoryBlobStore;
+import org.eclipse.tractusx.irs.aaswrapper.job.ItemDataRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BlobTransferQueueTest {
+
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(10);
+    private static final Instant NOW = Instant.parse("2023-11-20T10:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+    private final InMemoryBlobStore blobStore = new InMemoryBlobStore();
+    private final BlobTransferQueue<ItemDataRequest> sut = new BlobTransferQueue<>(blobStore, LEASE_DURATION, clock);
+    private final BlobTransferQueue<ItemDataRequest> otherInstance = new BlobTransferQueue<>(blobStore,
+            LEASE_DURATION, clock);
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    void shouldClaimTransferQueuedByOtherInstance() {
+        // Arrange
+        final QueuedTransfer<ItemDataRequest> transfer = transfer("process1");
+        otherInstance.offer(transfer);
+
+        // Act
+        final var claimed = sut.claim();
+
+        // Assert
+        assertThat(claimed).isPresent();
+        assertThat(claimed.get().getProcessId()).isEqualTo("process1");
+        assertThat(claimed.get().getDataRequest()).isEqualTo(transfer.getDataRequest());
+        assertThat(claimed.get().getJobData()).isEqualTo(transfer.getJobData());
+    }
+
+    @Test
+    void shouldLeaseTransferToOneInstanceOnly() {
+        // Arrange
+        sut.offer(transfer("process1"));
+        sut.claim();
+
+        // Act
+        final var claimed = otherInstance.claim();
+
+        // Assert
+        assertThat(claimed).isEmpty();
+    }
+
+    @Test
+    void shouldDeliverTransferAgainWhenLeaseExpired() {
+        // Arrange
+        sut.offer(transfer("process1"));
+        sut.claim();
+        when(clock.instant()).thenReturn(NOW.plus(LEASE_DURATION).plusSeconds(1));
+
+        // Act
+        final var claimed = otherInstance.claim();
+
+        // Assert
+        assertThat(claimed).isPresent();
+    }
+
+    @Test
+    void shouldNotDeliverTransferAgainWhileLeaseIsRenewed() {
+        // Arrange
+        sut.offer(transfer("process1"));
+        final QueuedTransfer<ItemDataRequest> claimed = sut.claim().orElseThrow();
+        when(clock.instant()).thenReturn(NOW.plus(LEASE_DURATION.dividedBy(3).multipliedBy(2)));
+        final var renewed = sut.renew(claimed);
+        when(clock.instant()).thenReturn(NOW.plus(LEASE_DURATION).plusSeconds(1));
+
+        // Act
+        final var claimedByOtherInstance = otherInstance.claim();
+
+        // Assert
+        assertThat(renewed).isPresent();
+        assertThat(claimedByOtherInstance).isEmpty();
+    }
+
+    @Test
+    void shouldNotRenewLeaseTakenOverByOtherInstance() {
+        // Arrange
+        sut.offer(transfer("process1"));
+        final QueuedTransfer<ItemDataRequest> claimed = sut.claim().orElseThrow();
+        when(clock.instant()).thenReturn(NOW.plus(LEASE_DURATION).plusSeconds(1));
+        otherInstance.claim().orElseThrow();
+
+        // Act
+        final var renewed = sut.renew(claimed);
+
+        // Assert
+        assertThat(renewed).isEmpty();
+    }
+
+    @Test
+    void shouldRemoveAcknowledgedTransfer() {
+        // Arrange
+        sut.offer(transfer("process1"));
+
+        // Act
+        sut.acknowledge(sut.claim().orElseThrow());
+
+        // Assert
+        assertThat(blobStore.findBlobByPrefix("transferqueue:")).isEmpty();
+    }
+
+    @Test
+    void shouldClaimSeveralTransfersFromOneListingOfTheQueue() {
+        // Arrange
+        final InMemoryBlobStore listedBlobStore = spy(new InMemoryBlobStore());
+        final BlobTransferQueue<ItemDataRequest> queue = new BlobTransferQueue<>(listedBlobStore, LEASE_DURATION,
+                clock);
+        queue.offer(transfer("process1"));
+        queue.offer(transfer("process2"));
+        queue.offer(transfer("process3"));
+
+        // Act
+        final var claimed = queue.claim(2);
+
+        // Assert
+        assertThat(claimed).hasSize(2);
+        verify(listedBlobStore, times(1)).findBlobByPrefix("transferqueue:");
+        assertThat(queue.claim(2)).hasSize(1);
+    }
+}
@@ -28,10 +28,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.tractusx.irs.component.Job;
 import org.eclipse.tractusx.irs.component.JobErrorDetails;
@@ -71,6 +82,16 @@ class InMemoryJobStoreTest {
         assertThat(sut.findByProcessId(processId1)).contains(job);
     }
 
+    @Test
+    void requestItems_WhenAlreadyRequested() {
+        sut.create(job);
+        sut.requestItems(job.getJobIdString(), Map.of("item1", 2, "item2", 2));
+
+        assertThat(sut.requestItems(job.getJobIdString(), Map.of("item1", 1, "item2", 3))).containsExactly("item1");
+        assertThat(sut.find(job.getJobIdString()).orElseThrow().getRequestedItems())
+                .containsExactlyInAnyOrderEntriesOf(Map.of("item1", 1, "item2", 2));
+    }
+
     @Test
     void findByProcessId_WhenNotFound() {
         sut.create(job);
@@ -79,6 +100,26 @@ class InMemoryJobStoreTest {
         assertThat(sut.findByProcessId(processId2)).isEmpty();
     }
 
+    @Test
+    void findByProcessId_WhenTransferCompleted() {
+        sut.create(job);
+        sut.addTransferProcess(job.getJobIdString(), processId1);
+        sut.addTransferProcess(job.getJobIdString(), processId2);
+        sut.completeTransferProcess(job.getJobIdString(), process1);
+
+        assertThat(sut.findByProcessId(processId1)).isEmpty();
+        assertThat(sut.findByProcessId(processId2)).isPresent();
+    }
+
+    @Test
+    void findByProcessId_WhenJobDeleted() {
+        sut.create(job);
+        sut.addTransferProcess(job.getJobIdString(), processId1);
+        sut.deleteJob(job.getJobIdString());
+
+        assertThat(sut.findByProcessId(processId1)).isEmpty();
+    }
+
     @Test
     void create_and_find() {
         sut.create(job);
@@ -368,6 +409,116 @@ class InMemoryJobStoreTest {
         assertThat(foundJobs.get(0).getJobIdString()).isEqualTo(job.getJobIdString());
     }
 
+    @Test
+    void shouldModifyDifferentJobsInParallel() {
+        // Arrange
+        final AtomicBoolean awaitOtherModification = new AtomicBoolean();
+        final AtomicBoolean modifiedConcurrently = new AtomicBoolean(true);
+        final CyclicBarrier bothModificationsInStore = new CyclicBarrier(2);
+        final InMemoryJobStore barrierStore = new InMemoryJobStore() {
+            @Override
+            protected void put(final String jobId, final MultiTransferJob job) {
+                if (awaitOtherModification.get()) {
+                    try {
+                        // only passes if the other job is modified at the same time
+                        bothModificationsInStore.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        modifiedConcurrently.set(false);
+                    } catch (BrokenBarrierException | TimeoutException e) {
+                        modifiedConcurrently.set(false);
+                    }
+                }
+                super.put(jobId, job);
+            }
+        };
+        final List<MultiTransferJob> jobs = jobsOnDifferentLockStripes(barrierStore, 2);
+        jobs.forEach(barrierStore::create);
+        awaitOtherModification.set(true);
+        final ExecutorService executor = Executors.newFixedThreadPool(jobs.size());
+
+        // Act
+        try {
+            CompletableFuture.allOf(jobs.stream()
+                                        .map(j -> CompletableFuture.runAsync(
+                                                () -> barrierStore.addTransferProcess(j.getJobIdString(),
+                                                        UUID.randomUUID().toString()), executor))
+                                        .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertThat(modifiedConcurrently).isTrue();
+        assertThat(jobs).allSatisfy(
+                j -> assertThat(barrierStore.find(j.getJobIdString()).orElseThrow().getTransferProcessIds()).hasSize(
+                        1));
+    }
+
+    @Test
+    void shouldModifyJobsFasterWithStripedLocksThanWithGlobalLock() {
+        // Arrange
+        final int parallelJobs = 8;
+        final Duration lockHoldTime = Duration.ofMillis(25);
+        final InMemoryJobStore stripedStore = slowStore(BaseJobStore.DEFAULT_LOCK_STRIPES, lockHoldTime);
+        final InMemoryJobStore globalLockStore = slowStore(1, lockHoldTime);
+        final List<MultiTransferJob> jobs = jobsOnDifferentLockStripes(stripedStore, parallelJobs);
+
+        // Act
+        final Duration stripedDuration = modifyInParallel(stripedStore, jobs);
+        final Duration globalLockDuration = modifyInParallel(globalLockStore, jobs);
+
+        // Assert
+        // with a single lock, the modifications of all jobs wait for each other
+        assertThat(globalLockDuration).isGreaterThanOrEqualTo(lockHoldTime.multipliedBy(parallelJobs));
+        assertThat(stripedDuration).isLessThan(globalLockDuration.dividedBy(2));
+    }
+
+    /**
+     * Generates jobs which are mapped to different lock stripes, so their modifications never wait for each other.
+     */
+    private List<MultiTransferJob> jobsOnDifferentLockStripes(final BaseJobStore store, final int count) {
+        final Map<Integer, MultiTransferJob> jobsByStripe = new HashMap<>();
+        while (jobsByStripe.size() < count) {
+            final MultiTransferJob generatedJob = generate.job(JobState.UNSAVED);
+            jobsByStripe.putIfAbsent(store.lockStripe(generatedJob.getJobIdString()), generatedJob);
+        }
+        return List.copyOf(jobsByStripe.values());
+    }
+
+    /**
+     * Creates a store which holds the lock of a job for the given time on each modification.
+     */
+    private static InMemoryJobStore slowStore(final int lockStripes, final Duration lockHoldTime) {
+        return new InMemoryJobStore(lockStripes) {
+            @Override
+            protected void put(final String jobId, final MultiTransferJob job) {
+                try {
+                    Thread.sleep(lockHoldTime.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.put(jobId, job);
+            }
+        };
+    }
+
+    private static Duration modifyInParallel(final InMemoryJobStore store, final List<MultiTransferJob> jobs) {
+        jobs.forEach(store::create);
+        final ExecutorService executor = Executors.newFixedThreadPool(jobs.size());
+        try {
+            final long start = System.nanoTime();
+            CompletableFuture.allOf(jobs.stream()
+                                        .map(j -> CompletableFuture.runAsync(
+                                                () -> store.addTransferProcess(j.getJobIdString(),
+                                                        UUID.randomUUID().toString()), executor))
+                                        .toArray(CompletableFuture[]::new)).join();
+            return Duration.ofNanos(System.nanoTime() - start);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private void refreshJob() {
         job = sut.find(job.getJobIdString()).get();
     }
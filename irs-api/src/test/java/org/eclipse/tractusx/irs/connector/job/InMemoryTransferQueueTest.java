@@ -0,0 +1,81 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.connector.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.tractusx.irs.util.TestMother.jobParameter;
+
+import java.util.UUID;
+
+import org.eclipse.tractusx.irs.aaswrapper.job.ItemDataRequest;
+import org.eclipse.tractusx.irs.component.PartChainIdentificationKey;
+import org.junit.jupiter.api.Test;
+
+class InMemoryTransferQueueTest {
+
+    private final InMemoryTransferQueue<ItemDataRequest> sut = new InMemoryTransferQueue<>();
+
+    @Test
+    void shouldClaimQueuedTransferOnce() {
+        // Arrange
+        sut.offer(transfer("process1"));
+
+        // Act
+        final var claimed = sut.claim();
+
+        // Assert
+        assertThat(claimed).isPresent();
+        assertThat(claimed.get().getProcessId()).isEqualTo("process1");
+        assertThat(sut.claim()).isEmpty();
+    }
+
+    @Test
+    void shouldClaimNextTransferWhileClaimedTransferIsNotAcknowledged() {
+        // Arrange
+        sut.offer(transfer("process1"));
+        sut.claim();
+        sut.offer(transfer("process2"));
+
+        // Act
+        final var claimed = sut.claim();
+
+        // Assert
+        assertThat(claimed).isPresent();
+        assertThat(claimed.get().getProcessId()).isEqualTo("process2");
+        assertThat(sut.claim()).isEmpty();
+    }
+
+    /* package */ static QueuedTransfer<ItemDataRequest> transfer(final String processId) {
+        return QueuedTransfer.<ItemDataRequest>builder()
+                             .processId(processId)
+                             .dataRequest(ItemDataRequest.rootNode(PartChainIdentificationKey.builder()
+                                                                                             .globalAssetId(
+                                                                                                     UUID.randomUUID()
+                                                                                                         .toString())
+                                                                                             .bpn("bpn123")
+                                                                                             .build()))
+                             .jobData(jobParameter())
+                             .build();
+    }
+}
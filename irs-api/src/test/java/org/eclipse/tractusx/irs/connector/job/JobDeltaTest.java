@@ -0,0 +1,145 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.connector.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.eclipse.tractusx.irs.component.enums.JobState;
+import org.eclipse.tractusx.irs.util.JsonUtil;
+import org.eclipse.tractusx.irs.util.TestMother;
+import org.junit.jupiter.api.Test;
+
+class JobDeltaTest {
+
+    TestMother generate = new TestMother();
+    MultiTransferJob job = generate.job(JobState.UNSAVED).toBuilder().transitionInitial().build();
+    TransferProcess process1 = generate.transfer();
+    TransferProcess process2 = generate.transfer();
+
+    @Test
+    void shouldContainAddedTransfersAndStateTransition() {
+        // Arrange
+        final MultiTransferJob next = job.toBuilder()
+                                         .transferProcessId(process1.getId())
+                                         .transitionInProgress()
+                                         .build();
+
+        // Act
+        final JobDelta delta = JobDelta.between(0, job, next);
+
+        // Assert
+        assertThat(delta.getEvents()).extracting(JobDelta.Event::getType)
+                                     .containsExactly(JobDelta.EventType.TRANSFER_ADDED,
+                                             JobDelta.EventType.STATE_TRANSITIONED);
+        assertThat(delta.applyTo(job).getTransferProcessIds()).containsExactly(process1.getId());
+        assertThat(delta.applyTo(job).getJob().getState()).isEqualTo(JobState.RUNNING);
+    }
+
+    @Test
+    void shouldContainOnlyNewlyCompletedTransfers() {
+        // Arrange
+        final MultiTransferJob running = job.toBuilder()
+                                            .transferProcessId(process2.getId())
+                                            .completedTransfer(process1)
+                                            .transitionInProgress()
+                                            .build();
+        final MultiTransferJob next = running.toBuilder()
+                                             .clearTransferProcessIds()
+                                             .completedTransfer(process2)
+                                             .build();
+
+        // Act
+        final JobDelta delta = JobDelta.between(1, running, next);
+
+        // Assert
+        assertThat(delta.getEvents()).hasSize(1);
+        assertThat(delta.getEvents().get(0).getProcessId()).isEqualTo(process2.getId());
+        assertThat(delta.applyTo(running).getTransferProcessIds()).isEmpty();
+        assertThat(delta.applyTo(running).getCompletedTransfers()).extracting(TransferProcess::getId)
+                                                                  .containsExactly(process1.getId(),
+                                                                          process2.getId());
+    }
+
+    @Test
+    void shouldBeIdempotentWhenAppliedTwice() {
+        // Arrange
+        final MultiTransferJob added = job.toBuilder()
+                                          .transferProcessId(process1.getId())
+                                          .transitionInProgress()
+                                          .build();
+        final MultiTransferJob completed = added.toBuilder()
+                                                .clearTransferProcessIds()
+                                                .completedTransfer(process1)
+                                                .transitionTransfersFinished()
+                                                .build();
+        final JobDelta addedDelta = JobDelta.between(0, job, added);
+        final JobDelta completedDelta = JobDelta.between(1, added, completed);
+
+        // Act
+        final MultiTransferJob replayed = addedDelta.applyTo(
+                completedDelta.applyTo(addedDelta.applyTo(completed)));
+
+        // Assert
+        assertThat(replayed.getTransferProcessIds()).isEmpty();
+        assertThat(replayed.getCompletedTransfers()).hasSize(1);
+        assertThat(replayed.getJob().getState()).isEqualTo(JobState.TRANSFERS_FINISHED);
+    }
+
+    @Test
+    void shouldContainNewlyRequestedItemsAndKeepLowestDepth() {
+        // Arrange
+        final MultiTransferJob requested = job.toBuilder().requestedItem("item1", 2).build();
+        final MultiTransferJob next = requested.toBuilder().requestedItem("item1", 1).requestedItem("item2", 2).build();
+
+        // Act
+        final JobDelta delta = JobDelta.between(1, requested, next);
+
+        // Assert
+        assertThat(delta.getEvents()).extracting(JobDelta.Event::getType)
+                                     .containsExactly(JobDelta.EventType.ITEMS_REQUESTED);
+        assertThat(delta.getEvents().get(0).getRequestedItems()).containsOnlyKeys("item1", "item2");
+        assertThat(delta.applyTo(job.toBuilder().requestedItem("item2", 1).build()).getRequestedItems())
+                .containsExactlyInAnyOrderEntriesOf(Map.of("item1", 1, "item2", 1));
+    }
+
+    @Test
+    void shouldSerializeAndDeserialize() {
+        // Arrange
+        final MultiTransferJob next = job.toBuilder()
+                                         .transferProcessId(process1.getId())
+                                         .transitionInProgress()
+                                         .build();
+        final JobDelta delta = JobDelta.between(0, job, next);
+        final JsonUtil jsonUtil = new JsonUtil();
+
+        // Act
+        final JobDelta result = jsonUtil.fromString(jsonUtil.asString(delta), JobDelta.class);
+
+        // Assert
+        assertThat(result.getJobId()).isEqualTo(job.getJobIdString());
+        assertThat(result.applyTo(job).getTransferProcessIds()).containsExactly(process1.getId());
+    }
+}
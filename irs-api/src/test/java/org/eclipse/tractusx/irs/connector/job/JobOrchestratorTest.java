@@ -129,16 +129,17 @@ class JobOrchestratorTest {
         // Arrange
         when(handler.initiate(any(MultiTransferJob.class))).thenReturn(Stream.of(dataRequest, dataRequest2));
 
-        when(processManager.initiateRequest(eq(dataRequest), any(), any(), eq(jobParameter()))).thenReturn(okResponse);
-        when(processManager.initiateRequest(eq(dataRequest2), any(), any(), eq(jobParameter()))).thenReturn(
+        when(processManager.initiateRequest(any(), eq(dataRequest), any(), any(), eq(jobParameter()))).thenReturn(
+                okResponse);
+        when(processManager.initiateRequest(any(), eq(dataRequest2), any(), any(), eq(jobParameter()))).thenReturn(
                 okResponse2);
 
         // Act
         startJob();
 
         // Assert
-        verify(processManager).initiateRequest(eq(dataRequest), any(), any(), eq(jobParameter()));
-        verify(processManager).initiateRequest(eq(dataRequest2), any(), any(), eq(jobParameter()));
+        verify(processManager).initiateRequest(any(), eq(dataRequest), any(), any(), eq(jobParameter()));
+        verify(processManager).initiateRequest(any(), eq(dataRequest2), any(), any(), eq(jobParameter()));
     }
 
     @Test
@@ -163,7 +164,8 @@ class JobOrchestratorTest {
     void startJob_WithSuccessfulTransferStarts_ReturnsOk() {
         // Arrange
         when(handler.initiate(any(MultiTransferJob.class))).thenReturn(Stream.of(dataRequest));
-        when(processManager.initiateRequest(eq(dataRequest), any(), any(), eq(jobParameter()))).thenReturn(okResponse);
+        when(processManager.initiateRequest(any(), eq(dataRequest), any(), any(), eq(jobParameter()))).thenReturn(
+                okResponse);
 
         // Act
         var response = sut.startJob(job.getGlobalAssetId(), job.getJob().getParameter(), null, owner);
@@ -179,15 +181,15 @@ class JobOrchestratorTest {
     void startJob_WhenTransferStartUnsuccessful_Abort(ResponseStatus status) {
         // Arrange
         when(handler.initiate(any())).thenReturn(Stream.of(dataRequest, dataRequest2));
-        when(processManager.initiateRequest(eq(dataRequest), any(), any(), eq(jobParameter()))).thenReturn(
+        when(processManager.initiateRequest(any(), eq(dataRequest), any(), any(), eq(jobParameter()))).thenReturn(
                 generate.response(status));
 
         // Act
         var response = sut.startJob(job.getGlobalAssetId(), job.getJobParameter(), null, owner);
 
         // Assert
-        verify(processManager).initiateRequest(eq(dataRequest), any(), any(), eq(jobParameter()));
-        verify(processManager, never()).initiateRequest(eq(dataRequest2), any(), any(), eq(jobParameter()));
+        verify(processManager).initiateRequest(any(), eq(dataRequest), any(), any(), eq(jobParameter()));
+        verify(processManager, never()).initiateRequest(any(), eq(dataRequest2), any(), any(), eq(jobParameter()));
 
         // temporarily created job should be deleted
         verify(jobStore).create(jobCaptor.capture());
@@ -242,14 +244,15 @@ class JobOrchestratorTest {
     @Test
     void transferProcessCompleted_WhenCalledBackForCompletedTransfer_RunsNextTransfers() {
         // Arrange
-        when(processManager.initiateRequest(eq(dataRequest), any(), any(), eq(jobParameter()))).thenReturn(okResponse);
-        when(processManager.initiateRequest(eq(dataRequest2), any(), any(), eq(jobParameter()))).thenReturn(
+        when(processManager.initiateRequest(any(), eq(dataRequest), any(), any(), eq(jobParameter()))).thenReturn(
+                okResponse);
+        when(processManager.initiateRequest(any(), eq(dataRequest2), any(), any(), eq(jobParameter()))).thenReturn(
                 okResponse2);
         // Act
         callCompleteAndReturnNextTransfers(Stream.of(dataRequest, dataRequest2));
 
         // Assert
-        verify(processManager).initiateRequest(eq(dataRequest), any(), any(), eq(jobParameter()));
+        verify(processManager).initiateRequest(any(), eq(dataRequest), any(), any(), eq(jobParameter()));
         verify(jobStore).completeTransferProcess(job.getJobIdString(), transfer);
 
     }
@@ -334,6 +337,34 @@ class JobOrchestratorTest {
         verifyNoMoreInteractions(jobStore);
     }
 
+    @Test
+    void transferProcessCompleted_WhenJobIsKnown_DoesNotSearchJobByProcessId() {
+        // Arrange
+        final MultiTransferJob runningJob = job.toBuilder().transferProcessId(transfer.getId()).build();
+        when(jobStore.find(runningJob.getJobIdString())).thenReturn(Optional.of(runningJob));
+        when(handler.recurse(runningJob, transfer)).thenReturn(Stream.empty());
+
+        // Act
+        sut.transferProcessCompleted(runningJob.getJobIdString(), transfer);
+
+        // Assert
+        verify(jobStore).completeTransferProcess(runningJob.getJobIdString(), transfer);
+        verify(jobStore, never()).findByProcessId(any());
+    }
+
+    @Test
+    void transferProcessCompleted_WhenKnownJobDoesNotContainTransfer_Ignore() {
+        // Arrange
+        when(jobStore.find(job.getJobIdString())).thenReturn(Optional.of(job));
+
+        // Act
+        sut.transferProcessCompleted(job.getJobIdString(), transfer);
+
+        // Assert
+        verifyNoInteractions(handler);
+        verify(jobStore, never()).completeTransferProcess(any(), any());
+    }
+
     @ParameterizedTest
     @EnumSource(value = JobState.class, names = "RUNNING", mode = EXCLUDE)
     void transferProcessCompleted_WhenJobNotInProgress_Ignore(JobState state) {
@@ -353,15 +384,15 @@ class JobOrchestratorTest {
     @EnumSource(value = ResponseStatus.class, names = "OK", mode = EXCLUDE)
     void transferProcessCompleted_WhenNextTransferStartUnsuccessful_Abort(ResponseStatus status) {
         // Arrange
-        when(processManager.initiateRequest(eq(dataRequest), any(), any(), eq(jobParameter()))).thenReturn(
+        when(processManager.initiateRequest(any(), eq(dataRequest), any(), any(), eq(jobParameter()))).thenReturn(
                 generate.response(status));
 
         // Act
         callCompleteAndReturnNextTransfers(Stream.of(dataRequest, dataRequest2));
 
         // Assert
-        verify(processManager).initiateRequest(eq(dataRequest), any(), any(), eq(jobParameter()));
-        verify(processManager, never()).initiateRequest(eq(dataRequest2), any(), any(), eq(jobParameter()));
+        verify(processManager).initiateRequest(any(), eq(dataRequest), any(), any(), eq(jobParameter()));
+        verify(processManager, never()).initiateRequest(any(), eq(dataRequest2), any(), any(), eq(jobParameter()));
 
         // temporarily created job should be deleted
         verify(jobStore).markJobInError(job.getJobIdString(), "Failed to start a transfer",
@@ -30,16 +30,29 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.tractusx.irs.component.Job;
 import org.eclipse.tractusx.irs.component.JobErrorDetails;
@@ -65,6 +78,10 @@ class PersistentJobStoreTest {
     private static final String SECRET_KEY = "secretKey";
     private static final MinioContainer minioContainer = new MinioContainer(
             new MinioContainer.CredentialsProvider(ACCESS_KEY, SECRET_KEY)).withReuse(true);
+    private static final int CACHE_SIZE = 1000;
+    private static final int COMPACTION_THRESHOLD = 3;
+    private static final int MAX_MODIFICATION_ATTEMPTS = 5;
+    private static final Duration REVALIDATION_INTERVAL = Duration.ofSeconds(10);
     final int TTL_IN_HOUR_SECONDS = 3600;
     PersistentJobStore sut;
     Faker faker = new Faker();
@@ -79,6 +96,8 @@ class PersistentJobStoreTest {
     String processId2 = process2.getId();
     String errorDetail = faker.lorem().sentence();
     MinioBlobPersistence blobStoreSpy;
+    AtomicReference<Instant> now = new AtomicReference<>(Instant.now());
+    Clock clock = mock(Clock.class);
 
     MeterRegistryService meterRegistryService = TestMother.simpleMeterRegistryService(); // mock(MeterRegistryService.class);
 
@@ -97,7 +116,10 @@ class PersistentJobStoreTest {
         final MinioBlobPersistence blobStore = new MinioBlobPersistence("http://" + minioContainer.getHostAddress(),
                 ACCESS_KEY, SECRET_KEY, "testbucket", 1);
         blobStoreSpy = Mockito.spy(blobStore);
-        sut = new PersistentJobStore(blobStoreSpy, meterRegistryService);
+        when(clock.instant()).thenAnswer(invocation -> now.get());
+        sut = new PersistentJobStore(blobStoreSpy, meterRegistryService, CACHE_SIZE,
+                PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
     }
 
     @Test
@@ -124,6 +146,47 @@ class PersistentJobStoreTest {
         assertThat(sut.findByProcessId(processId2)).isEmpty();
     }
 
+    @Test
+    void findByProcessId_WhenStoreIsRecreated() {
+        sut.create(job);
+        sut.addTransferProcess(job.getJobIdString(), processId1);
+
+        final PersistentJobStore newStore = new PersistentJobStore(blobStoreSpy, meterRegistryService, CACHE_SIZE,
+                PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+
+        assertThat(newStore.findByProcessId(processId1)).isPresent()
+                                                        .get()
+                                                        .extracting(MultiTransferJob::getJobIdString)
+                                                        .isEqualTo(job.getJobIdString());
+    }
+
+    @Test
+    void requestItems_WhenRequestedByOtherStore() {
+        sut.create(job);
+        sut.requestItems(job.getJobIdString(), Map.of("item1", 2, "item2", 2));
+
+        final PersistentJobStore otherStore = new PersistentJobStore(blobStoreSpy, meterRegistryService, CACHE_SIZE,
+                PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+
+        assertThat(otherStore.requestItems(job.getJobIdString(), Map.of("item1", 1, "item2", 2, "item3", 2)))
+                .containsExactlyInAnyOrder("item1", "item3");
+        assertThat(otherStore.find(job.getJobIdString()).orElseThrow().getRequestedItems())
+                .containsExactlyInAnyOrderEntriesOf(Map.of("item1", 1, "item2", 2, "item3", 2));
+    }
+
+    @Test
+    void findByProcessId_WhenNotShared_DoesNotScanJobsOnMiss() throws BlobPersistenceException {
+        sut.create(job);
+
+        assertThat(sut.findByProcessId(processId1)).isEmpty();
+        assertThat(sut.findByProcessId(processId2)).isEmpty();
+
+        // only the initial index is built from the stored jobs
+        verify(blobStoreSpy, times(1)).findBlobByPrefix("job:");
+    }
+
     @Test
     void create_and_find() {
         sut.create(job);
@@ -281,6 +344,27 @@ class PersistentJobStoreTest {
         assertThat(job.getJob().getState()).isEqualTo(JobState.RUNNING);
     }
 
+    @Test
+    void completeJob_WhenModifiedConcurrently_ExecutesCompletionActionOnce() throws BlobPersistenceException {
+        // Arrange
+        sut.create(job);
+        final AtomicBoolean conflicted = new AtomicBoolean();
+        doAnswer(invocation -> conflicted.compareAndSet(false, true)
+                ? Optional.empty()
+                : invocation.callRealMethod()).when(blobStoreSpy)
+                                              .putBlobIfMatches(startsWith("jobdelta:"), any(), any());
+        final AtomicInteger completions = new AtomicInteger();
+
+        // Act
+        sut.completeJob(job.getJobIdString(), completedJob -> completions.incrementAndGet());
+
+        // Assert
+        refreshJob();
+        assertThat(conflicted).isTrue();
+        assertThat(job.getJob().getState()).isEqualTo(JobState.COMPLETED);
+        assertThat(completions).hasValue(1);
+    }
+
     private void doNothing(final MultiTransferJob multiTransferJob) {
     }
 
@@ -490,7 +574,7 @@ class PersistentJobStoreTest {
     void shouldThrowExceptionWhenCreatingJob() throws BlobPersistenceException {
         // Arrange
         final var ex = new BlobPersistenceException("test", new RuntimeException());
-        doThrow(ex).when(blobStoreSpy).putBlob(any(), any());
+        doThrow(ex).when(blobStoreSpy).putBlobIfMatches(any(), any(), any());
 
         // Act
         sut.create(job);
@@ -538,7 +622,7 @@ class PersistentJobStoreTest {
             argThat(s -> s.contains(job.getJobIdString())), // jobId
             argThat(s -> s.size() == 2) // jobId + processId
         );
-        verify(blobStoreSpy, times(1)).delete(anyString(), anyList());
+        verify(blobStoreSpy, times(1)).delete(eq("job:" + job.getJobIdString()), anyList());
     }
 
     @Test
@@ -556,4 +640,240 @@ class PersistentJobStoreTest {
         assertThat(actual).isNotEmpty();
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldServeJobFromCacheWithoutReadingBlob() throws BlobPersistenceException {
+        // Arrange
+        sut.create(job);
+        sut.addTransferProcess(job.getJobIdString(), processId1);
+        Mockito.clearInvocations(blobStoreSpy);
+
+        // Act
+        final Optional<MultiTransferJob> foundJob = sut.find(job.getJobIdString());
+
+        // Assert
+        assertThat(foundJob).isPresent();
+        verify(blobStoreSpy, never()).getBlob(anyString());
+    }
+
+    @Test
+    void shouldReadEvictedJobFromBlobstore() {
+        // Arrange
+        final PersistentJobStore smallStore = new PersistentJobStore(blobStoreSpy, meterRegistryService, 1,
+                PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+        smallStore.create(job);
+        smallStore.create(job2);
+
+        // Act
+        final Optional<MultiTransferJob> foundJob = smallStore.find(job.getJobIdString());
+
+        // Assert
+        assertThat(foundJob).isPresent();
+        assertThat(foundJob.get().getJob().getState()).isEqualTo(JobState.INITIAL);
+    }
+
+    @Test
+    void shouldWriteJobAsynchronously() {
+        // Arrange
+        final PersistentJobStore asyncStore = new PersistentJobStore(blobStoreSpy, meterRegistryService, CACHE_SIZE,
+                PersistentJobStore.WriteMode.ASYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+
+        // Act
+        asyncStore.create(job);
+        asyncStore.addTransferProcess(job.getJobIdString(), processId1);
+        asyncStore.shutdown();
+
+        // Assert
+        final PersistentJobStore newStore = new PersistentJobStore(blobStoreSpy, meterRegistryService, CACHE_SIZE,
+                PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+        final MultiTransferJob storedJob = newStore.find(job.getJobIdString()).orElseThrow();
+        assertThat(storedJob.getTransferProcessIds()).containsExactly(processId1);
+    }
+
+    @Test
+    void shouldAppendDeltaInsteadOfRewritingJob() throws BlobPersistenceException {
+        // Arrange
+        sut.create(job);
+        final String jobBlobId = "job:" + job.getJobIdString();
+
+        // Act
+        sut.addTransferProcess(job.getJobIdString(), processId1);
+        sut.addTransferProcess(job.getJobIdString(), processId2);
+
+        // Assert
+        verify(blobStoreSpy, times(1)).putBlobIfMatches(eq(jobBlobId), any(), any());
+        verify(blobStoreSpy, times(2)).putBlobIfMatches(startsWith("jobdelta:" + job.getJobIdString()), any(), any());
+    }
+
+    @Test
+    void shouldRestoreJobFromSnapshotAndDeltas() {
+        // Arrange
+        sut.create(job);
+        sut.addTransferProcess(job.getJobIdString(), processId1);
+        sut.addTransferProcess(job.getJobIdString(), processId2);
+        sut.completeTransferProcess(job.getJobIdString(), process1);
+
+        // Act
+        final PersistentJobStore newStore = new PersistentJobStore(blobStoreSpy, meterRegistryService, CACHE_SIZE,
+                PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+        final MultiTransferJob storedJob = newStore.find(job.getJobIdString()).orElseThrow();
+
+        // Assert
+        assertThat(storedJob.getTransferProcessIds()).containsExactly(processId2);
+        assertThat(storedJob.getCompletedTransfers()).extracting(TransferProcess::getId).containsExactly(processId1);
+        assertThat(storedJob.getJob().getState()).isEqualTo(JobState.RUNNING);
+        assertThat(newStore.findAll()).extracting(MultiTransferJob::getJobIdString).contains(job.getJobIdString());
+    }
+
+    @Test
+    void shouldCompactDeltasIntoSnapshot() throws BlobPersistenceException {
+        // Arrange
+        sut.create(job);
+        final String jobBlobId = "job:" + job.getJobIdString();
+
+        // Act
+        for (int i = 0; i < COMPACTION_THRESHOLD; i++) {
+            sut.addTransferProcess(job.getJobIdString(), "process" + i);
+        }
+
+        // Assert
+        verify(blobStoreSpy, times(2)).putBlobIfMatches(eq(jobBlobId), any(), any());
+        // the latest delta is kept to preserve the sequence number
+        assertThat(blobStoreSpy.findBlobByPrefix("jobdelta:" + job.getJobIdString())).hasSize(1);
+    }
+
+    @Test
+    void shouldRetryModificationWhenJobWasModifiedByOtherInstance() {
+        // Arrange
+        final PersistentJobStore otherInstance = new PersistentJobStore(blobStoreSpy, meterRegistryService,
+                CACHE_SIZE, PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+        sut.create(job);
+        otherInstance.find(job.getJobIdString());
+
+        // Act
+        sut.addTransferProcess(job.getJobIdString(), processId1);
+        otherInstance.addTransferProcess(job.getJobIdString(), processId2);
+
+        // Assert
+        final PersistentJobStore newStore = new PersistentJobStore(blobStoreSpy, meterRegistryService, CACHE_SIZE,
+                PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD, MAX_MODIFICATION_ATTEMPTS,
+                REVALIDATION_INTERVAL, clock);
+        final MultiTransferJob storedJob = newStore.find(job.getJobIdString()).orElseThrow();
+        assertThat(storedJob.getTransferProcessIds()).containsExactlyInAnyOrder(processId1, processId2);
+    }
+
+    @Test
+    void shouldNotCreateJobWhichAlreadyExists() {
+        // Arrange
+        final PersistentJobStore otherInstance = new PersistentJobStore(blobStoreSpy, meterRegistryService,
+                CACHE_SIZE, PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+        sut.create(job);
+
+        // Act & Assert
+        assertThatExceptionOfType(JobException.class).isThrownBy(() -> otherInstance.create(job));
+    }
+
+    @Test
+    void shouldRejectAppendFromStalePositionAfterCompaction() throws BlobPersistenceException {
+        // Arrange
+        final PersistentJobStore otherInstance = new PersistentJobStore(blobStoreSpy, meterRegistryService,
+                CACHE_SIZE, PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+        sut.create(job);
+        otherInstance.find(job.getJobIdString());
+        // compacting frees the sequence numbers the other instance would append to next
+        for (int i = 0; i < COMPACTION_THRESHOLD; i++) {
+            sut.addTransferProcess(job.getJobIdString(), "process" + i);
+        }
+
+        // Act
+        otherInstance.addTransferProcess(job.getJobIdString(), processId1);
+
+        // Assert
+        final PersistentJobStore newStore = new PersistentJobStore(blobStoreSpy, meterRegistryService, CACHE_SIZE,
+                PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD, MAX_MODIFICATION_ATTEMPTS,
+                REVALIDATION_INTERVAL, clock);
+        final MultiTransferJob storedJob = newStore.find(job.getJobIdString()).orElseThrow();
+        assertThat(storedJob.getTransferProcessIds()).containsExactlyInAnyOrder("process0", "process1", "process2",
+                processId1);
+        assertThat(otherInstance.find(job.getJobIdString()).orElseThrow().getTransferProcessIds())
+                .containsExactlyInAnyOrderElementsOf(storedJob.getTransferProcessIds());
+        // the stale delta has been removed again, only the kept and the reapplied delta remain
+        assertThat(blobStoreSpy.findBlobByPrefix("jobdelta:" + job.getJobIdString())).hasSize(2);
+    }
+
+    @Test
+    void shouldReloadCachedJobModifiedByOtherInstanceAfterRevalidationInterval() {
+        // Arrange
+        final PersistentJobStore otherInstance = new PersistentJobStore(blobStoreSpy, meterRegistryService,
+                CACHE_SIZE, PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+        sut.create(job);
+        otherInstance.find(job.getJobIdString());
+        sut.addTransferProcess(job.getJobIdString(), processId1);
+        final MultiTransferJob cachedJob = otherInstance.find(job.getJobIdString()).orElseThrow();
+
+        // Act
+        now.set(now.get().plus(REVALIDATION_INTERVAL));
+        final MultiTransferJob revalidatedJob = otherInstance.find(job.getJobIdString()).orElseThrow();
+
+        // Assert
+        assertThat(cachedJob.getTransferProcessIds()).isEmpty();
+        assertThat(revalidatedJob.getTransferProcessIds()).containsExactly(processId1);
+    }
+
+    @Test
+    void shouldServeUnmodifiedJobFromCacheAfterRevalidation() throws BlobPersistenceException {
+        // Arrange
+        sut.create(job);
+        sut.addTransferProcess(job.getJobIdString(), processId1);
+        now.set(now.get().plus(REVALIDATION_INTERVAL));
+        Mockito.clearInvocations(blobStoreSpy);
+
+        // Act
+        final Optional<MultiTransferJob> foundJob = sut.find(job.getJobIdString());
+
+        // Assert
+        assertThat(foundJob).isPresent();
+        verify(blobStoreSpy, times(2)).getBlobVersion(anyString());
+        verify(blobStoreSpy, never()).getBlob(anyString());
+        verify(blobStoreSpy, never()).getVersionedBlob(anyString());
+    }
+
+    @Test
+    void shouldReloadJobWhenSnapshotIsCompactedWhileLoading() throws BlobPersistenceException {
+        // Arrange
+        final PersistentJobStore otherInstance = new PersistentJobStore(blobStoreSpy, meterRegistryService,
+                CACHE_SIZE, PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD,
+                MAX_MODIFICATION_ATTEMPTS, REVALIDATION_INTERVAL, clock);
+        sut.create(job);
+        sut.addTransferProcess(job.getJobIdString(), processId1);
+        otherInstance.find(job.getJobIdString());
+
+        // the other instance compacts the log after the snapshot has been read, before the deltas are listed
+        final AtomicBoolean compacted = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (compacted.compareAndSet(false, true)) {
+                for (int i = 1; i < COMPACTION_THRESHOLD; i++) {
+                    otherInstance.addTransferProcess(job.getJobIdString(), "process" + i);
+                }
+            }
+            return invocation.callRealMethod();
+        }).when(blobStoreSpy).findBlobByPrefix("jobdelta:" + job.getJobIdString() + ":");
+
+        // Act
+        final PersistentJobStore newStore = new PersistentJobStore(blobStoreSpy, meterRegistryService, CACHE_SIZE,
+                PersistentJobStore.WriteMode.SYNCHRONOUS, COMPACTION_THRESHOLD, MAX_MODIFICATION_ATTEMPTS,
+                REVALIDATION_INTERVAL, clock);
+        final MultiTransferJob storedJob = newStore.find(job.getJobIdString()).orElseThrow();
+
+        // Assert
+        assertThat(storedJob.getTransferProcessIds()).hasSize(COMPACTION_THRESHOLD).contains(processId1);
+    }
+
+}
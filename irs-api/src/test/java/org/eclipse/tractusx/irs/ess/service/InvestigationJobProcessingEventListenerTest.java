@@ -26,14 +26,18 @@ package org.eclipse.tractusx.irs.ess.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.tractusx.irs.ess.service.EdcRegistration.ASSET_ID_REQUEST_RECURSIVE;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -112,6 +116,14 @@ class InvestigationJobProcessingEventListenerTest {
     void mockInit() {
         createMockForJobIdAndShell(jobId, "bpn", List.of(createRelationship("SingleLevelBomAsPlanned", "BPN123",
                 "urn:uuid:52207a60-e541-4bea-8ec4-3172f09e6dbb", "urn:uuid:86f69643-3b90-4e34-90bf-789edcf40e7e")));
+        // resolve the BPNs of the bulk lookup with the endpoints stubbed per BPN
+        lenient().when(connectorEndpointsService.fetchConnectorEndpointsByBpn(anyCollection()))
+                 .thenAnswer(invocation -> {
+                     final Collection<String> bpns = invocation.getArgument(0);
+                     final Map<String, List<String>> endpoints = new LinkedHashMap<>();
+                     bpns.forEach(bpn -> endpoints.put(bpn, connectorEndpointsService.fetchConnectorEndpoints(bpn)));
+                     return endpoints;
+                 });
     }
 
     @Test
@@ -28,6 +28,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.jetbrains.annotations.Nullable;
+
 /**
  * Interface for storing data blobs.
  */
@@ -37,6 +39,39 @@ public interface BlobPersistence {
 
     Optional<byte[]> getBlob(String sourceBlobName) throws BlobPersistenceException;
 
+    /**
+     * Retrieves the blob together with its current version.
+     *
+     * @param sourceBlobName the name of the blob
+     * @return the blob and its version, or empty if the blob does not exist
+     * @throws BlobPersistenceException if the blob cannot be loaded
+     */
+    Optional<VersionedBlob> getVersionedBlob(String sourceBlobName) throws BlobPersistenceException;
+
+    /**
+     * Retrieves the current version of the blob without loading its content.
+     *
+     * @param sourceBlobName the name of the blob
+     * @return the version of the blob, or empty if the blob does not exist
+     * @throws BlobPersistenceException if the version cannot be retrieved
+     */
+    default Optional<String> getBlobVersion(final String sourceBlobName) throws BlobPersistenceException {
+        return getVersionedBlob(sourceBlobName).map(VersionedBlob::getVersion);
+    }
+
+    /**
+     * Stores the blob only if the currently stored version matches the expected version (compare-and-set).
+     *
+     * @param targetBlobName  the name of the blob
+     * @param blob            the content to store
+     * @param expectedVersion the version as returned by {@link #getVersionedBlob(String)},
+     *                        or null if the blob must not exist yet
+     * @return the new version of the blob, or empty if the stored version did not match
+     * @throws BlobPersistenceException if the blob cannot be stored
+     */
+    Optional<String> putBlobIfMatches(String targetBlobName, byte[] blob, @Nullable String expectedVersion)
+            throws BlobPersistenceException;
+
     Collection<byte[]> findBlobByPrefix(String prefix) throws BlobPersistenceException;
 
     boolean delete(String blobId, List<String> processIds) throws BlobPersistenceException;
@@ -25,11 +25,14 @@ package org.eclipse.tractusx.irs.common.persistence;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -39,10 +42,13 @@ import io.minio.GetObjectResponse;
 import io.minio.ListObjectsArgs;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
 import io.minio.Result;
 import io.minio.SetBucketLifecycleArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
 import io.minio.errors.ErrorResponseException;
 import io.minio.errors.InsufficientDataException;
 import io.minio.errors.InternalException;
@@ -58,6 +64,7 @@ import io.minio.messages.RuleFilter;
 import io.minio.messages.Status;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * BlobPersistence implementation using the min.io library
@@ -69,6 +76,16 @@ import org.jetbrains.annotations.NotNull;
 })
 public class MinioBlobPersistence implements BlobPersistence {
 
+    private static final List<String> CONDITION_FAILED_CODES = List.of("PreconditionFailed",
+            "ConditionalRequestConflict");
+
+    /**
+     * The oldest MinIO release the IRS has been tested with which evaluates conditional writes.
+     */
+    private static final String MINIMUM_MINIO_RELEASE = "RELEASE.2024-11-07T00-52-20Z";
+
+    private static final String CONDITIONAL_WRITE_PROBE_PREFIX = "conditional-write-probe:";
+
     private final MinioClient minioClient;
     private final String bucketName;
     private final int daysToLive;
@@ -145,11 +162,90 @@ public class MinioBlobPersistence implements BlobPersistence {
         }
     }
 
+    @Override
+    public Optional<String> putBlobIfMatches(final String targetBlobName, final byte[] blob,
+            @Nullable final String expectedVersion) throws BlobPersistenceException {
+        final Map<String, String> condition =
+                expectedVersion == null ? Map.of("If-None-Match", "*") : Map.of("If-Match", expectedVersion);
+        try {
+            final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(blob);
+            final PutObjectArgs putObjectArgs = PutObjectArgs.builder()
+                                                             .bucket(bucketName)
+                                                             .object(targetBlobName)
+                                                             .headers(condition)
+                                                             .stream(byteArrayInputStream,
+                                                                     byteArrayInputStream.available(), -1)
+                                                             .build();
+            final ObjectWriteResponse response = minioClient.putObject(putObjectArgs);
+            log.debug("Saving to bucket name {} with object name {} and condition {}", bucketName, targetBlobName,
+                    condition);
+            return Optional.of(response.etag());
+        } catch (ErrorResponseException e) {
+            if (CONDITION_FAILED_CODES.contains(e.errorResponse().code())) {
+                log.debug("Version of object {} does not match {}", targetBlobName, expectedVersion);
+                return Optional.empty();
+            }
+            throw new BlobPersistenceException("Encountered error while trying to store blob", e);
+        } catch (ServerException | InsufficientDataException | IOException | NoSuchAlgorithmException | InvalidKeyException | InvalidResponseException | XmlParserException | InternalException e) {
+            throw new BlobPersistenceException("Encountered error while trying to store blob", e);
+        }
+    }
+
+    /**
+     * Checks that the server rejects a write with {@code If-None-Match: *} to an existing object.
+     * Servers which ignore the condition, like MinIO releases before {@value #MINIMUM_MINIO_RELEASE},
+     * would silently overwrite concurrent modifications of other IRS instances.
+     *
+     * @throws BlobPersistenceException if the server does not support conditional writes
+     */
+    public void verifyConditionalWrites() throws BlobPersistenceException {
+        final String probeBlobName = CONDITIONAL_WRITE_PROBE_PREFIX + UUID.randomUUID();
+        final byte[] probe = probeBlobName.getBytes(StandardCharsets.UTF_8);
+        try {
+            putBlobIfMatches(probeBlobName, probe, null);
+            if (putBlobIfMatches(probeBlobName, probe, null).isPresent()) {
+                throw new BlobPersistenceException(
+                        "The blobstore ignores conditional writes, MinIO " + MINIMUM_MINIO_RELEASE
+                                + " or later is required", null);
+            }
+        } finally {
+            delete(probeBlobName, List.of());
+        }
+    }
+
     @Override
     public Optional<byte[]> getBlob(final String sourceBlobName) throws BlobPersistenceException {
-        final GetObjectResponse response;
+        final Optional<GetObjectResponse> object = getObject(sourceBlobName);
+        if (object.isEmpty()) {
+            return Optional.empty();
+        }
+        try (GetObjectResponse response = object.get()) {
+            return Optional.ofNullable(response.readAllBytes());
+        } catch (IOException e) {
+            throw createLoadFailedException(e);
+        }
+
+    }
+
+    @Override
+    public Optional<VersionedBlob> getVersionedBlob(final String sourceBlobName) throws BlobPersistenceException {
+        final Optional<GetObjectResponse> object = getObject(sourceBlobName);
+        if (object.isEmpty()) {
+            return Optional.empty();
+        }
+        try (GetObjectResponse response = object.get()) {
+            return Optional.of(new VersionedBlob(response.readAllBytes(), toVersion(response.headers().get("ETag"))));
+        } catch (IOException e) {
+            throw createLoadFailedException(e);
+        }
+    }
+
+    @Override
+    public Optional<String> getBlobVersion(final String sourceBlobName) throws BlobPersistenceException {
         try {
-            response = minioClient.getObject(GetObjectArgs.builder().bucket(bucketName).object(sourceBlobName).build());
+            final StatObjectResponse response = minioClient.statObject(
+                    StatObjectArgs.builder().bucket(bucketName).object(sourceBlobName).build());
+            return Optional.of(toVersion(response.etag()));
         } catch (ErrorResponseException e) {
             if ("NoSuchKey".equals(e.errorResponse().code())) {
                 return Optional.empty();
@@ -158,12 +254,28 @@ public class MinioBlobPersistence implements BlobPersistence {
         } catch (ServerException | InsufficientDataException | IOException | NoSuchAlgorithmException | InvalidKeyException | InvalidResponseException | XmlParserException | InternalException e) {
             throw createLoadFailedException(e);
         }
-        try (response) {
-            return Optional.ofNullable(response.readAllBytes());
-        } catch (IOException e) {
+    }
+
+    /**
+     * The ETag is returned quoted in response headers, but unquoted by the client responses of min.io.
+     * Versions are compared by callers, so they are always returned without quotes.
+     */
+    private static String toVersion(@Nullable final String etag) {
+        return etag == null ? null : etag.replace("\"", "");
+    }
+
+    private Optional<GetObjectResponse> getObject(final String sourceBlobName) throws BlobPersistenceException {
+        try {
+            return Optional.of(
+                    minioClient.getObject(GetObjectArgs.builder().bucket(bucketName).object(sourceBlobName).build()));
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return Optional.empty();
+            }
+            throw createLoadFailedException(e);
+        } catch (ServerException | InsufficientDataException | IOException | NoSuchAlgorithmException | InvalidKeyException | InvalidResponseException | XmlParserException | InternalException e) {
             throw createLoadFailedException(e);
         }
-
     }
 
     private BlobPersistenceException createLoadFailedException(final Throwable cause) {
@@ -26,6 +26,7 @@ package org.eclipse.tractusx.irs.common.persistence;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -43,7 +44,10 @@ import java.util.stream.Stream;
 
 import io.minio.GetObjectResponse;
 import io.minio.MinioClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.PutObjectArgs;
 import io.minio.Result;
+import io.minio.StatObjectResponse;
 import io.minio.errors.ErrorResponseException;
 import io.minio.errors.InsufficientDataException;
 import io.minio.errors.InternalException;
@@ -82,6 +86,81 @@ class MinioBlobPersistenceTest {
         verify(client).putObject(any());
     }
 
+    @Test
+    void shouldStoreBlobIfVersionMatches() throws Exception {
+        // arrange
+        final ObjectWriteResponse response = mock(ObjectWriteResponse.class);
+        when(response.etag()).thenReturn("newVersion");
+        when(client.putObject(any())).thenReturn(response);
+
+        // act
+        final Optional<String> version = testee.putBlobIfMatches("testBlobName",
+                "testContent".getBytes(StandardCharsets.UTF_8), "oldVersion");
+
+        // assert
+        assertThat(version).contains("newVersion");
+        verify(client).putObject(
+                argThat((PutObjectArgs args) -> args.headers().get("If-Match").contains("oldVersion")));
+    }
+
+    @Test
+    void shouldOnlyStoreBlobIfAbsentWhenNoVersionIsExpected() throws Exception {
+        // arrange
+        final ObjectWriteResponse response = mock(ObjectWriteResponse.class);
+        when(client.putObject(any())).thenReturn(response);
+
+        // act
+        testee.putBlobIfMatches("testBlobName", "testContent".getBytes(StandardCharsets.UTF_8), null);
+
+        // assert
+        verify(client).putObject(
+                argThat((PutObjectArgs args) -> args.headers().get("If-None-Match").contains("*")));
+    }
+
+    @Test
+    void shouldReturnEmptyIfVersionDoesNotMatch() throws Exception {
+        // arrange
+        final ErrorResponse errorResponse = new ErrorResponse("PreconditionFailed", "", "", "", "", "", "");
+        doThrow(new ErrorResponseException(errorResponse, null, "")).when(client).putObject(any());
+
+        // act
+        final Optional<String> version = testee.putBlobIfMatches("testBlobName",
+                "testContent".getBytes(StandardCharsets.UTF_8), "oldVersion");
+
+        // assert
+        assertThat(version).isEmpty();
+    }
+
+    @Test
+    void shouldAcceptServerRejectingConditionalWriteToExistingBlob() throws Exception {
+        // arrange
+        final ObjectWriteResponse response = mock(ObjectWriteResponse.class);
+        when(response.etag()).thenReturn("version");
+        final ErrorResponse errorResponse = new ErrorResponse("PreconditionFailed", "", "", "", "", "", "");
+        when(client.putObject(any())).thenReturn(response)
+                                     .thenThrow(new ErrorResponseException(errorResponse, null, ""));
+
+        // act
+        testee.verifyConditionalWrites();
+
+        // assert
+        verify(client, times(2)).putObject(any());
+        verify(client).removeObject(any());
+    }
+
+    @Test
+    void shouldRejectServerIgnoringConditionalWrites() throws Exception {
+        // arrange
+        final ObjectWriteResponse response = mock(ObjectWriteResponse.class);
+        when(response.etag()).thenReturn("version");
+        when(client.putObject(any())).thenReturn(response);
+
+        // act & assert
+        assertThatThrownBy(() -> testee.verifyConditionalWrites()).isInstanceOf(BlobPersistenceException.class)
+                                                                  .hasMessageContaining("conditional writes");
+        verify(client).removeObject(any());
+    }
+
     @Test
     void shouldDeleteBlobWithClient() throws Exception {
         // act
@@ -142,6 +221,34 @@ class MinioBlobPersistenceTest {
         assertThat(result).isPresent().get().isEqualTo(blob);
     }
 
+    @Test
+    void shouldRetrieveBlobVersionWithoutContent() throws Exception {
+        // arrange
+        final StatObjectResponse response = mock(StatObjectResponse.class);
+        when(response.etag()).thenReturn("\"testVersion\"");
+        when(client.statObject(any())).thenReturn(response);
+
+        // act
+        final Optional<String> result = testee.getBlobVersion("testBlobName");
+
+        // assert
+        assertThat(result).contains("testVersion");
+        verify(client, times(0)).getObject(any());
+    }
+
+    @Test
+    void shouldReturnEmptyVersionForNonexistentBlob() throws Exception {
+        // arrange
+        final ErrorResponse errorResponse = new ErrorResponse("NoSuchKey", "", "", "", "", "", "");
+        doThrow(new ErrorResponseException(errorResponse, null, "")).when(client).statObject(any());
+
+        // act
+        final Optional<String> result = testee.getBlobVersion("testBlobName");
+
+        // assert
+        assertThat(result).isEmpty();
+    }
+
     @Test
     void shouldThrowCorrectExceptionWhenRetrievingBlob() throws Exception {
         // arrange
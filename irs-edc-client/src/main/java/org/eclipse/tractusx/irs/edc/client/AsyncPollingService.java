@@ -24,6 +24,7 @@
 package org.eclipse.tractusx.irs.edc.client;
 
 import java.time.Clock;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 
 import lombok.RequiredArgsConstructor;
@@ -43,5 +44,23 @@ public class AsyncPollingService {
         return PollingJob.<T>builder().clock(clock).scheduler(scheduler);
     }
 
+    public <T> BatchStatePoller.BatchStatePollerBuilder<T> createBatchPoller() {
+        return BatchStatePoller.<T>builder().clock(clock).scheduler(scheduler);
+    }
+
+    /**
+     * @return the executor to continue asynchronous work on, e.g. after a callback from the EDC
+     */
+    public Executor getExecutor() {
+        return scheduler;
+    }
+
+    /**
+     * @return the scheduler to delay asynchronous work with, e.g. retries
+     */
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
 }
 
@@ -0,0 +1,183 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.edc.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.irs.edc.client.exceptions.TimeoutException;
+
+/**
+ * Polls the state of all pending EDC processes of one kind, e.g. contract negotiations, together.
+ * Instead of one request per process, the ids of all pending processes are queried in batches and each result is
+ * handed to the future waiting for it. Polling only runs while there are pending processes.
+ *
+ * @param <T> the type of the queried EDC process
+ */
+@Slf4j
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class BatchStatePoller<T> {
+
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private final String description;
+    private final Function<List<String>, List<T>> query;
+    private final Function<T, String> idExtractor;
+    private final Function<T, Optional<T>> evaluator;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration timeToLive;
+
+    private final Map<String, PendingProcess<T>> pendingProcesses = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param clock        the clock to calculate timeouts
+     * @param scheduler    the scheduler to run the polling on
+     * @param description  describes the polled processes in log messages
+     * @param query        queries the current state of the processes with the given ids
+     * @param idExtractor  extracts the process id from a query result
+     * @param evaluator    returns the result, if the process is finished, or throws, if the process failed
+     * @param batchSize    the maximum number of ids per query
+     * @param pollInterval the interval between two polls
+     * @param timeToLive   the time after which a process which has not finished fails with a TimeoutException
+     */
+    @Builder
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    /* package */ BatchStatePoller(final Clock clock, final ScheduledExecutorService scheduler,
+            final String description, final Function<List<String>, List<T>> query,
+            final Function<T, String> idExtractor, final Function<T, Optional<T>> evaluator, final int batchSize,
+            final Duration pollInterval, final Duration timeToLive) {
+        this.clock = Objects.requireNonNull(clock, "A clock must be supplied to the batch poller.");
+        this.scheduler = Objects.requireNonNull(scheduler, "A scheduler must be supplied to the batch poller.");
+        this.description = description;
+        this.query = Objects.requireNonNull(query, "A query must be supplied to the batch poller.");
+        this.idExtractor = Objects.requireNonNull(idExtractor, "An id extractor must be supplied to the batch poller.");
+        this.evaluator = Objects.requireNonNull(evaluator, "An evaluator must be supplied to the batch poller.");
+        this.batchSize = Math.max(batchSize, 1);
+        this.pollInterval = Objects.requireNonNullElse(pollInterval, Duration.ofSeconds(1));
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Adds the process to the next polls.
+     *
+     * @param processId the id of the EDC process
+     * @return a future completed with the result of the evaluator, once the process is finished
+     */
+    public CompletableFuture<T> register(final String processId) {
+        final Instant deadline = timeToLive == null ? Instant.MAX : clock.instant().plus(timeToLive);
+        final PendingProcess<T> pendingProcess = pendingProcesses.computeIfAbsent(processId,
+                id -> new PendingProcess<>(new CompletableFuture<>(), deadline));
+        pendingProcess.future().whenComplete((result, thrown) -> pendingProcesses.remove(processId, pendingProcess));
+        scheduleIfIdle();
+        return pendingProcess.future();
+    }
+
+    /* package */ int getPendingCount() {
+        return pendingProcesses.size();
+    }
+
+    private void scheduleIfIdle() {
+        if (scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::poll, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void poll() {
+        try {
+            expireOverdueProcesses();
+            final List<String> processIds = new ArrayList<>(pendingProcesses.keySet());
+            for (int from = 0; from < processIds.size(); from += batchSize) {
+                queryBatch(processIds.subList(from, Math.min(from + batchSize, processIds.size())));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Polling state of {} failed", description, e);
+        } finally {
+            scheduled.set(false);
+            // a process registered while the flag was still set would otherwise not be polled
+            if (!pendingProcesses.isEmpty()) {
+                scheduleIfIdle();
+            }
+        }
+    }
+
+    private void expireOverdueProcesses() {
+        final Instant now = clock.instant();
+        pendingProcesses.forEach((processId, pendingProcess) -> {
+            if (now.isAfter(pendingProcess.deadline())) {
+                pendingProcess.future()
+                              .completeExceptionally(new TimeoutException(
+                                      "'" + description + "' timed out after " + timeToLive));
+            }
+        });
+    }
+
+    private void queryBatch(final List<String> processIds) {
+        final List<T> results;
+        try {
+            results = query.apply(processIds);
+        } catch (RuntimeException e) {
+            log.warn("Querying state of {} {} failed, retrying with the next poll", processIds.size(), description,
+                    e);
+            return;
+        }
+        log.debug("Queried state of {} {} with one request", processIds.size(), description);
+
+        results.forEach(result -> Optional.ofNullable(pendingProcesses.get(idExtractor.apply(result)))
+                                          .ifPresent(pendingProcess -> evaluate(result, pendingProcess.future())));
+    }
+
+    private void evaluate(final T result, final CompletableFuture<T> future) {
+        try {
+            evaluator.apply(result).ifPresent(future::complete);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * A process waiting for its result.
+     *
+     * @param future   completed once the process is finished
+     * @param deadline the time after which the process times out
+     * @param <T>      the type of the queried EDC process
+     */
+    private record PendingProcess<T>(CompletableFuture<T> future, Instant deadline) {
+    }
+}
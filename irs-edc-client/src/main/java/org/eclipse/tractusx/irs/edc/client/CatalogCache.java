@@ -0,0 +1,133 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.edc.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.tractusx.irs.edc.client.model.CatalogItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * InMemory cache for the catalogs of EDC providers, identified by the provider connector and the catalog filter.
+ * Complete catalogs are stored without a filter.
+ */
+@Service("irsEdcClientCatalogCache")
+public class CatalogCache {
+
+    private final Map<Key, CachedCatalog> catalogs;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public CatalogCache(final EdcConfiguration config) {
+        this(config.getControlplane().getCatalogCache().getMaxSize(),
+                config.getControlplane().getCatalogCache().getTtl(), Clock.systemUTC());
+    }
+
+    /* package */ CatalogCache(final int maxSize, final Duration timeToLive, final Clock clock) {
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.catalogs = Collections.synchronizedMap(new LinkedHashMap<>(Math.max(maxSize, 1), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, CachedCatalog> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @param connectorUrl the provider connector
+     * @param filterKey    the property the catalog has been filtered by, null for the complete catalog
+     * @param filterValue  the value the catalog has been filtered by, null for the complete catalog
+     * @return the catalog items, if they have been requested within the time to live
+     */
+    public Optional<List<CatalogItem>> get(final String connectorUrl, final String filterKey,
+            final String filterValue) {
+        final Key key = new Key(connectorUrl, filterKey, filterValue);
+        final CachedCatalog catalog = catalogs.get(key);
+        if (catalog == null || !catalog.expiresAt().isAfter(clock.instant())) {
+            catalogs.remove(key);
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(catalog.items());
+    }
+
+    /**
+     * @param connectorUrl the provider connector
+     * @param filterKey    the property the catalog has been filtered by, null for the complete catalog
+     * @param filterValue  the value the catalog has been filtered by, null for the complete catalog
+     * @param items        the catalog items
+     */
+    public void put(final String connectorUrl, final String filterKey, final String filterValue,
+            final List<CatalogItem> items) {
+        if (isEnabled()) {
+            catalogs.put(new Key(connectorUrl, filterKey, filterValue),
+                    new CachedCatalog(List.copyOf(items), clock.instant().plus(timeToLive)));
+        }
+    }
+
+    public boolean isEnabled() {
+        return timeToLive != null && !timeToLive.isZero();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Identifies a catalog request.
+     *
+     * @param connectorUrl the provider connector
+     * @param filterKey    the filter property
+     * @param filterValue  the filter value
+     */
+    private record Key(String connectorUrl, String filterKey, String filterValue) {
+    }
+
+    /**
+     * Catalog items with the time they expire.
+     *
+     * @param items     the catalog items
+     * @param expiresAt the time after which the catalog is requested again
+     */
+    private record CachedCatalog(List<CatalogItem> items, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,153 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.edc.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.irs.data.JsonParseException;
+import org.eclipse.tractusx.irs.data.StringMapper;
+import org.eclipse.tractusx.irs.edc.client.model.CatalogItem;
+import org.eclipse.tractusx.irs.edc.client.model.NegotiationResponse;
+import org.eclipse.tractusx.irs.edc.client.util.Masker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * InMemory cache for contract agreements, so that an asset can be requested again without negotiating a new
+ * contract. Agreements are identified by the provider connector, the asset and the offered policy.
+ */
+@Slf4j
+@Service("irsEdcClientContractAgreementCache")
+public class ContractAgreementCache {
+
+    private final Map<Key, CachedAgreement> agreements;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    @Autowired
+    public ContractAgreementCache(final EdcConfiguration config) {
+        this(config.getControlplane().getContractAgreementCache().getMaxSize(),
+                config.getControlplane().getContractAgreementCache().getTtl(), Clock.systemUTC());
+    }
+
+    /* package */ ContractAgreementCache(final int maxSize, final Duration timeToLive, final Clock clock) {
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.agreements = Collections.synchronizedMap(new LinkedHashMap<>(Math.max(maxSize, 1), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, CachedAgreement> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @param providerConnectorUrl the provider connector
+     * @param catalogItem          the catalog offer of the asset
+     * @return the agreement of a previous negotiation for the same offer, if it has not expired yet
+     */
+    public Optional<NegotiationResponse> get(final String providerConnectorUrl, final CatalogItem catalogItem) {
+        return keyOf(providerConnectorUrl, catalogItem).flatMap(key -> {
+            final CachedAgreement agreement = agreements.get(key);
+            if (agreement == null) {
+                return Optional.empty();
+            }
+            if (!agreement.expiresAt().isAfter(clock.instant())) {
+                agreements.remove(key);
+                return Optional.empty();
+            }
+            log.info("Reusing contract agreement {} for asset {}",
+                    Masker.mask(agreement.negotiationResponse().getContractAgreementId()), key.assetId());
+            return Optional.of(agreement.negotiationResponse());
+        });
+    }
+
+    /**
+     * Stores the agreement until the configured time to live or the end of the offer's validity has been reached.
+     *
+     * @param providerConnectorUrl the provider connector
+     * @param catalogItem          the negotiated catalog offer
+     * @param negotiationResponse  the result of the negotiation
+     */
+    public void put(final String providerConnectorUrl, final CatalogItem catalogItem,
+            final NegotiationResponse negotiationResponse) {
+        if (timeToLive == null || timeToLive.isZero() || negotiationResponse.getContractAgreementId() == null) {
+            return;
+        }
+        Instant expiresAt = clock.instant().plus(timeToLive);
+        if (catalogItem.getValidUntil() != null && catalogItem.getValidUntil().isBefore(expiresAt)) {
+            expiresAt = catalogItem.getValidUntil();
+        }
+        final Instant expiry = expiresAt;
+        keyOf(providerConnectorUrl, catalogItem).ifPresent(
+                key -> agreements.put(key, new CachedAgreement(negotiationResponse, expiry)));
+    }
+
+    /**
+     * Removes the agreement, e.g. because the provider did not accept it anymore.
+     *
+     * @param providerConnectorUrl the provider connector
+     * @param catalogItem          the negotiated catalog offer
+     */
+    public void invalidate(final String providerConnectorUrl, final CatalogItem catalogItem) {
+        keyOf(providerConnectorUrl, catalogItem).ifPresent(agreements::remove);
+    }
+
+    private Optional<Key> keyOf(final String providerConnectorUrl, final CatalogItem catalogItem) {
+        try {
+            // offer ids change with every catalog request, so the policy itself identifies the offer
+            return Optional.of(new Key(providerConnectorUrl, catalogItem.getAssetPropId(),
+                    StringMapper.mapToString(catalogItem.getPolicy())));
+        } catch (JsonParseException e) {
+            log.warn("Unable to cache contract agreement for asset {}", catalogItem.getAssetPropId(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Identifies a contract offer.
+     *
+     * @param providerConnectorUrl the provider connector
+     * @param assetId              the offered asset
+     * @param policy               the serialized policy of the offer
+     */
+    private record Key(String providerConnectorUrl, String assetId, String policy) {
+    }
+
+    /**
+     * A contract agreement with the time it expires.
+     *
+     * @param negotiationResponse the result of the negotiation
+     * @param expiresAt           the time after which the agreement is negotiated again
+     */
+    private record CachedAgreement(NegotiationResponse negotiationResponse, Instant expiresAt) {
+    }
+}
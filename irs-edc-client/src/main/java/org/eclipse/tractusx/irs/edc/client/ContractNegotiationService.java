@@ -25,8 +25,9 @@ package org.eclipse.tractusx.irs.edc.client;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -61,13 +62,49 @@ public class ContractNegotiationService {
 
     private final EdcConfiguration config;
 
-    public NegotiationResponse negotiate(final String providerConnectorUrl, final CatalogItem catalogItem)
-            throws ContractNegotiationException, UsagePolicyException, TransferProcessException {
+    private final ContractAgreementCache contractAgreementCache;
+
+    private final EndpointDataReferenceStorage endpointDataReferenceStorage;
+
+    private final AsyncPollingService pollingService;
+
+    /**
+     * Negotiates a contract for the catalog item and starts the transfer process, which sends the
+     * EndpointDataReference to the IRS. Only the requests starting the negotiation and the transfer are sent by the
+     * calling thread, the negotiation and transfer are awaited without blocking it.
+     *
+     * @param providerConnectorUrl the connector of the provider
+     * @param catalogItem          the catalog item to negotiate
+     * @return a future of the negotiation, failing with a {@link UsagePolicyException},
+     * {@link ContractNegotiationException} or {@link TransferProcessException}
+     */
+    public CompletableFuture<NegotiationResponse> negotiate(final String providerConnectorUrl,
+            final CatalogItem catalogItem) {
         if (!policyCheckerService.isValid(catalogItem.getPolicy())) {
             log.info("Policy was not allowed, canceling negotiation.");
-            throw new UsagePolicyException(catalogItem.getItemId());
+            return CompletableFuture.failedFuture(new UsagePolicyException(catalogItem.getItemId()));
         }
 
+        final Optional<NegotiationResponse> cachedAgreement = contractAgreementCache.get(providerConnectorUrl,
+                catalogItem);
+        if (cachedAgreement.isPresent()) {
+            if (endpointDataReferenceStorage.get(cachedAgreement.get().getContractAgreementId()).isPresent()) {
+                log.info("Reusing EndpointDataReference of cached contract agreement.");
+                return CompletableFuture.completedFuture(cachedAgreement.get());
+            }
+            final CompletableFuture<TransferProcessResponse> transferProcess = startTransferProcess(
+                    providerConnectorUrl, catalogItem, cachedAgreement.get());
+            return transferProcess.thenApply(response -> cachedAgreement.get()).exceptionallyComposeAsync(e -> {
+                log.info("Transfer with cached contract agreement failed, negotiating a new contract.", e);
+                contractAgreementCache.invalidate(providerConnectorUrl, catalogItem);
+                return negotiateContract(providerConnectorUrl, catalogItem);
+            }, pollingService.getExecutor());
+        }
+        return negotiateContract(providerConnectorUrl, catalogItem);
+    }
+
+    private CompletableFuture<NegotiationResponse> negotiateContract(final String providerConnectorUrl,
+            final CatalogItem catalogItem) {
         final NegotiationRequest negotiationRequest = createNegotiationRequestFromCatalogItem(providerConnectorUrl,
                 catalogItem);
 
@@ -75,22 +112,45 @@ public class ContractNegotiationService {
 
         log.info("Fetch negotiation id: {}", negotiationId.getResponseId());
 
-        final CompletableFuture<NegotiationResponse> responseFuture = edcControlPlaneClient.getNegotiationResult(
-                negotiationId);
-        final NegotiationResponse negotiationResponse = Objects.requireNonNull(getNegotiationResponse(responseFuture));
+        return edcControlPlaneClient.getNegotiationResult(negotiationId)
+                                    .exceptionallyCompose(e -> CompletableFuture.failedFuture(
+                                            new ContractNegotiationException(unwrap(e))))
+                                    // the transfer is started on the polling executor, not by the poller
+                                    .thenComposeAsync(negotiationResponse -> startTransferAndCache(
+                                                    providerConnectorUrl, catalogItem,
+                                                    Objects.requireNonNull(negotiationResponse)),
+                                            pollingService.getExecutor());
+    }
 
+    private CompletableFuture<NegotiationResponse> startTransferAndCache(final String providerConnectorUrl,
+            final CatalogItem catalogItem, final NegotiationResponse negotiationResponse) {
+        return startTransferProcess(providerConnectorUrl, catalogItem, negotiationResponse).thenApply(
+                transferProcessResponse -> {
+                    contractAgreementCache.put(providerConnectorUrl, catalogItem, negotiationResponse);
+                    return negotiationResponse;
+                });
+    }
+
+    private CompletableFuture<TransferProcessResponse> startTransferProcess(final String providerConnectorUrl,
+            final CatalogItem catalogItem, final NegotiationResponse negotiationResponse) {
         final TransferProcessRequest transferProcessRequest = createTransferProcessRequest(providerConnectorUrl,
                 catalogItem, negotiationResponse);
 
         final Response transferProcessId = edcControlPlaneClient.startTransferProcess(transferProcessRequest);
 
         // can be added to cache after completed
-        final CompletableFuture<TransferProcessResponse> transferProcessFuture = edcControlPlaneClient.getTransferProcess(
-                transferProcessId);
-        final TransferProcessResponse transferProcessResponse = Objects.requireNonNull(
-                getTransferProcessResponse(transferProcessFuture));
-        log.info("Transfer process completed for transferProcessId: {}", transferProcessResponse.getResponseId());
-        return negotiationResponse;
+        return edcControlPlaneClient.getTransferProcess(transferProcessId)
+                                    .exceptionallyCompose(e -> CompletableFuture.failedFuture(
+                                            new TransferProcessException(unwrap(e))))
+                                    .thenApply(transferProcessResponse -> {
+                                        log.info("Transfer process completed for transferProcessId: {}",
+                                                Objects.requireNonNull(transferProcessResponse).getResponseId());
+                                        return transferProcessResponse;
+                                    });
+    }
+
+    private static Throwable unwrap(final Throwable thrown) {
+        return thrown instanceof CompletionException && thrown.getCause() != null ? thrown.getCause() : thrown;
     }
 
     private TransferProcessRequest createTransferProcessRequest(final String providerConnectorUrl,
@@ -130,29 +190,4 @@ public class ContractNegotiationService {
                                  .offer(contractOfferDescription)
                                  .build();
     }
-
-    private NegotiationResponse getNegotiationResponse(final CompletableFuture<NegotiationResponse> negotiationResponse)
-            throws ContractNegotiationException {
-        try {
-            return negotiationResponse.get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (ExecutionException e) {
-            throw new ContractNegotiationException(e);
-        }
-        return null;
-    }
-
-    private TransferProcessResponse getTransferProcessResponse(
-            final CompletableFuture<TransferProcessResponse> transferProcessResponse) throws TransferProcessException {
-        try {
-            return transferProcessResponse.get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (ExecutionException e) {
-            throw new TransferProcessException(e);
-        }
-        return null;
-    }
 }
-
@@ -54,6 +54,7 @@ public class EDCCatalogFacade {
 
     private final EdcControlPlaneClient controlPlaneClient;
     private final EdcConfiguration config;
+    private final CatalogCache catalogCache;
 
     private static CatalogItem createCatalogItem(final Catalog pageableCatalog, final Dataset dataset) {
         final int maxNumberOfOffers = 1;
@@ -157,9 +158,55 @@ public class EDCCatalogFacade {
         return fetchCatalogByFilter(connectorUrl, NAMESPACE_EDC_ID, target);
     }
 
+    /**
+     * Fetches the catalog items matching the filter. The items are served from the {@link CatalogCache} if possible.
+     * If complete catalogs are cached, asset ids are looked up in the complete catalog of the provider first.
+     *
+     * @param connectorUrl The EDC Connector from which the Catalog will be requested
+     * @param key          The property to filter by
+     * @param value        The value of the property
+     * @return The matching catalog items
+     */
     public List<CatalogItem> fetchCatalogByFilter(final String connectorUrl, final String key, final String value) {
+        if (catalogCache.isEnabled() && config.getControlplane().getCatalogCache().isCompleteCatalog()
+                && NAMESPACE_EDC_ID.equals(key)) {
+            final List<CatalogItem> completeCatalog = fetchCompleteCatalog(connectorUrl);
+            final List<CatalogItem> items = completeCatalog.stream()
+                                                           .filter(item -> value.equals(item.getAssetPropId()))
+                                                           .toList();
+            if (!items.isEmpty()) {
+                return items;
+            }
+            log.info("Asset {} not found in cached catalog, requesting it from the EDC provider.", value);
+        }
+
+        final Optional<List<CatalogItem>> cachedItems = catalogCache.get(connectorUrl, key, value);
+        if (cachedItems.isPresent()) {
+            return cachedItems.get();
+        }
         final Catalog catalog = controlPlaneClient.getCatalogWithFilter(connectorUrl, key, value);
-        return mapToCatalogItems(catalog);
+        final List<CatalogItem> items = mapToCatalogItems(catalog);
+        if (!items.isEmpty()) {
+            catalogCache.put(connectorUrl, key, value, items);
+        }
+        return items;
+    }
+
+    /**
+     * Fetches all pages of the catalog, served from the {@link CatalogCache} if possible.
+     *
+     * @param connectorUrl The EDC Connector from which the Catalog will be requested
+     * @return All catalog items of the provider
+     */
+    public List<CatalogItem> fetchCompleteCatalog(final String connectorUrl) {
+        final Optional<List<CatalogItem>> cachedItems = catalogCache.get(connectorUrl, null, null);
+        if (cachedItems.isPresent()) {
+            return cachedItems.get();
+        }
+        // without a target, pagination continues until the last page
+        final List<CatalogItem> items = fetchCatalogItemsUntilMatch(connectorUrl, null);
+        catalogCache.put(connectorUrl, null, null, items);
+        return items;
     }
 
     private Optional<Dataset> findOfferIfExist(final String target, final Catalog catalog) {
@@ -57,8 +57,20 @@ public class EdcConfiguration {
 
         private Duration requestTtl;
 
+        private Duration pollInterval = Duration.ofMillis(200);
+
+        private Duration maxPollInterval = Duration.ofSeconds(5);
+
+        private int stateQueryBatchSize;
+
+        private Duration acceptedPoliciesTtl = Duration.ofMinutes(1);
+
         private ApiKeyConfig apiKey = new ApiKeyConfig();
 
+        private ContractAgreementCacheConfig contractAgreementCache = new ContractAgreementCacheConfig();
+
+        private CatalogCacheConfig catalogCache = new CatalogCacheConfig();
+
         /**
          * Container for controlplane endpoint config
          */
@@ -69,6 +81,7 @@ public class EdcConfiguration {
             private String contractNegotiation;
             private String transferProcess;
             private String stateSuffix;
+            private String querySuffix = "/request";
 
         }
 
@@ -81,6 +94,27 @@ public class EdcConfiguration {
             private String secret;
 
         }
+
+        /**
+         * Container for contract agreement cache config
+         */
+        @Data
+        public static class ContractAgreementCacheConfig {
+            private Duration ttl = Duration.ZERO;
+            private int maxSize;
+
+        }
+
+        /**
+         * Container for catalog cache config
+         */
+        @Data
+        public static class CatalogCacheConfig {
+            private Duration ttl = Duration.ZERO;
+            private int maxSize;
+            private boolean completeCatalog;
+
+        }
     }
 
     /**
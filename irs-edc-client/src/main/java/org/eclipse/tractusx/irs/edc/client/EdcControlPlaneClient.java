@@ -25,6 +25,7 @@ package org.eclipse.tractusx.irs.edc.client;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -68,6 +69,10 @@ public class EdcControlPlaneClient {
     private final AsyncPollingService pollingService;
     private final EdcConfiguration config;
     private final EdcTransformer edcTransformer;
+    private final WaitStatistics negotiationWaits = new WaitStatistics();
+    private final WaitStatistics transferProcessWaits = new WaitStatistics();
+    private BatchStatePoller<NegotiationResponse> negotiationPoller;
+    private BatchStatePoller<TransferProcessResponse> transferProcessPoller;
 
     public EdcControlPlaneClient(@Qualifier("edcClientRestTemplate") final RestTemplate edcRestTemplate,
             final AsyncPollingService pollingService, final EdcConfiguration config,
@@ -139,6 +144,13 @@ public class EdcControlPlaneClient {
     }
 
     /* package */ CompletableFuture<NegotiationResponse> getNegotiationResult(final Response negotiationId) {
+        return negotiationWaits.observe(pollNegotiationResult(negotiationId));
+    }
+
+    private CompletableFuture<NegotiationResponse> pollNegotiationResult(final Response negotiationId) {
+        if (isBatchPolling()) {
+            return negotiationPoller().register(negotiationId.getResponseId());
+        }
         final HttpEntity<Object> objectHttpEntity = new HttpEntity<>(null, headers());
 
         return pollingService.<NegotiationResponse>createJob()
@@ -166,6 +178,8 @@ public class EdcControlPlaneClient {
                                  return Optional.empty();
                              })
                              .description("wait for negotiation confirmation")
+                             .pollInterval(config.getControlplane().getPollInterval())
+                             .maxPollInterval(config.getControlplane().getMaxPollInterval())
                              .timeToLive(config.getControlplane().getRequestTtl())
                              .build()
                              .schedule();
@@ -198,6 +212,13 @@ public class EdcControlPlaneClient {
     }
 
     /* package */ CompletableFuture<TransferProcessResponse> getTransferProcess(final Response transferProcessId) {
+        return transferProcessWaits.observe(pollTransferProcess(transferProcessId));
+    }
+
+    private CompletableFuture<TransferProcessResponse> pollTransferProcess(final Response transferProcessId) {
+        if (isBatchPolling()) {
+            return transferProcessPoller().register(transferProcessId.getResponseId());
+        }
 
         final HttpEntity<Object> objectHttpEntity = new HttpEntity<>(null, headers());
 
@@ -227,6 +248,8 @@ public class EdcControlPlaneClient {
 
                              })
                              .description("wait for transfer process completion")
+                             .pollInterval(config.getControlplane().getPollInterval())
+                             .maxPollInterval(config.getControlplane().getMaxPollInterval())
                              .timeToLive(config.getControlplane().getRequestTtl())
                              .build()
                              .schedule();
@@ -249,6 +272,98 @@ public class EdcControlPlaneClient {
         return edcRestTemplate.exchange(url, HttpMethod.GET, objectHttpEntity, TransferProcessResponse.class).getBody();
     }
 
+    /**
+     * @return how often and how long requests waited for negotiations to be finalized
+     */
+    public WaitStatistics getNegotiationWaits() {
+        return negotiationWaits;
+    }
+
+    /**
+     * @return how often and how long requests waited for transfer processes to be started
+     */
+    public WaitStatistics getTransferProcessWaits() {
+        return transferProcessWaits;
+    }
+
+    private boolean isBatchPolling() {
+        return config.getControlplane().getStateQueryBatchSize() > 0;
+    }
+
+    private synchronized BatchStatePoller<NegotiationResponse> negotiationPoller() {
+        if (negotiationPoller == null) {
+            negotiationPoller = pollingService.<NegotiationResponse>createBatchPoller()
+                                              .description("negotiations")
+                                              .query(this::queryNegotiations)
+                                              .idExtractor(NegotiationResponse::getResponseId)
+                                              .evaluator(EdcControlPlaneClient::evaluateNegotiation)
+                                              .batchSize(config.getControlplane().getStateQueryBatchSize())
+                                              .pollInterval(config.getControlplane().getPollInterval())
+                                              .timeToLive(config.getControlplane().getRequestTtl())
+                                              .build();
+        }
+        return negotiationPoller;
+    }
+
+    private synchronized BatchStatePoller<TransferProcessResponse> transferProcessPoller() {
+        if (transferProcessPoller == null) {
+            transferProcessPoller = pollingService.<TransferProcessResponse>createBatchPoller()
+                                                  .description("transfer processes")
+                                                  .query(this::queryTransferProcesses)
+                                                  .idExtractor(TransferProcessResponse::getResponseId)
+                                                  .evaluator(EdcControlPlaneClient::evaluateTransferProcess)
+                                                  .batchSize(config.getControlplane().getStateQueryBatchSize())
+                                                  .pollInterval(config.getControlplane().getPollInterval())
+                                                  .timeToLive(config.getControlplane().getRequestTtl())
+                                                  .build();
+        }
+        return transferProcessPoller;
+    }
+
+    private static Optional<NegotiationResponse> evaluateNegotiation(final NegotiationResponse negotiation) {
+        return switch (Objects.toString(negotiation.getState(), "")) {
+            case STATUS_FINALIZED -> Optional.of(negotiation);
+            case STATUS_ERROR, STATUS_TERMINATED -> throw new IllegalStateException(
+                    "NegotiationResponse with id " + negotiation.getResponseId() + " is in state "
+                            + negotiation.getState());
+            default -> Optional.empty();
+        };
+    }
+
+    private static Optional<TransferProcessResponse> evaluateTransferProcess(
+            final TransferProcessResponse transferProcess) {
+        return switch (Objects.toString(transferProcess.getState(), "")) {
+            case STATUS_COMPLETED, STATUS_STARTED -> Optional.of(transferProcess);
+            case STATUS_ERROR, STATUS_TERMINATED -> throw new IllegalStateException(
+                    "TransferProcessResponse with id " + transferProcess.getResponseId() + " is in state "
+                            + transferProcess.getState());
+            default -> Optional.empty();
+        };
+    }
+
+    /* package */ List<NegotiationResponse> queryNegotiations(final List<String> negotiationIds) {
+        final var endpoint = config.getControlplane().getEndpoint();
+        final String url = endpoint.getData() + endpoint.getContractNegotiation() + endpoint.getQuerySuffix();
+        return queryByIds(url, negotiationIds, NegotiationResponse[].class);
+    }
+
+    /* package */ List<TransferProcessResponse> queryTransferProcesses(final List<String> transferProcessIds) {
+        final var endpoint = config.getControlplane().getEndpoint();
+        final String url = endpoint.getData() + endpoint.getTransferProcess() + endpoint.getQuerySuffix();
+        return queryByIds(url, transferProcessIds, TransferProcessResponse[].class);
+    }
+
+    private <T> List<T> queryByIds(final String url, final List<String> ids, final Class<T[]> responseType) {
+        final QuerySpec querySpec = QuerySpec.Builder.newInstance()
+                                                     .filter(new Criterion("id", "in", ids))
+                                                     .limit(ids.size())
+                                                     .build();
+        final String requestJson = edcTransformer.transformQuerySpecToJson(querySpec).toString();
+        final T[] response = edcRestTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(requestJson, headers()),
+                responseType).getBody();
+        return response == null ? List.of() : List.of(response);
+    }
+
     private HttpHeaders headers() {
         final HttpHeaders headers = new HttpHeaders();
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
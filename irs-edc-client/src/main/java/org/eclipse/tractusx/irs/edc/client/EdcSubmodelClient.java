@@ -28,8 +28,8 @@ import static org.eclipse.tractusx.irs.edc.client.configuration.JsonLdConfigurat
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryRegistry;
@@ -41,6 +41,7 @@ import org.eclipse.tractusx.irs.data.CxTestDataContainer;
 import org.eclipse.tractusx.irs.data.StringMapper;
 import org.eclipse.tractusx.irs.edc.client.exceptions.EdcClientException;
 import org.eclipse.tractusx.irs.edc.client.model.CatalogItem;
+import org.eclipse.tractusx.irs.edc.client.model.EDRAuthCode;
 import org.eclipse.tractusx.irs.edc.client.model.NegotiationResponse;
 import org.eclipse.tractusx.irs.edc.client.model.notification.EdcNotification;
 import org.eclipse.tractusx.irs.edc.client.model.notification.EdcNotificationResponse;
@@ -64,6 +65,13 @@ public interface EdcSubmodelClient {
 
     CompletableFuture<EndpointDataReference> getEndpointReferenceForAsset(String endpointAddress, String filterKey,
             String filterValue) throws EdcClientException;
+
+    /**
+     * Evicts a reference the provider rejected, so that it is not handed out again.
+     *
+     * @param endpointDataReference the rejected reference
+     */
+    void evictEndpointReference(EndpointDataReference endpointDataReference);
 }
 
 /**
@@ -103,6 +111,11 @@ class EdcSubmodelClientLocalStub implements EdcSubmodelClient {
             final String filterKey, final String filterValue) throws EdcClientException {
         throw new EdcClientException("Not implemented");
     }
+
+    @Override
+    public void evictEndpointReference(final EndpointDataReference endpointDataReference) {
+        // no references are stored in the local environment
+    }
 }
 
 /**
@@ -129,8 +142,8 @@ class EdcSubmodelClientImpl implements EdcSubmodelClient {
         log.info("EDC Task '{}' took {} ms", stopWatch.getLastTaskName(), stopWatch.getLastTaskTimeMillis());
     }
 
-    private NegotiationResponse fetchNegotiationResponseWithFilter(final String connectorEndpoint, final String assetId)
-            throws EdcClientException {
+    private CompletableFuture<NegotiationResponse> fetchNegotiationResponseWithFilter(final String connectorEndpoint,
+            final String assetId) throws EdcClientException {
         final StopWatch stopWatch = new StopWatch();
         stopWatch.start("Get EDC Submodel task for shell descriptor, endpoint " + connectorEndpoint);
 
@@ -146,120 +159,86 @@ class EdcSubmodelClientImpl implements EdcSubmodelClient {
 
     private CompletableFuture<EdcNotificationResponse> sendNotificationAsync(final String contractAgreementId,
             final EdcNotification<NotificationContent> notification, final StopWatch stopWatch) {
-
-        return pollingService.<EdcNotificationResponse>createJob()
-                             .action(() -> sendSubmodelNotification(contractAgreementId, notification, stopWatch))
-                             .timeToLive(config.getSubmodel().getRequestTtl())
-                             .description("waiting for submodel notification to be sent")
-                             .build()
-                             .schedule();
-
+        return awaitEndpointDataReference(contractAgreementId).thenApplyAsync(
+                ref -> sendSubmodelNotification(ref, contractAgreementId, notification, stopWatch),
+                pollingService.getExecutor());
     }
 
-    private Optional<String> retrieveSubmodelData(final String submodelDataplaneUrl, final String contractAgreementId,
+    private String retrieveSubmodelData(final String submodelDataplaneUrl, final EndpointDataReference ref,
             final StopWatch stopWatch) {
-        final Optional<EndpointDataReference> dataReference = retrieveEndpointDataReference(contractAgreementId);
-
-        if (dataReference.isPresent()) {
-            final EndpointDataReference ref = dataReference.get();
-            log.info("Retrieving data from EDC data plane for dataReference with id {}", ref.getId());
-            final String data = edcDataPlaneClient.getData(ref, submodelDataplaneUrl);
-            stopWatchOnEdcTask(stopWatch);
-
-            return Optional.of(data);
-        }
-        return Optional.empty();
+        log.info("Retrieving data from EDC data plane for dataReference with id {}", ref.getId());
+        final String data = edcDataPlaneClient.getData(ref, submodelDataplaneUrl);
+        stopWatchOnEdcTask(stopWatch);
+        return data;
     }
 
-    private Optional<EndpointDataReference> retrieveEndpointReference(final String contractAgreementId,
+    private EndpointDataReference retrieveEndpointReference(final EndpointDataReference ref,
             final StopWatch stopWatch) {
-        final Optional<EndpointDataReference> dataReference = retrieveEndpointDataReference(contractAgreementId);
-
-        if (dataReference.isPresent()) {
-            final EndpointDataReference ref = dataReference.get();
-            log.info("Retrieving Endpoint Reference data from EDC data plane with id: {}", ref.getId());
-            stopWatchOnEdcTask(stopWatch);
-
-            return Optional.of(ref);
-        }
-        return Optional.empty();
+        log.info("Retrieving Endpoint Reference data from EDC data plane with id: {}", ref.getId());
+        stopWatchOnEdcTask(stopWatch);
+        return ref;
     }
 
-    private Optional<EdcNotificationResponse> sendSubmodelNotification(final String contractAgreementId,
-            final EdcNotification<NotificationContent> notification, final StopWatch stopWatch) {
-        final Optional<EndpointDataReference> dataReference = retrieveEndpointDataReference(contractAgreementId);
-
-        if (dataReference.isPresent()) {
-            final EndpointDataReference ref = dataReference.get();
-            log.info("Sending dataReference to EDC data plane for contractAgreementId '{}'",
-                    Masker.mask(contractAgreementId));
-            final EdcNotificationResponse response = edcDataPlaneClient.sendData(ref, notification);
-            stopWatchOnEdcTask(stopWatch);
-            return Optional.of(response);
-        }
-        return Optional.empty();
+    private EdcNotificationResponse sendSubmodelNotification(final EndpointDataReference ref,
+            final String contractAgreementId, final EdcNotification<NotificationContent> notification,
+            final StopWatch stopWatch) {
+        log.info("Sending dataReference to EDC data plane for contractAgreementId '{}'",
+                Masker.mask(contractAgreementId));
+        final EdcNotificationResponse response = edcDataPlaneClient.sendData(ref, notification);
+        stopWatchOnEdcTask(stopWatch);
+        return response;
     }
 
     @Override
     public CompletableFuture<String> getSubmodelRawPayload(final String connectorEndpoint,
             final String submodelDataplaneUrl, final String assetId) throws EdcClientException {
+        final StopWatch stopWatch = new StopWatch();
+        stopWatch.start("Get EDC Submodel task for raw payload, endpoint " + connectorEndpoint);
         return execute(connectorEndpoint, () -> {
             log.info("Requesting raw SubmodelPayload for endpoint '{}'.", connectorEndpoint);
-            final StopWatch stopWatch = new StopWatch();
-            stopWatch.start("Get EDC Submodel task for raw payload, endpoint " + connectorEndpoint);
-
             final var negotiationEndpoint = appendSuffix(connectorEndpoint,
                     config.getControlplane().getProviderSuffix());
             log.debug("Starting negotiation with EDC endpoint: '{}'", negotiationEndpoint);
-            final NegotiationResponse negotiationResponse = fetchNegotiationResponseWithFilter(negotiationEndpoint,
-                    assetId);
-            return pollingService.<String>createJob()
-                                 .action(() -> retrieveSubmodelData(submodelDataplaneUrl,
-                                         negotiationResponse.getContractAgreementId(), stopWatch))
-                                 .timeToLive(config.getSubmodel().getRequestTtl())
-                                 .description("waiting for submodel retrieval")
-                                 .build()
-                                 .schedule();
-        });
+            return fetchNegotiationResponseWithFilter(negotiationEndpoint, assetId);
+        }).thenCompose(response -> awaitEndpointDataReference(response.getContractAgreementId()))
+          .thenApplyAsync(ref -> retrieveSubmodelData(submodelDataplaneUrl, ref, stopWatch),
+                  pollingService.getExecutor());
     }
 
     @Override
     public CompletableFuture<EdcNotificationResponse> sendNotification(final String connectorEndpoint,
             final String assetId, final EdcNotification<NotificationContent> notification) throws EdcClientException {
+        final StopWatch stopWatch = new StopWatch();
+        stopWatch.start("Send EDC notification task, endpoint " + connectorEndpoint);
         return execute(connectorEndpoint, () -> {
-            final StopWatch stopWatch = new StopWatch();
-            stopWatch.start("Send EDC notification task, endpoint " + connectorEndpoint);
             final var negotiationEndpoint = appendSuffix(connectorEndpoint,
                     config.getControlplane().getProviderSuffix());
-            final NegotiationResponse negotiationResponse = fetchNegotiationResponseWithFilter(negotiationEndpoint,
-                    assetId);
-
-            return sendNotificationAsync(negotiationResponse.getContractAgreementId(), notification, stopWatch);
-        });
+            return fetchNegotiationResponseWithFilter(negotiationEndpoint, assetId);
+        }).thenCompose(response -> sendNotificationAsync(response.getContractAgreementId(), notification, stopWatch));
     }
 
     @Override
     public CompletableFuture<EndpointDataReference> getEndpointReferenceForAsset(final String endpointAddress,
             final String filterKey, final String filterValue) throws EdcClientException {
+        final StopWatch stopWatch = new StopWatch();
+        stopWatch.start("Get EDC Submodel task for shell descriptor, endpoint " + endpointAddress);
         return execute(endpointAddress, () -> {
-            final StopWatch stopWatch = new StopWatch();
-            stopWatch.start("Get EDC Submodel task for shell descriptor, endpoint " + endpointAddress);
             final String providerWithSuffix = appendSuffix(endpointAddress,
                     config.getControlplane().getProviderSuffix());
 
             final List<CatalogItem> items = catalogFacade.fetchCatalogByFilter(providerWithSuffix, filterKey,
                     filterValue);
 
-            final NegotiationResponse response = contractNegotiationService.negotiate(providerWithSuffix,
-                    items.stream().findFirst().orElseThrow());
-
-            return pollingService.<EndpointDataReference>createJob()
-                                 .action(() -> retrieveEndpointReference(response.getContractAgreementId(), stopWatch))
-                                 .timeToLive(config.getSubmodel().getRequestTtl())
-                                 .description("waiting for Endpoint Reference retrieval")
-                                 .build()
-                                 .schedule();
+            return contractNegotiationService.negotiate(providerWithSuffix, items.stream().findFirst().orElseThrow());
+        }).thenCompose(response -> awaitEndpointDataReference(response.getContractAgreementId()))
+          .thenApply(ref -> retrieveEndpointReference(ref, stopWatch));
+    }
 
+    @Override
+    public void evictEndpointReference(final EndpointDataReference endpointDataReference) {
+        EDRAuthCode.contractAgreementId(endpointDataReference.getAuthCode()).ifPresent(contractAgreementId -> {
+            log.info("Evicting dataReference for contractAgreementId {}", Masker.mask(contractAgreementId));
+            endpointDataReferenceStorage.remove(contractAgreementId, endpointDataReference);
         });
     }
 
@@ -275,27 +254,52 @@ class EdcSubmodelClientImpl implements EdcSubmodelClient {
         return addressWithSuffix;
     }
 
-    private Optional<EndpointDataReference> retrieveEndpointDataReference(final String contractAgreementId) {
-        log.info("Retrieving dataReference from storage for contractAgreementId {}", Masker.mask(contractAgreementId));
-        return endpointDataReferenceStorage.remove(contractAgreementId);
+    private CompletableFuture<EndpointDataReference> awaitEndpointDataReference(final String contractAgreementId) {
+        log.info("Waiting for dataReference for contractAgreementId {}", Masker.mask(contractAgreementId));
+        return endpointDataReferenceStorage.awaitReference(contractAgreementId, config.getSubmodel().getRequestTtl());
     }
 
-    @SuppressWarnings({ "PMD.AvoidRethrowingException",
-                        "PMD.AvoidCatchingGenericException"
-    })
-    private <T> T execute(final String endpointAddress, final CheckedSupplier<T> supplier) throws EdcClientException {
+    /**
+     * Runs the negotiation, retrying it with the retry of the endpoint's host. The first attempt is started by the
+     * calling thread, further attempts are scheduled once the previous one failed, so the caller is not blocked while
+     * waiting for the EDC or for the next attempt.
+     *
+     * @return a future of the negotiation, failing with an {@link EdcClientException}
+     */
+    private <T> CompletableFuture<T> execute(final String endpointAddress,
+            final CheckedSupplier<CompletableFuture<T>> supplier) {
         if (!urlValidator.isValid(endpointAddress)) {
             throw new IllegalArgumentException(String.format("Malformed endpoint address '%s'", endpointAddress));
         }
         final String host = URI.create(endpointAddress).getHost();
         final Retry retry = retryRegistry.retry(host, "default");
+        return Retry.decorateCompletionStage(retry, pollingService.getScheduler(), () -> attempt(supplier))
+                    .get()
+                    .toCompletableFuture()
+                    .exceptionallyCompose(e -> CompletableFuture.failedFuture(toEdcClientException(e)));
+    }
+
+    /**
+     * @return the future of the supplier, or a failed future if the supplier threw an exception
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static <T> CompletableFuture<T> attempt(final CheckedSupplier<CompletableFuture<T>> supplier) {
         try {
-            return Retry.decorateCallable(retry, supplier::get).call();
-        } catch (EdcClientException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new EdcClientException(e);
+            return supplier.get();
+        } catch (EdcClientException | RuntimeException e) {
+            // the retry decides on the original exception whether to retry the request
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static EdcClientException toEdcClientException(final Throwable thrown) {
+        final Throwable cause = thrown instanceof CompletionException && thrown.getCause() != null
+                ? thrown.getCause()
+                : thrown;
+        if (cause instanceof EdcClientException edcClientException) {
+            return edcClientException;
         }
+        return new EdcClientException(cause);
     }
 
     /**
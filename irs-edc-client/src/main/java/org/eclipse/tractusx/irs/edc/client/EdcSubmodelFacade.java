@@ -23,6 +23,8 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.edc.client;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 
 import lombok.RequiredArgsConstructor;
@@ -64,6 +66,34 @@ public class EdcSubmodelFacade {
         }
     }
 
+    /**
+     * Requests the submodel without blocking the calling thread while the contract is negotiated and the
+     * submodel is transferred.
+     *
+     * @param connectorEndpoint    the EDC connector of the submodel provider
+     * @param submodelDataplaneUrl the address of the submodel at the data plane
+     * @param assetId              the id of the submodel asset
+     * @return a future of the submodel payload, failing with an {@link EdcClientException}
+     */
+    public CompletableFuture<String> getSubmodelRawPayloadAsync(final String connectorEndpoint,
+            final String submodelDataplaneUrl, final String assetId) {
+        try {
+            return client.getSubmodelRawPayload(connectorEndpoint, submodelDataplaneUrl, assetId)
+                         .exceptionallyCompose(e -> CompletableFuture.failedFuture(toEdcClientException(e)));
+        } catch (EdcClientException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static EdcClientException toEdcClientException(final Throwable thrown) {
+        log.debug("Exception occurred.", thrown);
+        final Throwable cause = thrown instanceof CompletionException ? thrown.getCause() : thrown;
+        if (cause instanceof EdcClientException exceptionCause) {
+            return exceptionCause;
+        }
+        return new EdcClientException(cause);
+    }
+
     @SuppressWarnings("PMD.PreserveStackTrace")
     public EdcNotificationResponse sendNotification(final String submodelEndpointAddress, final String assetId,
             final EdcNotification<NotificationContent> notification) throws EdcClientException {
@@ -99,4 +129,13 @@ public class EdcSubmodelFacade {
         }
     }
 
+    /**
+     * Evicts a reference the provider rejected, so that the next request for the asset retrieves a new one.
+     *
+     * @param endpointDataReference the rejected reference
+     */
+    public void evictEndpointReference(final EndpointDataReference endpointDataReference) {
+        client.evictEndpointReference(endpointDataReference);
+    }
+
 }
@@ -23,63 +23,151 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.edc.client;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.edc.spi.types.domain.edr.EndpointDataReference;
+import org.eclipse.tractusx.irs.edc.client.exceptions.TimeoutException;
+import org.eclipse.tractusx.irs.edc.client.model.EDRAuthCode;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import org.eclipse.edc.spi.types.domain.edr.EndpointDataReference;
-
 /**
- * InMemory storage for endpoint data references.
+ * InMemory storage for endpoint data references. References are kept until shortly before their token expires,
+ * so they can be used for several requests with the same contract agreement. Requests waiting for a reference
+ * are completed as soon as it is received from the EDC.
  */
+@Slf4j
 @Service("irsEdcClientEndpointDataReferenceStorage")
 public class EndpointDataReferenceStorage {
 
     private final Map<String, ExpiringContainer> storageMap = new ConcurrentHashMap<>();
+    private final Map<String, List<CompletableFuture<EndpointDataReference>>> waitingRequests =
+            new ConcurrentHashMap<>();
     private final Duration storageDuration;
+    private final Duration expiryMargin;
+    private final Clock clock;
+    private final WaitStatistics referenceWaits;
 
+    @Autowired
     public EndpointDataReferenceStorage(
-            @Value("${irs-edc-client.controlplane.datareference.storage.duration}") final Duration storageDuration) {
+            @Value("${irs-edc-client.controlplane.datareference.storage.duration}") final Duration storageDuration,
+            @Value("${irs-edc-client.controlplane.datareference.storage.expiry-margin:PT30S}")
+            final Duration expiryMargin) {
+        this(storageDuration, expiryMargin, Clock.systemUTC());
+    }
+
+    /* package */ EndpointDataReferenceStorage(final Duration storageDuration, final Duration expiryMargin,
+            final Clock clock) {
         this.storageDuration = storageDuration;
+        this.expiryMargin = expiryMargin;
+        this.clock = clock;
+        this.referenceWaits = new WaitStatistics(clock);
     }
 
     public void put(final String contractAgreementId, final EndpointDataReference dataReference) {
-        storageMap.put(contractAgreementId, new ExpiringContainer(Instant.now(), dataReference));
+        final Instant expiresAt = EDRAuthCode.tokenExpiration(dataReference.getAuthCode()).orElseGet(
+                () -> clock.instant().plus(storageDuration));
+        storageMap.put(contractAgreementId, new ExpiringContainer(expiresAt, dataReference));
+        Optional.ofNullable(waitingRequests.remove(contractAgreementId))
+                .ifPresent(waiting -> waiting.forEach(request -> request.complete(dataReference)));
         cleanup();
     }
 
     /**
-     * Cleans up all dangling references which were not collected after the STORAGE_DURATION.
+     * Removes the reference of a contract agreement, e.g. because the provider rejected its token. A newer reference
+     * stored for the agreement in the meantime is kept.
+     *
+     * @param contractAgreementId the agreement the reference has been issued for
+     * @param dataReference       the reference to remove
      */
-    private void cleanup() {
-        final Set<String> keys = new HashSet<>(storageMap.keySet());
-        keys.forEach(key -> {
-            final Instant creationTimestamp = storageMap.get(key).getCreationTimestamp();
-            if (Instant.now().isAfter(creationTimestamp.plus(storageDuration))) {
-                storageMap.remove(key);
-            }
+    public void remove(final String contractAgreementId, final EndpointDataReference dataReference) {
+        storageMap.computeIfPresent(contractAgreementId,
+                (key, container) -> container.getDataReference() == dataReference ? null : container);
+    }
+
+    /**
+     * Waits for the reference of a contract agreement. The returned future is completed as soon as the EDC sends
+     * the reference, or right away if a usable reference has already been stored.
+     *
+     * @param contractAgreementId the agreement the reference is issued for
+     * @param timeout             the time after which the future fails with a {@link TimeoutException}
+     * @return the reference
+     */
+    public CompletableFuture<EndpointDataReference> awaitReference(final String contractAgreementId,
+            final Duration timeout) {
+        final CompletableFuture<EndpointDataReference> request = new CompletableFuture<>();
+        final Instant start = clock.instant();
+        request.whenComplete((reference, thrown) -> {
+            waitingRequests.computeIfPresent(contractAgreementId, (key, waiting) -> {
+                waiting.remove(request);
+                return waiting.isEmpty() ? null : waiting;
+            });
+            final Duration waited = Duration.between(start, clock.instant());
+            referenceWaits.record(waited);
+            log.info("Waited {} ms for EndpointDataReference", waited.toMillis());
         });
+
+        // register before looking up the storage, so that a reference stored in between is not missed
+        waitingRequests.compute(contractAgreementId, (key, waiting) -> {
+            final List<CompletableFuture<EndpointDataReference>> requests =
+                    waiting == null ? new ArrayList<>() : waiting;
+            requests.add(request);
+            return requests;
+        });
+        get(contractAgreementId).ifPresent(request::complete);
+
+        CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                         .execute(() -> request.completeExceptionally(new TimeoutException(
+                                 "Waiting for EndpointDataReference timed out after " + timeout)));
+        return request;
     }
 
-    public Optional<EndpointDataReference> remove(final String contractAgreementId) {
-        return Optional.ofNullable(storageMap.remove(contractAgreementId)).map(ExpiringContainer::getDataReference);
+    /**
+     * Cleans up all references which expired or were not collected after the STORAGE_DURATION.
+     */
+    private void cleanup() {
+        storageMap.entrySet().removeIf(entry -> !isUsable(entry.getValue()));
     }
 
     /**
-     * Stores the data reference with its creation date.
+     * @param contractAgreementId the agreement the reference has been issued for
+     * @return the reference, if its token is still valid for at least the expiry margin
+     */
+    public Optional<EndpointDataReference> get(final String contractAgreementId) {
+        return Optional.ofNullable(storageMap.get(contractAgreementId))
+                       .filter(this::isUsable)
+                       .map(ExpiringContainer::getDataReference);
+    }
+
+    /**
+     * @return how often and how long requests waited for a reference
+     */
+    public WaitStatistics getReferenceWaits() {
+        return referenceWaits;
+    }
+
+    private boolean isUsable(final ExpiringContainer container) {
+        return clock.instant().plus(expiryMargin).isBefore(container.getExpiresAt());
+    }
+
+    /**
+     * Stores the data reference with the time its token expires.
      */
     @lombok.Value
     private static final class ExpiringContainer {
-        private final Instant creationTimestamp;
+        private final Instant expiresAt;
         private final EndpointDataReference dataReference;
     }
 
 }
-
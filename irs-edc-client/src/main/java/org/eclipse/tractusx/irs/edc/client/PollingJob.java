@@ -25,31 +25,41 @@ package org.eclipse.tractusx.irs.edc.client;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 /**
  * Wrapper class for asynchrous execution of polling jobs.
+ * If a max poll interval is set, the interval doubles after each poll up to the max, with random jitter
+ * so that many jobs started at the same time do not poll at the same time.
  *
  * @param <T> the result type of the polling action
  */
+@Slf4j
 @Builder
 public class PollingJob<T> {
 
+    private static final int BACKOFF_MULTIPLIER = 2;
+
     private final Clock clock;
     private final ScheduledExecutorService scheduler;
     private Duration timeToLive;
     private Supplier<Optional<T>> action;
     private String description;
     private Duration pollInterval;
+    private Duration maxPollInterval;
 
     public CompletableFuture<T> schedule() {
         enforceRequiredParameters();
@@ -57,17 +67,46 @@ public class PollingJob<T> {
         final CompletableFuture<T> completableFuture = new CompletableFuture<>();
 
         final Runnable actionToUse = () -> action.get().ifPresent(completableFuture::complete);
+        final Runnable poll = wrapWithErrorHandler(wrapWithTimeout(actionToUse), completableFuture);
 
-        final ScheduledFuture<?> scheduledFuture = scheduler.scheduleWithFixedDelay(
-                wrapWithErrorHandler(wrapWithTimeout(actionToUse), completableFuture), 0, pollInterval.toMillis(),
-                TimeUnit.MILLISECONDS);
+        final Instant start = clock.instant();
+        final AtomicReference<ScheduledFuture<?>> scheduledFuture = new AtomicReference<>();
+        scheduleNext(poll, completableFuture, scheduledFuture, Duration.ZERO, pollInterval);
 
-        completableFuture.whenComplete((result, thrown) -> scheduledFuture.cancel(true));
+        completableFuture.whenComplete((result, thrown) -> {
+            scheduledFuture.get().cancel(true);
+            log.info("Polling '{}' finished after {} ms", StringUtils.trimToEmpty(description),
+                    Duration.between(start, clock.instant()).toMillis());
+        });
 
         return completableFuture;
 
     }
 
+    private void scheduleNext(final Runnable poll, final CompletableFuture<T> completableFuture,
+            final AtomicReference<ScheduledFuture<?>> scheduledFuture, final Duration delay, final Duration interval) {
+        scheduledFuture.set(scheduler.schedule(() -> {
+            poll.run();
+            if (!completableFuture.isDone()) {
+                scheduleNext(poll, completableFuture, scheduledFuture, withJitter(interval), increase(interval));
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private Duration increase(final Duration interval) {
+        final Duration increased = interval.multipliedBy(BACKOFF_MULTIPLIER);
+        return increased.compareTo(maxPollInterval) > 0 ? maxPollInterval : increased;
+    }
+
+    private Duration withJitter(final Duration interval) {
+        if (maxPollInterval.equals(pollInterval)) {
+            return interval;
+        }
+        // equal jitter: wait at least half of the interval
+        final long halfInterval = interval.toMillis() / 2;
+        return Duration.ofMillis(halfInterval + ThreadLocalRandom.current().nextLong(halfInterval + 1));
+    }
+
     private Runnable wrapWithErrorHandler(final Runnable action, final CompletableFuture<T> completableFuture) {
         return RunnableDecorator.withErrorHandler(action, completableFuture::completeExceptionally);
     }
@@ -77,6 +116,7 @@ public class PollingJob<T> {
         Objects.requireNonNull(clock, "A clock must be supplied to the polling job.");
         Objects.requireNonNull(scheduler, "A scheduler must be supplied to the polling job.");
         pollInterval = Objects.requireNonNullElse(pollInterval, Duration.ofSeconds(1));
+        maxPollInterval = Objects.requireNonNullElse(maxPollInterval, pollInterval);
 
     }
 
@@ -0,0 +1,75 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.edc.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often and how long requests waited for the EDC, e.g. for a negotiation to be finalized.
+ */
+public class WaitStatistics {
+
+    private final Clock clock;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMillis = new LongAdder();
+
+    public WaitStatistics() {
+        this(Clock.systemUTC());
+    }
+
+    public WaitStatistics(final Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Records the time until the given future is completed, successfully or not.
+     *
+     * @param wait the future to wait for
+     * @param <T>  the result type
+     * @return the given future
+     */
+    public <T> CompletableFuture<T> observe(final CompletableFuture<T> wait) {
+        final Instant start = clock.instant();
+        wait.whenComplete((result, thrown) -> record(Duration.between(start, clock.instant())));
+        return wait;
+    }
+
+    public void record(final Duration waited) {
+        count.increment();
+        totalMillis.add(waited.toMillis());
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getTotalTimeMillis() {
+        return totalMillis.sum();
+    }
+
+}
@@ -24,16 +24,20 @@
 package org.eclipse.tractusx.irs.edc.client.model;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Base64;
+import java.util.Optional;
 
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.jackson.Jacksonized;
+import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.irs.data.StringMapper;
 
 /**
  * The decoded Auth code JWT.
  */
+@Slf4j
 @Builder
 @Data
 @Jacksonized
@@ -48,4 +52,39 @@ public class EDRAuthCode {
         final var payload = new String(decoder.decode(chunks[1]), StandardCharsets.UTF_8);
         return StringMapper.mapFromString(payload, EDRAuthCode.class);
     }
+
+    /**
+     * @param token the auth code of an EndpointDataReference, may be null
+     * @return the time the token expires, empty if the token has no readable expiration
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public static Optional<Instant> tokenExpiration(final String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        try {
+            final long exp = fromAuthCodeToken(token).getExp();
+            return exp > 0 ? Optional.of(Instant.ofEpochSecond(exp)) : Optional.empty();
+        } catch (RuntimeException e) {
+            log.debug("Unable to read token expiration of auth code", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param token the auth code of an EndpointDataReference, may be null
+     * @return the contract agreement the token has been issued for, empty if it cannot be read
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public static Optional<String> contractAgreementId(final String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(fromAuthCodeToken(token).getCid());
+        } catch (RuntimeException e) {
+            log.debug("Unable to read contract agreement of auth code", e);
+            return Optional.empty();
+        }
+    }
 }
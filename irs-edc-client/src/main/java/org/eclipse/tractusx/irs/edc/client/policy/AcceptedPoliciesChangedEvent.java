@@ -23,36 +23,8 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.edc.client.policy;
 
-import lombok.Builder;
-import org.eclipse.edc.policy.model.AtomicConstraint;
-import org.eclipse.edc.policy.model.Expression;
-import org.eclipse.edc.policy.model.LiteralExpression;
-import org.eclipse.edc.policy.model.Operator;
-
 /**
- * Check and validate AtomicConstraint as a part of Policy in Catalog fetch from EDC providers.
+ * Published by {@link AcceptedPoliciesProvider}s when the accepted policies have been changed.
  */
-@Builder
-public class AtomicConstraintValidator {
-
-    private AtomicConstraint atomicConstraint;
-    private String leftExpressionValue;
-    private String rightExpressionValue;
-    private Operator expectedOperator;
-
-    public boolean isValid() {
-        return isExpressionValid(atomicConstraint.getLeftExpression(),
-                leftExpressionValue) && isExpressionValid(
-                atomicConstraint.getRightExpression(), rightExpressionValue)
-                && expectedOperator.equals(atomicConstraint.getOperator());
-    }
-
-    private boolean isExpressionValid(final Expression expression, final String value) {
-        if (expression instanceof LiteralExpression literalExpression) {
-            return literalExpression.asString().equals(value);
-        }
-        return false;
-    }
-
-
+public record AcceptedPoliciesChangedEvent() {
 }
@@ -0,0 +1,212 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.edc.client.policy;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.edc.policy.model.AndConstraint;
+import org.eclipse.edc.policy.model.AtomicConstraint;
+import org.eclipse.edc.policy.model.Expression;
+import org.eclipse.edc.policy.model.LiteralExpression;
+import org.eclipse.edc.policy.model.Operator;
+import org.eclipse.edc.policy.model.OrConstraint;
+
+/**
+ * Immutable matcher for catalog offer policies, compiled from the accepted policies.
+ * The constraints of each accepted policy are kept in hash sets, so checking a catalog offer
+ * requires lookups only instead of walking the constraint trees of all accepted policies.
+ */
+public final class AcceptedPoliciesMatcher {
+
+    private static final String WILDCARD_POLICY_ID = "*";
+
+    private final List<CompiledPolicy> policies;
+
+    private AcceptedPoliciesMatcher(final List<CompiledPolicy> policies) {
+        this.policies = policies;
+    }
+
+    /**
+     * @param acceptedPolicies the policies accepted for negotiation
+     * @return the matcher for the given policies
+     */
+    public static AcceptedPoliciesMatcher compile(final List<AcceptedPolicy> acceptedPolicies) {
+        return new AcceptedPoliciesMatcher(acceptedPolicies.stream()
+                                                           .map(acceptedPolicy -> CompiledPolicy.compile(
+                                                                   acceptedPolicy.policy(),
+                                                                   acceptedPolicy.validUntil()))
+                                                           .toList());
+    }
+
+    /**
+     * @param policy the policy of a catalog offer
+     * @param now    the current time, accepted policies valid until then are ignored
+     * @return true if every permission of the policy is covered by an accepted policy
+     * or if a wildcard policy is accepted
+     */
+    public boolean isAccepted(final org.eclipse.edc.policy.model.Policy policy, final OffsetDateTime now) {
+        final List<CompiledPolicy> validPolicies = policies.stream()
+                                                           .filter(compiled -> compiled.validUntil().isAfter(now))
+                                                           .toList();
+        if (validPolicies.stream().anyMatch(CompiledPolicy::isWildcard)) {
+            return true;
+        }
+
+        return policy.getPermissions()
+                     .stream()
+                     .allMatch(permission -> validPolicies.stream()
+                                                          .anyMatch(compiled -> compiled.hasAllConstraints(
+                                                                  permission.getConstraints())));
+    }
+
+    /**
+     * An accepted policy with its constraints compiled to hash sets.
+     *
+     * @param policyId    the id of the accepted policy
+     * @param validUntil  the timestamp after which the policy will no longer be accepted
+     * @param constraints the compiled constraints of all permissions of the policy
+     */
+    private record CompiledPolicy(String policyId, OffsetDateTime validUntil, List<CompiledConstraints> constraints) {
+
+        private static CompiledPolicy compile(final Policy policy, final OffsetDateTime validUntil) {
+            final List<CompiledConstraints> constraints = Optional.ofNullable(policy.getPermissions())
+                                                                  .orElse(List.of())
+                                                                  .stream()
+                                                                  .map(Permission::getConstraints)
+                                                                  .filter(Objects::nonNull)
+                                                                  .flatMap(Collection::stream)
+                                                                  .map(CompiledConstraints::compile)
+                                                                  .toList();
+            return new CompiledPolicy(policy.getPolicyId(), validUntil, constraints);
+        }
+
+        private boolean isWildcard() {
+            return WILDCARD_POLICY_ID.equals(policyId);
+        }
+
+        private boolean hasAllConstraints(final List<org.eclipse.edc.policy.model.Constraint> offeredConstraints) {
+            return offeredConstraints.stream()
+                                     .allMatch(offered -> constraints.stream()
+                                                                     .anyMatch(compiled -> compiled.matches(offered)));
+        }
+    }
+
+    /**
+     * The and- and or-constraints of an accepted permission.
+     *
+     * @param and the and-constraints
+     * @param or  the or-constraints
+     */
+    @SuppressWarnings("PMD.ShortVariable")
+    private record CompiledConstraints(Set<ConstraintKey> and, Set<ConstraintKey> or) {
+
+        private static CompiledConstraints compile(final Constraints constraints) {
+            return new CompiledConstraints(toKeys(constraints.getAnd()), toKeys(constraints.getOr()));
+        }
+
+        private static Set<ConstraintKey> toKeys(final List<Constraint> constraints) {
+            return Optional.ofNullable(constraints)
+                           .orElse(List.of())
+                           .stream()
+                           .map(ConstraintKey::of)
+                           .flatMap(Optional::stream)
+                           .collect(Collectors.toUnmodifiableSet());
+        }
+
+        private boolean matches(final org.eclipse.edc.policy.model.Constraint offered) {
+            if (offered instanceof AtomicConstraint atomicConstraint) {
+                return ConstraintKey.of(atomicConstraint)
+                                    .filter(key -> and.contains(key) || or.contains(key))
+                                    .isPresent();
+            }
+            if (offered instanceof AndConstraint andConstraint) {
+                return andConstraint.getConstraints().stream().allMatch(constraint -> isIn(constraint, and));
+            }
+            if (offered instanceof OrConstraint orConstraint) {
+                return orConstraint.getConstraints().stream().anyMatch(constraint -> isIn(constraint, or));
+            }
+            return false;
+        }
+
+        private static boolean isIn(final org.eclipse.edc.policy.model.Constraint constraint,
+                final Set<ConstraintKey> keys) {
+            return constraint instanceof AtomicConstraint atomicConstraint && ConstraintKey.of(atomicConstraint)
+                                                                                           .filter(keys::contains)
+                                                                                           .isPresent();
+        }
+    }
+
+    /**
+     * The hashable representation of an atomic constraint.
+     *
+     * @param leftOperand  the left operand
+     * @param operator     the operator
+     * @param rightOperand the right operand
+     */
+    private record ConstraintKey(String leftOperand, Operator operator, String rightOperand) {
+
+        private static Optional<ConstraintKey> of(final Constraint accepted) {
+            final Optional<Operator> operator = toOperator(accepted.getOperator());
+            if (accepted.getLeftOperand() == null || operator.isEmpty()) {
+                return Optional.empty();
+            }
+            final String rightOperand = Optional.ofNullable(accepted.getRightOperand())
+                                                .flatMap(operands -> operands.stream().findFirst())
+                                                .orElse("");
+            return Optional.of(new ConstraintKey(accepted.getLeftOperand(), operator.get(), rightOperand));
+        }
+
+        private static Optional<ConstraintKey> of(final AtomicConstraint offered) {
+            final Optional<String> leftOperand = asString(offered.getLeftExpression());
+            final Optional<String> rightOperand = asString(offered.getRightExpression());
+            if (leftOperand.isEmpty() || rightOperand.isEmpty() || offered.getOperator() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new ConstraintKey(leftOperand.get(), offered.getOperator(), rightOperand.get()));
+        }
+
+        private static Optional<Operator> toOperator(final OperatorType operatorType) {
+            if (operatorType == null) {
+                return Optional.empty();
+            }
+            return Stream.of(Operator.values())
+                         .filter(operator -> operator.name().equals(operatorType.name()))
+                         .findFirst();
+        }
+
+        private static Optional<String> asString(final Expression expression) {
+            if (expression instanceof LiteralExpression literalExpression) {
+                return Optional.ofNullable(literalExpression.asString());
+            }
+            return Optional.empty();
+        }
+    }
+}
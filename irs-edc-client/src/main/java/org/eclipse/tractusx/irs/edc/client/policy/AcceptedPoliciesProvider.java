@@ -27,6 +27,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.stereotype.Service;
 
 /**
@@ -41,9 +43,10 @@ public interface AcceptedPoliciesProvider {
      */
     @Service
     @ConditionalOnMissingBean(value = AcceptedPoliciesProvider.class, ignored = DefaultAcceptedPoliciesProvider.class)
-    class DefaultAcceptedPoliciesProvider implements AcceptedPoliciesProvider {
+    class DefaultAcceptedPoliciesProvider implements AcceptedPoliciesProvider, ApplicationEventPublisherAware {
 
         private final List<AcceptedPolicy> acceptedPolicies = new ArrayList<>();
+        private ApplicationEventPublisher eventPublisher;
 
         @Override
         public List<AcceptedPolicy> getAcceptedPolicies() {
@@ -52,10 +55,23 @@ public interface AcceptedPoliciesProvider {
 
         public void addAcceptedPolicies(final List<AcceptedPolicy> policies) {
             acceptedPolicies.addAll(policies);
+            publishChange();
         }
 
         public void removeAcceptedPolicies(final List<AcceptedPolicy> policies) {
             acceptedPolicies.removeAll(policies);
+            publishChange();
+        }
+
+        @Override
+        public void setApplicationEventPublisher(final ApplicationEventPublisher applicationEventPublisher) {
+            this.eventPublisher = applicationEventPublisher;
+        }
+
+        private void publishChange() {
+            if (eventPublisher != null) {
+                eventPublisher.publishEvent(new AcceptedPoliciesChangedEvent());
+            }
         }
     }
 }
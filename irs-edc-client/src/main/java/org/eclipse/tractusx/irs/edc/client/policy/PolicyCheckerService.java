@@ -23,60 +23,78 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.edc.client.policy;
 
-import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
-import java.util.List;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicLong;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.edc.policy.model.Permission;
 import org.eclipse.edc.policy.model.Policy;
+import org.eclipse.tractusx.irs.edc.client.EdcConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.UriUtils;
 
 /**
  * Check and validate Policy in Catalog fetch from EDC providers.
+ * The accepted policies are compiled once into an {@link AcceptedPoliciesMatcher}, which is reused until the
+ * accepted policies change or its time to live has expired.
  */
 @Slf4j
 @Service("irsEdcClientPolicyCheckerService")
-@RequiredArgsConstructor
 public class PolicyCheckerService {
 
     private final AcceptedPoliciesProvider policyStore;
-    private final ConstraintCheckerService constraintCheckerService;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final AtomicLong version = new AtomicLong();
+    private volatile CompiledMatcher matcher;
 
-    public boolean isValid(final Policy policy) {
-        if (getValidStoredPolicyIds().contains("*")) {
-            return true;
-        }
+    @Autowired
+    public PolicyCheckerService(final AcceptedPoliciesProvider policyStore, final EdcConfiguration config) {
+        this(policyStore, config.getControlplane().getAcceptedPoliciesTtl(), Clock.systemUTC());
+    }
 
-        return policy.getPermissions().stream().allMatch(permission -> isValid(permission, getValidStoredPolicies()));
+    /* package */ PolicyCheckerService(final AcceptedPoliciesProvider policyStore, final Duration timeToLive,
+            final Clock clock) {
+        this.policyStore = policyStore;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
     }
 
-    private boolean isValid(final Permission permission, final List<AcceptedPolicy> validStoredPolicies) {
-        return validStoredPolicies.stream().anyMatch(acceptedPolicy ->
-                constraintCheckerService.hasAllConstraint(acceptedPolicy.policy(), permission.getConstraints()));
+    public boolean isValid(final Policy policy) {
+        return getMatcher().isAccepted(policy, OffsetDateTime.now(clock));
     }
 
-    private List<String> getValidStoredPolicyIds() {
-        return policyStore.getAcceptedPolicies()
-                          .stream()
-                          .filter(p -> p.validUntil().isAfter(OffsetDateTime.now()))
-                          .map(acceptedPolicy -> acceptedPolicy.policy().getPolicyId())
-                          .flatMap(this::addEncodedVersion)
-                          .toList();
+    /**
+     * Discards the compiled accepted policies, they are compiled again on the next check.
+     */
+    @EventListener(AcceptedPoliciesChangedEvent.class)
+    public void invalidate() {
+        log.debug("Accepted policies changed, discarding compiled policies");
+        version.incrementAndGet();
     }
 
-    private List<AcceptedPolicy> getValidStoredPolicies() {
-        return policyStore.getAcceptedPolicies()
-                          .stream()
-                          .filter(p -> p.validUntil().isAfter(OffsetDateTime.now()))
-                          .toList();
+    private AcceptedPoliciesMatcher getMatcher() {
+        final long currentVersion = version.get();
+        final CompiledMatcher current = matcher;
+        final Instant now = clock.instant();
+        if (current != null && current.version() == currentVersion && current.expiresAt().isAfter(now)) {
+            return current.matcher();
+        }
+
+        final AcceptedPoliciesMatcher compiled = AcceptedPoliciesMatcher.compile(policyStore.getAcceptedPolicies());
+        matcher = new CompiledMatcher(compiled, currentVersion, now.plus(timeToLive));
+        return compiled;
     }
 
-    private Stream<String> addEncodedVersion(final String original) {
-        return Stream.of(original, UriUtils.encode(original, StandardCharsets.UTF_8));
+    /**
+     * @param matcher   the compiled accepted policies
+     * @param version   the version of the accepted policies, which is increased whenever they change
+     * @param expiresAt the time after which the accepted policies are read again
+     */
+    private record CompiledMatcher(AcceptedPoliciesMatcher matcher, long version, Instant expiresAt) {
     }
 
 }
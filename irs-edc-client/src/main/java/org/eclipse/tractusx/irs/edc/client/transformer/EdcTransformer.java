@@ -62,6 +62,7 @@ import org.eclipse.edc.jsonld.transformer.to.JsonObjectToProhibitionTransformer;
 import org.eclipse.edc.jsonld.transformer.to.JsonObjectToQuerySpecTransformer;
 import org.eclipse.edc.jsonld.transformer.to.JsonValueToGenericTypeTransformer;
 import org.eclipse.edc.protocol.dsp.transferprocess.transformer.type.from.JsonObjectFromDataAddressTransformer;
+import org.eclipse.edc.spi.query.QuerySpec;
 import org.eclipse.edc.spi.result.Result;
 import org.eclipse.edc.transform.spi.TypeTransformerRegistry;
 import org.eclipse.tractusx.irs.edc.client.model.ContractOfferDescription;
@@ -81,6 +82,7 @@ public class EdcTransformer {
     private final JsonObjectFromTransferProcessRequestTransformer jsonObjectFromTransferProcessRequestTransformer;
     private final JsonObjectFromContractOfferDescriptionTransformer jsonObjectFromContractOfferDescriptionTransformer;
     private final JsonObjectFromCatalogRequestTransformer jsonObjectFromCatalogRequestTransformer;
+    private final JsonObjectFromQuerySpecTransformer jsonObjectFromQuerySpecTransformer;
     private final TitaniumJsonLd titaniumJsonLd;
     private final TransformerContextImpl transformerContext;
 
@@ -96,6 +98,7 @@ public class EdcTransformer {
         jsonObjectFromContractOfferDescriptionTransformer = new JsonObjectFromContractOfferDescriptionTransformer(
                 jsonBuilderFactory);
         jsonObjectFromCatalogRequestTransformer = new JsonObjectFromCatalogRequestTransformer(jsonBuilderFactory);
+        jsonObjectFromQuerySpecTransformer = new JsonObjectFromQuerySpecTransformer(jsonBuilderFactory);
 
         final TypeTransformerRegistry typeTransformerRegistry = new TypeTransformerRegistryImpl();
         transformerContext = new TransformerContextImpl(typeTransformerRegistry);
@@ -121,7 +124,7 @@ public class EdcTransformer {
         typeTransformerRegistry.register(jsonObjectFromCatalogRequestTransformer);
         typeTransformerRegistry.register(jsonObjectFromTransferProcessRequestTransformer);
         typeTransformerRegistry.register(jsonObjectFromContractOfferDescriptionTransformer);
-        typeTransformerRegistry.register(new JsonObjectFromQuerySpecTransformer(jsonBuilderFactory));
+        typeTransformerRegistry.register(jsonObjectFromQuerySpecTransformer);
         typeTransformerRegistry.register(new JsonObjectFromCatalogTransformer(jsonBuilderFactory, objectMapper));
         typeTransformerRegistry.register(new JsonObjectFromDatasetTransformer(jsonBuilderFactory, objectMapper));
         typeTransformerRegistry.register(new JsonObjectFromPolicyTransformer(jsonBuilderFactory));
@@ -166,4 +169,9 @@ public class EdcTransformer {
                 transformerContext);
         return titaniumJsonLd.compact(transform).asOptional().orElseThrow();
     }
+
+    public JsonObject transformQuerySpecToJson(final QuerySpec querySpec) {
+        final JsonObject transform = jsonObjectFromQuerySpecTransformer.transform(querySpec, transformerContext);
+        return titaniumJsonLd.compact(transform).asOptional().orElseThrow();
+    }
 }
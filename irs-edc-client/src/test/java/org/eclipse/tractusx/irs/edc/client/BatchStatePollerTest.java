@@ -0,0 +1,159 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.edc.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.tractusx.irs.edc.client.exceptions.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class BatchStatePollerTest {
+
+    private static final Instant NOW = Instant.parse("2023-11-20T10:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final Map<String, String> states = new ConcurrentHashMap<>();
+    private final List<List<String>> queries = new ArrayList<>();
+    private BatchStatePoller<TestProcess> testee;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+        testee = BatchStatePoller.<TestProcess>builder()
+                                 .clock(clock)
+                                 .scheduler(scheduler)
+                                 .description("test processes")
+                                 .query(this::query)
+                                 .idExtractor(TestProcess::id)
+                                 .evaluator(BatchStatePollerTest::evaluate)
+                                 .batchSize(2)
+                                 .pollInterval(Duration.ofSeconds(1))
+                                 .timeToLive(Duration.ofMinutes(1))
+                                 .build();
+    }
+
+    private List<TestProcess> query(final List<String> ids) {
+        queries.add(List.copyOf(ids));
+        return ids.stream().filter(states::containsKey).map(id -> new TestProcess(id, states.get(id))).toList();
+    }
+
+    private static Optional<TestProcess> evaluate(final TestProcess process) {
+        if ("ERROR".equals(process.state())) {
+            throw new IllegalStateException(process.id() + " failed");
+        }
+        return "DONE".equals(process.state()) ? Optional.of(process) : Optional.empty();
+    }
+
+    private void runNextPoll() {
+        final ArgumentCaptor<Runnable> poll = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(poll.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        poll.getValue().run();
+    }
+
+    @Test
+    void shouldQueryAllPendingProcessesInBatches() {
+        // arrange
+        states.put("1", "DONE");
+        states.put("2", "RUNNING");
+        states.put("3", "DONE");
+        final var first = testee.register("1");
+        final var second = testee.register("2");
+        final var third = testee.register("3");
+
+        // act
+        runNextPoll();
+
+        // assert
+        assertThat(queries).hasSize(2);
+        assertThat(queries.stream().flatMap(List::stream)).containsExactlyInAnyOrder("1", "2", "3");
+        assertThat(first).isCompletedWithValue(new TestProcess("1", "DONE"));
+        assertThat(second).isNotDone();
+        assertThat(third).isCompletedWithValue(new TestProcess("3", "DONE"));
+        assertThat(testee.getPendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldScheduleOnlyOnePollForManyProcesses() {
+        // act
+        testee.register("1");
+        testee.register("2");
+
+        // assert
+        verify(scheduler).schedule(any(Runnable.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void shouldFailProcessInErrorState() {
+        // arrange
+        states.put("1", "ERROR");
+        final var result = testee.register("1");
+
+        // act
+        runNextPoll();
+
+        // assert
+        assertThatThrownBy(result::get).isInstanceOf(ExecutionException.class)
+                                       .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldTimeOutProcessWhichDoesNotFinish() {
+        // arrange
+        final var result = testee.register("1");
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(2)));
+
+        // act
+        runNextPoll();
+
+        // assert
+        assertThatThrownBy(result::get).isInstanceOf(ExecutionException.class)
+                                       .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(testee.getPendingCount()).isZero();
+    }
+
+    /* package */ record TestProcess(String id, String state) {
+    }
+}
@@ -0,0 +1,74 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.edc.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.eclipse.tractusx.irs.edc.client.model.CatalogItem;
+import org.junit.jupiter.api.Test;
+
+class CatalogCacheTest {
+
+    private static final String CONNECTOR_URL = "https://provider/api/v1/dsp";
+    private static final Instant NOW = Instant.parse("2023-11-20T10:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+    private final CatalogCache testee = new CatalogCache(10, Duration.ofMinutes(5), clock);
+
+    @Test
+    void shouldReturnCatalogWithinTimeToLiveAndCountHitsAndMisses() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final List<CatalogItem> items = List.of(CatalogItem.builder().assetPropId("asset").build());
+        testee.put(CONNECTOR_URL, "key", "asset", items);
+
+        // act & assert
+        assertThat(testee.get(CONNECTOR_URL, "key", "asset")).contains(items);
+        assertThat(testee.get(CONNECTOR_URL, "key", "otherAsset")).isEmpty();
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(5)));
+        assertThat(testee.get(CONNECTOR_URL, "key", "asset")).isEmpty();
+        assertThat(testee.getHits()).isEqualTo(1);
+        assertThat(testee.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheCatalogsWhenDisabled() {
+        // arrange
+        final CatalogCache disabled = new CatalogCache(new EdcConfiguration());
+
+        // act
+        disabled.put(CONNECTOR_URL, null, null, List.of(CatalogItem.builder().assetPropId("asset").build()));
+
+        // assert
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.get(CONNECTOR_URL, null, null)).isEmpty();
+    }
+}
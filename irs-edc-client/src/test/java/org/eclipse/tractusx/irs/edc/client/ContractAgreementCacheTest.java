@@ -0,0 +1,109 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.edc.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.eclipse.edc.policy.model.Action;
+import org.eclipse.edc.policy.model.Permission;
+import org.eclipse.edc.policy.model.Policy;
+import org.eclipse.tractusx.irs.edc.client.model.CatalogItem;
+import org.eclipse.tractusx.irs.edc.client.model.NegotiationResponse;
+import org.junit.jupiter.api.Test;
+
+class ContractAgreementCacheTest {
+
+    private static final String CONNECTOR_URL = "https://provider/api/v1/dsp";
+    private static final Instant NOW = Instant.parse("2023-11-20T10:00:00Z");
+    private static final NegotiationResponse AGREEMENT = NegotiationResponse.builder()
+                                                                            .contractAgreementId("agreementId")
+                                                                            .build();
+
+    private final Clock clock = mock(Clock.class);
+    private final ContractAgreementCache testee = new ContractAgreementCache(10, Duration.ofHours(1), clock);
+
+    private static CatalogItem catalogItem(final String assetId, final String action) {
+        final Permission permission = Permission.Builder.newInstance()
+                                                        .target(assetId)
+                                                        .action(Action.Builder.newInstance().type(action).build())
+                                                        .build();
+        final Policy policy = Policy.Builder.newInstance().permission(permission).build();
+        return CatalogItem.builder().itemId(assetId).assetPropId(assetId).policy(policy).build();
+    }
+
+    @Test
+    void shouldReturnAgreementForSameAssetAndPolicy() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        testee.put(CONNECTOR_URL, catalogItem("asset", "USE"), AGREEMENT);
+
+        // act & assert
+        assertThat(testee.get(CONNECTOR_URL, catalogItem("asset", "USE"))).contains(AGREEMENT);
+        assertThat(testee.get(CONNECTOR_URL, catalogItem("otherAsset", "USE"))).isEmpty();
+        assertThat(testee.get(CONNECTOR_URL, catalogItem("asset", "DISTRIBUTE"))).isEmpty();
+        assertThat(testee.get("https://other/api/v1/dsp", catalogItem("asset", "USE"))).isEmpty();
+    }
+
+    @Test
+    void shouldExpireAgreementAfterTimeToLive() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        testee.put(CONNECTOR_URL, catalogItem("asset", "USE"), AGREEMENT);
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofHours(1)));
+
+        // act & assert
+        assertThat(testee.get(CONNECTOR_URL, catalogItem("asset", "USE"))).isEmpty();
+    }
+
+    @Test
+    void shouldExpireAgreementWhenOfferIsNoLongerValid() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final CatalogItem catalogItem = catalogItem("asset", "USE");
+        catalogItem.setValidUntil(NOW.plus(Duration.ofMinutes(5)));
+        testee.put(CONNECTOR_URL, catalogItem, AGREEMENT);
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(5)));
+
+        // act & assert
+        assertThat(testee.get(CONNECTOR_URL, catalogItem)).isEmpty();
+    }
+
+    @Test
+    void shouldNotCacheAgreementsWhenDisabled() {
+        // arrange
+        final ContractAgreementCache disabled = new ContractAgreementCache(new EdcConfiguration());
+
+        // act
+        disabled.put(CONNECTOR_URL, catalogItem("asset", "USE"), AGREEMENT);
+
+        // assert
+        assertThat(disabled.get(CONNECTOR_URL, catalogItem("asset", "USE"))).isEmpty();
+    }
+}
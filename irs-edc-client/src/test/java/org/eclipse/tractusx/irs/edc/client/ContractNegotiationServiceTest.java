@@ -26,16 +26,20 @@ package org.eclipse.tractusx.irs.edc.client;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
 
 import org.eclipse.edc.policy.model.Permission;
 import org.eclipse.edc.policy.model.Policy;
-import org.eclipse.tractusx.irs.edc.client.exceptions.ContractNegotiationException;
+import org.eclipse.edc.spi.types.domain.edr.EndpointDataReference;
 import org.eclipse.tractusx.irs.edc.client.exceptions.EdcClientException;
-import org.eclipse.tractusx.irs.edc.client.exceptions.TransferProcessException;
-import org.eclipse.tractusx.irs.edc.client.exceptions.UsagePolicyException;
 import org.eclipse.tractusx.irs.edc.client.model.CatalogItem;
 import org.eclipse.tractusx.irs.edc.client.model.NegotiationResponse;
 import org.eclipse.tractusx.irs.edc.client.model.Response;
@@ -62,6 +66,15 @@ class ContractNegotiationServiceTest {
 
     @Mock
     private PolicyCheckerService policyCheckerService;
+    @Spy
+    private ContractAgreementCache contractAgreementCache = new ContractAgreementCache(10, Duration.ofHours(1),
+            Clock.systemUTC());
+    @Spy
+    private EndpointDataReferenceStorage endpointDataReferenceStorage = new EndpointDataReferenceStorage(
+            Duration.ofMinutes(1), Duration.ZERO);
+    @Spy
+    private AsyncPollingService pollingService = new AsyncPollingService(Clock.systemUTC(),
+            Executors.newSingleThreadScheduledExecutor());
 
     private static Policy createPolicy(final String assetId) {
         final Permission permission = Permission.Builder.newInstance().target(assetId).build();
@@ -74,8 +87,7 @@ class ContractNegotiationServiceTest {
     }
 
     @Test
-    void shouldNegotiateSuccessfully()
-            throws ContractNegotiationException, UsagePolicyException, TransferProcessException {
+    void shouldNegotiateSuccessfully() throws Exception {
         // arrange
         final var assetId = "testTarget";
         final String offerId = "offerId";
@@ -92,7 +104,7 @@ class ContractNegotiationServiceTest {
                 CompletableFuture.completedFuture(TransferProcessResponse.builder().build()));
 
         // act
-        NegotiationResponse result = testee.negotiate(CONNECTOR_URL, catalogItem);
+        NegotiationResponse result = testee.negotiate(CONNECTOR_URL, catalogItem).get();
 
         // assert
         assertThat(result).isNotNull();
@@ -113,7 +125,8 @@ class ContractNegotiationServiceTest {
         when(edcControlPlaneClient.getNegotiationResult(any())).thenReturn(response);
 
         // act & assert
-        assertThatThrownBy(() -> testee.negotiate(CONNECTOR_URL, catalogItem)).isInstanceOf(EdcClientException.class);
+        assertThatThrownBy(() -> testee.negotiate(CONNECTOR_URL, catalogItem).get()).hasCauseInstanceOf(
+                EdcClientException.class);
     }
 
     @Test
@@ -137,7 +150,8 @@ class ContractNegotiationServiceTest {
         when(edcControlPlaneClient.getTransferProcess(any())).thenReturn(transferError);
 
         // act & assert
-        assertThatThrownBy(() -> testee.negotiate(CONNECTOR_URL, catalogItem)).isInstanceOf(EdcClientException.class);
+        assertThatThrownBy(() -> testee.negotiate(CONNECTOR_URL, catalogItem).get()).hasCauseInstanceOf(
+                EdcClientException.class);
     }
 
     @Test
@@ -152,7 +166,104 @@ class ContractNegotiationServiceTest {
         when(policyCheckerService.isValid(any())).thenReturn(Boolean.FALSE);
 
         // act & assert
-        assertThatThrownBy(() -> testee.negotiate(CONNECTOR_URL, catalogItem)).isInstanceOf(EdcClientException.class);
+        assertThatThrownBy(() -> testee.negotiate(CONNECTOR_URL, catalogItem).get()).hasCauseInstanceOf(
+                EdcClientException.class);
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReuseContractAgreementForSameOffer()
+            throws Exception {
+        // arrange
+        final CatalogItem catalogItem = createCatalogItem("testTarget", "offerId");
+        when(policyCheckerService.isValid(any())).thenReturn(Boolean.TRUE);
+        when(edcControlPlaneClient.startNegotiations(any())).thenReturn(
+                Response.builder().responseId("negotiationId").build());
+        when(edcControlPlaneClient.getNegotiationResult(any())).thenReturn(CompletableFuture.completedFuture(
+                NegotiationResponse.builder().contractAgreementId("agreementId").build()));
+        when(edcControlPlaneClient.startTransferProcess(any())).thenReturn(
+                Response.builder().responseId("transferProcessId").build());
+        when(edcControlPlaneClient.getTransferProcess(any())).thenReturn(
+                CompletableFuture.completedFuture(TransferProcessResponse.builder().build()));
+        testee.negotiate(CONNECTOR_URL, catalogItem).get();
+
+        // act
+        final NegotiationResponse result = testee.negotiate(CONNECTOR_URL,
+                createCatalogItem("testTarget", "otherOfferId")).get();
+
+        // assert
+        assertThat(result.getContractAgreementId()).isEqualTo("agreementId");
+        verify(edcControlPlaneClient, times(1)).startNegotiations(any());
+        verify(edcControlPlaneClient, times(2)).startTransferProcess(any());
+    }
+
+    @Test
+    void shouldNegotiateAgainWhenTransferWithCachedAgreementFails()
+            throws Exception {
+        // arrange
+        final CatalogItem catalogItem = createCatalogItem("testTarget", "offerId");
+        contractAgreementCache.put(CONNECTOR_URL, catalogItem,
+                NegotiationResponse.builder().contractAgreementId("expiredAgreementId").build());
+        when(policyCheckerService.isValid(any())).thenReturn(Boolean.TRUE);
+        when(edcControlPlaneClient.startNegotiations(any())).thenReturn(
+                Response.builder().responseId("negotiationId").build());
+        when(edcControlPlaneClient.getNegotiationResult(any())).thenReturn(CompletableFuture.completedFuture(
+                NegotiationResponse.builder().contractAgreementId("agreementId").build()));
+        when(edcControlPlaneClient.startTransferProcess(any())).thenReturn(
+                Response.builder().responseId("transferProcessId").build());
+        when(edcControlPlaneClient.getTransferProcess(any())).thenReturn(
+                CompletableFuture.failedFuture(new RuntimeException("Agreement not valid")),
+                CompletableFuture.completedFuture(TransferProcessResponse.builder().build()));
+
+        // act
+        final NegotiationResponse result = testee.negotiate(CONNECTOR_URL, catalogItem).get();
+
+        // assert
+        assertThat(result.getContractAgreementId()).isEqualTo("agreementId");
+        verify(edcControlPlaneClient, times(1)).startNegotiations(any());
+    }
+
+    @Test
+    void shouldNotStartTransferWhenReferenceOfCachedAgreementIsValid()
+            throws Exception {
+        // arrange
+        final CatalogItem catalogItem = createCatalogItem("testTarget", "offerId");
+        contractAgreementCache.put(CONNECTOR_URL, catalogItem,
+                NegotiationResponse.builder().contractAgreementId("agreementId").build());
+        endpointDataReferenceStorage.put("agreementId",
+                EndpointDataReference.Builder.newInstance().endpoint("http://provider.dataplane/api/public").build());
+        when(policyCheckerService.isValid(any())).thenReturn(Boolean.TRUE);
+
+        // act
+        final NegotiationResponse result = testee.negotiate(CONNECTOR_URL, catalogItem).get();
+
+        // assert
+        assertThat(result.getContractAgreementId()).isEqualTo("agreementId");
+        verifyNoInteractions(edcControlPlaneClient);
+    }
+
+
+    @Test
+    void shouldNotWaitForNegotiationToComplete() {
+        // arrange
+        final CatalogItem catalogItem = createCatalogItem("testTarget", "offerId");
+        final CompletableFuture<NegotiationResponse> negotiation = new CompletableFuture<>();
+        when(policyCheckerService.isValid(any())).thenReturn(Boolean.TRUE);
+        when(edcControlPlaneClient.startNegotiations(any())).thenReturn(
+                Response.builder().responseId("negotiationId").build());
+        when(edcControlPlaneClient.getNegotiationResult(any())).thenReturn(negotiation);
+        when(edcControlPlaneClient.startTransferProcess(any())).thenReturn(
+                Response.builder().responseId("transferProcessId").build());
+        when(edcControlPlaneClient.getTransferProcess(any())).thenReturn(
+                CompletableFuture.completedFuture(TransferProcessResponse.builder().build()));
+
+        // act
+        final CompletableFuture<NegotiationResponse> result = testee.negotiate(CONNECTOR_URL, catalogItem);
+
+        // assert
+        assertThat(result).isNotDone();
+        negotiation.complete(NegotiationResponse.builder().contractAgreementId("agreementId").build());
+        assertThat(result).succeedsWithin(Duration.ofSeconds(5))
+                          .extracting(NegotiationResponse::getContractAgreementId)
+                          .isEqualTo("agreementId");
+    }
+}
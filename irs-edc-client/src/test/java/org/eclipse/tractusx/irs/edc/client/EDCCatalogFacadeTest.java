@@ -24,15 +24,19 @@
 package org.eclipse.tractusx.irs.edc.client;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.tractusx.irs.edc.client.configuration.JsonLdConfiguration.NAMESPACE_EDC_ID;
 import static org.eclipse.tractusx.irs.edc.client.testutil.TestMother.createCatalog;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 
 import org.eclipse.tractusx.irs.edc.client.model.CatalogItem;
@@ -52,7 +56,7 @@ class EDCCatalogFacadeTest {
     void setUp() {
         controlPlaneClient = mock(EdcControlPlaneClient.class);
         edcConfig.getControlplane().setCatalogPageSize(DEFAULT_PAGE_SIZE);
-        edcCatalogFacade = new EDCCatalogFacade(controlPlaneClient, edcConfig);
+        edcCatalogFacade = new EDCCatalogFacade(controlPlaneClient, edcConfig, new CatalogCache(edcConfig));
     }
 
     @Test
@@ -110,4 +114,45 @@ class EDCCatalogFacadeTest {
         verify(controlPlaneClient, times(1)).getCatalog(any(), anyInt());
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldServeRepeatedFilterRequestFromCache() {
+        // arrange
+        final String connectorUrl = "testConnector";
+        final var cachingFacade = new EDCCatalogFacade(controlPlaneClient, edcConfig,
+                new CatalogCache(10, Duration.ofMinutes(5), Clock.systemUTC()));
+        when(controlPlaneClient.getCatalogWithFilter(connectorUrl, NAMESPACE_EDC_ID, "testTarget0")).thenReturn(
+                createCatalog("testTarget", 1));
+
+        // act
+        cachingFacade.fetchCatalogByFilter(connectorUrl, NAMESPACE_EDC_ID, "testTarget0");
+        final List<CatalogItem> catalog = cachingFacade.fetchCatalogByFilter(connectorUrl, NAMESPACE_EDC_ID,
+                "testTarget0");
+
+        // assert
+        assertThat(catalog).extracting(CatalogItem::getAssetPropId).containsExactly("testTarget0");
+        verify(controlPlaneClient, times(1)).getCatalogWithFilter(any(), any(), any());
+    }
+
+    @Test
+    void shouldLookupAssetsInCompleteCatalog() {
+        // arrange
+        final String connectorUrl = "testConnector";
+        edcConfig.getControlplane().getCatalogCache().setCompleteCatalog(true);
+        final var cachingFacade = new EDCCatalogFacade(controlPlaneClient, edcConfig,
+                new CatalogCache(10, Duration.ofMinutes(5), Clock.systemUTC()));
+        when(controlPlaneClient.getCatalog(connectorUrl, 0)).thenReturn(createCatalog("testTarget", DEFAULT_PAGE_SIZE));
+        when(controlPlaneClient.getCatalog(connectorUrl, DEFAULT_PAGE_SIZE)).thenReturn(createCatalog("other", 1));
+
+        // act
+        final List<CatalogItem> first = cachingFacade.fetchCatalogByFilter(connectorUrl, NAMESPACE_EDC_ID,
+                "testTarget0");
+        final List<CatalogItem> second = cachingFacade.fetchCatalogByFilter(connectorUrl, NAMESPACE_EDC_ID, "other0");
+
+        // assert
+        assertThat(first).extracting(CatalogItem::getAssetPropId).containsExactly("testTarget0");
+        assertThat(second).extracting(CatalogItem::getAssetPropId).containsExactly("other0");
+        verify(controlPlaneClient, times(2)).getCatalog(any(), anyInt());
+        verify(controlPlaneClient, never()).getCatalogWithFilter(any(), any(), any());
+    }
+
+}
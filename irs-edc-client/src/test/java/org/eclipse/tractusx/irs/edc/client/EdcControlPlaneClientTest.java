@@ -33,6 +33,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
@@ -47,6 +49,7 @@ import jakarta.json.JsonObject;
 import org.assertj.core.api.Assertions;
 import org.eclipse.edc.catalog.spi.Catalog;
 import org.eclipse.edc.catalog.spi.CatalogRequest;
+import org.eclipse.edc.spi.query.QuerySpec;
 import org.eclipse.tractusx.irs.edc.client.model.NegotiationRequest;
 import org.eclipse.tractusx.irs.edc.client.model.NegotiationResponse;
 import org.eclipse.tractusx.irs.edc.client.model.NegotiationState;
@@ -233,4 +236,29 @@ class EdcControlPlaneClientTest {
         // assert
         assertThat(transferProcessResponse).isEqualTo(response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldQueryStatesOfNegotiationsInBatch() throws Exception {
+        // arrange
+        config.getControlplane().setStateQueryBatchSize(10);
+        config.getControlplane().setPollInterval(Duration.ofMillis(10));
+        final var finalized = NegotiationResponse.builder()
+                                                 .responseId("negotiationId")
+                                                 .contractAgreementId("testContractId")
+                                                 .state(STATUS_FINALIZED)
+                                                 .build();
+        doReturn(JsonObject.EMPTY_JSON_OBJECT).when(edcTransformer).transformQuerySpecToJson(any(QuerySpec.class));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(),
+                eq(NegotiationResponse[].class))).thenReturn(
+                ResponseEntity.of(Optional.of(new NegotiationResponse[] { finalized })));
+
+        // act
+        final var result = testee.getNegotiationResult(Response.builder().responseId("negotiationId").build());
+        final var pending = testee.getNegotiationResult(Response.builder().responseId("otherId").build());
+
+        // assert
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(finalized);
+        assertThat(pending).isNotDone();
+        verify(restTemplate, never()).exchange(anyString(), eq(HttpMethod.GET), any(), eq(NegotiationState.class));
+    }
+}
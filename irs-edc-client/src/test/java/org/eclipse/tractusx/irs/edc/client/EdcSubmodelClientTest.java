@@ -45,6 +45,7 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -60,10 +61,7 @@ import org.eclipse.tractusx.irs.component.Relationship;
 import org.eclipse.tractusx.irs.component.enums.BomLifecycle;
 import org.eclipse.tractusx.irs.component.enums.Direction;
 import org.eclipse.tractusx.irs.data.StringMapper;
-import org.eclipse.tractusx.irs.edc.client.exceptions.ContractNegotiationException;
 import org.eclipse.tractusx.irs.edc.client.exceptions.TimeoutException;
-import org.eclipse.tractusx.irs.edc.client.exceptions.TransferProcessException;
-import org.eclipse.tractusx.irs.edc.client.exceptions.UsagePolicyException;
 import org.eclipse.tractusx.irs.edc.client.model.CatalogItem;
 import org.eclipse.tractusx.irs.edc.client.model.NegotiationResponse;
 import org.eclipse.tractusx.irs.edc.client.model.notification.EdcNotification;
@@ -89,7 +87,7 @@ class EdcSubmodelClientTest extends LocalTestDataConfigurationAware {
     private final static String SUBMODEL_SUFIX = "/shells/{aasIdentifier}/submodels/{submodelIdentifier}/submodel";
 
     private final EndpointDataReferenceStorage endpointDataReferenceStorage = new EndpointDataReferenceStorage(
-            Duration.ofMinutes(1));
+            Duration.ofMinutes(1), Duration.ZERO);
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
     private final TimeMachine clock = new TimeMachine();
     private final AsyncPollingService pollingService = new AsyncPollingService(clock, scheduler);
@@ -128,8 +126,8 @@ class EdcSubmodelClientTest extends LocalTestDataConfigurationAware {
         // arrange
         when(catalogFacade.fetchCatalogByFilter(any(), any(), any())).thenReturn(
                 List.of(CatalogItem.builder().itemId("itemId").build()));
-        when(contractNegotiationService.negotiate(any(), any())).thenReturn(
-                NegotiationResponse.builder().contractAgreementId("agreementId").build());
+        when(contractNegotiationService.negotiate(any(), any())).thenReturn(CompletableFuture.completedFuture(
+                NegotiationResponse.builder().contractAgreementId("agreementId").build()));
         final EndpointDataReference ref = mock(EndpointDataReference.class);
         endpointDataReferenceStorage.put("agreementId", ref);
         final String singleLevelBomAsBuiltJson = readSingleLevelBomAsBuiltData();
@@ -149,8 +147,8 @@ class EdcSubmodelClientTest extends LocalTestDataConfigurationAware {
         final EdcNotification<NotificationContent> notification = EdcNotification.builder().build();
         when(catalogFacade.fetchCatalogByFilter(any(), any(), any())).thenReturn(
                 List.of(CatalogItem.builder().itemId("itemId").build()));
-        when(contractNegotiationService.negotiate(any(), any())).thenReturn(
-                NegotiationResponse.builder().contractAgreementId("agreementId").build());
+        when(contractNegotiationService.negotiate(any(), any())).thenReturn(CompletableFuture.completedFuture(
+                NegotiationResponse.builder().contractAgreementId("agreementId").build()));
         final EndpointDataReference ref = mock(EndpointDataReference.class);
         endpointDataReferenceStorage.put("agreementId", ref);
         when(edcDataPlaneClient.sendData(ref, notification)).thenReturn(() -> true);
@@ -169,12 +167,13 @@ class EdcSubmodelClientTest extends LocalTestDataConfigurationAware {
         // arrange
         when(catalogFacade.fetchCatalogByFilter(any(), any(), any())).thenReturn(
                 List.of(CatalogItem.builder().itemId("itemId").build()));
-        when(contractNegotiationService.negotiate(any(), any())).thenReturn(
-                NegotiationResponse.builder().contractAgreementId("agreementId").build());
+        when(contractNegotiationService.negotiate(any(), any())).thenReturn(CompletableFuture.completedFuture(
+                NegotiationResponse.builder().contractAgreementId("agreementId").build()));
+
+        config.getSubmodel().setRequestTtl(Duration.ofMillis(100));
 
         // act
         final var result = testee.getSubmodelRawPayload(ENDPOINT_ADDRESS, "suffix", "ID");
-        clock.travelToFuture(Duration.ofMinutes(20));
 
         // assert
         assertThatThrownBy(result::get).isInstanceOf(ExecutionException.class)
@@ -184,8 +183,8 @@ class EdcSubmodelClientTest extends LocalTestDataConfigurationAware {
     @Test
     void shouldThrowErrorWhenCatalogItemCouldNotBeFound() {
         // act & assert
-        assertThatThrownBy(
-                () -> testee.getSubmodelRawPayload(CONNECTOR_ENDPOINT, SUBMODEL_SUFIX, ASSET_ID)).isInstanceOf(
+        assertThatThrownBy(() -> testee.getSubmodelRawPayload(CONNECTOR_ENDPOINT, SUBMODEL_SUFIX, ASSET_ID)
+                                       .get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(
                 ItemNotFoundInCatalogException.class);
     }
 
@@ -334,8 +333,8 @@ class EdcSubmodelClientTest extends LocalTestDataConfigurationAware {
         final String filterValue = "filter-value";
         when(catalogFacade.fetchCatalogByFilter(any(), any(), any())).thenReturn(
                 List.of(CatalogItem.builder().itemId("asset-id").build()));
-        when(contractNegotiationService.negotiate(any(), any())).thenReturn(
-                NegotiationResponse.builder().contractAgreementId("agreementId").build());
+        when(contractNegotiationService.negotiate(any(), any())).thenReturn(CompletableFuture.completedFuture(
+                NegotiationResponse.builder().contractAgreementId("agreementId").build()));
         final EndpointDataReference expected = mock(EndpointDataReference.class);
         endpointDataReferenceStorage.put("agreementId", expected);
 
@@ -347,11 +346,41 @@ class EdcSubmodelClientTest extends LocalTestDataConfigurationAware {
         assertThat(actual).isEqualTo(expected);
     }
 
-    private void prepareTestdata(final String catenaXId, final String submodelDataSuffix)
-            throws ContractNegotiationException, IOException, UsagePolicyException, TransferProcessException {
+    @Test
+    void shouldWaitForNewEndpointReferenceAfterRejectedOneWasEvicted() throws Exception {
+        // arrange
+        when(catalogFacade.fetchCatalogByFilter(any(), any(), any())).thenReturn(
+                List.of(CatalogItem.builder().itemId("asset-id").build()));
+        when(contractNegotiationService.negotiate(any(), any())).thenReturn(CompletableFuture.completedFuture(
+                NegotiationResponse.builder().contractAgreementId("agreementId").build()));
+        final String authCode = EndpointDataReferenceStorageTest.authCode("agreementId",
+                Instant.now().plus(Duration.ofMinutes(10)));
+        final EndpointDataReference rejected = EndpointDataReference.Builder.newInstance()
+                                                                            .endpoint("rejected")
+                                                                            .authCode(authCode)
+                                                                            .build();
+        final EndpointDataReference renewed = EndpointDataReference.Builder.newInstance()
+                                                                           .endpoint("renewed")
+                                                                           .authCode(authCode)
+                                                                           .build();
+        endpointDataReferenceStorage.put("agreementId", rejected);
+        assertThat(testee.getEndpointReferenceForAsset(ENDPOINT_ADDRESS, "key", "value")
+                         .get(5, TimeUnit.SECONDS)).isEqualTo(rejected);
+
+        // act
+        testee.evictEndpointReference(rejected);
+        final var result = testee.getEndpointReferenceForAsset(ENDPOINT_ADDRESS, "key", "value");
+
+        // assert
+        assertThat(result).isNotDone();
+        endpointDataReferenceStorage.put("agreementId", renewed);
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(renewed);
+    }
+
+    private void prepareTestdata(final String catenaXId, final String submodelDataSuffix) throws IOException {
 
-        when(contractNegotiationService.negotiate(any(), any())).thenReturn(
-                NegotiationResponse.builder().contractAgreementId("agreementId").build());
+        when(contractNegotiationService.negotiate(any(), any())).thenReturn(CompletableFuture.completedFuture(
+                NegotiationResponse.builder().contractAgreementId("agreementId").build()));
         final EndpointDataReference ref = mock(EndpointDataReference.class);
         endpointDataReferenceStorage.put("agreementId", ref);
         final SubmodelTestdataCreator submodelTestdataCreator = new SubmodelTestdataCreator(
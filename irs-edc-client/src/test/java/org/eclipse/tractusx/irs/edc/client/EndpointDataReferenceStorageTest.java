@@ -0,0 +1,193 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.edc.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.edc.spi.types.domain.edr.EndpointDataReference;
+import org.eclipse.tractusx.irs.edc.client.exceptions.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+class EndpointDataReferenceStorageTest {
+
+    private static final Instant NOW = Instant.parse("2023-11-20T10:00:00Z");
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    private final Clock clock = mock(Clock.class);
+    private final EndpointDataReferenceStorage testee = new EndpointDataReferenceStorage(Duration.ofHours(1),
+            EXPIRY_MARGIN, clock);
+
+    /* package */
+    static String authCode(final String contractAgreementId, final Instant expiration) {
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        final String header = encoder.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(
+                StandardCharsets.UTF_8));
+        final String payload = encoder.encodeToString(
+                "{\"exp\":%d,\"dad\":\"test\",\"cid\":\"%s\"}".formatted(expiration.getEpochSecond(),
+                        contractAgreementId).getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".signature";
+    }
+
+    private static EndpointDataReference dataReference(final Instant expiration) {
+        return EndpointDataReference.Builder.newInstance()
+                                            .endpoint("test")
+                                            .authKey("Authorization")
+                                            .authCode(authCode("agreementId", expiration))
+                                            .build();
+    }
+
+    @Test
+    void shouldReuseReferenceUntilTokenExpires() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final EndpointDataReference reference = dataReference(NOW.plus(Duration.ofMinutes(10)));
+        testee.put("agreementId", reference);
+
+        // act & assert
+        assertThat(testee.get("agreementId")).contains(reference);
+        assertThat(testee.get("agreementId")).contains(reference);
+    }
+
+    @Test
+    void shouldNotReturnReferenceShortlyBeforeTokenExpires() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        testee.put("agreementId", dataReference(NOW.plus(Duration.ofMinutes(10))));
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(10)).minus(EXPIRY_MARGIN));
+
+        // act & assert
+        assertThat(testee.get("agreementId")).isEmpty();
+    }
+
+    @Test
+    void shouldExpireReferenceWithoutTokenAfterStorageDuration() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final EndpointDataReference reference = EndpointDataReference.Builder.newInstance().endpoint("test").build();
+        testee.put("agreementId", reference);
+
+        // act & assert
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(50)));
+        assertThat(testee.get("agreementId")).contains(reference);
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofHours(1)));
+        assertThat(testee.get("agreementId")).isEmpty();
+    }
+
+    @Test
+    void shouldRemoveRejectedReference() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final EndpointDataReference reference = dataReference(NOW.plus(Duration.ofMinutes(10)));
+        testee.put("agreementId", reference);
+
+        // act
+        testee.remove("agreementId", reference);
+
+        // assert
+        assertThat(testee.get("agreementId")).isEmpty();
+    }
+
+    @Test
+    void shouldKeepNewerReferenceWhenRemovingRejectedReference() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final EndpointDataReference rejected = dataReference(NOW.plus(Duration.ofMinutes(10)));
+        final EndpointDataReference renewed = dataReference(NOW.plus(Duration.ofMinutes(20)));
+        testee.put("agreementId", rejected);
+        testee.put("agreementId", renewed);
+
+        // act
+        testee.remove("agreementId", rejected);
+
+        // assert
+        assertThat(testee.get("agreementId")).contains(renewed);
+    }
+
+    @Test
+    void shouldCompleteWaitingRequestWhenReferenceArrives() throws Exception {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final EndpointDataReference reference = dataReference(NOW.plus(Duration.ofMinutes(10)));
+        final var result = testee.awaitReference("agreementId", Duration.ofMinutes(1));
+
+        // act
+        testee.put("agreementId", reference);
+
+        // assert
+        assertThat(result.get()).isEqualTo(reference);
+    }
+
+    @Test
+    void shouldRecordTimeWaitedForReference() throws Exception {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final var result = testee.awaitReference("agreementId", Duration.ofMinutes(1));
+        when(clock.instant()).thenReturn(NOW.plusSeconds(2));
+
+        // act
+        testee.put("agreementId", dataReference(NOW.plus(Duration.ofMinutes(10))));
+        result.get();
+
+        // assert
+        assertThat(testee.getReferenceWaits().getCount()).isEqualTo(1);
+        assertThat(testee.getReferenceWaits().getTotalTimeMillis()).isEqualTo(2000);
+    }
+
+    @Test
+    void shouldCompleteImmediatelyWhenReferenceIsAlreadyStored() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final EndpointDataReference reference = dataReference(NOW.plus(Duration.ofMinutes(10)));
+        testee.put("agreementId", reference);
+
+        // act
+        final var result = testee.awaitReference("agreementId", Duration.ofMinutes(1));
+
+        // assert
+        assertThat(result).isCompletedWithValue(reference);
+    }
+
+    @Test
+    void shouldTimeOutWhenNoReferenceArrives() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+
+        // act
+        final var result = testee.awaitReference("agreementId", Duration.ofMillis(50));
+
+        // assert
+        assertThatThrownBy(result::get).isInstanceOf(ExecutionException.class)
+                                       .hasCauseInstanceOf(TimeoutException.class);
+    }
+}
@@ -58,7 +58,6 @@ import org.eclipse.tractusx.irs.edc.client.exceptions.UsagePolicyException;
 import org.eclipse.tractusx.irs.edc.client.policy.AcceptedPoliciesProvider;
 import org.eclipse.tractusx.irs.edc.client.policy.AcceptedPolicy;
 import org.eclipse.tractusx.irs.edc.client.policy.Constraint;
-import org.eclipse.tractusx.irs.edc.client.policy.ConstraintCheckerService;
 import org.eclipse.tractusx.irs.edc.client.policy.Constraints;
 import org.eclipse.tractusx.irs.edc.client.policy.OperatorType;
 import org.eclipse.tractusx.irs.edc.client.policy.Permission;
@@ -78,7 +77,8 @@ class SubmodelFacadeWiremockTest {
     private final static String submodelDataplanePath = "/api/public/shells/12345/submodels/5678/submodel";
     private final static String assetId = "12345";
     private final EdcConfiguration config = new EdcConfiguration();
-    private final EndpointDataReferenceStorage storage = new EndpointDataReferenceStorage(Duration.ofMinutes(1));
+    private final EndpointDataReferenceStorage storage = new EndpointDataReferenceStorage(Duration.ofMinutes(1),
+            Duration.ZERO);
     private WireMockServer wireMockServer;
     private EdcSubmodelClient edcSubmodelClient;
     private AcceptedPoliciesProvider acceptedPoliciesProvider;
@@ -115,7 +115,8 @@ class SubmodelFacadeWiremockTest {
                 createEdcTransformer());
         final EdcDataPlaneClient dataPlaneClient = new EdcDataPlaneClient(restTemplate);
 
-        final EDCCatalogFacade catalogFacade = new EDCCatalogFacade(controlPlaneClient, config);
+        final EDCCatalogFacade catalogFacade = new EDCCatalogFacade(controlPlaneClient, config,
+                new CatalogCache(config));
 
         acceptedPoliciesProvider = mock(AcceptedPoliciesProvider.class);
         when(acceptedPoliciesProvider.getAcceptedPolicies()).thenReturn(List.of(new AcceptedPolicy(policy("IRS Policy",
@@ -123,10 +124,9 @@ class SubmodelFacadeWiremockTest {
                         List.of(new Constraint("Membership", OperatorType.EQ, List.of("active")),
                                 new Constraint("FrameworkAgreement.traceability", OperatorType.EQ, List.of("active"))),
                         new ArrayList<>()))))), OffsetDateTime.now().plusYears(1))));
-        final PolicyCheckerService policyCheckerService = new PolicyCheckerService(acceptedPoliciesProvider,
-                new ConstraintCheckerService());
+        final PolicyCheckerService policyCheckerService = new PolicyCheckerService(acceptedPoliciesProvider, config);
         final ContractNegotiationService contractNegotiationService = new ContractNegotiationService(controlPlaneClient,
-                policyCheckerService, config);
+                policyCheckerService, config, new ContractAgreementCache(config), storage, pollingService);
 
         final RetryRegistry retryRegistry = RetryRegistry.ofDefaults();
         this.edcSubmodelClient = new EdcSubmodelClientImpl(config, contractNegotiationService, dataPlaneClient, storage,
@@ -68,12 +68,14 @@ class SubmodelExponentialRetryTest {
         final EdcControlPlaneClient controlPlaneClient = new EdcControlPlaneClient(restTemplate, pollingService, config,
                 createEdcTransformer());
 
-        final EDCCatalogFacade catalogFacade = new EDCCatalogFacade(controlPlaneClient, config);
+        final EDCCatalogFacade catalogFacade = new EDCCatalogFacade(controlPlaneClient, config,
+                new CatalogCache(config));
 
+        final EndpointDataReferenceStorage storage = new EndpointDataReferenceStorage(Duration.ofMinutes(1),
+                Duration.ZERO);
         final ContractNegotiationService negotiationService = new ContractNegotiationService(controlPlaneClient,
-                policyCheckerService, config);
+                policyCheckerService, config, new ContractAgreementCache(config), storage, pollingService);
         final EdcDataPlaneClient dataPlaneClient = new EdcDataPlaneClient(restTemplate);
-        final EndpointDataReferenceStorage storage = new EndpointDataReferenceStorage(Duration.ofMinutes(1));
 
         final EdcSubmodelClient client = new EdcSubmodelClientImpl(config, negotiationService, dataPlaneClient, storage,
                 pollingService, retryRegistry, catalogFacade);
@@ -24,183 +24,168 @@
 package org.eclipse.tractusx.irs.edc.client.policy;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.tractusx.irs.edc.client.testutil.TestMother.createAndConstraintPolicy;
 import static org.eclipse.tractusx.irs.edc.client.testutil.TestMother.createAtomicConstraint;
+import static org.eclipse.tractusx.irs.edc.client.testutil.TestMother.createAtomicConstraintPolicy;
+import static org.eclipse.tractusx.irs.edc.client.testutil.TestMother.createOrConstraintPolicy;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.eclipse.edc.policy.model.AndConstraint;
-import org.eclipse.edc.policy.model.AtomicConstraint;
-import org.eclipse.edc.policy.model.OrConstraint;
 import org.eclipse.tractusx.irs.edc.client.testutil.TestConstants;
 import org.junit.jupiter.api.Test;
 
-class ConstraintCheckerServiceTest {
+class AcceptedPoliciesMatcherTest {
 
-    ConstraintCheckerService cut = new ConstraintCheckerService();
+    private final OffsetDateTime now = OffsetDateTime.now();
 
     @Test
     void shouldAcceptSimpleAtomicConstraint() {
-        final Policy acceptedPolicy = createPolicyWithAndConstraint(
+        final AcceptedPoliciesMatcher matcher = matcherWithAndConstraint(
                 List.of(new Operand(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
-        final AtomicConstraint simpleAtomicConstraint = createAtomicConstraint(TestConstants.PURPOSE,
-                TestConstants.ID_3_1_TRACE);
 
-        boolean result = cut.hasAllConstraint(acceptedPolicy, List.of(simpleAtomicConstraint));
+        boolean result = matcher.isAccepted(
+                createAtomicConstraintPolicy(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE), now);
 
         assertThat(result).isTrue();
     }
 
     @Test
     void shouldNotAcceptWrongLeftOperandAtomicConstraint() {
-        final Policy acceptedPolicy = createPolicyWithAndConstraint(
+        final AcceptedPoliciesMatcher matcher = matcherWithAndConstraint(
                 List.of(new Operand(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
         final String unknownLeftExpression = "wrongLeft";
-        final AtomicConstraint simpleAtomicConstraint = createAtomicConstraint(unknownLeftExpression,
-                TestConstants.ID_3_1_TRACE);
 
-        boolean result = cut.hasAllConstraint(acceptedPolicy, List.of(simpleAtomicConstraint));
+        boolean result = matcher.isAccepted(
+                createAtomicConstraintPolicy(unknownLeftExpression, TestConstants.ID_3_1_TRACE), now);
 
         assertThat(result).isFalse();
     }
 
     @Test
     void shouldNotAcceptWrongRightOperandAtomicConstraint() {
-        final Policy acceptedPolicy = createPolicyWithAndConstraint(
+        final AcceptedPoliciesMatcher matcher = matcherWithAndConstraint(
                 List.of(new Operand(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
         final String unknownRightExpression = "ID 3.1 Trace Wrong";
-        final AtomicConstraint simpleAtomicConstraint = createAtomicConstraint(TestConstants.PURPOSE,
-                unknownRightExpression);
 
-        boolean result = cut.hasAllConstraint(acceptedPolicy, List.of(simpleAtomicConstraint));
+        boolean result = matcher.isAccepted(
+                createAtomicConstraintPolicy(TestConstants.PURPOSE, unknownRightExpression), now);
 
         assertThat(result).isFalse();
     }
 
     @Test
     void shouldAcceptAndConstraint() {
-        final AndConstraint andConstraint = createAndConstraint(
-                List.of(createAtomicConstraint(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
-                                TestConstants.STATUS_ACTIVE),
-                        createAtomicConstraint(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE),
-                        createAtomicConstraint(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
-
-        final Policy acceptedPolicy = createPolicyWithAndConstraint(
+        final AcceptedPoliciesMatcher matcher = matcherWithAndConstraint(
                 List.of(new Operand(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY, TestConstants.STATUS_ACTIVE),
                         new Operand(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE),
                         new Operand(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
 
-        boolean result = cut.hasAllConstraint(acceptedPolicy, List.of(andConstraint));
+        boolean result = matcher.isAccepted(createAndConstraintPolicy(
+                List.of(createAtomicConstraint(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
+                                TestConstants.STATUS_ACTIVE),
+                        createAtomicConstraint(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE),
+                        createAtomicConstraint(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE))), now);
 
         assertThat(result).isTrue();
     }
 
     @Test
     void shouldNotAcceptAndConstraintWithOneLessElement() {
-        final AndConstraint andConstraint = createAndConstraint(
-                List.of(createAtomicConstraint(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
-                                TestConstants.STATUS_ACTIVE),
-                        createAtomicConstraint(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE),
-                        createAtomicConstraint(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
-
-        final Policy acceptedPolicy = createPolicyWithAndConstraint(
+        final AcceptedPoliciesMatcher matcher = matcherWithAndConstraint(
                 List.of(new Operand(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY, TestConstants.STATUS_ACTIVE),
                         new Operand(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
 
-        boolean result = cut.hasAllConstraint(acceptedPolicy, List.of(andConstraint));
+        boolean result = matcher.isAccepted(createAndConstraintPolicy(
+                List.of(createAtomicConstraint(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
+                                TestConstants.STATUS_ACTIVE),
+                        createAtomicConstraint(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE),
+                        createAtomicConstraint(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE))), now);
 
         assertThat(result).isFalse();
     }
 
     @Test
     void shouldRejectAndConstraintWhenOneIsDifferent() {
-        final AndConstraint andConstraint = createAndConstraint(
-                List.of(createAtomicConstraint(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
-                                TestConstants.STATUS_ACTIVE),
-                        createAtomicConstraint(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE),
-                        createAtomicConstraint(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
-
         final String unknownLeftExpression = "Ship";
-        final Policy acceptedPolicy = createPolicyWithAndConstraint(
+        final AcceptedPoliciesMatcher matcher = matcherWithAndConstraint(
                 List.of(new Operand(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY, TestConstants.STATUS_ACTIVE),
                         new Operand(unknownLeftExpression, TestConstants.STATUS_ACTIVE),
                         new Operand(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
 
-        boolean result = cut.hasAllConstraint(acceptedPolicy, List.of(andConstraint));
+        boolean result = matcher.isAccepted(createAndConstraintPolicy(
+                List.of(createAtomicConstraint(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
+                                TestConstants.STATUS_ACTIVE),
+                        createAtomicConstraint(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE),
+                        createAtomicConstraint(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE))), now);
 
         assertThat(result).isFalse();
     }
 
     @Test
     void shouldAcceptOrConstraint() {
-        final OrConstraint orConstraint = createOrConstraint(
-                List.of(createAtomicConstraint(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
-                                TestConstants.STATUS_ACTIVE),
-                        createAtomicConstraint(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE)));
-
-        final Policy acceptedPolicy = createPolicyWithOrConstraint(
+        final AcceptedPoliciesMatcher matcher = matcherWithOrConstraint(
                 List.of(new Operand(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY, TestConstants.STATUS_ACTIVE),
                         new Operand(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE),
                         new Operand(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
 
-        boolean result = cut.hasAllConstraint(acceptedPolicy, List.of(orConstraint));
+        boolean result = matcher.isAccepted(createOrConstraintPolicy(
+                List.of(createAtomicConstraint(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
+                                TestConstants.STATUS_ACTIVE),
+                        createAtomicConstraint(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE))), now);
 
         assertThat(result).isTrue();
     }
 
     @Test
     void shouldRejectOrConstraintIfAnyMatch() {
-        final OrConstraint orConstraint = createOrConstraint(
-                List.of(createAtomicConstraint(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
-                                TestConstants.STATUS_ACTIVE),
-                        createAtomicConstraint(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE)));
-
         final String unknownLeftExpression = "Ship";
-        final Policy acceptedPolicy = createPolicyWithOrConstraint(
+        final AcceptedPoliciesMatcher matcher = matcherWithOrConstraint(
                 List.of(new Operand(unknownLeftExpression, TestConstants.STATUS_ACTIVE),
                         new Operand(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
 
-        boolean result = cut.hasAllConstraint(acceptedPolicy, List.of(orConstraint));
+        boolean result = matcher.isAccepted(createOrConstraintPolicy(
+                List.of(createAtomicConstraint(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
+                                TestConstants.STATUS_ACTIVE),
+                        createAtomicConstraint(TestConstants.MEMBERSHIP, TestConstants.STATUS_ACTIVE))), now);
 
         assertThat(result).isFalse();
     }
 
-    private Policy createPolicyWithAndConstraint(List<Operand> operands) {
-        List<Constraint> and = operands.stream()
-                                       .map(operand -> new Constraint(operand.left, OperatorType.EQ,
-                                               List.of(operand.right)))
-                                       .toList();
-        Constraints constraints = new Constraints(and, new ArrayList<>());
-        return createPolicyWithConstraint(constraints);
+    @Test
+    void shouldIgnoreAcceptedPolicyWhichIsNoLongerValid() {
+        final AcceptedPoliciesMatcher matcher = matcherWithAndConstraint(
+                List.of(new Operand(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE)));
+
+        boolean result = matcher.isAccepted(
+                createAtomicConstraintPolicy(TestConstants.PURPOSE, TestConstants.ID_3_1_TRACE), now.plusYears(2));
+
+        assertThat(result).isFalse();
     }
 
-    private Policy createPolicyWithOrConstraint(List<Operand> operands) {
-        List<Constraint> or = operands.stream()
-                                      .map(operand -> new Constraint(operand.left, OperatorType.EQ,
-                                              List.of(operand.right)))
-                                      .toList();
-        Constraints constraints = new Constraints(new ArrayList<>(), or);
-        return createPolicyWithConstraint(constraints);
+    private AcceptedPoliciesMatcher matcherWithAndConstraint(List<Operand> operands) {
+        return matcherWithConstraints(new Constraints(toConstraints(operands), new ArrayList<>()));
     }
 
-    private Policy createPolicyWithConstraint(Constraints constraints) {
-        List<Constraints> constraintsList = List.of(constraints);
-        Permission permission = new Permission(PolicyType.ACCESS, constraintsList);
-        List<Permission> permissions = List.of(permission);
-        final String policyId = "policyId";
-        return new Policy(policyId, OffsetDateTime.now(), OffsetDateTime.now().plusYears(1), permissions);
+    private AcceptedPoliciesMatcher matcherWithOrConstraint(List<Operand> operands) {
+        return matcherWithConstraints(new Constraints(new ArrayList<>(), toConstraints(operands)));
     }
 
-    public AndConstraint createAndConstraint(final List<org.eclipse.edc.policy.model.Constraint> constraints) {
-        return AndConstraint.Builder.newInstance().constraints(constraints).build();
+    private static List<Constraint> toConstraints(List<Operand> operands) {
+        return operands.stream()
+                       .map(operand -> new Constraint(operand.left, OperatorType.EQ, List.of(operand.right)))
+                       .toList();
     }
 
-    public OrConstraint createOrConstraint(final List<org.eclipse.edc.policy.model.Constraint> constraints) {
-        return OrConstraint.Builder.newInstance().constraints(constraints).build();
+    private AcceptedPoliciesMatcher matcherWithConstraints(Constraints constraints) {
+        Permission permission = new Permission(PolicyType.ACCESS, List.of(constraints));
+        final OffsetDateTime validUntil = now.plusYears(1);
+        final Policy policy = new Policy("policyId", now, validUntil, List.of(permission));
+        return AcceptedPoliciesMatcher.compile(List.of(new AcceptedPolicy(policy, validUntil)));
     }
 
     private record Operand(String left, String right) {
     }
 
-}
\ No newline at end of file
+}
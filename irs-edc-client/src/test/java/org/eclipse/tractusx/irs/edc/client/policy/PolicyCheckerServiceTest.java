@@ -29,8 +29,12 @@ import static org.eclipse.tractusx.irs.edc.client.testutil.TestMother.createAtom
 import static org.eclipse.tractusx.irs.edc.client.testutil.TestMother.createAtomicConstraintPolicy;
 import static org.eclipse.tractusx.irs.edc.client.testutil.TestMother.createOrConstraintPolicy;
 import static org.eclipse.tractusx.irs.edc.client.testutil.TestMother.createXOneConstraintPolicy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -57,7 +61,7 @@ class PolicyCheckerServiceTest {
                 new AcceptedPolicy(policy(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY),
                         OffsetDateTime.now().plusYears(1)));
         when(policyStore.getAcceptedPolicies()).thenReturn(policyList);
-        policyCheckerService = new PolicyCheckerService(policyStore, new ConstraintCheckerService());
+        policyCheckerService = new PolicyCheckerService(policyStore, Duration.ofMinutes(1), Clock.systemUTC());
     }
 
     @Test
@@ -268,6 +272,38 @@ class PolicyCheckerServiceTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    void shouldReadAcceptedPoliciesOnceWhileTheyAreNotChanged() {
+        // given
+        Policy policy = createAtomicConstraintPolicy(TestConstants.PURPOSE, TestConstants.ID_3_0_TRACE);
+
+        // when
+        policyCheckerService.isValid(policy);
+        policyCheckerService.isValid(policy);
+
+        // then
+        verify(policyStore, times(1)).getAcceptedPolicies();
+    }
+
+    @Test
+    void shouldReadAcceptedPoliciesAgainWhenTheyHaveChanged() {
+        // given
+        Policy policy = createAtomicConstraintPolicy(TestConstants.FRAMEWORK_AGREEMENT_TRACEABILITY,
+                TestConstants.STATUS_ACTIVE);
+        final boolean resultBeforeChange = policyCheckerService.isValid(policy);
+        when(policyStore.getAcceptedPolicies()).thenReturn(
+                List.of(new AcceptedPolicy(policy("*"), OffsetDateTime.now().plusYears(1))));
+
+        // when
+        policyCheckerService.invalidate();
+        final boolean result = policyCheckerService.isValid(policy);
+
+        // then
+        assertThat(resultBeforeChange).isFalse();
+        assertThat(result).isTrue();
+        verify(policyStore, times(2)).getAcceptedPolicies();
+    }
+
     private org.eclipse.tractusx.irs.edc.client.policy.Policy policy(final String policyId) {
         return new org.eclipse.tractusx.irs.edc.client.policy.Policy(policyId, OffsetDateTime.now(),
                 OffsetDateTime.now().plusYears(1), Collections.emptyList());
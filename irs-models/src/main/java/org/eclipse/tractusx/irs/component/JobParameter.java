@@ -75,6 +75,9 @@ public class JobParameter {
     @Schema(implementation = String.class, example = "https://hostname.com/callback?id={id}&state={state}")
     private String callbackUrl;
 
+    @Schema(implementation = Integer.class, example = "3600")
+    private Integer cacheMaxAge;
+
     public static JobParameter create(final @NonNull RegisterJob request) {
         final BomLifecycle bomLifecycle = Optional.ofNullable(request.getBomLifecycle()).orElse(BomLifecycle.AS_BUILT);
         final List<String> aspectTypeValues = Optional.ofNullable(request.getAspects())
@@ -92,6 +95,7 @@ public class JobParameter {
                            .collectAspects(request.isCollectAspects())
                            .lookupBPNs(request.isLookupBPNs())
                            .callbackUrl(request.getCallbackUrl())
+                           .cacheMaxAge(request.getCacheMaxAge())
                            .build();
     }
 
@@ -86,6 +86,10 @@ public class RegisterJob {
             example = "https://hostname.com/callback?id={id}&state={state}")
     private String callbackUrl;
 
+    @Schema(implementation = Integer.class, minimum = "0", description = "Maximum age in seconds of cached item data which may be reused for this job. If not set, all items are requested from the data providers.")
+    @Min(0)
+    private Integer cacheMaxAge;
+
     /**
      * Returns requested depth if provided, otherwise MAX_TREE_DEPTH value
      *
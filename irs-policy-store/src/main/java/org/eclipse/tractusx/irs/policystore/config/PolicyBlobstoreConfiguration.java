@@ -23,6 +23,8 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.policystore.config;
 
+import java.time.Duration;
+
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -41,4 +43,5 @@ public class PolicyBlobstoreConfiguration {
     private String secretKey;
     private String bucketName;
     private int daysToLive;
+    private Duration cacheRevalidationInterval = Duration.ofSeconds(10);
 }
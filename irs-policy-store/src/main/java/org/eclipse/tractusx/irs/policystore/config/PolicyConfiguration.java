@@ -41,7 +41,9 @@ public class PolicyConfiguration {
     @Profile("!test")
     @Bean(POLICY_BLOB_PERSISTENCE)
     public BlobPersistence blobStore(final PolicyBlobstoreConfiguration config) throws BlobPersistenceException {
-        return new MinioBlobPersistence(config.getEndpoint(), config.getAccessKey(), config.getSecretKey(),
+        final MinioBlobPersistence blobPersistence = new MinioBlobPersistence(config.getEndpoint(), config.getAccessKey(), config.getSecretKey(),
                 config.getBucketName(), config.getDaysToLive());
+        blobPersistence.verifyConditionalWrites();
+        return blobPersistence;
     }
 }
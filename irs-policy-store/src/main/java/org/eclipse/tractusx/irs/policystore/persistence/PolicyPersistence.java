@@ -26,16 +26,27 @@ package org.eclipse.tractusx.irs.policystore.persistence;
 import static org.eclipse.tractusx.irs.policystore.config.PolicyConfiguration.POLICY_BLOB_PERSISTENCE;
 
 import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.irs.common.persistence.BlobPersistence;
 import org.eclipse.tractusx.irs.common.persistence.BlobPersistenceException;
+import org.eclipse.tractusx.irs.common.persistence.VersionedBlob;
+import org.eclipse.tractusx.irs.policystore.config.PolicyBlobstoreConfiguration;
 import org.eclipse.tractusx.irs.policystore.exceptions.PolicyStoreException;
 import org.eclipse.tractusx.irs.edc.client.policy.Policy;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -43,14 +54,29 @@ import org.springframework.stereotype.Service;
 
 /**
  * Persists and loads the policy data from the BLOB storage.
+ * The policies of each BPN are kept in memory together with the version of their blob. After the revalidation
+ * interval, only the version is requested from the storage and the policies are loaded again if it has changed,
+ * e.g. by another IRS instance. Modifications are stored only if the blob has not been changed meanwhile.
  */
+@Slf4j
 @Service
 public class PolicyPersistence {
 
+    /**
+     * How often a modification is retried if the policies have been changed concurrently.
+     */
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
     private final BlobPersistence policyStorePersistence;
 
     private final ObjectMapper mapper;
 
+    private final Duration revalidationInterval;
+
+    private final Clock clock;
+
+    private final Map<String, CachedPolicies> cache = new ConcurrentHashMap<>();
+
     /**
      * The timeout in milliseconds to try to acquire locks.
      */
@@ -61,66 +87,125 @@ public class PolicyPersistence {
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     public PolicyPersistence(@Qualifier(POLICY_BLOB_PERSISTENCE) final BlobPersistence policyStorePersistence,
-            final ObjectMapper mapper) {
+            final ObjectMapper mapper, final PolicyBlobstoreConfiguration config, final Clock clock) {
         this.policyStorePersistence = policyStorePersistence;
         this.mapper = mapper;
+        this.revalidationInterval = config.getCacheRevalidationInterval();
+        this.clock = clock;
     }
 
     public void save(final String bpn, final Policy policy) {
-        final var policies = readAll(bpn);
-        if (policies.stream().map(Policy::getPolicyId).anyMatch(policy.getPolicyId()::equals)) {
-            throw new PolicyStoreException("Policy with id '" + policy.getPolicyId() + "' already exists!");
-        }
-        policies.add(policy);
-        save(bpn, policies);
+        modify(bpn, policies -> {
+            if (policies.stream().map(Policy::getPolicyId).anyMatch(policy.getPolicyId()::equals)) {
+                throw new PolicyStoreException("Policy with id '" + policy.getPolicyId() + "' already exists!");
+            }
+            final List<Policy> modifiedPolicies = new ArrayList<>(policies);
+            modifiedPolicies.add(policy);
+            return modifiedPolicies;
+        });
     }
 
     public void delete(final String bpn, final String policyId) {
-        final var policies = readAll(bpn);
-        final var modifiedPolicies = policies.stream().filter(p -> !p.getPolicyId().equals(policyId)).toList();
-        if (policies.size() == modifiedPolicies.size()) {
-            throw new PolicyStoreException("Policy with id '" + policyId + "' doesn't exists!");
-        }
-        save(bpn, modifiedPolicies);
+        modify(bpn, policies -> {
+            final var modifiedPolicies = policies.stream().filter(p -> !p.getPolicyId().equals(policyId)).toList();
+            if (policies.size() == modifiedPolicies.size()) {
+                throw new PolicyStoreException("Policy with id '" + policyId + "' doesn't exists!");
+            }
+            return modifiedPolicies;
+        });
     }
 
     public void update(final String bpn, final String policyId, final OffsetDateTime validUntil) {
-        final var policies = readAll(bpn);
-        final Policy policy = policies.stream()
-                                      .filter(p -> p.getPolicyId().equals(policyId))
-                                      .findFirst()
-                                      .orElseThrow(() -> new PolicyStoreException(
-                                              "Policy with id '" + policyId + "' doesn't exists!"));
-
-        policy.update(validUntil);
-        save(bpn, policies);
+        modify(bpn, policies -> {
+            if (policies.stream().noneMatch(p -> p.getPolicyId().equals(policyId))) {
+                throw new PolicyStoreException("Policy with id '" + policyId + "' doesn't exists!");
+            }
+            // the cached policies are shared with readers, so the updated policy is replaced by a copy
+            return policies.stream()
+                           .map(p -> p.getPolicyId().equals(policyId) ? new Policy(p.getPolicyId(),
+                                   p.getCreatedOn(), validUntil, p.getPermissions()) : p)
+                           .toList();
+        });
+    }
+
+    public List<Policy> readAll(final String bpn) {
+        return new ArrayList<>(read(bpn).policies());
     }
 
-    private void save(final String bpn, final List<Policy> modifiedPolicies) {
+    private void modify(final String bpn, final UnaryOperator<List<Policy>> modification) {
         writeLock(() -> {
-            try {
-                policyStorePersistence.putBlob(bpn, mapper.writeValueAsBytes(modifiedPolicies));
-            } catch (BlobPersistenceException | JsonProcessingException e) {
-                throw new PolicyStoreException("Unable to store policy data", e);
+            CachedPolicies current = read(bpn);
+            for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+                final List<Policy> modifiedPolicies = List.copyOf(modification.apply(current.policies()));
+                final Optional<String> version = save(bpn, modifiedPolicies, current.version());
+                if (version.isPresent()) {
+                    cache.put(bpn, new CachedPolicies(modifiedPolicies, version.get(), clock.instant()));
+                    return;
+                }
+                log.info("Policies of BPN {} have been modified concurrently, reloading them", bpn);
+                current = load(bpn);
             }
+            throw new PolicyStoreException("Policies have been modified concurrently, please try again");
         });
     }
 
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    public List<Policy> readAll(final String bpn) {
+    private Optional<String> save(final String bpn, final List<Policy> modifiedPolicies,
+            final String expectedVersion) {
         try {
-            return policyStorePersistence.getBlob(bpn).map(blob -> {
-                try {
-                    return mapper.readerForListOf(Policy.class).<List<Policy>>readValue(blob);
-                } catch (IOException | RuntimeException e) {
-                    throw new PolicyStoreException("Could not read the policies from the store", e);
-                }
-            }).map(ArrayList::new).orElseGet(ArrayList::new);
+            return policyStorePersistence.putBlobIfMatches(bpn, mapper.writeValueAsBytes(modifiedPolicies),
+                    expectedVersion);
+        } catch (BlobPersistenceException | JsonProcessingException e) {
+            throw new PolicyStoreException("Unable to store policy data", e);
+        }
+    }
+
+    private CachedPolicies read(final String bpn) {
+        final CachedPolicies cached = cache.get(bpn);
+        if (cached == null) {
+            return load(bpn);
+        }
+        final Instant now = clock.instant();
+        if (cached.validatedAt().plus(revalidationInterval).isAfter(now)) {
+            return cached;
+        }
+
+        if (Objects.equals(cached.version(), readVersion(bpn))) {
+            final CachedPolicies revalidated = new CachedPolicies(cached.policies(), cached.version(), now);
+            cache.replace(bpn, cached, revalidated);
+            return revalidated;
+        }
+        log.debug("Policies of BPN {} have been changed in the store, reloading them", bpn);
+        return load(bpn);
+    }
+
+    private String readVersion(final String bpn) {
+        try {
+            return policyStorePersistence.getBlobVersion(bpn).orElse(null);
+        } catch (BlobPersistenceException e) {
+            throw new PolicyStoreException("Unable to read policy data", e);
+        }
+    }
 
+    private CachedPolicies load(final String bpn) {
+        try {
+            final Optional<VersionedBlob> blob = policyStorePersistence.getVersionedBlob(bpn);
+            final List<Policy> policies = blob.map(VersionedBlob::getBlob).map(this::parse).orElseGet(List::of);
+            final CachedPolicies loaded = new CachedPolicies(policies, blob.map(VersionedBlob::getVersion).orElse(null),
+                    clock.instant());
+            cache.put(bpn, loaded);
+            return loaded;
         } catch (BlobPersistenceException e) {
             throw new PolicyStoreException("Unable to read policy data", e);
         }
+    }
 
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private List<Policy> parse(final byte[] blob) {
+        try {
+            return List.copyOf(mapper.readerForListOf(Policy.class).<List<Policy>>readValue(blob));
+        } catch (IOException | RuntimeException e) {
+            throw new PolicyStoreException("Could not read the policies from the store", e);
+        }
     }
 
     private void writeLock(final Runnable work) {
@@ -138,4 +223,14 @@ public class PolicyPersistence {
             throw new PolicyStoreException("Interrupted while storing policy data", e);
         }
     }
+
+    /**
+     * The policies of a BPN as read from the storage.
+     *
+     * @param policies    the stored policies
+     * @param version     the version of the blob, null if no policies are stored
+     * @param validatedAt the time the version has been checked last
+     */
+    private record CachedPolicies(List<Policy> policies, String version, Instant validatedAt) {
+    }
 }
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.tractusx.irs.edc.client.policy.AcceptedPoliciesChangedEvent;
 import org.eclipse.tractusx.irs.edc.client.policy.AcceptedPoliciesProvider;
 import org.eclipse.tractusx.irs.edc.client.policy.AcceptedPolicy;
 import org.eclipse.tractusx.irs.edc.client.policy.Constraint;
@@ -43,6 +44,7 @@ import org.eclipse.tractusx.irs.policystore.models.CreatePolicyRequest;
 import org.eclipse.tractusx.irs.policystore.models.UpdatePolicyRequest;
 import org.eclipse.tractusx.irs.policystore.persistence.PolicyPersistence;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -59,16 +61,18 @@ public class PolicyStoreService implements AcceptedPoliciesProvider {
     private final Clock clock;
     private final List<Policy> allowedPoliciesFromConfig;
     private final PolicyPersistence persistence;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PolicyStoreService(@Value("${apiAllowedBpn:}") final String apiAllowedBpn,
             final DefaultAcceptedPoliciesConfig defaultAcceptedPoliciesConfig, final PolicyPersistence persistence,
-            final Clock clock) {
+            final Clock clock, final ApplicationEventPublisher eventPublisher) {
         this.apiAllowedBpn = apiAllowedBpn;
 
         this.allowedPoliciesFromConfig = createDefaultPolicyFromConfig(defaultAcceptedPoliciesConfig);
 
         this.persistence = persistence;
         this.clock = clock;
+        this.eventPublisher = eventPublisher;
     }
 
     public void registerPolicy(final CreatePolicyRequest request) {
@@ -80,6 +84,7 @@ public class PolicyStoreService implements AcceptedPoliciesProvider {
         } catch (final PolicyStoreException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
+        eventPublisher.publishEvent(new AcceptedPoliciesChangedEvent());
     }
 
     public List<Policy> getStoredPolicies() {
@@ -100,6 +105,7 @@ public class PolicyStoreService implements AcceptedPoliciesProvider {
         } catch (final PolicyStoreException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
         }
+        eventPublisher.publishEvent(new AcceptedPoliciesChangedEvent());
 
     }
 
@@ -110,6 +116,7 @@ public class PolicyStoreService implements AcceptedPoliciesProvider {
         } catch (final PolicyStoreException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
         }
+        eventPublisher.publishEvent(new AcceptedPoliciesChangedEvent());
     }
 
     @Override
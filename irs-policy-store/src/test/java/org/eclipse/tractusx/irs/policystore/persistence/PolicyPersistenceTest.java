@@ -29,20 +29,31 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.eclipse.tractusx.irs.common.persistence.BlobPersistence;
 import org.eclipse.tractusx.irs.common.persistence.BlobPersistenceException;
+import org.eclipse.tractusx.irs.common.persistence.VersionedBlob;
+import org.eclipse.tractusx.irs.policystore.config.PolicyBlobstoreConfiguration;
 import org.eclipse.tractusx.irs.policystore.exceptions.PolicyStoreException;
 import org.eclipse.tractusx.irs.edc.client.policy.Policy;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,27 +67,32 @@ class PolicyPersistenceTest {
 
     private PolicyPersistence testee;
     private ObjectMapper mapper;
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2023-11-01T10:00:00Z"));
 
     @Mock
     private BlobPersistence mockPersistence;
+    @Mock
+    private Clock clock;
 
     @BeforeEach
     void setUp() {
         mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
-        testee = new PolicyPersistence(mockPersistence, mapper);
+        lenient().when(clock.instant()).thenAnswer(invocation -> now.get());
+        testee = new PolicyPersistence(mockPersistence, mapper, new PolicyBlobstoreConfiguration(), clock);
     }
 
     @Test
     void save() throws BlobPersistenceException {
         // arrange
         final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
+        when(mockPersistence.putBlobIfMatches(anyString(), any(), isNull())).thenReturn(Optional.of("v1"));
 
         // act
         testee.save("testBpn", policy);
 
         // assert
-        verify(mockPersistence).putBlob(anyString(), any());
+        verify(mockPersistence).putBlobIfMatches(anyString(), any(), isNull());
     }
 
     @Test
@@ -84,7 +100,7 @@ class PolicyPersistenceTest {
         // arrange
         final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
         final var policies = List.of(policy);
-        when(mockPersistence.getBlob(anyString())).thenReturn(Optional.of(mapper.writeValueAsBytes(policies)));
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(policies, "v1"));
 
         // act & assert
         assertThatThrownBy(() -> testee.save("testBpn", policy)).isInstanceOf(PolicyStoreException.class);
@@ -94,7 +110,7 @@ class PolicyPersistenceTest {
     void saveWithError() throws BlobPersistenceException {
         // arrange
         final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
-        when(mockPersistence.getBlob(any())).thenThrow(
+        when(mockPersistence.getVersionedBlob(any())).thenThrow(
                 new BlobPersistenceException("test", new IllegalStateException()));
 
         // act & assert
@@ -106,7 +122,36 @@ class PolicyPersistenceTest {
         // arrange
         final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
         doThrow(new BlobPersistenceException("test", new IllegalStateException())).when(mockPersistence)
-                                                                                  .putBlob(any(), any());
+                                                                                  .putBlobIfMatches(any(), any(),
+                                                                                          any());
+
+        // act & assert
+        assertThatThrownBy(() -> testee.save("testBpn", policy)).isInstanceOf(PolicyStoreException.class);
+    }
+
+    @Test
+    void saveShouldReloadPoliciesWhenModifiedConcurrently() throws BlobPersistenceException, JsonProcessingException {
+        // arrange
+        final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
+        final var otherPolicy = new Policy("other", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(List.of(), "v1"),
+                blob(List.of(otherPolicy), "v2"));
+        when(mockPersistence.putBlobIfMatches(anyString(), any(), eq("v1"))).thenReturn(Optional.empty());
+        when(mockPersistence.putBlobIfMatches(anyString(), any(), eq("v2"))).thenReturn(Optional.of("v3"));
+
+        // act
+        testee.save("testBpn", policy);
+
+        // assert
+        assertThat(testee.readAll("testBpn")).extracting(Policy::getPolicyId).containsExactly("other", "test");
+        verify(mockPersistence, times(2)).getVersionedBlob(anyString());
+    }
+
+    @Test
+    void saveShouldFailWhenModifiedConcurrentlyTooOften() throws BlobPersistenceException {
+        // arrange
+        final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
+        when(mockPersistence.putBlobIfMatches(anyString(), any(), any())).thenReturn(Optional.empty());
 
         // act & assert
         assertThatThrownBy(() -> testee.save("testBpn", policy)).isInstanceOf(PolicyStoreException.class);
@@ -118,13 +163,14 @@ class PolicyPersistenceTest {
         final String policyId = "test";
         final var policy = new Policy(policyId, OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
         final var policies = List.of(policy);
-        when(mockPersistence.getBlob(anyString())).thenReturn(Optional.of(mapper.writeValueAsBytes(policies)));
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(policies, "v1"));
+        when(mockPersistence.putBlobIfMatches(anyString(), any(), eq("v1"))).thenReturn(Optional.of("v2"));
 
         // act
         testee.delete("testBpn", policyId);
 
         // assert
-        verify(mockPersistence).putBlob(anyString(), any());
+        verify(mockPersistence).putBlobIfMatches(anyString(), any(), eq("v1"));
     }
 
     @Test
@@ -133,20 +179,23 @@ class PolicyPersistenceTest {
         final String policyId = "test";
         final var policy = new Policy(policyId, OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
         final var policies = List.of(policy);
-        when(mockPersistence.getBlob(anyString())).thenReturn(Optional.of(mapper.writeValueAsBytes(policies)));
+        final OffsetDateTime validUntil = OffsetDateTime.now().plusDays(1);
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(policies, "v1"));
+        when(mockPersistence.putBlobIfMatches(anyString(), any(), eq("v1"))).thenReturn(Optional.of("v2"));
 
         // act
-        testee.update("testBpn", policyId, OffsetDateTime.now());
+        testee.update("testBpn", policyId, validUntil);
 
         // assert
-        verify(mockPersistence).putBlob(anyString(), any());
+        verify(mockPersistence).putBlobIfMatches(anyString(), any(), eq("v1"));
+        assertThat(testee.readAll("testBpn")).extracting(Policy::getValidUntil).containsExactly(validUntil);
     }
 
     @Test
     void deleteShouldThrowExceptionIfPolicyWithIdDoesntExists() throws BlobPersistenceException, JsonProcessingException {
         // arrange
         final var policy = new Policy("policyId", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
-        when(mockPersistence.getBlob(anyString())).thenReturn(Optional.of(mapper.writeValueAsBytes(List.of(policy))));
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(List.of(policy), "v1"));
 
         // act
         assertThrows(PolicyStoreException.class, () -> testee.delete("testBpn", "notExistingPolicyId"));
@@ -157,7 +206,7 @@ class PolicyPersistenceTest {
         // arrange
         final OffsetDateTime now = OffsetDateTime.now();
         final var policy = new Policy("policyId", now, now, emptyList());
-        when(mockPersistence.getBlob(anyString())).thenReturn(Optional.of(mapper.writeValueAsBytes(List.of(policy))));
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(List.of(policy), "v1"));
 
         // act
         assertThrows(PolicyStoreException.class, () -> testee.update("testBpn", "notExistingPolicyId", now));
@@ -168,7 +217,7 @@ class PolicyPersistenceTest {
         // arrange
         final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
         final var policies = List.of(policy);
-        when(mockPersistence.getBlob(anyString())).thenReturn(Optional.of(mapper.writeValueAsBytes(policies)));
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(policies, "v1"));
 
         // act
         final var readPolicies = testee.readAll("testBpn");
@@ -177,18 +226,77 @@ class PolicyPersistenceTest {
         assertThat(readPolicies).hasSize(1);
     }
 
+    @Test
+    void readAllShouldUseCachedPoliciesWithinRevalidationInterval()
+            throws BlobPersistenceException, JsonProcessingException {
+        // arrange
+        final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(List.of(policy), "v1"));
+
+        // act
+        testee.readAll("testBpn");
+        final var readPolicies = testee.readAll("testBpn");
+
+        // assert
+        assertThat(readPolicies).hasSize(1);
+        verify(mockPersistence, times(1)).getVersionedBlob(anyString());
+        verify(mockPersistence, never()).getBlobVersion(anyString());
+    }
+
+    @Test
+    void readAllShouldOnlyCheckVersionAfterRevalidationInterval()
+            throws BlobPersistenceException, JsonProcessingException {
+        // arrange
+        final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(List.of(policy), "v1"));
+        when(mockPersistence.getBlobVersion(anyString())).thenReturn(Optional.of("v1"));
+
+        // act
+        testee.readAll("testBpn");
+        now.set(now.get().plus(Duration.ofMinutes(1)));
+        final var readPolicies = testee.readAll("testBpn");
+
+        // assert
+        assertThat(readPolicies).hasSize(1);
+        verify(mockPersistence, times(1)).getVersionedBlob(anyString());
+    }
+
+    @Test
+    void readAllShouldReloadPoliciesChangedByOtherInstance() throws BlobPersistenceException, JsonProcessingException {
+        // arrange
+        final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
+        final var otherPolicy = new Policy("other", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(List.of(policy), "v1"),
+                blob(List.of(policy, otherPolicy), "v2"));
+        when(mockPersistence.getBlobVersion(anyString())).thenReturn(Optional.of("v2"));
+
+        // act
+        testee.readAll("testBpn");
+        now.set(now.get().plus(Duration.ofMinutes(1)));
+        final var readPolicies = testee.readAll("testBpn");
+
+        // assert
+        assertThat(readPolicies).hasSize(2);
+    }
+
     @Test
     void readAllWithError() throws BlobPersistenceException, JsonProcessingException {
         // arrange
         final var policy = new Policy("test", OffsetDateTime.now(), OffsetDateTime.now(), emptyList());
         final var policies = List.of(policy);
         final var mapperMock = mock(ObjectMapper.class);
-        when(mockPersistence.getBlob(anyString())).thenReturn(Optional.of(mapper.writeValueAsBytes(policies)));
+        when(mockPersistence.getVersionedBlob(anyString())).thenReturn(blob(policies, "v1"));
         when(mapperMock.readerForListOf(Policy.class)).thenThrow(new IllegalStateException());
 
-        final var localTestee = new PolicyPersistence(mockPersistence, mapperMock);
+        final var localTestee = new PolicyPersistence(mockPersistence, mapperMock, new PolicyBlobstoreConfiguration(),
+                clock);
 
         // act & assert
         assertThatThrownBy(() -> localTestee.readAll("testBpn")).isInstanceOf(PolicyStoreException.class);
     }
-}
\ No newline at end of file
+
+    private Optional<VersionedBlob> blob(final List<Policy> policies, final String version)
+            throws JsonProcessingException {
+        return Optional.of(new VersionedBlob(mapper.writeValueAsBytes(policies), version));
+    }
+}
@@ -37,6 +37,7 @@ import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
 
+import org.eclipse.tractusx.irs.edc.client.policy.AcceptedPoliciesChangedEvent;
 import org.eclipse.tractusx.irs.edc.client.policy.Constraint;
 import org.eclipse.tractusx.irs.edc.client.policy.Constraints;
 import org.eclipse.tractusx.irs.edc.client.policy.OperatorType;
@@ -55,6 +56,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.server.ResponseStatusException;
 
 @ExtendWith(MockitoExtension.class)
@@ -69,12 +71,14 @@ class PolicyStoreServiceTest {
     private PolicyStoreService testee;
     @Mock
     private PolicyPersistence persistence;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     void setUp() {
         final DefaultAcceptedPoliciesConfig defaultAcceptedPoliciesConfig = new DefaultAcceptedPoliciesConfig();
         defaultAcceptedPoliciesConfig.setAcceptedPolicies(List.of());
-        testee = new PolicyStoreService(BPN, defaultAcceptedPoliciesConfig, persistence, clock);
+        testee = new PolicyStoreService(BPN, defaultAcceptedPoliciesConfig, persistence, clock, eventPublisher);
     }
 
     @Test
@@ -87,6 +91,7 @@ class PolicyStoreServiceTest {
 
         // assert
         verify(persistence).save(eq(BPN), any());
+        verify(eventPublisher).publishEvent(any(AcceptedPoliciesChangedEvent.class));
     }
 
     @Test
@@ -141,7 +146,7 @@ class PolicyStoreServiceTest {
                 EXAMPLE_ACCEPTED_LEFT_OPERAND, "eq", EXAMPLE_ALLOWED_NAME);
         final DefaultAcceptedPoliciesConfig defaultAcceptedPoliciesConfig = new DefaultAcceptedPoliciesConfig();
         defaultAcceptedPoliciesConfig.setAcceptedPolicies(List.of(acceptedPolicy1, acceptedPolicy2));
-        testee = new PolicyStoreService(BPN, defaultAcceptedPoliciesConfig, persistence, clock);
+        testee = new PolicyStoreService(BPN, defaultAcceptedPoliciesConfig, persistence, clock, eventPublisher);
 
         // act
         final var defaultPolicies = testee.getStoredPolicies();
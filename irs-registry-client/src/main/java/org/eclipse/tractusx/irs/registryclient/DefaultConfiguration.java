@@ -24,17 +24,18 @@
 package org.eclipse.tractusx.irs.registryclient;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.tractusx.irs.edc.client.EdcSubmodelFacade;
-import org.eclipse.tractusx.irs.edc.client.exceptions.EdcClientException;
 import org.eclipse.tractusx.irs.registryclient.central.CentralDigitalTwinRegistryService;
 import org.eclipse.tractusx.irs.registryclient.central.DigitalTwinRegistryClient;
 import org.eclipse.tractusx.irs.registryclient.central.DigitalTwinRegistryClientImpl;
 import org.eclipse.tractusx.irs.registryclient.decentral.DecentralDigitalTwinRegistryClient;
 import org.eclipse.tractusx.irs.registryclient.decentral.DecentralDigitalTwinRegistryService;
-import org.eclipse.tractusx.irs.registryclient.decentral.EdcRetrieverException;
+import org.eclipse.tractusx.irs.registryclient.decentral.EdcSubmodelFacadeReferenceRetriever;
 import org.eclipse.tractusx.irs.registryclient.decentral.EndpointDataForConnectorsService;
 import org.eclipse.tractusx.irs.registryclient.discovery.ConnectorEndpointsService;
 import org.eclipse.tractusx.irs.registryclient.discovery.DiscoveryFinderClient;
@@ -45,6 +46,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -55,6 +57,7 @@ public class DefaultConfiguration {
 
     public static final String DIGITAL_TWIN_REGISTRY_REST_TEMPLATE = "digitalTwinRegistryRestTemplate";
     public static final String EDC_REST_TEMPLATE = "edcRestTemplate";
+    public static final String REGISTRY_EXECUTOR = "registryExecutor";
     private static final String CONFIG_PREFIX = "digitalTwinRegistryClient";
     private static final String CONFIG_FIELD_TYPE = "type";
     private static final String CONFIG_VALUE_DECENTRAL = "decentral";
@@ -63,8 +66,9 @@ public class DefaultConfiguration {
 
     @Bean
     @ConditionalOnProperty(prefix = CONFIG_PREFIX, name = CONFIG_FIELD_TYPE, havingValue = CONFIG_VALUE_CENTRAL)
-    public CentralDigitalTwinRegistryService centralDigitalTwinRegistryService(final DigitalTwinRegistryClient client) {
-        return new CentralDigitalTwinRegistryService(client);
+    public CentralDigitalTwinRegistryService centralDigitalTwinRegistryService(final DigitalTwinRegistryClient client,
+            final ShellCache shellCache) {
+        return new CentralDigitalTwinRegistryService(client, shellCache);
     }
 
     @Bean
@@ -81,9 +85,28 @@ public class DefaultConfiguration {
     public DecentralDigitalTwinRegistryService decentralDigitalTwinRegistryService(
             final ConnectorEndpointsService connectorEndpointsService,
             final EndpointDataForConnectorsService endpointDataForConnectorsService,
-            final DecentralDigitalTwinRegistryClient decentralDigitalTwinRegistryClient) {
+            final DecentralDigitalTwinRegistryClient decentralDigitalTwinRegistryClient,
+            @Qualifier(REGISTRY_EXECUTOR) final ExecutorService registryExecutor,
+            @Value("${digitalTwinRegistryClient.maxParallelRequestsPerRegistry:10}")
+            final int maxParallelRequestsPerRegistry, final ShellCache shellCache) {
         return new DecentralDigitalTwinRegistryService(connectorEndpointsService, endpointDataForConnectorsService,
-                decentralDigitalTwinRegistryClient);
+                decentralDigitalTwinRegistryClient, registryExecutor, maxParallelRequestsPerRegistry, shellCache);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ShellCache.class)
+    public ShellCache shellCache(final Clock clock,
+            @Value("${digitalTwinRegistryClient.shellCache.maxSize:10000}") final int maxSize,
+            @Value("${digitalTwinRegistryClient.shellCache.ttl:PT10M}") final Duration timeToLive,
+            @Value("${digitalTwinRegistryClient.shellCache.notFoundTtl:PT1M}") final Duration notFoundTimeToLive) {
+        return new ShellCache(maxSize, timeToLive, notFoundTimeToLive, clock);
+    }
+
+    @Bean(name = REGISTRY_EXECUTOR, destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = CONFIG_PREFIX, name = CONFIG_FIELD_TYPE, havingValue = CONFIG_VALUE_DECENTRAL)
+    public ExecutorService registryExecutor(
+            @Value("${digitalTwinRegistryClient.requestThreads:50}") final int requestThreads) {
+        return Executors.newFixedThreadPool(requestThreads, new CustomizableThreadFactory("registry-client-"));
     }
 
     @Bean
@@ -96,20 +119,23 @@ public class DefaultConfiguration {
 
     @Bean
     @ConditionalOnProperty(prefix = CONFIG_PREFIX, name = CONFIG_FIELD_TYPE, havingValue = CONFIG_VALUE_DECENTRAL)
-    public ConnectorEndpointsService connectorEndpointsService(final DiscoveryFinderClient discoveryFinderClient) {
-        return new ConnectorEndpointsService(discoveryFinderClient);
+    public ConnectorEndpointsService connectorEndpointsService(final DiscoveryFinderClient discoveryFinderClient,
+            @Value("${irs-edc-client.connectorEndpointService.cacheTTL:PT24H}") final Duration timeToLive,
+            @Value("${irs-edc-client.connectorEndpointService.emptyResultCacheTTL:PT5M}")
+            final Duration emptyResultTimeToLive,
+            @Value("${irs-edc-client.connectorEndpointService.refreshAhead:PT1H}") final Duration refreshAhead,
+            final ScheduledExecutorService scheduledExecutorService, final Clock clock) {
+        return new ConnectorEndpointsService(discoveryFinderClient, timeToLive, emptyResultTimeToLive, refreshAhead,
+                scheduledExecutorService, clock);
     }
 
     @Bean
     @ConditionalOnProperty(prefix = CONFIG_PREFIX, name = CONFIG_FIELD_TYPE, havingValue = CONFIG_VALUE_DECENTRAL)
-    public EndpointDataForConnectorsService endpointDataForConnectorsService(final EdcSubmodelFacade facade) {
-        return new EndpointDataForConnectorsService((edcConnectorEndpoint, assetType, assetValue) -> {
-            try {
-                return facade.getEndpointReferenceForAsset(edcConnectorEndpoint, assetType, assetValue);
-            } catch (EdcClientException e) {
-                throw new EdcRetrieverException(e);
-            }
-        });
+    public EndpointDataForConnectorsService endpointDataForConnectorsService(final EdcSubmodelFacade facade,
+            @Value("${irs-edc-client.controlplane.datareference.storage.expiry-margin:PT30S}")
+            final Duration expiryMargin, final Clock clock) {
+        return new EndpointDataForConnectorsService(new EdcSubmodelFacadeReferenceRetriever(facade), expiryMargin,
+                clock);
     }
 
     @Bean
@@ -0,0 +1,195 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.registryclient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.eclipse.tractusx.irs.component.assetadministrationshell.AssetAdministrationShellDescriptor;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * InMemory cache for the shell ids looked up by globalAssetId and for the shell descriptors of digital twin
+ * registries. Shells which do not exist are cached as well, for a shorter time.
+ * The entries are identified by the registry, e.g. the BPN of a decentral registry.
+ * As the descriptors are shared between jobs, an unmodifiable copy is cached and each caller gets its own copy.
+ */
+public class ShellCache {
+
+    private final Map<Key, CachedShellId> shellIds;
+    private final Map<Key, CachedDescriptor> descriptors;
+    private final int maxSize;
+    private final Duration timeToLive;
+    private final Duration notFoundTimeToLive;
+    private final Clock clock;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ShellCache(final int maxSize, final Duration timeToLive, final Duration notFoundTimeToLive,
+            final Clock clock) {
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.notFoundTimeToLive = notFoundTimeToLive;
+        this.clock = clock;
+        this.shellIds = boundedMap(maxSize);
+        this.descriptors = boundedMap(maxSize);
+    }
+
+    /**
+     * @return a cache which does not store anything
+     */
+    public static ShellCache disabled() {
+        return new ShellCache(0, Duration.ZERO, Duration.ZERO, Clock.systemUTC());
+    }
+
+    private static <V> Map<Key, V> boundedMap(final int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(Math.max(maxSize, 1), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @param registry      the registry the shell is registered at
+     * @param globalAssetId the globalAssetId or shellId of the shell
+     * @param lookup        looks up the shellId in the registry, if it is not cached
+     * @return the shellId
+     */
+    public String getShellId(final String registry, final String globalAssetId, final Supplier<String> lookup) {
+        if (!isEnabled()) {
+            return lookup.get();
+        }
+        final Key key = new Key(registry, globalAssetId);
+        final CachedShellId cached = shellIds.get(key);
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+            hits.incrementAndGet();
+            return cached.shellId();
+        }
+        misses.incrementAndGet();
+        final String shellId = lookup.get();
+        shellIds.put(key, new CachedShellId(shellId, clock.instant().plus(timeToLive)));
+        return shellId;
+    }
+
+    /**
+     * @param registry the registry the shell is registered at
+     * @param shellId  the id of the shell
+     * @param request  requests the descriptor from the registry, if it is not cached
+     * @return the shell descriptor
+     * @throws HttpClientErrorException.NotFound if the registry does not know the shell
+     */
+    public AssetAdministrationShellDescriptor getDescriptor(final String registry, final String shellId,
+            final Supplier<AssetAdministrationShellDescriptor> request) {
+        if (!isEnabled()) {
+            return request.get();
+        }
+        final Key key = new Key(registry, shellId);
+        final CachedDescriptor cached = descriptors.get(key);
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+            hits.incrementAndGet();
+            if (cached.notFound() != null) {
+                throw cached.notFound();
+            }
+            return copyOf(cached.descriptor());
+        }
+        misses.incrementAndGet();
+        try {
+            final AssetAdministrationShellDescriptor descriptor = copyOf(request.get());
+            descriptors.put(key, new CachedDescriptor(descriptor, null, clock.instant().plus(timeToLive)));
+            return copyOf(descriptor);
+        } catch (HttpClientErrorException.NotFound e) {
+            descriptors.put(key, new CachedDescriptor(null, e, clock.instant().plus(notFoundTimeToLive)));
+            throw e;
+        }
+    }
+
+    /**
+     * @return a copy of the descriptor with unmodifiable lists, so that changes to it do not affect the cache
+     */
+    private static AssetAdministrationShellDescriptor copyOf(final AssetAdministrationShellDescriptor descriptor) {
+        if (descriptor == null) {
+            return null;
+        }
+        return descriptor.toBuilder()
+                         .description(copyOf(descriptor.getDescription()))
+                         .specificAssetIds(copyOf(descriptor.getSpecificAssetIds()))
+                         .submodelDescriptors(copyOf(descriptor.getSubmodelDescriptors()))
+                         .build();
+    }
+
+    private static <T> List<T> copyOf(final List<T> list) {
+        return list == null ? null : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && timeToLive != null && !timeToLive.isZero();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Identifies a shell.
+     *
+     * @param registry the registry the shell is registered at
+     * @param id       the globalAssetId or shellId of the shell
+     */
+    private record Key(String registry, String id) {
+    }
+
+    /**
+     * A shellId with the time it expires.
+     *
+     * @param shellId   the shellId
+     * @param expiresAt the time after which the shellId is looked up again
+     */
+    private record CachedShellId(String shellId, Instant expiresAt) {
+    }
+
+    /**
+     * A shell descriptor, or the error returned because the shell does not exist, with the time it expires.
+     *
+     * @param descriptor the shell descriptor
+     * @param notFound   the error returned by the registry if the shell does not exist
+     * @param expiresAt  the time after which the descriptor is requested again
+     */
+    private record CachedDescriptor(AssetAdministrationShellDescriptor descriptor,
+                                    HttpClientErrorException.NotFound notFound, Instant expiresAt) {
+    }
+}
@@ -27,29 +27,47 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.tractusx.irs.component.assetadministrationshell.AssetAdministrationShellDescriptor;
 import org.eclipse.tractusx.irs.component.assetadministrationshell.IdentifierKeyValuePair;
 import org.eclipse.tractusx.irs.registryclient.DigitalTwinRegistryKey;
 import org.eclipse.tractusx.irs.registryclient.DigitalTwinRegistryService;
+import org.eclipse.tractusx.irs.registryclient.ShellCache;
 
 /**
  * Central implementation of DigitalTwinRegistryService
  */
-@RequiredArgsConstructor
 @Slf4j
 public class CentralDigitalTwinRegistryService implements DigitalTwinRegistryService {
 
+    /**
+     * All shells are registered at the same registry, independent of their BPN.
+     */
+    private static final String CENTRAL_REGISTRY = "";
+
     private final DigitalTwinRegistryClient digitalTwinRegistryClient;
 
+    private final ShellCache shellCache;
+
+    public CentralDigitalTwinRegistryService(final DigitalTwinRegistryClient digitalTwinRegistryClient) {
+        this(digitalTwinRegistryClient, ShellCache.disabled());
+    }
+
+    public CentralDigitalTwinRegistryService(final DigitalTwinRegistryClient digitalTwinRegistryClient,
+            final ShellCache shellCache) {
+        this.digitalTwinRegistryClient = digitalTwinRegistryClient;
+        this.shellCache = shellCache;
+    }
+
     @Override
     public Collection<AssetAdministrationShellDescriptor> fetchShells(final Collection<DigitalTwinRegistryKey> keys) {
         return keys.stream().map(key -> {
-            final String aaShellIdentification = getAAShellIdentificationOrGlobalAssetId(key.shellId());
+            final String aaShellIdentification = shellCache.getShellId(CENTRAL_REGISTRY, key.shellId(),
+                    () -> getAAShellIdentificationOrGlobalAssetId(key.shellId()));
             log.info("Retrieved AAS Identification {} for globalAssetId {}", aaShellIdentification, key.shellId());
 
-            return digitalTwinRegistryClient.getAssetAdministrationShellDescriptor(aaShellIdentification);
+            return shellCache.getDescriptor(CENTRAL_REGISTRY, aaShellIdentification,
+                    () -> digitalTwinRegistryClient.getAssetAdministrationShellDescriptor(aaShellIdentification));
         }).toList();
     }
 
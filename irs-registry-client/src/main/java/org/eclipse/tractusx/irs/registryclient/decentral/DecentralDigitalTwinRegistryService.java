@@ -25,15 +25,23 @@ package org.eclipse.tractusx.irs.registryclient.decentral;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.edc.spi.types.domain.edr.EndpointDataReference;
 import org.eclipse.tractusx.irs.component.assetadministrationshell.AssetAdministrationShellDescriptor;
@@ -41,21 +49,52 @@ import org.eclipse.tractusx.irs.component.assetadministrationshell.IdentifierKey
 import org.eclipse.tractusx.irs.edc.client.model.EDRAuthCode;
 import org.eclipse.tractusx.irs.registryclient.DigitalTwinRegistryKey;
 import org.eclipse.tractusx.irs.registryclient.DigitalTwinRegistryService;
+import org.eclipse.tractusx.irs.registryclient.ShellCache;
 import org.eclipse.tractusx.irs.registryclient.discovery.ConnectorEndpointsService;
 import org.eclipse.tractusx.irs.registryclient.exceptions.RegistryServiceException;
 import org.eclipse.tractusx.irs.registryclient.exceptions.ShellNotFoundException;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
 
 /**
- * Decentral implementation of DigitalTwinRegistryService
+ * Decentral implementation of DigitalTwinRegistryService.
+ * The shells of different BPNs are fetched in parallel on the given executor. The shells of one BPN are fetched
+ * with at most {@code maxParallelRequestsPerRegistry} requests in flight, sharing one EndpointDataReference.
+ * Shell ids and descriptors are cached per BPN. Shells which cannot be fetched are skipped, as long as any of the
+ * requested shells is found.
  */
-@RequiredArgsConstructor
 @Slf4j
+@SuppressWarnings({ "PMD.DoNotUseThreads",
+                    "PMD.AvoidCatchingGenericException"
+})
 public class DecentralDigitalTwinRegistryService implements DigitalTwinRegistryService {
 
     private final ConnectorEndpointsService connectorEndpointsService;
     private final EndpointDataForConnectorsService endpointDataForConnectorsService;
     private final DecentralDigitalTwinRegistryClient decentralDigitalTwinRegistryClient;
+    private final Executor executor;
+    private final int maxParallelRequestsPerRegistry;
+    private final ShellCache shellCache;
+
+    public DecentralDigitalTwinRegistryService(final ConnectorEndpointsService connectorEndpointsService,
+            final EndpointDataForConnectorsService endpointDataForConnectorsService,
+            final DecentralDigitalTwinRegistryClient decentralDigitalTwinRegistryClient) {
+        this(connectorEndpointsService, endpointDataForConnectorsService, decentralDigitalTwinRegistryClient,
+                Runnable::run, 1, ShellCache.disabled());
+    }
+
+    public DecentralDigitalTwinRegistryService(final ConnectorEndpointsService connectorEndpointsService,
+            final EndpointDataForConnectorsService endpointDataForConnectorsService,
+            final DecentralDigitalTwinRegistryClient decentralDigitalTwinRegistryClient, final Executor executor,
+            final int maxParallelRequestsPerRegistry, final ShellCache shellCache) {
+        this.connectorEndpointsService = connectorEndpointsService;
+        this.endpointDataForConnectorsService = endpointDataForConnectorsService;
+        this.decentralDigitalTwinRegistryClient = decentralDigitalTwinRegistryClient;
+        this.executor = executor;
+        this.maxParallelRequestsPerRegistry = Math.max(1, maxParallelRequestsPerRegistry);
+        this.shellCache = shellCache;
+    }
 
     private static Stream<Map.Entry<String, List<DigitalTwinRegistryKey>>> groupKeysByBpn(
             final Collection<DigitalTwinRegistryKey> keys) {
@@ -66,10 +105,18 @@ public class DecentralDigitalTwinRegistryService implements DigitalTwinRegistryS
     public Collection<AssetAdministrationShellDescriptor> fetchShells(final Collection<DigitalTwinRegistryKey> keys)
             throws RegistryServiceException {
         log.info("Fetching shell(s) for {} key(s)", keys.size());
-        final var calledEndpoints = new HashSet<String>();
-        final var collectedShells = groupKeysByBpn(keys).flatMap(
-                entry -> fetchShellDescriptors(calledEndpoints, entry.getKey(), entry.getValue())).toList();
+        final Set<String> calledEndpoints = ConcurrentHashMap.newKeySet();
+        final List<ShellDescriptorsRequest> requests = groupKeysByBpn(keys).map(
+                entry -> new ShellDescriptorsRequest(entry.getKey(), entry.getValue(), calledEndpoints)).toList();
+        final var collectedShells = fetchShellDescriptors(requests);
         if (collectedShells.isEmpty()) {
+            final Optional<RuntimeException> failure = requests.stream()
+                                                               .map(request -> request.failure.get())
+                                                               .filter(Objects::nonNull)
+                                                               .findFirst();
+            if (failure.isPresent()) {
+                throw failure.get();
+            }
             throw new ShellNotFoundException("Unable to find any of the requested shells", calledEndpoints);
         } else {
             log.info("Found {} shell(s) for {} key(s)", collectedShells.size(), keys.size());
@@ -77,22 +124,28 @@ public class DecentralDigitalTwinRegistryService implements DigitalTwinRegistryS
         }
     }
 
-    @NotNull
-    private Stream<AssetAdministrationShellDescriptor> fetchShellDescriptors(final Set<String> calledEndpoints,
-            final String bpn, final List<DigitalTwinRegistryKey> keys) {
-        log.info("Fetching {} shells for bpn {}", keys.size(), bpn);
-        final var connectorEndpoints = connectorEndpointsService.fetchConnectorEndpoints(bpn);
-        calledEndpoints.addAll(connectorEndpoints);
-
-        final List<AssetAdministrationShellDescriptor> descriptors = new ArrayList<>();
-
-        EndpointDataReference endpointDataReference = null;
-        for (final DigitalTwinRegistryKey key : keys) {
-            endpointDataReference = renewIfNecessary(endpointDataReference, connectorEndpoints);
-            descriptors.add(fetchShellDescriptor(endpointDataReference, key));
+    private List<AssetAdministrationShellDescriptor> fetchShellDescriptors(
+            final List<ShellDescriptorsRequest> requests) {
+        final List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (final ShellDescriptorsRequest request : requests) {
+            log.info("Fetching {} shells for bpn {}", request.keys.size(), request.bpn);
+            final int parallelRequests = Math.min(maxParallelRequestsPerRegistry, request.keys.size());
+            for (int i = 0; i < parallelRequests; i++) {
+                workers.add(CompletableFuture.runAsync(request::fetchRemaining, executor));
+            }
         }
-
-        return descriptors.stream();
+        try {
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        return requests.stream()
+                       .flatMap(request -> Arrays.stream(request.descriptors))
+                       .filter(Objects::nonNull)
+                       .toList();
     }
 
     private EndpointDataReference renewIfNecessary(final EndpointDataReference endpointDataReference,
@@ -100,8 +153,10 @@ public class DecentralDigitalTwinRegistryService implements DigitalTwinRegistryS
         if (endpointDataReference == null || endpointDataReference.getAuthCode() == null) {
             return getEndpointDataReference(connectorEndpoints);
         } else {
-            final var tokenExpirationInstant = extractTokenExpiration(endpointDataReference.getAuthCode());
-            if (Instant.now().isAfter(tokenExpirationInstant)) {
+            final boolean expired = EDRAuthCode.tokenExpiration(endpointDataReference.getAuthCode())
+                                               .map(Instant.now()::isAfter)
+                                               .orElse(true);
+            if (expired) {
                 log.info("EndpointDataReference token has expired, getting a new one.");
                 return getEndpointDataReference(connectorEndpoints);
             }
@@ -109,17 +164,29 @@ public class DecentralDigitalTwinRegistryService implements DigitalTwinRegistryS
         }
     }
 
-    private Instant extractTokenExpiration(final String token) {
-        return Instant.ofEpochSecond(EDRAuthCode.fromAuthCodeToken(token).getExp());
+    /**
+     * @return whether the registry rejected the EndpointDataReference, e.g. because its token has been revoked
+     */
+    private static boolean isRejected(final HttpClientErrorException exception) {
+        final int status = exception.getStatusCode().value();
+        return status == HttpStatus.UNAUTHORIZED.value() || status == HttpStatus.FORBIDDEN.value();
     }
 
-    private AssetAdministrationShellDescriptor fetchShellDescriptor(final EndpointDataReference endpointDataReference,
-            final DigitalTwinRegistryKey key) {
+    /**
+     * @param endpointDataReference supplies the reference to access the digital twin registry, only called if the
+     *                              shell is not cached
+     * @param key                   the shell to fetch
+     * @return the shell descriptor
+     */
+    private AssetAdministrationShellDescriptor fetchShellDescriptor(
+            final Supplier<EndpointDataReference> endpointDataReference, final DigitalTwinRegistryKey key) {
         log.info("Retrieving AAS Identification for DigitalTwinRegistryKey: {}", key);
-        final String aaShellIdentification = mapToShellId(endpointDataReference, key.shellId());
+        final String aaShellIdentification = shellCache.getShellId(key.bpn(), key.shellId(),
+                () -> mapToShellId(endpointDataReference.get(), key.shellId()));
 
-        return decentralDigitalTwinRegistryClient.getAssetAdministrationShellDescriptor(endpointDataReference,
-                aaShellIdentification);
+        return shellCache.getDescriptor(key.bpn(), aaShellIdentification,
+                () -> decentralDigitalTwinRegistryClient.getAssetAdministrationShellDescriptor(
+                        endpointDataReference.get(), aaShellIdentification));
     }
 
     /**
@@ -155,16 +222,119 @@ public class DecentralDigitalTwinRegistryService implements DigitalTwinRegistryS
         final var connectorEndpoints = connectorEndpointsService.fetchConnectorEndpoints(bpn);
         final var endpointDataReference = getEndpointDataReference(connectorEndpoints);
 
-        final var shellIds = decentralDigitalTwinRegistryClient.getAllAssetAdministrationShellIdsByAssetLink(
-                endpointDataReference,
-                List.of(IdentifierKeyValuePair.builder().name("manufacturerId").value(bpn).build())).getResult();
+        List<String> shellIds;
+        try {
+            shellIds = lookupShellIdsByManufacturer(endpointDataReference, bpn);
+        } catch (HttpClientErrorException e) {
+            if (!isRejected(e)) {
+                throw e;
+            }
+            log.info("Registry rejected the EndpointDataReference of bpn {}, getting a new one.", bpn);
+            endpointDataForConnectorsService.evictEndpointDataReference(endpointDataReference);
+            shellIds = lookupShellIdsByManufacturer(getEndpointDataReference(connectorEndpoints), bpn);
+        }
         log.info("Found {} shell id(s) in total", shellIds.size());
         return shellIds;
     }
 
+    private List<String> lookupShellIdsByManufacturer(final EndpointDataReference endpointDataReference,
+            final String bpn) {
+        return decentralDigitalTwinRegistryClient.getAllAssetAdministrationShellIdsByAssetLink(endpointDataReference,
+                List.of(IdentifierKeyValuePair.builder().name("manufacturerId").value(bpn).build())).getResult();
+    }
+
     @Override
     public Collection<DigitalTwinRegistryKey> lookupShellIdentifiers(final String bpn) {
         return lookupShellIds(bpn).stream().map(id -> new DigitalTwinRegistryKey(id, bpn)).toList();
     }
 
+    /**
+     * The shells of one BPN to fetch. Its workers take the next key until all keys are fetched and share the
+     * EndpointDataReference to the registry, which is renewed once it has expired.
+     */
+    private final class ShellDescriptorsRequest {
+
+        private final String bpn;
+        private final List<DigitalTwinRegistryKey> keys;
+        private final Set<String> calledEndpoints;
+        private final AssetAdministrationShellDescriptor[] descriptors;
+        private final AtomicInteger nextKey = new AtomicInteger();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private List<String> connectorEndpoints;
+        private EndpointDataReference endpointDataReference;
+        private RuntimeException registryFailure;
+
+        private ShellDescriptorsRequest(final String bpn, final List<DigitalTwinRegistryKey> keys,
+                final Set<String> calledEndpoints) {
+            this.bpn = bpn;
+            this.keys = keys;
+            this.calledEndpoints = calledEndpoints;
+            this.descriptors = new AssetAdministrationShellDescriptor[keys.size()];
+        }
+
+        private void fetchRemaining() {
+            for (int i = nextKey.getAndIncrement(); i < keys.size(); i = nextKey.getAndIncrement()) {
+                try {
+                    descriptors[i] = fetchShell(keys.get(i));
+                } catch (RuntimeException e) {
+                    log.info("Shell could not be fetched for {}, skipping it. Reason: {}", keys.get(i),
+                            e.getMessage());
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }
+
+        /**
+         * Fetches the shell of a key. If the registry rejects the shared reference, it is evicted and the shell is
+         * fetched once more with a new reference.
+         */
+        private AssetAdministrationShellDescriptor fetchShell(final DigitalTwinRegistryKey key) {
+            final AtomicReference<EndpointDataReference> reference = new AtomicReference<>();
+            try {
+                return fetchShellDescriptor(lazyEndpointDataReference(reference), key);
+            } catch (HttpClientErrorException e) {
+                if (!isRejected(e) || reference.get() == null) {
+                    throw e;
+                }
+                log.info("Registry rejected the EndpointDataReference of bpn {}, getting a new one.", bpn);
+                reject(reference.get());
+                return fetchShellDescriptor(lazyEndpointDataReference(new AtomicReference<>()), key);
+            }
+        }
+
+        /**
+         * @param reference holds the reference once it has been obtained
+         * @return a supplier of the reference, which is only obtained once and only if the registry is called
+         */
+        private Supplier<EndpointDataReference> lazyEndpointDataReference(
+                final AtomicReference<EndpointDataReference> reference) {
+            return () -> reference.updateAndGet(current -> current == null ? endpointDataReference() : current);
+        }
+
+        private synchronized void reject(final EndpointDataReference rejected) {
+            endpointDataForConnectorsService.evictEndpointDataReference(rejected);
+            if (endpointDataReference == rejected) {
+                endpointDataReference = null;
+            }
+        }
+
+        private synchronized EndpointDataReference endpointDataReference() {
+            if (registryFailure != null) {
+                // the registry is not reachable, the remaining keys are not fetched
+                throw registryFailure;
+            }
+            try {
+                if (connectorEndpoints == null) {
+                    connectorEndpoints = connectorEndpointsService.fetchConnectorEndpoints(bpn);
+                    calledEndpoints.addAll(connectorEndpoints);
+                }
+                endpointDataReference = renewIfNecessary(endpointDataReference, connectorEndpoints);
+                return endpointDataReference;
+            } catch (RuntimeException e) {
+                registryFailure = e;
+                throw e;
+            }
+        }
+    }
+
 }
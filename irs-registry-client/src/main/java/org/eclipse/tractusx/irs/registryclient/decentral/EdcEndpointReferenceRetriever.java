@@ -40,4 +40,10 @@ public interface EdcEndpointReferenceRetriever {
      */
     EndpointDataReference getEndpointReferenceForAsset(String edcConnectorEndpoint, String assetType, String assetValue)
             throws EdcRetrieverException;
+
+    /**
+     * Evicts a reference the registry rejected, so that it is not returned by the next retrieval
+     * @param endpointDataReference the rejected reference
+     */
+    void evictEndpointReference(EndpointDataReference endpointDataReference);
 }
@@ -0,0 +1,53 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.registryclient.decentral;
+
+import lombok.RequiredArgsConstructor;
+import org.eclipse.edc.spi.types.domain.edr.EndpointDataReference;
+import org.eclipse.tractusx.irs.edc.client.EdcSubmodelFacade;
+import org.eclipse.tractusx.irs.edc.client.exceptions.EdcClientException;
+
+/**
+ * Retrieves and evicts the EDC endpoint references through the {@link EdcSubmodelFacade}
+ */
+@RequiredArgsConstructor
+public class EdcSubmodelFacadeReferenceRetriever implements EdcEndpointReferenceRetriever {
+
+    private final EdcSubmodelFacade facade;
+
+    @Override
+    public EndpointDataReference getEndpointReferenceForAsset(final String edcConnectorEndpoint,
+            final String assetType, final String assetValue) throws EdcRetrieverException {
+        try {
+            return facade.getEndpointReferenceForAsset(edcConnectorEndpoint, assetType, assetValue);
+        } catch (EdcClientException e) {
+            throw new EdcRetrieverException(e);
+        }
+    }
+
+    @Override
+    public void evictEndpointReference(final EndpointDataReference endpointDataReference) {
+        facade.evictEndpointReference(endpointDataReference);
+    }
+}
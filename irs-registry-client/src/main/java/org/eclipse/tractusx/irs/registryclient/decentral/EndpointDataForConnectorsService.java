@@ -23,32 +23,69 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.registryclient.decentral;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.edc.spi.types.domain.edr.EndpointDataReference;
+import org.eclipse.tractusx.irs.edc.client.model.EDRAuthCode;
 import org.springframework.web.client.RestClientException;
 
 /**
  * Service that use edc client to make calls to edc connector endpoints
- * to find DigitalTwinRegistry asset
+ * to find DigitalTwinRegistry asset.
+ * The EndpointDataReference of each connector is reused for all registry requests until its token is about to expire
+ * or the registry rejects it. Concurrent requests for the same connector share one retrieval.
  */
 @Slf4j
-@RequiredArgsConstructor
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
 public class EndpointDataForConnectorsService {
 
     private static final String DT_REGISTRY_ASSET_TYPE = "https://w3id.org/edc/v0.0.1/ns/type";
     private static final String DT_REGISTRY_ASSET_VALUE = "data.core.digitalTwinRegistry";
+    private static final Duration DEFAULT_EXPIRY_MARGIN = Duration.ofSeconds(30);
 
     private final EdcEndpointReferenceRetriever edcSubmodelFacade;
+    private final Duration expiryMargin;
+    private final Clock clock;
+    private final Map<String, CachedReference> references = new ConcurrentHashMap<>();
+
+    public EndpointDataForConnectorsService(final EdcEndpointReferenceRetriever edcSubmodelFacade) {
+        this(edcSubmodelFacade, DEFAULT_EXPIRY_MARGIN, Clock.systemUTC());
+    }
+
+    /**
+     * @param edcSubmodelFacade the retriever for the references
+     * @param expiryMargin      how long a token must still be valid to reuse its reference
+     * @param clock             the clock to check the token expiration with
+     */
+    public EndpointDataForConnectorsService(final EdcEndpointReferenceRetriever edcSubmodelFacade,
+            final Duration expiryMargin, final Clock clock) {
+        this.edcSubmodelFacade = edcSubmodelFacade;
+        this.expiryMargin = expiryMargin;
+        this.clock = clock;
+    }
 
     public EndpointDataReference findEndpointDataForConnectors(final List<String> connectorEndpoints) {
+        for (final String connector : connectorEndpoints) {
+            final Optional<EndpointDataReference> cached = getCachedReference(connector);
+            if (cached.isPresent()) {
+                log.debug("Reusing EndpointDataReference for connector {}", connector);
+                return cached.get();
+            }
+        }
+
         for (final String connector : connectorEndpoints) {
             log.info("Trying to retrieve EndpointDataReference for connector {}", connector);
             try {
-                return edcSubmodelFacade.getEndpointReferenceForAsset(connector, DT_REGISTRY_ASSET_TYPE,
-                        DT_REGISTRY_ASSET_VALUE);
+                return retrieveReference(connector);
             } catch (EdcRetrieverException e) {
                 log.warn("Exception occurred when retrieving EndpointDataReference from connector {}", connector, e);
             }
@@ -58,4 +95,96 @@ public class EndpointDataForConnectorsService {
                         connectorEndpoints));
     }
 
+    /**
+     * Removes a reference which the registry rejected, here and in the EDC client, so that the next request
+     * retrieves a new one.
+     *
+     * @param endpointDataReference the rejected reference
+     */
+    public void evictEndpointDataReference(final EndpointDataReference endpointDataReference) {
+        references.values().removeIf(cached -> cached.holds(endpointDataReference));
+        edcSubmodelFacade.evictEndpointReference(endpointDataReference);
+    }
+
+    /**
+     * Retrieves the reference of a connector. Concurrent callers wait for the retrieval started first.
+     */
+    private EndpointDataReference retrieveReference(final String connector) throws EdcRetrieverException {
+        final Instant now = clock.instant();
+        final CompletableFuture<EndpointDataReference> request = new CompletableFuture<>();
+        final CachedReference cached = references.compute(connector,
+                (key, current) -> current == null || current.isExpired(now, expiryMargin)
+                        ? new CachedReference(request, null)
+                        : current);
+        if (cached.reference() == request) {
+            try {
+                final EndpointDataReference endpointDataReference = edcSubmodelFacade.getEndpointReferenceForAsset(
+                        connector, DT_REGISTRY_ASSET_TYPE, DT_REGISTRY_ASSET_VALUE);
+                cacheReference(connector, cached, endpointDataReference);
+                request.complete(endpointDataReference);
+            } catch (EdcRetrieverException | RuntimeException e) {
+                // failed retrievals are not cached
+                references.remove(connector, cached);
+                request.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return join(cached.reference());
+    }
+
+    private static EndpointDataReference join(final CompletableFuture<EndpointDataReference> reference)
+            throws EdcRetrieverException {
+        try {
+            return reference.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof EdcRetrieverException retrieverException) {
+                throw retrieverException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private Optional<EndpointDataReference> getCachedReference(final String connector) {
+        final CachedReference cached = references.get(connector);
+        if (cached == null || cached.expiresAt() == null) {
+            return Optional.empty();
+        }
+        if (!cached.isExpired(clock.instant(), expiryMargin)) {
+            return Optional.of(cached.reference().join());
+        }
+        references.remove(connector, cached);
+        return Optional.empty();
+    }
+
+    private void cacheReference(final String connector, final CachedReference pending,
+            final EndpointDataReference endpointDataReference) {
+        final Optional<Instant> expiresAt = Optional.ofNullable(endpointDataReference)
+                                                    .flatMap(reference -> EDRAuthCode.tokenExpiration(
+                                                            reference.getAuthCode()));
+        if (expiresAt.isPresent()) {
+            references.replace(connector, pending,
+                    new CachedReference(CompletableFuture.completedFuture(endpointDataReference), expiresAt.get()));
+        } else {
+            references.remove(connector, pending);
+        }
+    }
+
+    /**
+     * @param reference the reference to the registry of a connector, or the request retrieving it
+     * @param expiresAt the time its token expires, null while it is retrieved
+     */
+    private record CachedReference(CompletableFuture<EndpointDataReference> reference, Instant expiresAt) {
+
+        private boolean isExpired(final Instant now, final Duration expiryMargin) {
+            return expiresAt != null && !now.plus(expiryMargin).isBefore(expiresAt);
+        }
+
+        private boolean holds(final EndpointDataReference endpointDataReference) {
+            return expiresAt != null && reference.join() == endpointDataReference;
+        }
+    }
+
 }
@@ -23,56 +23,245 @@
  ********************************************************************************/
 package org.eclipse.tractusx.irs.registryclient.discovery;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Scheduled;
 
 /**
- * Connector Endpoints service to find connectors in Discovery Finder
+ * Connector Endpoints service to find connectors in Discovery Finder.
+ * The endpoints are cached per BPN. Shortly before they expire, they are refreshed in the background, so that
+ * callers do not wait for the Discovery Finder. Concurrent requests for the same BPN share one discovery request,
+ * and BPNs requested together are discovered with one request per discovery service.
  */
-@Getter
-@RequiredArgsConstructor
 @Slf4j
+@SuppressWarnings("PMD.DoNotUseThreads")
 public class ConnectorEndpointsService {
 
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(24);
+    private static final Duration DEFAULT_EMPTY_RESULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofHours(1);
+
+    @Getter
     private final DiscoveryFinderClient discoveryFinderClient;
-    private static final String CONNECTOR_ENDPOINT_SERVICE_CACHE_NAME = "connector_endpoint_service_cache";
+    private final Duration timeToLive;
+    private final Duration emptyResultTimeToLive;
+    private final Duration refreshAhead;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final Map<String, CachedEndpoints> cache = new ConcurrentHashMap<>();
+    private volatile CachedDiscoveryEndpoints discoveryEndpoints;
+
+    public ConnectorEndpointsService(final DiscoveryFinderClient discoveryFinderClient) {
+        this(discoveryFinderClient, DEFAULT_TIME_TO_LIVE, DEFAULT_EMPTY_RESULT_TIME_TO_LIVE, DEFAULT_REFRESH_AHEAD,
+                Runnable::run, Clock.systemUTC());
+    }
+
+    /**
+     * @param discoveryFinderClient the client to discover the connector endpoints with
+     * @param timeToLive            the time after which cached endpoints expire
+     * @param emptyResultTimeToLive the time after which BPNs without any endpoints are discovered again
+     * @param refreshAhead          the time before expiry from which cached endpoints are refreshed in the background
+     * @param refreshExecutor       the executor to refresh cached endpoints on
+     * @param clock                 the clock to determine the expiry with
+     */
+    public ConnectorEndpointsService(final DiscoveryFinderClient discoveryFinderClient, final Duration timeToLive,
+            final Duration emptyResultTimeToLive, final Duration refreshAhead, final Executor refreshExecutor,
+            final Clock clock) {
+        this.discoveryFinderClient = discoveryFinderClient;
+        this.timeToLive = timeToLive;
+        this.emptyResultTimeToLive = emptyResultTimeToLive;
+        this.refreshAhead = refreshAhead;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
 
-    @Cacheable(CONNECTOR_ENDPOINT_SERVICE_CACHE_NAME)
     public List<String> fetchConnectorEndpoints(final String bpn) {
         if (StringUtils.isBlank(bpn)) {
             log.warn("BPN was null, cannot search for any connector endpoints. Returning empty list.");
             return List.of();
         }
+        return fetchConnectorEndpointsByBpn(List.of(bpn)).get(bpn);
+    }
+
+    /**
+     * Bulk variant of {@link #fetchConnectorEndpoints(String)}. The BPNs which are not cached are discovered
+     * together, with one request per discovery service.
+     *
+     * @param bpns the BPNs to find the connector endpoints of
+     * @return the connector endpoints of each BPN, empty if none were found
+     */
+    public Map<String, List<String>> fetchConnectorEndpointsByBpn(final Collection<String> bpns) {
+        final Instant now = clock.instant();
+        final Map<String, CompletableFuture<List<String>>> requests = new LinkedHashMap<>();
+        final Map<String, CompletableFuture<List<String>>> ownRequests = new LinkedHashMap<>();
+        for (final String bpn : bpns) {
+            if (StringUtils.isBlank(bpn)) {
+                log.warn("BPN was blank, cannot search for any connector endpoints.");
+                requests.put(bpn, CompletableFuture.completedFuture(List.of()));
+                continue;
+            }
+            final CompletableFuture<List<String>> request = new CompletableFuture<>();
+            final CachedEndpoints cached = cache.compute(bpn,
+                    (key, current) -> current == null || current.isExpired(now)
+                            ? new CachedEndpoints(request, null, null)
+                            : current);
+
+            if (cached.endpoints() == request) {
+                // this caller has to discover the endpoints, concurrent callers wait for the same request
+                ownRequests.put(bpn, request);
+            } else if (cached.shouldRefresh(now)) {
+                refreshExecutor.execute(() -> refresh(bpn, cached));
+            }
+            requests.put(bpn, cached.endpoints());
+        }
+
+        if (!ownRequests.isEmpty()) {
+            discover(ownRequests);
+        }
+        final Map<String, List<String>> endpoints = new LinkedHashMap<>();
+        requests.forEach((bpn, request) -> endpoints.put(bpn, join(request)));
+        return endpoints;
+    }
+
+    private void discover(final Map<String, CompletableFuture<List<String>>> requests) {
+        try {
+            final Map<String, List<String>> endpoints = discoverConnectorEndpoints(requests.keySet());
+            requests.forEach((bpn, request) -> {
+                cache.put(bpn, cachedEndpoints(endpoints.get(bpn)));
+                request.complete(endpoints.get(bpn));
+            });
+        } catch (RuntimeException e) {
+            // failed requests are not cached
+            requests.forEach((bpn, request) -> {
+                cache.remove(bpn);
+                request.completeExceptionally(e);
+            });
+        }
+    }
+
+    private void refresh(final String bpn, final CachedEndpoints cached) {
+        try {
+            final List<String> endpoints = discoverConnectorEndpoints(List.of(bpn)).get(bpn);
+            cache.replace(bpn, cached, cachedEndpoints(endpoints));
+        } catch (RuntimeException e) {
+            log.warn("Unable to refresh connector endpoints of BPN {}, using cached ones until they expire", bpn, e);
+            cached.refreshing().set(false);
+        }
+    }
+
+    private CachedEndpoints cachedEndpoints(final List<String> endpoints) {
+        final Instant now = clock.instant();
+        if (endpoints.isEmpty()) {
+            final Instant expiresAt = now.plus(emptyResultTimeToLive);
+            return new CachedEndpoints(CompletableFuture.completedFuture(endpoints), expiresAt, expiresAt);
+        }
+        final Instant expiresAt = now.plus(timeToLive);
+        return new CachedEndpoints(CompletableFuture.completedFuture(endpoints), expiresAt,
+                expiresAt.minus(refreshAhead));
+    }
+
+    private static List<String> join(final CompletableFuture<List<String>> endpoints) {
+        try {
+            return endpoints.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private Map<String, List<String>> discoverConnectorEndpoints(final Collection<String> bpns) {
+        log.info("Requesting connector endpoints for BPNs {}", bpns);
+        final List<String> providedBpns = List.copyOf(bpns);
+        final Map<String, List<String>> endpoints = new LinkedHashMap<>();
+        providedBpns.forEach(bpn -> endpoints.put(bpn, new ArrayList<>()));
+        for (final DiscoveryEndpoint discoveryEndpoint : findDiscoveryEndpoints()) {
+            for (final EdcDiscoveryResult edcDiscoveryResult : discoveryFinderClient.findConnectorEndpoints(
+                    discoveryEndpoint.endpointAddress(), providedBpns)) {
+                final List<String> bpnEndpoints = endpoints.get(edcDiscoveryResult.bpn());
+                if (bpnEndpoints != null) {
+                    bpnEndpoints.addAll(edcDiscoveryResult.connectorEndpoint());
+                }
+            }
+        }
+        endpoints.replaceAll((bpn, bpnEndpoints) -> {
+            log.info("Discovered the following endpoints for BPN '{}': '{}'", bpn, String.join(", ", bpnEndpoints));
+            return List.copyOf(bpnEndpoints);
+        });
+        return endpoints;
+    }
 
-        log.info("Requesting connector endpoints for BPN {}", bpn);
+    /**
+     * @return the discovery services, which are cached like the endpoints of a BPN
+     */
+    private List<DiscoveryEndpoint> findDiscoveryEndpoints() {
+        final Instant now = clock.instant();
+        final CachedDiscoveryEndpoints cached = discoveryEndpoints;
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            return cached.endpoints();
+        }
         final DiscoveryFinderRequest onlyBpn = new DiscoveryFinderRequest(List.of("bpn"));
-        final List<DiscoveryEndpoint> discoveryEndpoints = discoveryFinderClient.findDiscoveryEndpoints(onlyBpn)
-                                                                                .endpoints();
-        final List<String> providedBpn = List.of(bpn);
-        final var endpoints = discoveryEndpoints.stream()
-                                                .flatMap(
-                                                        discoveryEndpoint -> discoveryFinderClient.findConnectorEndpoints(
-                                                                                                          discoveryEndpoint.endpointAddress(), providedBpn)
-                                                                                                  .stream()
-                                                                                                  .filter(edcDiscoveryResult -> edcDiscoveryResult.bpn()
-                                                                                                                                                  .equals(bpn))
-                                                                                                  .map(EdcDiscoveryResult::connectorEndpoint))
-                                                .flatMap(List::stream)
-                                                .toList();
-        log.info("Discovered the following endpoints for BPN '{}': '{}'", bpn, String.join(", ", endpoints));
+        final List<DiscoveryEndpoint> endpoints = discoveryFinderClient.findDiscoveryEndpoints(onlyBpn).endpoints();
+        discoveryEndpoints = new CachedDiscoveryEndpoints(endpoints,
+                now.plus(endpoints.isEmpty() ? emptyResultTimeToLive : timeToLive));
         return endpoints;
     }
 
-    @CacheEvict(value = CONNECTOR_ENDPOINT_SERVICE_CACHE_NAME, allEntries = true)
-    @Scheduled(fixedRateString = "${irs-edc-client.connectorEndpointService.cacheTTL}")
+    /**
+     * Removes all cached endpoints, so that they are discovered again.
+     */
     public void evictCachesValues() {
-        log.debug("Clearing \"{}\" cache.", CONNECTOR_ENDPOINT_SERVICE_CACHE_NAME);
+        log.debug("Clearing connector endpoints cache.");
+        discoveryEndpoints = null;
+        cache.clear();
+    }
+
+    /**
+     * The endpoints of a BPN.
+     *
+     * @param endpoints  the endpoints, or the request discovering them
+     * @param expiresAt  the time after which the endpoints are discovered again, null while they are discovered
+     * @param refreshAt  the time from which the endpoints are refreshed in the background
+     * @param refreshing whether the endpoints are currently refreshed
+     */
+    private record CachedEndpoints(CompletableFuture<List<String>> endpoints, Instant expiresAt, Instant refreshAt,
+                                   AtomicBoolean refreshing) {
+
+        private CachedEndpoints(final CompletableFuture<List<String>> endpoints, final Instant expiresAt,
+                final Instant refreshAt) {
+            this(endpoints, expiresAt, refreshAt, new AtomicBoolean());
+        }
+
+        private boolean isExpired(final Instant now) {
+            return expiresAt != null && !now.isBefore(expiresAt);
+        }
+
+        private boolean shouldRefresh(final Instant now) {
+            return refreshAt != null && !now.isBefore(refreshAt) && refreshing.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * The discovery services of the Discovery Finder.
+     *
+     * @param endpoints the discovery services
+     * @param expiresAt the time after which the discovery services are requested again
+     */
+    private record CachedDiscoveryEndpoints(List<DiscoveryEndpoint> endpoints, Instant expiresAt) {
     }
 }
@@ -30,7 +30,10 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.tractusx.irs.edc.client.EdcSubmodelFacade;
 import org.eclipse.tractusx.irs.edc.client.exceptions.EdcClientException;
@@ -47,7 +50,8 @@ class DefaultConfigurationTest {
     @Test
     void centralDigitalTwinRegistryService() {
         final var service = testee.centralDigitalTwinRegistryService(
-                testee.digitalTwinRegistryClientImpl(new RestTemplate(), descriptorTemplate, shellLookupTemplate));
+                testee.digitalTwinRegistryClientImpl(new RestTemplate(), descriptorTemplate, shellLookupTemplate),
+                ShellCache.disabled());
 
         assertThat(service).isNotNull();
     }
@@ -56,9 +60,12 @@ class DefaultConfigurationTest {
     void decentralDigitalTwinRegistryService() {
         final EdcSubmodelFacade facadeMock = mock(EdcSubmodelFacade.class);
         final var service = testee.decentralDigitalTwinRegistryService(
-                testee.connectorEndpointsService(testee.discoveryFinderClient(new RestTemplate(), "finder")),
-                testee.endpointDataForConnectorsService(facadeMock),
-                testee.decentralDigitalTwinRegistryClient(new RestTemplate(), descriptorTemplate, shellLookupTemplate));
+                testee.connectorEndpointsService(testee.discoveryFinderClient(new RestTemplate(), "finder"),
+                        Duration.ofHours(24), Duration.ofMinutes(5), Duration.ofHours(1),
+                        mock(ScheduledExecutorService.class), Clock.systemUTC()),
+                testee.endpointDataForConnectorsService(facadeMock, Duration.ofSeconds(30), Clock.systemUTC()),
+                testee.decentralDigitalTwinRegistryClient(new RestTemplate(), descriptorTemplate, shellLookupTemplate),
+                testee.registryExecutor(1), 10, ShellCache.disabled());
 
         assertThat(service).isNotNull();
     }
@@ -67,7 +74,8 @@ class DefaultConfigurationTest {
     void endpointDataForConnectorsService() throws EdcClientException {
         final var mock = mock(EdcSubmodelFacade.class);
 
-        final var endpointDataForConnectorsService = testee.endpointDataForConnectorsService(mock);
+        final var endpointDataForConnectorsService = testee.endpointDataForConnectorsService(mock,
+                Duration.ofSeconds(30), Clock.systemUTC());
         endpointDataForConnectorsService.findEndpointDataForConnectors(List.of("test"));
 
         verify(mock).getEndpointReferenceForAsset(any(), any(), any());
@@ -78,7 +86,8 @@ class DefaultConfigurationTest {
         final var mock = mock(EdcSubmodelFacade.class);
         when(mock.getEndpointReferenceForAsset(any(), any(), any())).thenThrow(new EdcClientException("test"));
 
-        final var endpointDataForConnectorsService = testee.endpointDataForConnectorsService(mock);
+        final var endpointDataForConnectorsService = testee.endpointDataForConnectorsService(mock,
+                Duration.ofSeconds(30), Clock.systemUTC());
         final var dummyEndpoints = List.of("test");
         assertThatThrownBy(
                 () -> endpointDataForConnectorsService.findEndpointDataForConnectors(dummyEndpoints)).isInstanceOf(
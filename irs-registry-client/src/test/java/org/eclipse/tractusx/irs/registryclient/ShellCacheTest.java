@@ -0,0 +1,162 @@
+/********************************************************************************
+ * Copyright (c) 2021,2022,2023
+ *       2022: ZF Friedrichshafen AG
+ *       2022: ISTOS GmbH
+ *       2022,2023: Bayerische Motoren Werke Aktiengesellschaft (BMW AG)
+ *       2022,2023: BOSCH AG
+ * Copyright (c) 2021,2022,2023 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ ********************************************************************************/
+package org.eclipse.tractusx.irs.registryclient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.tractusx.irs.component.assetadministrationshell.AssetAdministrationShellDescriptor;
+import org.eclipse.tractusx.irs.component.assetadministrationshell.SubmodelDescriptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class ShellCacheTest {
+
+    private static final Instant NOW = Instant.parse("2023-11-20T10:00:00Z");
+    private static final String BPN = "BPNL00000003AYRE";
+
+    private final Clock clock = mock(Clock.class);
+    private final ShellCache testee = new ShellCache(10, Duration.ofMinutes(10), Duration.ofMinutes(1), clock);
+
+    @Test
+    void shouldLookUpShellIdOnlyOnceWithinTimeToLive() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final AtomicInteger lookups = new AtomicInteger();
+
+        // act
+        final String shellId = testee.getShellId(BPN, "globalAssetId", () -> "shellId" + lookups.incrementAndGet());
+        final String cachedShellId = testee.getShellId(BPN, "globalAssetId",
+                () -> "shellId" + lookups.incrementAndGet());
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(10)));
+        final String expiredShellId = testee.getShellId(BPN, "globalAssetId",
+                () -> "shellId" + lookups.incrementAndGet());
+
+        // assert
+        assertThat(shellId).isEqualTo("shellId1");
+        assertThat(cachedShellId).isEqualTo("shellId1");
+        assertThat(expiredShellId).isEqualTo("shellId2");
+        assertThat(testee.getHits()).isEqualTo(1);
+        assertThat(testee.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCacheDescriptorsPerRegistry() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final AssetAdministrationShellDescriptor descriptor = AssetAdministrationShellDescriptor.builder()
+                                                                                                .id("shellId")
+                                                                                                .build();
+        final AtomicInteger requests = new AtomicInteger();
+
+        // act
+        testee.getDescriptor(BPN, "shellId", () -> {
+            requests.incrementAndGet();
+            return descriptor;
+        });
+        final AssetAdministrationShellDescriptor cached = testee.getDescriptor(BPN, "shellId", () -> {
+            requests.incrementAndGet();
+            return descriptor;
+        });
+        testee.getDescriptor("otherBpn", "shellId", () -> {
+            requests.incrementAndGet();
+            return descriptor;
+        });
+
+        // assert
+        assertThat(cached).isEqualTo(descriptor).isNotSameAs(descriptor);
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void shouldCacheShellsWhichAreNotFoundForShorterTime() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final AtomicInteger requests = new AtomicInteger();
+        final AssetAdministrationShellDescriptor descriptor = AssetAdministrationShellDescriptor.builder().build();
+
+        // act & assert
+        assertThatThrownBy(() -> testee.getDescriptor(BPN, "unknown", () -> {
+            requests.incrementAndGet();
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        })).isInstanceOf(HttpClientErrorException.NotFound.class);
+        assertThatThrownBy(() -> testee.getDescriptor(BPN, "unknown", () -> {
+            requests.incrementAndGet();
+            return descriptor;
+        })).isInstanceOf(HttpClientErrorException.NotFound.class);
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(1)));
+        assertThat(testee.getDescriptor(BPN, "unknown", () -> {
+            requests.incrementAndGet();
+            return descriptor;
+        })).isEqualTo(descriptor);
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void shouldNotShareCachedDescriptorsBetweenCallers() {
+        // arrange
+        when(clock.instant()).thenReturn(NOW);
+        final SubmodelDescriptor submodelDescriptor = SubmodelDescriptor.builder().id("submodelId").build();
+        final AssetAdministrationShellDescriptor descriptor = AssetAdministrationShellDescriptor.builder()
+                                                                                                .id("shellId")
+                                                                                                .build();
+        descriptor.setSubmodelDescriptors(List.of(submodelDescriptor));
+        testee.getDescriptor(BPN, "shellId", () -> descriptor);
+
+        // act
+        final AssetAdministrationShellDescriptor first = testee.getDescriptor(BPN, "shellId", () -> descriptor);
+        first.setSubmodelDescriptors(List.of());
+        final AssetAdministrationShellDescriptor second = testee.getDescriptor(BPN, "shellId", () -> descriptor);
+
+        // assert
+        assertThat(second.getSubmodelDescriptors()).containsExactly(submodelDescriptor);
+        assertThatThrownBy(() -> second.getSubmodelDescriptors().clear()).isInstanceOf(
+                UnsupportedOperationException.class);
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        // arrange
+        final ShellCache disabled = ShellCache.disabled();
+        final AtomicInteger lookups = new AtomicInteger();
+
+        // act
+        disabled.getShellId(BPN, "globalAssetId", () -> "shellId" + lookups.incrementAndGet());
+        final String shellId = disabled.getShellId(BPN, "globalAssetId", () -> "shellId" + lookups.incrementAndGet());
+
+        // assert
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(shellId).isEqualTo("shellId2");
+        assertThat(disabled.getMisses()).isZero();
+    }
+}
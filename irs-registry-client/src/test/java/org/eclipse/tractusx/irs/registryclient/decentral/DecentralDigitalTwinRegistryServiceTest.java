@@ -36,6 +36,11 @@ import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.assertj.core.api.Assertions;
@@ -46,11 +51,15 @@ import org.eclipse.tractusx.irs.component.assetadministrationshell.SubmodelDescr
 import org.eclipse.tractusx.irs.data.StringMapper;
 import org.eclipse.tractusx.irs.edc.client.model.EDRAuthCode;
 import org.eclipse.tractusx.irs.registryclient.DigitalTwinRegistryKey;
+import org.eclipse.tractusx.irs.registryclient.ShellCache;
 import org.eclipse.tractusx.irs.registryclient.discovery.ConnectorEndpointsService;
 import org.eclipse.tractusx.irs.registryclient.exceptions.RegistryServiceException;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
 
 class DecentralDigitalTwinRegistryServiceTest {
 
@@ -210,4 +219,164 @@ class DecentralDigitalTwinRegistryServiceTest {
         Assertions.assertThat(globalAssetIds).containsExactly(expectedGlobalAssetId);
     }
 
+    @Test
+    void shouldFetchShellsOfOneRegistryInParallelWithSharedEndpointDataReference() throws RegistryServiceException {
+        // given
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final DecentralDigitalTwinRegistryService parallelService = new DecentralDigitalTwinRegistryService(
+                connectorEndpointsService, endpointDataForConnectorsService, decentralDigitalTwinRegistryClient,
+                executor, 2, ShellCache.disabled());
+        final var authCode = "test." + createAuthCode(exp -> exp.plus(1, ChronoUnit.DAYS));
+        final EndpointDataReference endpointDataReference = EndpointDataReference.Builder.newInstance()
+                                                                                         .endpoint("url.to.host")
+                                                                                         .authKey("test")
+                                                                                         .authCode(authCode)
+                                                                                         .build();
+        when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of("address"));
+        when(endpointDataForConnectorsService.findEndpointDataForConnectors(anyList())).thenReturn(
+                endpointDataReference);
+        when(decentralDigitalTwinRegistryClient.getAllAssetAdministrationShellIdsByAssetLink(any(),
+                anyList())).thenReturn(LookupShellsResponse.builder().result(Collections.emptyList()).build());
+        final CountDownLatch bothRequestsInFlight = new CountDownLatch(2);
+        final AtomicInteger requestsInFlight = new AtomicInteger();
+        final AtomicInteger maxRequestsInFlight = new AtomicInteger();
+        when(decentralDigitalTwinRegistryClient.getAssetAdministrationShellDescriptor(any(), any())).thenAnswer(
+                invocation -> {
+                    maxRequestsInFlight.accumulateAndGet(requestsInFlight.incrementAndGet(), Math::max);
+                    bothRequestsInFlight.countDown();
+                    bothRequestsInFlight.await(5, TimeUnit.SECONDS);
+                    requestsInFlight.decrementAndGet();
+                    return shellDescriptor(Collections.emptyList()).toBuilder()
+                                                                   .id(invocation.getArgument(1, String.class))
+                                                                   .build();
+                });
+        final List<DigitalTwinRegistryKey> keys = List.of(new DigitalTwinRegistryKey("shell1", "bpn"),
+                new DigitalTwinRegistryKey("shell2", "bpn"), new DigitalTwinRegistryKey("shell3", "bpn"),
+                new DigitalTwinRegistryKey("shell4", "bpn"));
+
+        // when
+        final Collection<AssetAdministrationShellDescriptor> actualShells = parallelService.fetchShells(keys);
+        executor.shutdown();
+
+        // then
+        Assertions.assertThat(actualShells)
+                  .extracting(AssetAdministrationShellDescriptor::getId)
+                  .containsExactly("shell1", "shell2", "shell3", "shell4");
+        Assertions.assertThat(maxRequestsInFlight).hasValue(2);
+        verify(endpointDataForConnectorsService, times(1)).findEndpointDataForConnectors(anyList());
+    }
+
+    @Test
+    void shouldSkipShellWhichCouldNotBeFetched() throws RegistryServiceException {
+        // given
+        when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of("address"));
+        when(endpointDataForConnectorsService.findEndpointDataForConnectors(anyList())).thenReturn(
+                EndpointDataReference.Builder.newInstance().endpoint("url.to.host").build());
+        when(decentralDigitalTwinRegistryClient.getAllAssetAdministrationShellIdsByAssetLink(any(),
+                anyList())).thenReturn(LookupShellsResponse.builder().result(Collections.emptyList()).build());
+        when(decentralDigitalTwinRegistryClient.getAssetAdministrationShellDescriptor(any(), any())).thenAnswer(
+                invocation -> {
+                    final String shellId = invocation.getArgument(1, String.class);
+                    if ("shell2".equals(shellId)) {
+                        throw new IllegalStateException("registry error");
+                    }
+                    return shellDescriptor(Collections.emptyList()).toBuilder().id(shellId).build();
+                });
+        final List<DigitalTwinRegistryKey> keys = List.of(new DigitalTwinRegistryKey("shell1", "bpn"),
+                new DigitalTwinRegistryKey("shell2", "bpn"), new DigitalTwinRegistryKey("shell3", "bpn"));
+
+        // when
+        final Collection<AssetAdministrationShellDescriptor> actualShells = decentralDigitalTwinRegistryService.fetchShells(
+                keys);
+
+        // then
+        Assertions.assertThat(actualShells)
+                  .extracting(AssetAdministrationShellDescriptor::getId)
+                  .containsExactly("shell1", "shell3");
+    }
+
+    @Test
+    void shouldThrowFailureWhenNoShellCouldBeFetched() {
+        // given
+        when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenThrow(
+                new IllegalStateException("discovery error"));
+        final List<DigitalTwinRegistryKey> keys = List.of(new DigitalTwinRegistryKey("shell1", "bpn"),
+                new DigitalTwinRegistryKey("shell2", "bpn"));
+
+        // when
+        final var thrown = Assertions.catchThrowable(() -> decentralDigitalTwinRegistryService.fetchShells(keys));
+
+        // then
+        Assertions.assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessage("discovery error");
+        verify(connectorEndpointsService, times(1)).fetchConnectorEndpoints(any());
+    }
+
+    @Test
+    void shouldEvictRejectedEndpointDataReferenceAndFetchShellAgain() throws RegistryServiceException {
+        // given
+        final EndpointDataReference rejected = EndpointDataReference.Builder.newInstance()
+                                                                            .endpoint("url.to.host")
+                                                                            .build();
+        final EndpointDataReference renewed = EndpointDataReference.Builder.newInstance()
+                                                                           .endpoint("url.to.renewed.host")
+                                                                           .build();
+        final AssetAdministrationShellDescriptor expectedShell = shellDescriptor(Collections.emptyList());
+        when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of("address"));
+        when(endpointDataForConnectorsService.findEndpointDataForConnectors(anyList())).thenReturn(rejected,
+                renewed);
+        when(decentralDigitalTwinRegistryClient.getAllAssetAdministrationShellIdsByAssetLink(any(),
+                anyList())).thenReturn(LookupShellsResponse.builder().result(Collections.emptyList()).build());
+        when(decentralDigitalTwinRegistryClient.getAssetAdministrationShellDescriptor(rejected, "shell1")).thenThrow(
+                HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Unauthorized", null, null, null));
+        when(decentralDigitalTwinRegistryClient.getAssetAdministrationShellDescriptor(renewed, "shell1")).thenReturn(
+                expectedShell);
+
+        // when
+        final Collection<AssetAdministrationShellDescriptor> actualShells = decentralDigitalTwinRegistryService.fetchShells(
+                List.of(new DigitalTwinRegistryKey("shell1", "bpn")));
+
+        // then
+        Assertions.assertThat(actualShells).containsExactly(expectedShell);
+        verify(endpointDataForConnectorsService).evictEndpointDataReference(rejected);
+    }
+
+    @Test
+    void shouldNotReuseRejectedEndpointDataReferenceOfEdcClient() throws Exception {
+        // given
+        final EdcEndpointReferenceRetriever retriever = Mockito.mock(EdcEndpointReferenceRetriever.class);
+        final DecentralDigitalTwinRegistryService service = new DecentralDigitalTwinRegistryService(
+                connectorEndpointsService, new EndpointDataForConnectorsService(retriever),
+                decentralDigitalTwinRegistryClient);
+        final var authCode = "test." + createAuthCode(exp -> exp.plus(1, ChronoUnit.DAYS));
+        final EndpointDataReference rejected = EndpointDataReference.Builder.newInstance()
+                                                                            .endpoint("url.to.host")
+                                                                            .authKey("test")
+                                                                            .authCode(authCode)
+                                                                            .build();
+        final EndpointDataReference renewed = EndpointDataReference.Builder.newInstance()
+                                                                           .endpoint("url.to.renewed.host")
+                                                                           .authKey("test")
+                                                                           .authCode(authCode)
+                                                                           .build();
+        final AssetAdministrationShellDescriptor expectedShell = shellDescriptor(Collections.emptyList());
+        when(connectorEndpointsService.fetchConnectorEndpoints(any())).thenReturn(List.of("address"));
+        when(retriever.getEndpointReferenceForAsset(any(), any(), any())).thenReturn(rejected, renewed);
+        when(decentralDigitalTwinRegistryClient.getAllAssetAdministrationShellIdsByAssetLink(any(),
+                anyList())).thenReturn(LookupShellsResponse.builder().result(Collections.emptyList()).build());
+        when(decentralDigitalTwinRegistryClient.getAssetAdministrationShellDescriptor(rejected, "shell1")).thenThrow(
+                HttpClientErrorException.create(HttpStatus.FORBIDDEN, "Forbidden", null, null, null));
+        when(decentralDigitalTwinRegistryClient.getAssetAdministrationShellDescriptor(renewed, "shell1")).thenReturn(
+                expectedShell);
+
+        // when
+        final Collection<AssetAdministrationShellDescriptor> actualShells = service.fetchShells(
+                List.of(new DigitalTwinRegistryKey("shell1", "bpn")));
+
+        // then
+        Assertions.assertThat(actualShells).containsExactly(expectedShell);
+        final InOrder inOrder = Mockito.inOrder(retriever);
+        inOrder.verify(retriever).getEndpointReferenceForAsset(any(), any(), any());
+        inOrder.verify(retriever).evictEndpointReference(rejected);
+        inOrder.verify(retriever).getEndpointReferenceForAsset(any(), any(), any());
+    }
 }
@@ -28,13 +28,26 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.edc.spi.types.domain.edr.EndpointDataReference;
+import org.eclipse.tractusx.irs.data.StringMapper;
 import org.eclipse.tractusx.irs.edc.client.exceptions.EdcClientException;
+import org.eclipse.tractusx.irs.edc.client.model.EDRAuthCode;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.client.RestClientException;
 
@@ -100,4 +113,143 @@ class EndpointDataForConnectorsServiceTest {
                 RestClientException.class).hasMessageContainingAll(connectionOneAddress, connectionTwoAddress);
     }
 
+    @Test
+    void shouldReuseEndpointDataReferenceUntilTokenExpires() throws EdcRetrieverException {
+        // given
+        final EndpointDataReference reference = EndpointDataReference.Builder.newInstance()
+                                                                             .endpoint(connectionOneAddress)
+                                                                             .authCode(createAuthCode(
+                                                                                     Instant.now().plusSeconds(300)))
+                                                                             .build();
+        when(edcSubmodelFacade.getEndpointReferenceForAsset(connectionOneAddress, DT_REGISTRY_ASSET_TYPE,
+                DT_REGISTRY_ASSET_VALUE)).thenReturn(reference);
+
+        // when
+        endpointDataForConnectorsService.findEndpointDataForConnectors(List.of(connectionOneAddress));
+        final EndpointDataReference endpointDataReference = endpointDataForConnectorsService.findEndpointDataForConnectors(
+                List.of(connectionOneAddress));
+
+        // then
+        assertThat(endpointDataReference).isSameAs(reference);
+        verify(edcSubmodelFacade, times(1)).getEndpointReferenceForAsset(connectionOneAddress, DT_REGISTRY_ASSET_TYPE,
+                DT_REGISTRY_ASSET_VALUE);
+    }
+
+    @Test
+    void shouldRenewEndpointDataReferenceWhenTokenIsAboutToExpire() throws EdcRetrieverException {
+        // given
+        final EndpointDataReference expiring = EndpointDataReference.Builder.newInstance()
+                                                                            .endpoint(connectionOneAddress)
+                                                                            .authCode(createAuthCode(
+                                                                                    Instant.now().plusSeconds(10)))
+                                                                            .build();
+        final EndpointDataReference renewed = EndpointDataReference.Builder.newInstance()
+                                                                           .endpoint(connectionOneAddress)
+                                                                           .authCode(createAuthCode(
+                                                                                   Instant.now().plusSeconds(300)))
+                                                                           .build();
+        when(edcSubmodelFacade.getEndpointReferenceForAsset(connectionOneAddress, DT_REGISTRY_ASSET_TYPE,
+                DT_REGISTRY_ASSET_VALUE)).thenReturn(expiring, renewed);
+
+        // when
+        endpointDataForConnectorsService.findEndpointDataForConnectors(List.of(connectionOneAddress));
+        final EndpointDataReference endpointDataReference = endpointDataForConnectorsService.findEndpointDataForConnectors(
+                List.of(connectionOneAddress));
+
+        // then
+        assertThat(endpointDataReference).isSameAs(renewed);
+        verify(edcSubmodelFacade).evictEndpointReference(rejected);
+    }
+
+    @Test
+    void shouldPreferConnectorWithValidEndpointDataReference() throws EdcRetrieverException {
+        // given
+        final EndpointDataReference reference = EndpointDataReference.Builder.newInstance()
+                                                                             .endpoint(connectionTwoAddress)
+                                                                             .authCode(createAuthCode(
+                                                                                     Instant.now().plusSeconds(300)))
+                                                                             .build();
+        when(edcSubmodelFacade.getEndpointReferenceForAsset(connectionTwoAddress, DT_REGISTRY_ASSET_TYPE,
+                DT_REGISTRY_ASSET_VALUE)).thenReturn(reference);
+        endpointDataForConnectorsService.findEndpointDataForConnectors(List.of(connectionTwoAddress));
+
+        // when
+        final EndpointDataReference endpointDataReference = endpointDataForConnectorsService.findEndpointDataForConnectors(
+                List.of(connectionOneAddress, connectionTwoAddress));
+
+        // then
+        assertThat(endpointDataReference).isSameAs(reference);
+        verify(edcSubmodelFacade, never()).getEndpointReferenceForAsset(eq(connectionOneAddress), anyString(),
+                anyString());
+    }
+
+    @Test
+    void shouldRetrieveNewEndpointDataReferenceWhenEvicted() throws EdcRetrieverException {
+        // given
+        final EndpointDataReference rejected = EndpointDataReference.Builder.newInstance()
+                                                                            .endpoint(connectionOneAddress)
+                                                                            .authCode(createAuthCode(
+                                                                                    Instant.now().plusSeconds(300)))
+                                                                            .build();
+        final EndpointDataReference renewed = EndpointDataReference.Builder.newInstance()
+                                                                           .endpoint(connectionOneAddress)
+                                                                           .authCode(createAuthCode(
+                                                                                   Instant.now().plusSeconds(300)))
+                                                                           .build();
+        when(edcSubmodelFacade.getEndpointReferenceForAsset(connectionOneAddress, DT_REGISTRY_ASSET_TYPE,
+                DT_REGISTRY_ASSET_VALUE)).thenReturn(rejected, renewed);
+        endpointDataForConnectorsService.findEndpointDataForConnectors(List.of(connectionOneAddress));
+
+        // when
+        endpointDataForConnectorsService.evictEndpointDataReference(rejected);
+        final EndpointDataReference endpointDataReference = endpointDataForConnectorsService.findEndpointDataForConnectors(
+                List.of(connectionOneAddress));
+
+        // then
+        assertThat(endpointDataReference).isSameAs(renewed);
+    }
+
+    @Test
+    void shouldShareOneRetrievalBetweenConcurrentCallers() throws Exception {
+        // given
+        final EndpointDataReference reference = EndpointDataReference.Builder.newInstance()
+                                                                             .endpoint(connectionOneAddress)
+                                                                             .authCode(createAuthCode(
+                                                                                     Instant.now().plusSeconds(300)))
+                                                                             .build();
+        final CountDownLatch retrievalStarted = new CountDownLatch(1);
+        final CountDownLatch retrievalFinished = new CountDownLatch(1);
+        when(edcSubmodelFacade.getEndpointReferenceForAsset(connectionOneAddress, DT_REGISTRY_ASSET_TYPE,
+                DT_REGISTRY_ASSET_VALUE)).thenAnswer(invocation -> {
+            retrievalStarted.countDown();
+            retrievalFinished.await(5, TimeUnit.SECONDS);
+            return reference;
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        final CompletableFuture<EndpointDataReference> first = CompletableFuture.supplyAsync(
+                () -> endpointDataForConnectorsService.findEndpointDataForConnectors(List.of(connectionOneAddress)),
+                executor);
+        retrievalStarted.await(5, TimeUnit.SECONDS);
+        final CompletableFuture<EndpointDataReference> second = CompletableFuture.supplyAsync(
+                () -> endpointDataForConnectorsService.findEndpointDataForConnectors(List.of(connectionOneAddress)),
+                executor);
+        retrievalFinished.countDown();
+
+        // then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(reference);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(reference);
+        verify(edcSubmodelFacade, times(1)).getEndpointReferenceForAsset(connectionOneAddress, DT_REGISTRY_ASSET_TYPE,
+                DT_REGISTRY_ASSET_VALUE);
+        executor.shutdown();
+    }
+
+    private static String createAuthCode(final Instant expiration) {
+        final var serializedEdrAuthCode = StringMapper.mapToString(
+                EDRAuthCode.builder().exp(expiration.getEpochSecond()).build());
+        return "header." + Base64.getUrlEncoder()
+                                 .encodeToString(serializedEdrAuthCode.getBytes(StandardCharsets.UTF_8));
+    }
+
 }
@@ -26,15 +26,34 @@ package org.eclipse.tractusx.irs.registryclient.discovery;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.web.client.RestClientException;
 
 class ConnectorEndpointsServiceTest {
 
+    private static final Instant NOW = Instant.parse("2023-11-20T10:00:00Z");
+
     private final DiscoveryFinderClient essDiscoveryFinderClient = Mockito.mock(DiscoveryFinderClient.class);
     private final ConnectorEndpointsService service = new ConnectorEndpointsService(essDiscoveryFinderClient);
 
@@ -65,6 +84,153 @@ class ConnectorEndpointsServiceTest {
         assertThat(actualConnectors).isNotNull().isEmpty();
     }
 
+    @Test
+    void shouldCacheConnectorEndpointsPerBpnUntilTheyExpire() {
+        // given
+        final Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        final ConnectorEndpointsService cachingService = cachingService(clock, Runnable::run);
+        givenConnectors("connector1");
+
+        // when
+        cachingService.fetchConnectorEndpoints("BPN123");
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(30)));
+        cachingService.fetchConnectorEndpoints("BPN123");
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofHours(2)));
+        final List<String> actualConnectors = cachingService.fetchConnectorEndpoints("BPN123");
+
+        // then
+        assertThat(actualConnectors).containsExactly("connector1");
+        verify(essDiscoveryFinderClient, times(2)).findDiscoveryEndpoints(any());
+    }
+
+    @Test
+    void shouldDiscoverBpnWithoutConnectorEndpointsAgainAfterShortTime() {
+        // given
+        final Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        final ConnectorEndpointsService cachingService = cachingService(clock, Runnable::run);
+        given(essDiscoveryFinderClient.findDiscoveryEndpoints(any())).willReturn(new DiscoveryResponse(List.of()));
+
+        // when
+        cachingService.fetchConnectorEndpoints("BPN123");
+        cachingService.fetchConnectorEndpoints("BPN123");
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(1)));
+        cachingService.fetchConnectorEndpoints("BPN123");
+
+        // then
+        verify(essDiscoveryFinderClient, times(2)).findDiscoveryEndpoints(any());
+    }
+
+    @Test
+    void shouldRefreshConnectorEndpointsInBackgroundBeforeTheyExpire() {
+        // given
+        final Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        final List<Runnable> refreshes = new ArrayList<>();
+        final ConnectorEndpointsService cachingService = cachingService(clock, refreshes::add);
+        givenConnectors("connector1");
+        cachingService.fetchConnectorEndpoints("BPN123");
+        givenConnectors("connector2");
+
+        // when
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(45)));
+        final List<String> beforeRefresh = cachingService.fetchConnectorEndpoints("BPN123");
+        cachingService.fetchConnectorEndpoints("BPN123");
+        refreshes.forEach(Runnable::run);
+        final List<String> afterRefresh = cachingService.fetchConnectorEndpoints("BPN123");
+
+        // then
+        assertThat(beforeRefresh).containsExactly("connector1");
+        assertThat(refreshes).hasSize(1);
+        assertThat(afterRefresh).containsExactly("connector2");
+    }
+
+    @Test
+    void shouldShareOneDiscoveryRequestBetweenConcurrentCallers() throws Exception {
+        // given
+        final ConnectorEndpointsService cachingService = cachingService(Clock.systemUTC(), Runnable::run);
+        final CountDownLatch discoveryStarted = new CountDownLatch(1);
+        final CountDownLatch discoveryFinished = new CountDownLatch(1);
+        given(essDiscoveryFinderClient.findDiscoveryEndpoints(any())).willAnswer(invocation -> {
+            discoveryStarted.countDown();
+            discoveryFinished.await(5, TimeUnit.SECONDS);
+            return new DiscoveryResponse(List.of(createEndpoint("address1")));
+        });
+        given(essDiscoveryFinderClient.findConnectorEndpoints(eq("address1"), any())).willReturn(
+                List.of(createResult(List.of("connector1"))));
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        final CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(
+                () -> cachingService.fetchConnectorEndpoints("BPN123"), executor);
+        discoveryStarted.await(5, TimeUnit.SECONDS);
+        final CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(
+                () -> cachingService.fetchConnectorEndpoints("BPN123"), executor);
+        discoveryFinished.countDown();
+
+        // then
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsExactly("connector1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsExactly("connector1");
+        verify(essDiscoveryFinderClient, times(1)).findDiscoveryEndpoints(any());
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldNotCacheFailedDiscovery() {
+        // given
+        final ConnectorEndpointsService cachingService = cachingService(Clock.systemUTC(), Runnable::run);
+        given(essDiscoveryFinderClient.findDiscoveryEndpoints(any())).willThrow(
+                new RestClientException("Discovery Finder unavailable"));
+
+        // when
+        assertThatThrownBy(() -> cachingService.fetchConnectorEndpoints("BPN123")).isInstanceOf(
+                RestClientException.class);
+        givenConnectors("connector1");
+        final List<String> actualConnectors = cachingService.fetchConnectorEndpoints("BPN123");
+
+        // then
+        assertThat(actualConnectors).containsExactly("connector1");
+    }
+
+    @Test
+    void shouldDiscoverManyBpnsWithOneRequestPerDiscoveryService() {
+        // given
+        given(essDiscoveryFinderClient.findDiscoveryEndpoints(any())).willReturn(
+                new DiscoveryResponse(List.of(createEndpoint("address1"), createEndpoint("address2"))));
+        given(essDiscoveryFinderClient.findConnectorEndpoints(eq("address1"), any())).willReturn(
+                List.of(new EdcDiscoveryResult("BPN1", List.of("connector1")),
+                        new EdcDiscoveryResult("BPN2", List.of("connector2"))));
+        given(essDiscoveryFinderClient.findConnectorEndpoints(eq("address2"), any())).willReturn(
+                List.of(new EdcDiscoveryResult("BPN1", List.of("connector3"))));
+
+        // when
+        final Map<String, List<String>> actualConnectors = service.fetchConnectorEndpointsByBpn(
+                List.of("BPN1", "BPN2", "BPN3"));
+        service.fetchConnectorEndpoints("BPN4");
+
+        // then
+        assertThat(actualConnectors).containsEntry("BPN1", List.of("connector1", "connector3"))
+                                    .containsEntry("BPN2", List.of("connector2"))
+                                    .containsEntry("BPN3", List.of());
+        verify(essDiscoveryFinderClient).findConnectorEndpoints("address1", List.of("BPN1", "BPN2", "BPN3"));
+        verify(essDiscoveryFinderClient).findConnectorEndpoints("address2", List.of("BPN1", "BPN2", "BPN3"));
+        verify(essDiscoveryFinderClient, times(1)).findDiscoveryEndpoints(any());
+    }
+
+    private ConnectorEndpointsService cachingService(final Clock clock, final Executor refreshExecutor) {
+        return new ConnectorEndpointsService(essDiscoveryFinderClient, Duration.ofHours(1), Duration.ofMinutes(1),
+                Duration.ofMinutes(20), refreshExecutor, clock);
+    }
+
+    private void givenConnectors(final String connector) {
+        Mockito.reset(essDiscoveryFinderClient);
+        given(essDiscoveryFinderClient.findDiscoveryEndpoints(any())).willReturn(
+                new DiscoveryResponse(List.of(createEndpoint("address1"))));
+        given(essDiscoveryFinderClient.findConnectorEndpoints(eq("address1"), any())).willReturn(
+                List.of(createResult(List.of(connector))));
+    }
+
     private DiscoveryEndpoint createEndpoint(final String endpointAddress) {
         return new DiscoveryEndpoint("test-endpoint", "desc", endpointAddress, "docs", "resId");
     }